@@ -2,6 +2,7 @@ plugins {
     java
     id("org.springframework.boot") version "4.0.2"
     id("io.spring.dependency-management") version "1.1.7"
+    id("me.champeau.jmh") version "0.7.3"
     jacoco
 }
 
@@ -35,6 +36,15 @@ repositories {
     mavenCentral()
 }
 
+// HTTP load harness in src/loadTest/java, run on demand with ./gradlew loadTest
+val loadTest: SourceSet by sourceSets.creating {
+    compileClasspath += sourceSets.main.get().output
+    runtimeClasspath += sourceSets.main.get().output
+}
+
+configurations[loadTest.implementationConfigurationName].extendsFrom(configurations.testImplementation.get())
+configurations[loadTest.runtimeOnlyConfigurationName].extendsFrom(configurations.testRuntimeOnly.get())
+
 extra.apply {
     set("springdocVersion", "3.0.0")
     set("mapstructVersion", "1.6.2")
@@ -43,6 +53,7 @@ extra.apply {
     set("lombokMapstructBindingVersion", "0.2.0")
     set("dotenvVersion", "4.0.0")
     set("twilioVersion", "11.3.3")
+    set("hdrHistogramVersion", "2.2.2")
 }
 
 dependencies {
@@ -52,6 +63,8 @@ dependencies {
     implementation("me.paulschwarz:spring-dotenv:${property("dotenvVersion")}")
     implementation("org.mapstruct:mapstruct:${property("mapstructVersion")}")
     implementation("org.springdoc:springdoc-openapi-starter-webmvc-ui:${property("springdocVersion")}")
+    implementation("org.springframework.boot:spring-boot-starter-actuator")
+    implementation("org.springframework.boot:spring-boot-starter-opentelemetry")
     implementation("org.springframework.boot:spring-boot-starter-security")
     implementation("org.springframework.boot:spring-boot-starter-validation")
     implementation("org.springframework.boot:spring-boot-starter-web")
@@ -67,11 +80,19 @@ dependencies {
     // Runtime Only
     runtimeOnly("io.jsonwebtoken:jjwt-impl:${property("jjwtVersion")}")
     runtimeOnly("io.jsonwebtoken:jjwt-jackson:${property("jjwtVersion")}")
+    runtimeOnly("io.micrometer:micrometer-registry-prometheus")
 
     // Testing
     testImplementation("org.springframework.boot:spring-boot-starter-test")
     testImplementation("org.springframework.security:spring-security-test")
+    testImplementation("io.micrometer:micrometer-tracing-test")
     testRuntimeOnly("org.junit.platform:junit-platform-launcher")
+
+    // Benchmarks
+    jmh("org.springframework:spring-test")
+
+    // Load tests
+    "loadTestImplementation"("org.hdrhistogram:HdrHistogram:${property("hdrHistogramVersion")}")
 }
 
 tasks.withType<Test> {
@@ -156,6 +177,33 @@ tasks.test {
     finalizedBy(tasks.jacocoTestReport)
 }
 
+// Not part of check: a run takes minutes. -Pload.<setting>=<value> overrides rates and thresholds (see LoadTestSettings)
+tasks.register<Test>("loadTest") {
+    description = "Drives the order-ready endpoint open-loop and fails when latency or throughput thresholds regress."
+    group = "verification"
+    testClassesDirs = loadTest.output.classesDirs
+    classpath = loadTest.runtimeClasspath
+    shouldRunAfter(tasks.test)
+    systemProperties(providers.gradlePropertiesPrefixedBy("load.").get())
+    outputs.upToDateWhen { false }
+    testLogging {
+        showStandardStreams = true
+    }
+    extensions.configure<JacocoTaskExtension> {
+        isEnabled = false
+    }
+}
+
+// Micro-benchmarks live in src/jmh/java and run on demand with ./gradlew jmh (-PjmhIncludes=<regex> to pick some).
+// Results carry throughput plus the gc profiler's allocation rate and are named by version, so runs can be archived
+// and compared between releases
+jmh {
+    resultFormat = "JSON"
+    resultsFile = layout.buildDirectory.file("results/jmh/results-${project.version}.json")
+    profilers = listOf("gc")
+    providers.gradleProperty("jmhIncludes").orNull?.let { includes = listOf(it) }
+}
+
 tasks.check {
     dependsOn(tasks.jacocoTestCoverageVerification)
 }
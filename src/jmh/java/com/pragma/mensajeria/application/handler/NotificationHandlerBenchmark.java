@@ -0,0 +1,130 @@
+package com.pragma.mensajeria.application.handler;
+
+import com.pragma.mensajeria.application.dto.NotificationResponseDto;
+import com.pragma.mensajeria.application.dto.OrderReadyNotificationRequestDto;
+import com.pragma.mensajeria.application.mapper.INotificationDtoMapper;
+import com.pragma.mensajeria.domain.model.NotificationOutboxEntry;
+import com.pragma.mensajeria.domain.model.NotificationResult;
+import com.pragma.mensajeria.domain.model.PhoneNumberNormalizer;
+import com.pragma.mensajeria.domain.model.SmsEncoder;
+import com.pragma.mensajeria.domain.spi.INotificationOutboxPort;
+import com.pragma.mensajeria.domain.spi.ISmsMessagingPort;
+import com.pragma.mensajeria.domain.usecase.NotificationUseCase;
+import com.pragma.mensajeria.infrastructure.output.coalescing.adapter.WindowedNotificationCoalescingAdapter;
+import com.pragma.mensajeria.infrastructure.output.dispatch.adapter.ExecutorNotificationDispatchAdapter;
+import com.pragma.mensajeria.infrastructure.output.memory.adapter.InMemoryMessageDeliveryAdapter;
+import com.pragma.mensajeria.infrastructure.output.memory.adapter.InMemoryNotificationIdempotencyAdapter;
+import com.pragma.mensajeria.infrastructure.output.memory.adapter.InMemoryNotificationTrackingAdapter;
+import com.pragma.mensajeria.infrastructure.output.metrics.adapter.MicrometerNotificationMetricsAdapter;
+import com.pragma.mensajeria.infrastructure.output.twilio.client.TwilioErrorClassifier;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.tracing.Tracer;
+import org.mapstruct.factory.Mappers;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// The synchronous order-ready path from request DTO to response DTO, with the production in-memory adapters
+// and an SMS port that answers immediately, so only this service's own work is measured
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class NotificationHandlerBenchmark {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final OrderReadyNotificationRequestDto duplicate =
+            new OrderReadyNotificationRequestDto("+573001234567", "1", "456789", "Mi Restaurante", null);
+    private ExecutorNotificationDispatchAdapter dispatchAdapter;
+    private WindowedNotificationCoalescingAdapter coalescingAdapter;
+    private NotificationHandler handler;
+
+    @Setup
+    public void setUp() {
+        // A distinct SID per send, as Twilio returns, keeps the delivery store's order index bounded
+        AtomicLong sids = new AtomicLong();
+        ISmsMessagingPort noOpSmsPort = (phoneNumber, message) -> NotificationResult.success("SM" + sids.incrementAndGet());
+        dispatchAdapter = new ExecutorNotificationDispatchAdapter(10_000, 8, Duration.ofSeconds(1), meterRegistry);
+        coalescingAdapter = new WindowedNotificationCoalescingAdapter(false, Duration.ofSeconds(2), 10, true, meterRegistry);
+        NotificationUseCase useCase = new NotificationUseCase(
+                noOpSmsPort,
+                new InMemoryNotificationTrackingAdapter(100_000, Duration.ofHours(1)),
+                dispatchAdapter,
+                new NoOpOutbox(),
+                new InMemoryNotificationIdempotencyAdapter(50_000, Duration.ofMinutes(10), meterRegistry),
+                new SmsEncoder(true),
+                new InMemoryMessageDeliveryAdapter(100_000),
+                coalescingAdapter,
+                new PhoneNumberNormalizer(57, 10),
+                new MicrometerNotificationMetricsAdapter(meterRegistry),
+                new TwilioErrorClassifier(),
+                5);
+        handler = new NotificationHandler(useCase, Mappers.getMapper(INotificationDtoMapper.class), meterRegistry, Tracer.NOOP);
+    }
+
+    @TearDown
+    public void tearDown() {
+        coalescingAdapter.shutdown();
+        dispatchAdapter.shutdown();
+    }
+
+    // The path POST /order-ready takes. Every invocation is a new order, so idempotency misses and the SMS is "sent"
+    @Benchmark
+    public NotificationResponseDto sendOrderReadyNotification(Orders orders) {
+        return handler.sendOrderReadyNotificationAsync(orders.next(), null).join();
+    }
+
+    // A retried request answered from the idempotency store
+    @Benchmark
+    public NotificationResponseDto sendDuplicateOrderReadyNotification() {
+        return handler.sendOrderReadyNotificationAsync(duplicate, null).join();
+    }
+
+    @State(Scope.Thread)
+    public static class Orders {
+
+        private final OrderReadyNotificationRequestDto request =
+                new OrderReadyNotificationRequestDto("300 123 4567", null, "456789", "Mi Restaurante", null);
+        private long sequence;
+
+        OrderReadyNotificationRequestDto next() {
+            request.setOrderId(Thread.currentThread().threadId() + "-" + sequence++);
+            return request;
+        }
+    }
+
+    private static final class NoOpOutbox implements INotificationOutboxPort {
+
+        @Override
+        public void append(NotificationOutboxEntry entry) {
+        }
+
+        @Override
+        public void markDone(String trackingId) {
+        }
+
+        @Override
+        public void deadLetter(NotificationOutboxEntry entry) {
+        }
+
+        @Override
+        public List<NotificationOutboxEntry> findPending() {
+            return List.of();
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.pragma.mensajeria.application.mapper;
+
+import com.pragma.mensajeria.application.dto.NotificationResponseDto;
+import com.pragma.mensajeria.application.dto.OrderReadyNotificationRequestDto;
+import com.pragma.mensajeria.domain.model.NotificationMessage;
+import com.pragma.mensajeria.domain.model.NotificationResult;
+import org.mapstruct.factory.Mappers;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class NotificationDtoMapperBenchmark {
+
+    // The generated implementation has no Spring dependencies, so it can be used without a context
+    private final INotificationDtoMapper mapper = Mappers.getMapper(INotificationDtoMapper.class);
+
+    private final OrderReadyNotificationRequestDto request =
+            new OrderReadyNotificationRequestDto("+573001234567", "123", "456789", "Mi Restaurante", null);
+    private final NotificationResult result = NotificationResult.success("SM123");
+
+    @Benchmark
+    public NotificationMessage toNotificationMessage() {
+        return mapper.toNotificationMessage(request);
+    }
+
+    @Benchmark
+    public NotificationResponseDto toNotificationResponseDto() {
+        return mapper.toNotificationResponseDto(result);
+    }
+}
@@ -0,0 +1,51 @@
+package com.pragma.mensajeria.domain.model;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MessageTemplateBenchmark {
+
+    private static final String FORMAT_TEMPLATE =
+            "Hello! Your order #%s at %s is READY for pickup. " +
+            "Your security PIN is: %s. " +
+            "Please present this PIN to the employee to claim your order.";
+
+    private static final MessageTemplate<NotificationMessage> COMPILED_TEMPLATE = MessageTemplate.compile(
+            "Hello! Your order #{orderId} at {restaurantName} is READY for pickup. " +
+            "Your security PIN is: {securityPin}. " +
+            "Please present this PIN to the employee to claim your order.",
+            Map.of(
+                    "orderId", NotificationMessage::getOrderId,
+                    "restaurantName", NotificationMessage::getRestaurantName,
+                    "securityPin", NotificationMessage::getSecurityPin
+            ));
+
+    private final NotificationMessage message =
+            new NotificationMessage("+573001234567", null, "123", "456789", "Mi Restaurante");
+
+    @Benchmark
+    public String stringFormat() {
+        return String.format(FORMAT_TEMPLATE, message.getOrderId(), message.getRestaurantName(), message.getSecurityPin());
+    }
+
+    @Benchmark
+    public String compiledTemplate() {
+        return COMPILED_TEMPLATE.render(message);
+    }
+}
@@ -0,0 +1,55 @@
+package com.pragma.mensajeria.domain.model;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PhoneNumberBenchmark {
+
+    // The check TwilioSmsClient ran before E164.parse replaced it, kept as the baseline
+    private static final String LEGACY_PHONE_NUMBER_PATTERN = "^\\+[1-9]\\d{1,14}$";
+
+    private final PhoneNumberNormalizer normalizer = new PhoneNumberNormalizer(57, 10);
+    private final String e164 = "+573001234567";
+    private final String formatted = "+57 (300) 123-4567";
+    private final String national = "300 123 4567";
+
+    @Benchmark
+    public boolean legacyRegexValidation() {
+        return e164.matches(LEGACY_PHONE_NUMBER_PATTERN);
+    }
+
+    @Benchmark
+    public long twilioClientValidation() {
+        return E164.parse(e164);
+    }
+
+    @Benchmark
+    public long normalizeFormatted() {
+        return normalizer.normalize(formatted);
+    }
+
+    @Benchmark
+    public long normalizeNational() {
+        return normalizer.normalize(national);
+    }
+
+    @Benchmark
+    public String format() {
+        return E164.format(E164.parse(e164));
+    }
+}
@@ -0,0 +1,36 @@
+package com.pragma.mensajeria.infrastructure.exception;
+
+import io.micrometer.tracing.Tracer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class GlobalExceptionHandlerBenchmark {
+
+    private final GlobalExceptionHandler handler = new GlobalExceptionHandler(Tracer.NOOP);
+    private final MockHttpServletRequest request =
+            new MockHttpServletRequest("POST", "/api/v1/notifications/order-ready");
+    // Created once so the benchmark measures the handler, not stack trace capture
+    private final IllegalArgumentException invalidPhone = new IllegalArgumentException("Invalid phone number format");
+
+    @Benchmark
+    public ResponseEntity<ErrorResponse> handleIllegalArgument() {
+        return handler.handleIllegalArgumentException(invalidPhone, request);
+    }
+}
@@ -0,0 +1,58 @@
+package com.pragma.mensajeria.infrastructure.security;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtTokenValidatorBenchmark {
+
+    private static final String SECRET = "01234567890123456789012345678901";
+
+    private JwtTokenValidator validator;
+    private String validToken;
+    private String tamperedToken;
+
+    @Setup
+    public void setUp() {
+        validator = new JwtTokenValidator(SECRET);
+        validToken = Jwts.builder()
+                .subject("owner@example.com")
+                .claim("role", "OWNER")
+                .claim("userId", 42L)
+                .expiration(new Date(System.currentTimeMillis() + TimeUnit.HOURS.toMillis(1)))
+                .signWith(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)))
+                .compact();
+        // Same header and claims, broken signature: the parser has to do all the work before rejecting it
+        tamperedToken = validToken.substring(0, validToken.length() - 2) + "AA";
+    }
+
+    @Benchmark
+    public Optional<VerifiedPrincipal> verifyValidToken() {
+        return validator.verify(validToken);
+    }
+
+    @Benchmark
+    public Optional<VerifiedPrincipal> verifyTamperedToken() {
+        return validator.verify(tamperedToken);
+    }
+}
@@ -0,0 +1,84 @@
+package com.pragma.mensajeria.loadtest;
+
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// Latencies are in microseconds and measured from each request's intended send time.
+// latencies holds every completed request; failedLatencies is the subset that ended in an error
+record LoadReport(LoadScenario scenario, Histogram latencies, Histogram failedLatencies, long successes,
+                  Map<String, Long> errors, Duration elapsed, Duration maxSendLag) {
+
+    long errorCount() {
+        return errors.values().stream().mapToLong(Long::longValue).sum();
+    }
+
+    double errorRatio() {
+        long total = successes + errorCount();
+        return total == 0 ? 0 : (double) errorCount() / total;
+    }
+
+    double throughput() {
+        return successes / (elapsed.toNanos() / 1e9);
+    }
+
+    double throughputRatio() {
+        return throughput() / scenario.offeredRate();
+    }
+
+    Duration percentile(double percentile) {
+        return micros(latencies.getValueAtPercentile(percentile));
+    }
+
+    Duration max() {
+        return micros(latencies.getMaxValue());
+    }
+
+    String summary() {
+        return String.format("""
+                        %s: %d requests offered at %.1f req/s over %s
+                          throughput  %.1f req/s (%.1f%% of offered)
+                          latency     p50 %s  p99 %s  p99.9 %s  max %s
+                          errors      %d (%.3f%%) %s%s
+                          generator   max send lag %s""",
+                scenario.name(), scenario.requestCount(), scenario.offeredRate(), scenario.duration(),
+                throughput(), throughputRatio() * 100,
+                millis(percentile(50)), millis(percentile(99)), millis(percentile(99.9)), millis(max()),
+                errorCount(), errorRatio() * 100, errors, failureLatencySummary(),
+                millis(maxSendLag));
+    }
+
+    // Standard .hgrm percentile distribution in milliseconds, readable by HdrHistogram's plotting tools
+    Path writeHistogram(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        Path file = directory.resolve(scenario.name() + ".hgrm");
+        try (PrintStream out = new PrintStream(Files.newOutputStream(file))) {
+            latencies.outputPercentileDistribution(out, 1000.0);
+        }
+        return file;
+    }
+
+    private String failureLatencySummary() {
+        if (failedLatencies.getTotalCount() == 0) {
+            return "";
+        }
+        return String.format("  failed p50 %s  p99 %s  max %s",
+                millis(micros(failedLatencies.getValueAtPercentile(50))),
+                millis(micros(failedLatencies.getValueAtPercentile(99))),
+                millis(micros(failedLatencies.getMaxValue())));
+    }
+
+    private static Duration micros(long value) {
+        return Duration.ofNanos(TimeUnit.MICROSECONDS.toNanos(value));
+    }
+
+    private static String millis(Duration duration) {
+        return String.format("%.2fms", duration.toNanos() / 1e6);
+    }
+}
@@ -0,0 +1,73 @@
+package com.pragma.mensajeria.loadtest;
+
+import java.time.Duration;
+
+// When each request of an open-loop run is due, relative to the start. The schedule never depends on responses,
+// so a slow server cannot slow the generator down and hide its own latency (coordinated omission).
+sealed interface LoadScenario {
+
+    String name();
+
+    Duration duration();
+
+    long requestCount();
+
+    long offsetNanos(long index);
+
+    static LoadScenario constantRate(double requestsPerSecond, Duration duration) {
+        return new ConstantRate(requestsPerSecond, duration);
+    }
+
+    static LoadScenario ramp(double fromRequestsPerSecond, double toRequestsPerSecond, Duration duration) {
+        return new Ramp(fromRequestsPerSecond, toRequestsPerSecond, duration);
+    }
+
+    default double offeredRate() {
+        return requestCount() / seconds(duration());
+    }
+
+    private static double seconds(Duration duration) {
+        return duration.toNanos() / 1e9;
+    }
+
+    record ConstantRate(double requestsPerSecond, Duration duration) implements LoadScenario {
+
+        @Override
+        public String name() {
+            return "constant-" + Math.round(requestsPerSecond) + "rps";
+        }
+
+        @Override
+        public long requestCount() {
+            return (long) (requestsPerSecond * seconds(duration));
+        }
+
+        @Override
+        public long offsetNanos(long index) {
+            return (long) (index * 1e9 / requestsPerSecond);
+        }
+    }
+
+    // Rate grows linearly, so request i is due when the integral of the rate reaches i: from*t + slope*t^2/2 = i
+    record Ramp(double fromRequestsPerSecond, double toRequestsPerSecond, Duration duration) implements LoadScenario {
+
+        @Override
+        public String name() {
+            return "ramp-" + Math.round(fromRequestsPerSecond) + "-" + Math.round(toRequestsPerSecond) + "rps";
+        }
+
+        @Override
+        public long requestCount() {
+            return (long) ((fromRequestsPerSecond + toRequestsPerSecond) / 2 * seconds(duration));
+        }
+
+        @Override
+        public long offsetNanos(long index) {
+            double slope = (toRequestsPerSecond - fromRequestsPerSecond) / seconds(duration);
+            double seconds = Math.abs(slope) < 1e-9
+                    ? index / fromRequestsPerSecond
+                    : (Math.sqrt(fromRequestsPerSecond * fromRequestsPerSecond + 2 * slope * index) - fromRequestsPerSecond) / slope;
+            return (long) (seconds * 1e9);
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.pragma.mensajeria.loadtest;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+// Every value can be overridden on the command line: ./gradlew loadTest -Pload.rate=500 -Pload.threshold.p99=PT0.1S
+record LoadTestSettings(double rate, Duration duration, Duration warmup,
+                        double rampFrom, double rampTo, Duration rampDuration,
+                        Duration smsLatency, Duration requestTimeout, int tokens,
+                        Duration maxP99, Duration maxP999, double maxErrorRatio, double minThroughputRatio,
+                        Path reportDirectory) {
+
+    static LoadTestSettings fromSystemProperties() {
+        return new LoadTestSettings(
+                Double.parseDouble(property("load.rate", "200")),
+                Duration.parse(property("load.duration", "PT30S")),
+                Duration.parse(property("load.warmup", "PT10S")),
+                Double.parseDouble(property("load.ramp.from", "50")),
+                Double.parseDouble(property("load.ramp.to", "400")),
+                Duration.parse(property("load.ramp.duration", "PT30S")),
+                Duration.parse(property("load.sms.latency", "PT0.05S")),
+                Duration.parse(property("load.request-timeout", "PT10S")),
+                Integer.parseInt(property("load.jwt.tokens", "50")),
+                Duration.parse(property("load.threshold.p99", "PT0.25S")),
+                Duration.parse(property("load.threshold.p999", "PT0.5S")),
+                Double.parseDouble(property("load.threshold.max-error-ratio", "0.001")),
+                Double.parseDouble(property("load.threshold.min-throughput-ratio", "0.95")),
+                Path.of(property("load.report-dir", "build/reports/load-test")));
+    }
+
+    private static String property(String name, String defaultValue) {
+        return System.getProperty(name, defaultValue);
+    }
+}
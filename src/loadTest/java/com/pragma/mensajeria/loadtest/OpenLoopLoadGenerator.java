@@ -0,0 +1,78 @@
+package com.pragma.mensajeria.loadtest;
+
+import org.HdrHistogram.Recorder;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.LongFunction;
+
+// Sends each request at its scheduled time without waiting for earlier responses and times it from that
+// scheduled time, so queueing anywhere (including in this generator) shows up in the latencies.
+// Every completion is timed, failures included: a fast 503 or a slow timeout must not vanish from the distribution
+final class OpenLoopLoadGenerator {
+
+    private final HttpClient httpClient;
+
+    OpenLoopLoadGenerator(HttpClient httpClient) {
+        this.httpClient = httpClient;
+    }
+
+    LoadReport run(LoadScenario scenario, LongFunction<HttpRequest> requests) {
+        Recorder latencies = new Recorder(3);
+        Recorder failedLatencies = new Recorder(3);
+        LongAdder successes = new LongAdder();
+        Map<String, LongAdder> errors = new ConcurrentHashMap<>();
+        List<CompletableFuture<Void>> responses = new ArrayList<>((int) scenario.requestCount());
+        long maxSendLag = 0;
+
+        long start = System.nanoTime();
+        for (long i = 0; i < scenario.requestCount(); i++) {
+            long intended = start + scenario.offsetNanos(i);
+            long wait;
+            while ((wait = intended - System.nanoTime()) > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            maxSendLag = Math.max(maxSendLag, System.nanoTime() - intended);
+
+            responses.add(httpClient.sendAsync(requests.apply(i), HttpResponse.BodyHandlers.discarding())
+                    .handle((response, error) -> {
+                        long latencyMicros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - intended);
+                        latencies.recordValue(latencyMicros);
+                        if (error != null) {
+                            errors.computeIfAbsent(errorName(error), key -> new LongAdder()).increment();
+                            failedLatencies.recordValue(latencyMicros);
+                        } else if (response.statusCode() / 100 != 2) {
+                            errors.computeIfAbsent("HTTP " + response.statusCode(), key -> new LongAdder()).increment();
+                            failedLatencies.recordValue(latencyMicros);
+                        } else {
+                            successes.increment();
+                        }
+                        return null;
+                    }));
+        }
+        CompletableFuture.allOf(responses.toArray(CompletableFuture[]::new)).join();
+        long elapsed = System.nanoTime() - start;
+
+        Map<String, Long> errorCounts = new TreeMap<>();
+        errors.forEach((name, count) -> errorCounts.put(name, count.sum()));
+        return new LoadReport(scenario, latencies.getIntervalHistogram(), failedLatencies.getIntervalHistogram(),
+                successes.sum(), errorCounts, Duration.ofNanos(elapsed), Duration.ofNanos(maxSendLag));
+    }
+
+    private static String errorName(Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        return cause.getClass().getSimpleName();
+    }
+}
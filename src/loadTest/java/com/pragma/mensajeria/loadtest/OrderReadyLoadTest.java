@@ -0,0 +1,135 @@
+package com.pragma.mensajeria.loadtest;
+
+import com.pragma.mensajeria.domain.spi.ISmsMessagingPort;
+import com.pragma.mensajeria.infrastructure.constant.ApiConstants;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.bean.override.convention.TestBean;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Boots the service on a random port with a stubbed SMS provider and drives POST /order-ready open-loop.
+// Run with ./gradlew loadTest; thresholds and rates come from LoadTestSettings.
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "notification.outbox.directory=build/load-test/outbox",
+        "logging.level.com.pragma=WARN"
+})
+class OrderReadyLoadTest {
+
+    private static final LoadTestSettings SETTINGS = LoadTestSettings.fromSystemProperties();
+
+    @TestBean(name = "smsMessagingPort", methodName = "stubSmsMessagingPort")
+    private ISmsMessagingPort smsMessagingPort;
+
+    @Value("${local.server.port}")
+    private int port;
+
+    @Value("${jwt.secret}")
+    private String jwtSecret;
+
+    private URI orderReadyUri;
+    private List<String> tokens;
+    private OpenLoopLoadGenerator generator;
+
+    static ISmsMessagingPort stubSmsMessagingPort() {
+        return new StubSmsMessagingPort(SETTINGS.smsLatency());
+    }
+
+    @BeforeEach
+    void setUp() {
+        orderReadyUri = URI.create("http://localhost:" + port + ApiConstants.NOTIFICATIONS_BASE_PATH + "/order-ready");
+        // Several callers, as plazoleta-service employees would be, each with its own signed token
+        tokens = IntStream.range(0, SETTINGS.tokens())
+                .mapToObj(this::signToken)
+                .toList();
+        generator = new OpenLoopLoadGenerator(HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build());
+    }
+
+    @Test
+    void constantRate_ShouldStayWithinLatencyAndThroughputThresholds() throws IOException {
+        warmUp();
+
+        LoadScenario scenario = LoadScenario.constantRate(SETTINGS.rate(), SETTINGS.duration());
+        LoadReport report = generator.run(scenario, index -> orderReadyRequest(scenario.name(), index));
+
+        assertWithinThresholds(report);
+    }
+
+    @Test
+    void ramp_ShouldStayWithinLatencyAndThroughputThresholds() throws IOException {
+        warmUp();
+
+        LoadScenario scenario = LoadScenario.ramp(SETTINGS.rampFrom(), SETTINGS.rampTo(), SETTINGS.rampDuration());
+        LoadReport report = generator.run(scenario, index -> orderReadyRequest(scenario.name(), index));
+
+        assertWithinThresholds(report);
+    }
+
+    // Lets the JIT and connection pools settle; its numbers are discarded
+    private void warmUp() {
+        if (!SETTINGS.warmup().isZero()) {
+            String run = "warmup-" + System.nanoTime();
+            generator.run(LoadScenario.constantRate(SETTINGS.rate(), SETTINGS.warmup()),
+                    index -> orderReadyRequest(run, index));
+        }
+    }
+
+    private void assertWithinThresholds(LoadReport report) throws IOException {
+        System.out.println(report.summary());
+        System.out.println("  histogram   " + report.writeHistogram(SETTINGS.reportDirectory()).toAbsolutePath());
+
+        assertAll(report.scenario().name(),
+                () -> assertTrue(report.percentile(99).compareTo(SETTINGS.maxP99()) <= 0,
+                        "p99 " + report.percentile(99) + " exceeds " + SETTINGS.maxP99()),
+                () -> assertTrue(report.percentile(99.9).compareTo(SETTINGS.maxP999()) <= 0,
+                        "p99.9 " + report.percentile(99.9) + " exceeds " + SETTINGS.maxP999()),
+                () -> assertTrue(report.errorRatio() <= SETTINGS.maxErrorRatio(),
+                        "error ratio " + report.errorRatio() + " exceeds " + SETTINGS.maxErrorRatio() + ": " + report.errors()),
+                () -> assertTrue(report.throughputRatio() >= SETTINGS.minThroughputRatio(),
+                        "throughput " + report.throughput() + " req/s is below " + SETTINGS.minThroughputRatio()
+                                + " of the offered " + report.scenario().offeredRate() + " req/s"));
+    }
+
+    // Unique order per run and request so idempotency never short-circuits a send
+    private HttpRequest orderReadyRequest(String run, long index) {
+        String body = "{\"phoneNumber\":\"+57300" + (1_000_000 + Math.floorMod(index, 9_000_000)) + "\","
+                + "\"orderId\":\"" + run + "-" + index + "\","
+                + "\"securityPin\":\"" + (100_000 + Math.floorMod(index, 900_000)) + "\","
+                + "\"restaurantName\":\"Load Test Restaurant\"}";
+        return HttpRequest.newBuilder(orderReadyUri)
+                .timeout(SETTINGS.requestTimeout())
+                .header("Content-Type", ApiConstants.APPLICATION_JSON)
+                .header("Authorization", "Bearer " + tokens.get(Math.floorMod(index, tokens.size())))
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    private String signToken(int caller) {
+        return Jwts.builder()
+                .subject("load-" + caller + "@plazoleta.test")
+                .claim("role", "EMPLOYEE")
+                .claim("userId", (long) caller)
+                .expiration(new Date(System.currentTimeMillis() + Duration.ofHours(1).toMillis()))
+                .signWith(Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8)))
+                .compact();
+    }
+}
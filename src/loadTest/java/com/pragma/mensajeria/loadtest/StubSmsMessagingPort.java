@@ -0,0 +1,31 @@
+package com.pragma.mensajeria.loadtest;
+
+import com.pragma.mensajeria.domain.model.NotificationResult;
+import com.pragma.mensajeria.domain.spi.ISmsMessagingPort;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Stands in for the whole provider chain with a fixed provider latency, so runs measure this service alone
+final class StubSmsMessagingPort implements ISmsMessagingPort {
+
+    private final Duration latency;
+    private final AtomicLong sids = new AtomicLong();
+
+    StubSmsMessagingPort(Duration latency) {
+        this.latency = latency;
+    }
+
+    @Override
+    public NotificationResult sendSms(String phoneNumber, String message) {
+        if (!latency.isZero()) {
+            try {
+                Thread.sleep(latency);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return NotificationResult.failure("Interrupted");
+            }
+        }
+        return NotificationResult.success("SMload" + sids.incrementAndGet());
+    }
+}
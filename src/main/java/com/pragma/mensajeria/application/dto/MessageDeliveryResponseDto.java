@@ -0,0 +1,23 @@
+package com.pragma.mensajeria.application.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Instant;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class MessageDeliveryResponseDto {
+
+    private String messageId;
+    private String orderId;
+    private String status;
+    private String errorCode;
+    private Instant updatedAt;
+}
@@ -0,0 +1,25 @@
+package com.pragma.mensajeria.application.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Instant;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class NotificationTrackingResponseDto {
+
+    private String trackingId;
+    private String status;
+    private String messageId;
+    private String message;
+    private int attempts;
+    private Instant acceptedAt;
+    private Instant completedAt;
+}
@@ -0,0 +1,21 @@
+package com.pragma.mensajeria.application.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderReadyBatchNotificationRequestDto {
+
+    @NotEmpty(message = "At least one notification is required")
+    @Size(max = 100, message = "A batch cannot contain more than 100 notifications")
+    private List<OrderReadyNotificationRequestDto> notifications;
+}
@@ -1,5 +1,6 @@
 package com.pragma.mensajeria.application.dto;
 
+import com.pragma.mensajeria.application.validation.ValidPhoneNumber;
 import jakarta.validation.constraints.NotBlank;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
@@ -13,6 +14,7 @@ import lombok.Setter;
 public class OrderReadyNotificationRequestDto {
 
     @NotBlank(message = "Phone number is required")
+    @ValidPhoneNumber
     private String phoneNumber;
 
     @NotBlank(message = "Order ID is required")
@@ -23,4 +25,6 @@ public class OrderReadyNotificationRequestDto {
 
     @NotBlank(message = "Restaurant name is required")
     private String restaurantName;
+
+    private String restaurantId;
 }
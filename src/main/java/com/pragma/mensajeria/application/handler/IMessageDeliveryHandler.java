@@ -0,0 +1,14 @@
+package com.pragma.mensajeria.application.handler;
+
+import com.pragma.mensajeria.application.dto.MessageDeliveryResponseDto;
+
+import java.util.List;
+
+public interface IMessageDeliveryHandler {
+
+    void recordStatusUpdate(String messageId, String providerStatus, String errorCode);
+
+    MessageDeliveryResponseDto getDelivery(String messageId);
+
+    List<MessageDeliveryResponseDto> getDeliveriesByOrder(String orderId);
+}
@@ -1,9 +1,21 @@
 package com.pragma.mensajeria.application.handler;
 
 import com.pragma.mensajeria.application.dto.NotificationResponseDto;
+import com.pragma.mensajeria.application.dto.NotificationTrackingResponseDto;
+import com.pragma.mensajeria.application.dto.OrderReadyBatchNotificationRequestDto;
 import com.pragma.mensajeria.application.dto.OrderReadyNotificationRequestDto;
 
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
 public interface INotificationHandler {
 
-    NotificationResponseDto sendOrderReadyNotification(OrderReadyNotificationRequestDto request);
+    CompletableFuture<NotificationResponseDto> sendOrderReadyNotificationAsync(OrderReadyNotificationRequestDto request,
+                                                                               String idempotencyKey);
+
+    List<NotificationResponseDto> sendOrderReadyNotifications(OrderReadyBatchNotificationRequestDto request);
+
+    NotificationTrackingResponseDto acceptOrderReadyNotification(OrderReadyNotificationRequestDto request);
+
+    NotificationTrackingResponseDto getNotificationTracking(String trackingId);
 }
@@ -0,0 +1,36 @@
+package com.pragma.mensajeria.application.handler;
+
+import com.pragma.mensajeria.application.dto.MessageDeliveryResponseDto;
+import com.pragma.mensajeria.application.mapper.IMessageDeliveryDtoMapper;
+import com.pragma.mensajeria.domain.api.IMessageDeliveryServicePort;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+@Service
+public class MessageDeliveryHandler implements IMessageDeliveryHandler {
+
+    private final IMessageDeliveryServicePort messageDeliveryServicePort;
+    private final IMessageDeliveryDtoMapper messageDeliveryDtoMapper;
+
+    public MessageDeliveryHandler(IMessageDeliveryServicePort messageDeliveryServicePort,
+                                  IMessageDeliveryDtoMapper messageDeliveryDtoMapper) {
+        this.messageDeliveryServicePort = messageDeliveryServicePort;
+        this.messageDeliveryDtoMapper = messageDeliveryDtoMapper;
+    }
+
+    @Override
+    public void recordStatusUpdate(String messageId, String providerStatus, String errorCode) {
+        messageDeliveryServicePort.recordStatusUpdate(messageId, providerStatus, errorCode);
+    }
+
+    @Override
+    public MessageDeliveryResponseDto getDelivery(String messageId) {
+        return messageDeliveryDtoMapper.toMessageDeliveryResponseDto(messageDeliveryServicePort.getByMessageId(messageId));
+    }
+
+    @Override
+    public List<MessageDeliveryResponseDto> getDeliveriesByOrder(String orderId) {
+        return messageDeliveryDtoMapper.toMessageDeliveryResponseDtos(messageDeliveryServicePort.getByOrderId(orderId));
+    }
+}
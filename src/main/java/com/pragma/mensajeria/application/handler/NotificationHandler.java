@@ -1,29 +1,108 @@
 package com.pragma.mensajeria.application.handler;
 
 import com.pragma.mensajeria.application.dto.NotificationResponseDto;
+import com.pragma.mensajeria.application.dto.NotificationTrackingResponseDto;
+import com.pragma.mensajeria.application.dto.OrderReadyBatchNotificationRequestDto;
 import com.pragma.mensajeria.application.dto.OrderReadyNotificationRequestDto;
 import com.pragma.mensajeria.application.mapper.INotificationDtoMapper;
 import com.pragma.mensajeria.domain.api.INotificationServicePort;
 import com.pragma.mensajeria.domain.model.NotificationMessage;
 import com.pragma.mensajeria.domain.model.NotificationResult;
+import com.pragma.mensajeria.domain.model.NotificationTracking;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.Tracer;
 import org.springframework.stereotype.Service;
 
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
 @Service
 public class NotificationHandler implements INotificationHandler {
 
+    private static final String USE_CASE_SPAN = "notification.order-ready";
+
     private final INotificationServicePort notificationServicePort;
     private final INotificationDtoMapper notificationDtoMapper;
+    private final Timer mappingTimer;
+    private final Tracer tracer;
 
     public NotificationHandler(INotificationServicePort notificationServicePort,
-                               INotificationDtoMapper notificationDtoMapper) {
+                               INotificationDtoMapper notificationDtoMapper,
+                               MeterRegistry meterRegistry,
+                               Tracer tracer) {
         this.notificationServicePort = notificationServicePort;
         this.notificationDtoMapper = notificationDtoMapper;
+        this.tracer = tracer;
+        this.mappingTimer = Timer.builder("notification.stage.duration")
+                .tag("stage", "mapping")
+                .description("Time spent in each stage of the notification pipeline")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public CompletableFuture<NotificationResponseDto> sendOrderReadyNotificationAsync(OrderReadyNotificationRequestDto request,
+                                                                                      String idempotencyKey) {
+        NotificationMessage message = mappingTimer.record(() -> notificationDtoMapper.toNotificationMessage(request));
+        message.setIdempotencyKey(idempotencyKey);
+        // The span stays open until the provider answers; the async hops below carry it along
+        Span span = startUseCaseSpan(message);
+        CompletableFuture<NotificationResult> sent;
+        try (Tracer.SpanInScope _ = tracer.withSpan(span)) {
+            sent = notificationServicePort.sendOrderReadyNotificationAsync(message);
+        } catch (RuntimeException e) {
+            span.error(e);
+            span.end();
+            throw e;
+        }
+        return sent.whenComplete((result, error) -> {
+                    if (error != null) {
+                        span.error(error);
+                    } else {
+                        tagResult(span, result);
+                    }
+                    span.end();
+                })
+                .thenApply(result -> mappingTimer.record(() -> notificationDtoMapper.toNotificationResponseDto(result)));
+    }
+
+    @Override
+    public List<NotificationResponseDto> sendOrderReadyNotifications(OrderReadyBatchNotificationRequestDto request) {
+        List<NotificationMessage> messages = mappingTimer.record(
+                () -> notificationDtoMapper.toNotificationMessages(request.getNotifications()));
+        List<NotificationResult> results = notificationServicePort.sendOrderReadyNotifications(messages);
+        return mappingTimer.record(() -> notificationDtoMapper.toNotificationResponseDtos(results));
     }
 
     @Override
-    public NotificationResponseDto sendOrderReadyNotification(OrderReadyNotificationRequestDto request) {
-        NotificationMessage message = notificationDtoMapper.toNotificationMessage(request);
-        NotificationResult result = notificationServicePort.sendOrderReadyNotification(message);
-        return notificationDtoMapper.toNotificationResponseDto(result);
+    public NotificationTrackingResponseDto acceptOrderReadyNotification(OrderReadyNotificationRequestDto request) {
+        NotificationMessage message = mappingTimer.record(() -> notificationDtoMapper.toNotificationMessage(request));
+        NotificationTracking tracking = notificationServicePort.acceptOrderReadyNotification(message);
+        return mappingTimer.record(() -> notificationDtoMapper.toNotificationTrackingResponseDto(tracking));
+    }
+
+    @Override
+    public NotificationTrackingResponseDto getNotificationTracking(String trackingId) {
+        NotificationTracking tracking = notificationServicePort.getNotificationTracking(trackingId);
+        return notificationDtoMapper.toNotificationTrackingResponseDto(tracking);
+    }
+
+    private Span startUseCaseSpan(NotificationMessage message) {
+        Span span = tracer.nextSpan().name(USE_CASE_SPAN);
+        if (message.getOrderId() != null) {
+            span.tag("order.id", message.getOrderId());
+        }
+        return span.start();
+    }
+
+    private void tagResult(Span span, NotificationResult result) {
+        span.tag("notification.success", String.valueOf(result.isSuccess()));
+        if (result.getMessageId() != null) {
+            span.tag("twilio.message.sid", result.getMessageId());
+        }
+        if (result.getErrorCode() != null) {
+            span.tag("error.code", result.getErrorCode());
+        }
     }
 }
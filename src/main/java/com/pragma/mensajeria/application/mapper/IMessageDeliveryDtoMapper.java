@@ -0,0 +1,17 @@
+package com.pragma.mensajeria.application.mapper;
+
+import com.pragma.mensajeria.application.dto.MessageDeliveryResponseDto;
+import com.pragma.mensajeria.domain.model.MessageDelivery;
+import org.mapstruct.Mapper;
+import org.mapstruct.ReportingPolicy;
+
+import java.util.List;
+
+@Mapper(componentModel = "spring",
+        unmappedTargetPolicy = ReportingPolicy.IGNORE)
+public interface IMessageDeliveryDtoMapper {
+
+    MessageDeliveryResponseDto toMessageDeliveryResponseDto(MessageDelivery delivery);
+
+    List<MessageDeliveryResponseDto> toMessageDeliveryResponseDtos(List<MessageDelivery> deliveries);
+}
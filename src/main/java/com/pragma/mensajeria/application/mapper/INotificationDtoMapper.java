@@ -1,13 +1,17 @@
 package com.pragma.mensajeria.application.mapper;
 
 import com.pragma.mensajeria.application.dto.NotificationResponseDto;
+import com.pragma.mensajeria.application.dto.NotificationTrackingResponseDto;
 import com.pragma.mensajeria.application.dto.OrderReadyNotificationRequestDto;
 import com.pragma.mensajeria.domain.model.NotificationMessage;
 import com.pragma.mensajeria.domain.model.NotificationResult;
+import com.pragma.mensajeria.domain.model.NotificationTracking;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 import org.mapstruct.ReportingPolicy;
 
+import java.util.List;
+
 @Mapper(componentModel = "spring",
         unmappedTargetPolicy = ReportingPolicy.IGNORE)
 public interface INotificationDtoMapper {
@@ -16,4 +20,13 @@ public interface INotificationDtoMapper {
 
     @Mapping(target = "message", expression = "java(result.isSuccess() ? \"Notification sent successfully\" : result.getErrorMessage())")
     NotificationResponseDto toNotificationResponseDto(NotificationResult result);
+
+    List<NotificationMessage> toNotificationMessages(List<OrderReadyNotificationRequestDto> dtos);
+
+    List<NotificationResponseDto> toNotificationResponseDtos(List<NotificationResult> results);
+
+    @Mapping(target = "messageId", source = "result.messageId")
+    @Mapping(target = "message", source = "result.errorMessage")
+    @Mapping(target = "attempts", source = "result.attempts")
+    NotificationTrackingResponseDto toNotificationTrackingResponseDto(NotificationTracking tracking);
 }
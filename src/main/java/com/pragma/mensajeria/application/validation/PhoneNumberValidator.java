@@ -0,0 +1,19 @@
+package com.pragma.mensajeria.application.validation;
+
+import com.pragma.mensajeria.domain.model.PhoneNumberNormalizer;
+import jakarta.validation.ConstraintValidator;
+import jakarta.validation.ConstraintValidatorContext;
+
+public class PhoneNumberValidator implements ConstraintValidator<ValidPhoneNumber, String> {
+
+    private final PhoneNumberNormalizer phoneNumberNormalizer;
+
+    public PhoneNumberValidator(PhoneNumberNormalizer phoneNumberNormalizer) {
+        this.phoneNumberNormalizer = phoneNumberNormalizer;
+    }
+
+    @Override
+    public boolean isValid(String value, ConstraintValidatorContext context) {
+        return value == null || value.isBlank() || phoneNumberNormalizer.isValid(value);
+    }
+}
@@ -0,0 +1,14 @@
+package com.pragma.mensajeria.domain.api;
+
+import com.pragma.mensajeria.domain.model.MessageDelivery;
+
+import java.util.List;
+
+public interface IMessageDeliveryServicePort {
+
+    void recordStatusUpdate(String messageId, String providerStatus, String errorCode);
+
+    MessageDelivery getByMessageId(String messageId);
+
+    List<MessageDelivery> getByOrderId(String orderId);
+}
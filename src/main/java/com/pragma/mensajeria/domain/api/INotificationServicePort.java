@@ -2,8 +2,22 @@ package com.pragma.mensajeria.domain.api;
 
 import com.pragma.mensajeria.domain.model.NotificationMessage;
 import com.pragma.mensajeria.domain.model.NotificationResult;
+import com.pragma.mensajeria.domain.model.NotificationTracking;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 public interface INotificationServicePort {
 
     NotificationResult sendOrderReadyNotification(NotificationMessage message);
+
+    CompletableFuture<NotificationResult> sendOrderReadyNotificationAsync(NotificationMessage message);
+
+    List<NotificationResult> sendOrderReadyNotifications(List<NotificationMessage> messages);
+
+    NotificationTracking acceptOrderReadyNotification(NotificationMessage message);
+
+    NotificationTracking getNotificationTracking(String trackingId);
+
+    int resumePendingNotifications();
 }
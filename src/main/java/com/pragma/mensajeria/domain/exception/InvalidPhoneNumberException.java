@@ -1,6 +1,6 @@
 package com.pragma.mensajeria.domain.exception;
 
-public class InvalidPhoneNumberException extends RuntimeException {
+public class InvalidPhoneNumberException extends IllegalArgumentException {
 
     public InvalidPhoneNumberException(String message) {
         super(message);
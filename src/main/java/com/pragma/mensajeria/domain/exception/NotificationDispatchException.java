@@ -0,0 +1,12 @@
+package com.pragma.mensajeria.domain.exception;
+
+public class NotificationDispatchException extends RuntimeException {
+
+    public NotificationDispatchException(String message) {
+        super(message);
+    }
+
+    public NotificationDispatchException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,8 @@
+package com.pragma.mensajeria.domain.exception;
+
+public class NotificationNotFoundException extends RuntimeException {
+
+    public NotificationNotFoundException(String message) {
+        super(message);
+    }
+}
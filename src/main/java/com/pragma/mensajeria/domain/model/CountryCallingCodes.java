@@ -0,0 +1,92 @@
+package com.pragma.mensajeria.domain.model;
+
+import java.util.Arrays;
+
+public final class CountryCallingCodes {
+
+    // ITU-T E.164 assigned country calling codes; ranges are inclusive and every code has the same length
+    private static final String ASSIGNED_CODES =
+            "1 7 20 211-213 216 218 220-258 260-269 27 290 291 297-299 " +
+            "30-34 350-359 36 370-383 385-387 389 39 40 41 420 421 423 43-49 " +
+            "500-509 51-58 590-599 60-66 670 672-683 685-692 " +
+            "800 808 81 82 84 850 852 853 855 856 86 870 878 880-883 886 888 " +
+            "90-95 960-968 970-977 979 98 992-996 998";
+
+    public static final int MAX_LENGTH = 3;
+
+    private static final int NO_CHILD = 0;
+    private static final int ROOT = 0;
+
+    // Flat decimal trie: node n's child for digit d is CHILDREN[n * 10 + d]; a node index is never 0 except the root
+    private static final int[] CHILDREN;
+    private static final boolean[] TERMINAL;
+
+    static {
+        String[] entries = ASSIGNED_CODES.split(" ");
+        int maxNodes = 1 + entries.length * MAX_LENGTH * 10;
+        int[] children = new int[maxNodes * 10];
+        boolean[] terminal = new boolean[maxNodes];
+        int nodes = 1;
+        for (String entry : entries) {
+            int dash = entry.indexOf('-');
+            int first = Integer.parseInt(dash < 0 ? entry : entry.substring(0, dash));
+            int last = dash < 0 ? first : Integer.parseInt(entry.substring(dash + 1));
+            int length = dash < 0 ? entry.length() : dash;
+            for (int code = first; code <= last; code++) {
+                int node = ROOT;
+                for (int position = length - 1; position >= 0; position--) {
+                    if (terminal[node]) {
+                        throw new IllegalStateException("Calling code " + code + " extends an assigned code");
+                    }
+                    int slot = node * 10 + digitAt(code, position);
+                    if (children[slot] == NO_CHILD) {
+                        children[slot] = nodes++;
+                    }
+                    node = children[slot];
+                }
+                if (terminal[node] || hasChildren(children, node)) {
+                    throw new IllegalStateException("Calling code " + code + " overlaps an assigned code");
+                }
+                terminal[node] = true;
+            }
+        }
+        CHILDREN = Arrays.copyOf(children, nodes * 10);
+        TERMINAL = Arrays.copyOf(terminal, nodes);
+    }
+
+    private CountryCallingCodes() {
+    }
+
+    // Codes are prefix-free, so at most one code can start a number. Returns its length, or 0 when none does
+    public static int prefixLength(long digits, int digitCount) {
+        int node = ROOT;
+        for (int i = 0; i < Math.min(MAX_LENGTH, digitCount); i++) {
+            node = CHILDREN[node * 10 + digitAt(digits, digitCount - 1 - i)];
+            if (node == NO_CHILD) {
+                return 0;
+            }
+            if (TERMINAL[node]) {
+                return i + 1;
+            }
+        }
+        return 0;
+    }
+
+    public static boolean isAssigned(int code) {
+        int length = code < 10 ? 1 : code < 100 ? 2 : code < 1000 ? 3 : 0;
+        return length > 0 && prefixLength(code, length) == length;
+    }
+
+    private static int digitAt(long value, int position) {
+        return (int) (value / E164.POWERS_OF_TEN[position] % 10);
+    }
+
+    private static boolean hasChildren(int[] children, int node) {
+        for (int digit = 0; digit < 10; digit++) {
+            if (children[node * 10 + digit] != NO_CHILD) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
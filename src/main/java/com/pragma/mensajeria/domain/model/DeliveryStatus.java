@@ -0,0 +1,29 @@
+package com.pragma.mensajeria.domain.model;
+
+import java.util.Locale;
+import java.util.Optional;
+
+// Provider delivery states in lifecycle order; final states come last so a late callback never rolls one back
+public enum DeliveryStatus {
+    ACCEPTED,
+    SCHEDULED,
+    QUEUED,
+    SENDING,
+    SENT,
+    CANCELED,
+    FAILED,
+    UNDELIVERED,
+    DELIVERED,
+    READ;
+
+    public static Optional<DeliveryStatus> fromProvider(String status) {
+        if (status == null || status.isBlank()) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(valueOf(status.trim().toUpperCase(Locale.ROOT)));
+        } catch (IllegalArgumentException _) {
+            return Optional.empty();
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.pragma.mensajeria.domain.model;
+
+// E.164 numbers packed into a long: the digits as a decimal value in the low 50 bits (15 digits always fit)
+// and the country calling code length above them. 0 is never a valid packed number, so it can mean "not set".
+public final class E164 {
+
+    public static final long INVALID = -1L;
+    public static final int MIN_DIGITS = 7;
+    public static final int MAX_DIGITS = 15;
+
+    static final long[] POWERS_OF_TEN = new long[MAX_DIGITS + 1];
+
+    private static final int DIGITS_BITS = 50;
+    private static final long DIGITS_MASK = (1L << DIGITS_BITS) - 1;
+
+    static {
+        POWERS_OF_TEN[0] = 1;
+        for (int i = 1; i < POWERS_OF_TEN.length; i++) {
+            POWERS_OF_TEN[i] = POWERS_OF_TEN[i - 1] * 10;
+        }
+    }
+
+    private E164() {
+    }
+
+    // Strict form only: '+' followed by nothing but digits
+    public static long parse(CharSequence text) {
+        if (text == null || text.length() < MIN_DIGITS + 1 || text.length() > MAX_DIGITS + 1 || text.charAt(0) != '+') {
+            return INVALID;
+        }
+        long digits = 0;
+        for (int i = 1; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c < '0' || c > '9') {
+                return INVALID;
+            }
+            digits = digits * 10 + (c - '0');
+        }
+        return pack(digits, text.length() - 1);
+    }
+
+    // digitCount includes leading zeros, which a number starting with a calling code can never have
+    public static long pack(long digits, int digitCount) {
+        if (digitCount < MIN_DIGITS || digitCount > MAX_DIGITS || digits < POWERS_OF_TEN[digitCount - 1]) {
+            return INVALID;
+        }
+        int codeLength = CountryCallingCodes.prefixLength(digits, digitCount);
+        if (codeLength == 0) {
+            return INVALID;
+        }
+        return (long) codeLength << DIGITS_BITS | digits;
+    }
+
+    public static boolean isValid(long packed) {
+        return packed > 0;
+    }
+
+    public static int countryCode(long packed) {
+        long digits = digits(packed);
+        return (int) (digits / POWERS_OF_TEN[digitCount(digits) - codeLength(packed)]);
+    }
+
+    public static long nationalNumber(long packed) {
+        long digits = digits(packed);
+        return digits % POWERS_OF_TEN[digitCount(digits) - codeLength(packed)];
+    }
+
+    public static String format(long packed) {
+        if (!isValid(packed)) {
+            throw new IllegalArgumentException("Not a packed E.164 number: " + packed);
+        }
+        long digits = digits(packed);
+        char[] text = new char[digitCount(digits) + 1];
+        text[0] = '+';
+        for (int i = text.length - 1; i > 0; i--) {
+            text[i] = (char) ('0' + digits % 10);
+            digits /= 10;
+        }
+        return new String(text);
+    }
+
+    private static long digits(long packed) {
+        return packed & DIGITS_MASK;
+    }
+
+    private static int codeLength(long packed) {
+        return (int) (packed >>> DIGITS_BITS);
+    }
+
+    private static int digitCount(long digits) {
+        int count = 1;
+        while (count < MAX_DIGITS && digits >= POWERS_OF_TEN[count]) {
+            count++;
+        }
+        return count;
+    }
+}
@@ -0,0 +1,13 @@
+package com.pragma.mensajeria.domain.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class EncodedSms {
+
+    private final String text;
+    private final SmsEncoding encoding;
+    private final int segments;
+}
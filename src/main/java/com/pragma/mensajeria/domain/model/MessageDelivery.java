@@ -0,0 +1,35 @@
+package com.pragma.mensajeria.domain.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.Instant;
+
+// Immutable so stores can swap versions with compare-and-set
+@Getter
+@Builder(toBuilder = true)
+@AllArgsConstructor
+public class MessageDelivery {
+
+    private final String messageId;
+    private final String orderId;
+    private final DeliveryStatus status;
+    private final String errorCode;
+    private final Instant updatedAt;
+
+    public static MessageDelivery accepted(String messageId, String orderId) {
+        return new MessageDelivery(messageId, orderId, DeliveryStatus.ACCEPTED, null, Instant.now());
+    }
+
+    // Callbacks may arrive twice, out of order or before the send registered its orderId
+    public MessageDelivery mergedWith(MessageDelivery update) {
+        boolean advances = status == null || (update.status != null && update.status.compareTo(status) >= 0);
+        return toBuilder()
+                .orderId(orderId != null ? orderId : update.orderId)
+                .status(advances ? update.status : status)
+                .errorCode(advances ? update.errorCode : errorCode)
+                .updatedAt(advances ? update.updatedAt : updatedAt)
+                .build();
+    }
+}
@@ -0,0 +1,89 @@
+package com.pragma.mensajeria.domain.model;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+public final class MessageTemplate<T> {
+
+    private static final char PLACEHOLDER_START = '{';
+    private static final char PLACEHOLDER_END = '}';
+
+    private final String[] literals;
+    private final String[] placeholderNames;
+    private final Function<? super T, String>[] resolvers;
+    private final int literalLength;
+
+    private MessageTemplate(List<String> literals, List<String> placeholderNames,
+                            List<Function<? super T, String>> resolvers) {
+        this.literals = literals.toArray(String[]::new);
+        this.placeholderNames = placeholderNames.toArray(String[]::new);
+        @SuppressWarnings("unchecked")
+        Function<? super T, String>[] resolverArray = resolvers.toArray(Function[]::new);
+        this.resolvers = resolverArray;
+        this.literalLength = literals.stream().mapToInt(String::length).sum();
+    }
+
+    // Splits the template into literal and placeholder segments once; unknown or malformed placeholders fail here, not at send time
+    public static <T> MessageTemplate<T> compile(String template, Map<String, Function<? super T, String>> resolversByName) {
+        if (template == null) {
+            throw new IllegalArgumentException("Template cannot be null");
+        }
+
+        List<String> literals = new ArrayList<>();
+        List<String> placeholderNames = new ArrayList<>();
+        List<Function<? super T, String>> resolvers = new ArrayList<>();
+        int literalStart = 0;
+        for (int i = 0; i < template.length(); i++) {
+            char c = template.charAt(i);
+            if (c == PLACEHOLDER_END) {
+                throw new IllegalArgumentException("Unmatched '}' at index " + i + " in template: " + template);
+            }
+            if (c != PLACEHOLDER_START) {
+                continue;
+            }
+            int end = template.indexOf(PLACEHOLDER_END, i + 1);
+            if (end < 0) {
+                throw new IllegalArgumentException("Unclosed placeholder at index " + i + " in template: " + template);
+            }
+            String name = template.substring(i + 1, end);
+            Function<? super T, String> resolver = resolversByName.get(name);
+            if (resolver == null) {
+                throw new IllegalArgumentException("Unknown placeholder {" + name + "} in template: " + template);
+            }
+            literals.add(template.substring(literalStart, i));
+            placeholderNames.add(name);
+            resolvers.add(resolver);
+            literalStart = end + 1;
+            i = end;
+        }
+        literals.add(template.substring(literalStart));
+
+        return new MessageTemplate<>(literals, placeholderNames, resolvers);
+    }
+
+    public String render(T source) {
+        // Each resolver runs once: the values size the builder and are then appended as-is
+        String[] values = new String[resolvers.length];
+        int length = literalLength;
+        for (int i = 0; i < resolvers.length; i++) {
+            values[i] = String.valueOf(resolvers[i].apply(source));
+            length += values[i].length();
+        }
+
+        StringBuilder builder = new StringBuilder(length);
+        for (int i = 0; i < values.length; i++) {
+            builder.append(literals[i]).append(values[i]);
+        }
+        return builder.append(literals[resolvers.length]).toString();
+    }
+
+    public List<String> getPlaceholderNames() {
+        return List.of(placeholderNames);
+    }
+
+    public int getLiteralLength() {
+        return literalLength;
+    }
+}
@@ -18,4 +18,19 @@ public class NotificationMessage {
     private String orderId;
     private String securityPin;
     private String restaurantName;
+    private String idempotencyKey;
+    // Set for restaurants billed to their own Twilio sub-account
+    private String restaurantId;
+    // Packed E.164 form of phoneNumber (see E164), 0 until the message has been validated
+    private long normalizedPhoneNumber;
+
+    public NotificationMessage(String phoneNumber, String messageContent, String orderId,
+                               String securityPin, String restaurantName) {
+        this(phoneNumber, messageContent, orderId, securityPin, restaurantName, null, null, 0L);
+    }
+
+    public NotificationMessage(String phoneNumber, String messageContent, String orderId,
+                               String securityPin, String restaurantName, String idempotencyKey) {
+        this(phoneNumber, messageContent, orderId, securityPin, restaurantName, idempotencyKey, null, 0L);
+    }
 }
@@ -0,0 +1,23 @@
+package com.pragma.mensajeria.domain.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Instant;
+
+@Getter
+@Setter
+@Builder(toBuilder = true)
+@NoArgsConstructor
+@AllArgsConstructor
+public class NotificationOutboxEntry {
+
+    private String trackingId;
+    private Instant acceptedAt;
+    private NotificationMessage message;
+    // Startups that have already dispatched this entry again
+    private int replays;
+}
@@ -16,6 +16,13 @@ public class NotificationResult {
     private boolean success;
     private String messageId;
     private String errorMessage;
+    private String errorCode;
+    @Builder.Default
+    private int attempts = 1;
+
+    public NotificationResult(boolean success, String messageId, String errorMessage) {
+        this(success, messageId, errorMessage, null, 1);
+    }
 
     public static NotificationResult success(String messageId) {
         return new NotificationResult(true, messageId, null);
@@ -24,4 +31,8 @@ public class NotificationResult {
     public static NotificationResult failure(String errorMessage) {
         return new NotificationResult(false, null, errorMessage);
     }
+
+    public static NotificationResult failure(String errorMessage, String errorCode) {
+        return new NotificationResult(false, null, errorMessage, errorCode, 1);
+    }
 }
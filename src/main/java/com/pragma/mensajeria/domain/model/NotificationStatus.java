@@ -0,0 +1,7 @@
+package com.pragma.mensajeria.domain.model;
+
+public enum NotificationStatus {
+    PENDING,
+    SENT,
+    FAILED
+}
@@ -0,0 +1,23 @@
+package com.pragma.mensajeria.domain.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Instant;
+
+@Getter
+@Setter
+@Builder(toBuilder = true)
+@NoArgsConstructor
+@AllArgsConstructor
+public class NotificationTracking {
+
+    private String trackingId;
+    private NotificationStatus status;
+    private NotificationResult result;
+    private Instant acceptedAt;
+    private Instant completedAt;
+}
@@ -0,0 +1,5 @@
+package com.pragma.mensajeria.domain.model;
+
+public enum NotificationType {
+    ORDER_READY
+}
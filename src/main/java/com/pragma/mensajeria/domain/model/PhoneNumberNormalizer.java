@@ -0,0 +1,75 @@
+package com.pragma.mensajeria.domain.model;
+
+// Turns what customers type ("+57 300 123 4567", "0057-300-1234567", "300 123 4567") into a packed E.164 number.
+// Numbers without an international prefix are only accepted in the default country's national format.
+public class PhoneNumberNormalizer {
+
+    private final int defaultCountryCode;
+    private final int codeLength;
+    private final int nationalNumberLength;
+    private final long defaultCountryPrefix;
+
+    public PhoneNumberNormalizer(int defaultCountryCode, int nationalNumberLength) {
+        if (!CountryCallingCodes.isAssigned(defaultCountryCode)) {
+            throw new IllegalArgumentException("Unknown country calling code: " + defaultCountryCode);
+        }
+        int codeLength = String.valueOf(defaultCountryCode).length();
+        if (nationalNumberLength < 1 || codeLength + nationalNumberLength > E164.MAX_DIGITS) {
+            throw new IllegalArgumentException("Invalid national number length: " + nationalNumberLength);
+        }
+        this.defaultCountryCode = defaultCountryCode;
+        this.codeLength = codeLength;
+        this.nationalNumberLength = nationalNumberLength;
+        this.defaultCountryPrefix = defaultCountryCode * E164.POWERS_OF_TEN[nationalNumberLength];
+    }
+
+    public long normalize(CharSequence text) {
+        if (text == null) {
+            return E164.INVALID;
+        }
+        boolean plus = false;
+        long digits = 0;
+        int count = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c >= '0' && c <= '9') {
+                // Room for a "00" prefix in front of the longest number
+                if (++count > E164.MAX_DIGITS + 2) {
+                    return E164.INVALID;
+                }
+                digits = digits * 10 + (c - '0');
+            } else if (c == '+' && count == 0 && !plus) {
+                plus = true;
+            } else if (!isSeparator(c)) {
+                return E164.INVALID;
+            }
+        }
+        if (count == 0) {
+            return E164.INVALID;
+        }
+
+        if (plus) {
+            return E164.pack(digits, count);
+        }
+        if (count > 2 && digits < E164.POWERS_OF_TEN[count - 2]) {
+            // "00" international prefix; pack rejects a third leading zero
+            return E164.pack(digits, count - 2);
+        }
+        if (count == nationalNumberLength && digits >= E164.POWERS_OF_TEN[count - 1]) {
+            return E164.pack(defaultCountryPrefix + digits, count + codeLength);
+        }
+        if (count == nationalNumberLength + codeLength
+                && digits / E164.POWERS_OF_TEN[nationalNumberLength] == defaultCountryCode) {
+            return E164.pack(digits, count);
+        }
+        return E164.INVALID;
+    }
+
+    public boolean isValid(CharSequence text) {
+        return E164.isValid(normalize(text));
+    }
+
+    private static boolean isSeparator(char c) {
+        return c == ' ' || c == '-' || c == '.' || c == '(' || c == ')' || c == '/';
+    }
+}
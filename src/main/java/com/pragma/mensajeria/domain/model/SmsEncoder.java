@@ -0,0 +1,129 @@
+package com.pragma.mensajeria.domain.model;
+
+import java.text.Normalizer;
+import java.util.Map;
+
+public class SmsEncoder {
+
+    public static final int GSM_7_SINGLE_SEGMENT_SEPTETS = 160;
+    public static final int GSM_7_CONCATENATED_SEGMENT_SEPTETS = 153;
+    public static final int UCS_2_SINGLE_SEGMENT_CHARS = 70;
+    public static final int UCS_2_CONCATENATED_SEGMENT_CHARS = 67;
+
+    // GSM 03.38 default alphabet (escape 0x1B excluded) and the extension table, whose characters cost two septets
+    private static final String GSM_7_BASIC_CHARS =
+            "@£$¥èéùìòÇ\nØø\rÅåΔ_ΦΓΛΩΠΨΣΘΞÆæßÉ !\"#¤%&'()*+,-./0123456789:;<=>?" +
+            "¡ABCDEFGHIJKLMNOPQRSTUVWXYZÄÖÑÜ§¿abcdefghijklmnopqrstuvwxyzäöñüà";
+    private static final String GSM_7_EXTENSION_CHARS = "\f^{}\\[~]|€";
+
+    private static final byte[] SEPTETS_BY_CHAR = buildSeptetTable();
+
+    private static final Map<Character, String> TRANSLITERATIONS = Map.ofEntries(
+            Map.entry('ç', "c"),
+            Map.entry('‘', "'"),
+            Map.entry('’', "'"),
+            Map.entry('‚', "'"),
+            Map.entry('“', "\""),
+            Map.entry('”', "\""),
+            Map.entry('„', "\""),
+            Map.entry('«', "\""),
+            Map.entry('»', "\""),
+            Map.entry('–', "-"),
+            Map.entry('—', "-"),
+            Map.entry('…', "..."),
+            Map.entry('\u00A0', " "),
+            Map.entry('º', "o"),
+            Map.entry('ª', "a")
+    );
+
+    private final boolean transliterate;
+
+    public SmsEncoder(boolean transliterate) {
+        this.transliterate = transliterate;
+    }
+
+    public EncodedSms encode(String text) {
+        EncodedSms original = measure(text);
+        if (original.getEncoding() == SmsEncoding.GSM_7 || !transliterate) {
+            return original;
+        }
+
+        String transliterated = transliterate(text);
+        int transliteratedSeptets = countGsm7Septets(transliterated);
+        if (transliteratedSeptets >= 0) {
+            return new EncodedSms(transliterated, SmsEncoding.GSM_7, gsm7Segments(transliteratedSeptets));
+        }
+        // Still not GSM-7: send the original text rather than a partially transliterated one
+        return original;
+    }
+
+    // Encoding and segment count of the text exactly as given, without transliteration
+    public static EncodedSms measure(String text) {
+        int septets = countGsm7Septets(text);
+        if (septets >= 0) {
+            return new EncodedSms(text, SmsEncoding.GSM_7, gsm7Segments(septets));
+        }
+        return new EncodedSms(text, SmsEncoding.UCS_2, ucs2Segments(text.length()));
+    }
+
+    // Returns the GSM-7 length in septets, or -1 when the text needs UCS-2
+    public static int countGsm7Septets(String text) {
+        int septets = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            int cost = c < SEPTETS_BY_CHAR.length ? SEPTETS_BY_CHAR[c] : 0;
+            if (cost == 0) {
+                return -1;
+            }
+            septets += cost;
+        }
+        return septets;
+    }
+
+    private static int gsm7Segments(int septets) {
+        return segments(septets, GSM_7_SINGLE_SEGMENT_SEPTETS, GSM_7_CONCATENATED_SEGMENT_SEPTETS);
+    }
+
+    private static int ucs2Segments(int chars) {
+        return segments(chars, UCS_2_SINGLE_SEGMENT_CHARS, UCS_2_CONCATENATED_SEGMENT_CHARS);
+    }
+
+    private static int segments(int units, int singleSegmentCapacity, int concatenatedSegmentCapacity) {
+        if (units <= singleSegmentCapacity) {
+            return 1;
+        }
+        return (units + concatenatedSegmentCapacity - 1) / concatenatedSegmentCapacity;
+    }
+
+    private static String transliterate(String text) {
+        StringBuilder builder = new StringBuilder(text.length());
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c < SEPTETS_BY_CHAR.length && SEPTETS_BY_CHAR[c] > 0) {
+                builder.append(c);
+                continue;
+            }
+            String replacement = TRANSLITERATIONS.get(c);
+            if (replacement != null) {
+                builder.append(replacement);
+                continue;
+            }
+            // Drop combining accents (á -> a, Ó -> O); anything else is kept and forces UCS-2
+            String decomposed = Normalizer.normalize(String.valueOf(c), Normalizer.Form.NFD);
+            char base = decomposed.charAt(0);
+            builder.append(decomposed.length() > 1 && base < SEPTETS_BY_CHAR.length && SEPTETS_BY_CHAR[base] > 0 ? base : c);
+        }
+        return builder.toString();
+    }
+
+    private static byte[] buildSeptetTable() {
+        byte[] table = new byte['€' + 1];
+        for (int i = 0; i < GSM_7_BASIC_CHARS.length(); i++) {
+            table[GSM_7_BASIC_CHARS.charAt(i)] = 1;
+        }
+        for (int i = 0; i < GSM_7_EXTENSION_CHARS.length(); i++) {
+            table[GSM_7_EXTENSION_CHARS.charAt(i)] = 2;
+        }
+        return table;
+    }
+}
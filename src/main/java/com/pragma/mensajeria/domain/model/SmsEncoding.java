@@ -0,0 +1,6 @@
+package com.pragma.mensajeria.domain.model;
+
+public enum SmsEncoding {
+    GSM_7,
+    UCS_2
+}
@@ -0,0 +1,16 @@
+package com.pragma.mensajeria.domain.spi;
+
+import com.pragma.mensajeria.domain.model.MessageDelivery;
+
+import java.util.List;
+import java.util.Optional;
+
+public interface IMessageDeliveryPersistencePort {
+
+    // Folds the update into the stored delivery with MessageDelivery#mergedWith and returns the result
+    MessageDelivery merge(MessageDelivery update);
+
+    Optional<MessageDelivery> findByMessageId(String messageId);
+
+    List<MessageDelivery> findByOrderId(String orderId);
+}
@@ -0,0 +1,18 @@
+package com.pragma.mensajeria.domain.spi;
+
+import com.pragma.mensajeria.domain.model.NotificationMessage;
+import com.pragma.mensajeria.domain.model.NotificationResult;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+public interface INotificationCoalescingPort {
+
+    // Empty when the notification should go out on its own right away; otherwise completes once its group is sent.
+    // sendGroup returns one result per message, in order.
+    Optional<CompletableFuture<NotificationResult>> hold(
+            String recipientKey, NotificationMessage message,
+            Function<List<NotificationMessage>, CompletableFuture<List<NotificationResult>>> sendGroup);
+}
@@ -0,0 +1,11 @@
+package com.pragma.mensajeria.domain.spi;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+public interface INotificationDispatchPort {
+
+    void dispatch(Runnable task);
+
+    <T> List<T> dispatchAll(List<Supplier<T>> tasks);
+}
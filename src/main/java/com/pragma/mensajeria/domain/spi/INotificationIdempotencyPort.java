@@ -0,0 +1,13 @@
+package com.pragma.mensajeria.domain.spi;
+
+import com.pragma.mensajeria.domain.model.NotificationResult;
+
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+public interface INotificationIdempotencyPort {
+
+    Optional<CompletableFuture<NotificationResult>> claim(String key, CompletableFuture<NotificationResult> inFlight);
+
+    void release(String key, CompletableFuture<NotificationResult> inFlight);
+}
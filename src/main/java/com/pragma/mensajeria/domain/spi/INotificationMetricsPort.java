@@ -0,0 +1,14 @@
+package com.pragma.mensajeria.domain.spi;
+
+import com.pragma.mensajeria.domain.model.NotificationResult;
+import com.pragma.mensajeria.domain.model.NotificationType;
+
+public interface INotificationMetricsPort {
+
+    void recordFormatting(long nanos);
+
+    void sendStarted(NotificationType type);
+
+    // result is null when the send failed with an exception
+    void sendCompleted(NotificationType type, NotificationResult result);
+}
@@ -0,0 +1,16 @@
+package com.pragma.mensajeria.domain.spi;
+
+import com.pragma.mensajeria.domain.model.NotificationOutboxEntry;
+
+import java.util.List;
+
+public interface INotificationOutboxPort {
+
+    void append(NotificationOutboxEntry entry);
+
+    void markDone(String trackingId);
+
+    void deadLetter(NotificationOutboxEntry entry);
+
+    List<NotificationOutboxEntry> findPending();
+}
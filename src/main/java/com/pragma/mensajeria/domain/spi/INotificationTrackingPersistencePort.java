@@ -0,0 +1,12 @@
+package com.pragma.mensajeria.domain.spi;
+
+import com.pragma.mensajeria.domain.model.NotificationTracking;
+
+import java.util.Optional;
+
+public interface INotificationTrackingPersistencePort {
+
+    void save(NotificationTracking tracking);
+
+    Optional<NotificationTracking> findByTrackingId(String trackingId);
+}
@@ -0,0 +1,9 @@
+package com.pragma.mensajeria.domain.spi;
+
+import com.pragma.mensajeria.domain.model.NotificationResult;
+
+public interface ISmsFailureClassifierPort {
+
+    // True when the provider did not take the message and sending it again later may succeed
+    boolean isTransient(NotificationResult result);
+}
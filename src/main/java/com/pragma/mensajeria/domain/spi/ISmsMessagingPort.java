@@ -2,7 +2,31 @@ package com.pragma.mensajeria.domain.spi;
 
 import com.pragma.mensajeria.domain.model.NotificationResult;
 
+import java.util.concurrent.CompletableFuture;
+
 public interface ISmsMessagingPort {
 
     NotificationResult sendSms(String phoneNumber, String message);
+
+    default CompletableFuture<NotificationResult> sendSmsAsync(String phoneNumber, String message) {
+        // Bridge for blocking adapters: the blocking call runs on its own virtual thread
+        CompletableFuture<NotificationResult> future = new CompletableFuture<>();
+        Thread.startVirtualThread(() -> {
+            try {
+                future.complete(sendSms(phoneNumber, message));
+            } catch (RuntimeException e) {
+                future.completeExceptionally(e);
+            }
+        });
+        return future;
+    }
+
+    // Restaurant-scoped sends; adapters without per-restaurant accounts send from the default account
+    default NotificationResult sendSms(String restaurantId, String phoneNumber, String message) {
+        return sendSms(phoneNumber, message);
+    }
+
+    default CompletableFuture<NotificationResult> sendSmsAsync(String restaurantId, String phoneNumber, String message) {
+        return sendSmsAsync(phoneNumber, message);
+    }
 }
@@ -0,0 +1,50 @@
+package com.pragma.mensajeria.domain.usecase;
+
+import com.pragma.mensajeria.domain.api.IMessageDeliveryServicePort;
+import com.pragma.mensajeria.domain.exception.NotificationNotFoundException;
+import com.pragma.mensajeria.domain.model.DeliveryStatus;
+import com.pragma.mensajeria.domain.model.MessageDelivery;
+import com.pragma.mensajeria.domain.spi.IMessageDeliveryPersistencePort;
+import lombok.RequiredArgsConstructor;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+@RequiredArgsConstructor
+public class MessageDeliveryUseCase implements IMessageDeliveryServicePort {
+
+    private final IMessageDeliveryPersistencePort messageDeliveryPersistencePort;
+
+    @Override
+    public void recordStatusUpdate(String messageId, String providerStatus, String errorCode) {
+        if (messageId == null || messageId.trim().isEmpty()) {
+            throw new IllegalArgumentException("Message ID is required");
+        }
+        // Statuses outside the outbound lifecycle (receiving, received...) carry nothing to track
+        Optional<DeliveryStatus> status = DeliveryStatus.fromProvider(providerStatus);
+        status.ifPresent(value -> messageDeliveryPersistencePort.merge(MessageDelivery.builder()
+                .messageId(messageId)
+                .status(value)
+                .errorCode(errorCode == null || errorCode.isBlank() ? null : errorCode)
+                .updatedAt(Instant.now())
+                .build()));
+    }
+
+    @Override
+    public MessageDelivery getByMessageId(String messageId) {
+        if (messageId == null || messageId.trim().isEmpty()) {
+            throw new IllegalArgumentException("Message ID is required");
+        }
+        return messageDeliveryPersistencePort.findByMessageId(messageId)
+                .orElseThrow(() -> new NotificationNotFoundException("Delivery status not found: " + messageId));
+    }
+
+    @Override
+    public List<MessageDelivery> getByOrderId(String orderId) {
+        if (orderId == null || orderId.trim().isEmpty()) {
+            throw new IllegalArgumentException("Order ID is required");
+        }
+        return messageDeliveryPersistencePort.findByOrderId(orderId);
+    }
+}
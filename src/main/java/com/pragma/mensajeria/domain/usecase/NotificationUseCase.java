@@ -1,33 +1,465 @@
 package com.pragma.mensajeria.domain.usecase;
 
 import com.pragma.mensajeria.domain.api.INotificationServicePort;
+import com.pragma.mensajeria.domain.exception.InvalidPhoneNumberException;
+import com.pragma.mensajeria.domain.exception.NotificationDispatchException;
+import com.pragma.mensajeria.domain.exception.NotificationNotFoundException;
+import com.pragma.mensajeria.domain.model.E164;
+import com.pragma.mensajeria.domain.model.EncodedSms;
+import com.pragma.mensajeria.domain.model.MessageDelivery;
+import com.pragma.mensajeria.domain.model.MessageTemplate;
 import com.pragma.mensajeria.domain.model.NotificationMessage;
+import com.pragma.mensajeria.domain.model.NotificationOutboxEntry;
 import com.pragma.mensajeria.domain.model.NotificationResult;
+import com.pragma.mensajeria.domain.model.NotificationStatus;
+import com.pragma.mensajeria.domain.model.NotificationTracking;
+import com.pragma.mensajeria.domain.model.NotificationType;
+import com.pragma.mensajeria.domain.model.PhoneNumberNormalizer;
+import com.pragma.mensajeria.domain.model.SmsEncoder;
+import com.pragma.mensajeria.domain.spi.IMessageDeliveryPersistencePort;
+import com.pragma.mensajeria.domain.spi.INotificationCoalescingPort;
+import com.pragma.mensajeria.domain.spi.INotificationDispatchPort;
+import com.pragma.mensajeria.domain.spi.INotificationIdempotencyPort;
+import com.pragma.mensajeria.domain.spi.INotificationMetricsPort;
+import com.pragma.mensajeria.domain.spi.INotificationOutboxPort;
+import com.pragma.mensajeria.domain.spi.INotificationTrackingPersistencePort;
+import com.pragma.mensajeria.domain.spi.ISmsFailureClassifierPort;
 import com.pragma.mensajeria.domain.spi.ISmsMessagingPort;
 import lombok.RequiredArgsConstructor;
 
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
 @RequiredArgsConstructor
 public class NotificationUseCase implements INotificationServicePort {
 
-    private static final String ORDER_READY_MESSAGE_TEMPLATE = 
-            "Hello! Your order #%s at %s is READY for pickup. " +
-            "Your security PIN is: %s. " +
-            "Please present this PIN to the employee to claim your order.";
+    private static final Map<String, Function<? super NotificationMessage, String>> ORDER_READY_PLACEHOLDERS = Map.of(
+            "orderId", NotificationMessage::getOrderId,
+            "restaurantName", NotificationMessage::getRestaurantName,
+            "securityPin", NotificationMessage::getSecurityPin
+    );
+
+    private static final MessageTemplate<NotificationMessage> ORDER_READY_MESSAGE_TEMPLATE = MessageTemplate.compile(
+            "Hello! Your order #{orderId} at {restaurantName} is READY for pickup. " +
+            "Your security PIN is: {securityPin}. " +
+            "Please present this PIN to the employee to claim your order.",
+            ORDER_READY_PLACEHOLDERS);
+
+    // Used only when it needs fewer billed SMS segments than the full message
+    private static final MessageTemplate<NotificationMessage> ORDER_READY_SHORT_MESSAGE_TEMPLATE = MessageTemplate.compile(
+            "Order #{orderId} at {restaurantName} is READY. PIN: {securityPin}. Show it to claim your order.",
+            ORDER_READY_PLACEHOLDERS);
+
+    // One line per order when several notifications to the same phone are merged into a single SMS
+    private static final MessageTemplate<NotificationMessage> ORDER_READY_DIGEST_ENTRY_TEMPLATE = MessageTemplate.compile(
+            "#{orderId} at {restaurantName}, PIN {securityPin}",
+            ORDER_READY_PLACEHOLDERS);
+    private static final String ORDER_READY_DIGEST_HEADER = "Your orders are READY for pickup: ";
+    private static final String ORDER_READY_DIGEST_SEPARATOR = "; ";
+    private static final String ORDER_READY_DIGEST_FOOTER = ". Show each PIN to claim your order.";
+
+    // Larger digests are split so a merged SMS never costs more than two segments
+    private static final int ORDER_READY_DIGEST_MAX_SEGMENTS = 2;
 
     private final ISmsMessagingPort smsMessagingPort;
+    private final INotificationTrackingPersistencePort notificationTrackingPersistencePort;
+    private final INotificationDispatchPort notificationDispatchPort;
+    private final INotificationOutboxPort notificationOutboxPort;
+    private final INotificationIdempotencyPort notificationIdempotencyPort;
+    private final SmsEncoder smsEncoder;
+    private final IMessageDeliveryPersistencePort messageDeliveryPersistencePort;
+    private final INotificationCoalescingPort notificationCoalescingPort;
+    private final PhoneNumberNormalizer phoneNumberNormalizer;
+    private final INotificationMetricsPort notificationMetricsPort;
+    private final ISmsFailureClassifierPort smsFailureClassifierPort;
+    // Startups that may dispatch the same outbox entry before it is given up as a dead letter
+    private final int maxOutboxReplays;
 
     @Override
     public NotificationResult sendOrderReadyNotification(NotificationMessage message) {
         validateNotificationMessage(message);
 
-        String formattedMessage = String.format(
-                ORDER_READY_MESSAGE_TEMPLATE,
-                message.getOrderId(),
-                message.getRestaurantName(),
-                message.getSecurityPin()
-        );
+        String formattedMessage = formatOrderReadyMessage(message);
+        CompletableFuture<NotificationResult> result = sendOnce(message, () ->
+                CompletableFuture.completedFuture(send(message, formattedMessage)));
+        try {
+            return result.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    @Override
+    public CompletableFuture<NotificationResult> sendOrderReadyNotificationAsync(NotificationMessage message) {
+        validateNotificationMessage(message);
+
+        String formattedMessage = formatOrderReadyMessage(message);
+        return sendOnce(message, () -> sendAsync(message, formattedMessage));
+    }
+
+    @Override
+    public List<NotificationResult> sendOrderReadyNotifications(List<NotificationMessage> messages) {
+        if (messages == null || messages.isEmpty()) {
+            throw new IllegalArgumentException("At least one notification is required");
+        }
+
+        List<Supplier<NotificationResult>> sends = messages.stream()
+                .<Supplier<NotificationResult>>map(message -> () -> sendIsolated(message))
+                .toList();
+        return notificationDispatchPort.dispatchAll(sends);
+    }
+
+    @Override
+    public NotificationTracking acceptOrderReadyNotification(NotificationMessage message) {
+        validateNotificationMessage(message);
+
+        // A retried request shares the send already claimed for the same order instead of paying for a second SMS
+        String key = idempotencyKey(message);
+        CompletableFuture<NotificationResult> inFlight = new CompletableFuture<>();
+        Optional<CompletableFuture<NotificationResult>> previous = notificationIdempotencyPort.claim(key, inFlight);
+        if (previous.isPresent()) {
+            return trackShared(previous.get());
+        }
+
+        NotificationOutboxEntry entry = NotificationOutboxEntry.builder()
+                .trackingId(UUID.randomUUID().toString())
+                .acceptedAt(Instant.now())
+                .message(message)
+                .build();
+        try {
+            notificationOutboxPort.append(entry);
+        } catch (RuntimeException e) {
+            settle(key, inFlight, null, e);
+            throw e;
+        }
+
+        NotificationTracking tracking = startTracking(entry);
+        try {
+            dispatchTracked(tracking, entry, result -> settle(key, inFlight, result, null));
+        } catch (NotificationDispatchException e) {
+            NotificationResult failure = NotificationResult.failure(e.getMessage());
+            notificationTrackingPersistencePort.save(toCompletedTracking(tracking, failure));
+            notificationOutboxPort.markDone(entry.getTrackingId());
+            settle(key, inFlight, failure, null);
+            throw e;
+        }
+
+        return tracking;
+    }
+
+    @Override
+    public NotificationTracking getNotificationTracking(String trackingId) {
+        if (trackingId == null || trackingId.trim().isEmpty()) {
+            throw new IllegalArgumentException("Tracking ID is required");
+        }
+        return notificationTrackingPersistencePort.findByTrackingId(trackingId)
+                .orElseThrow(() -> new NotificationNotFoundException("Notification not found: " + trackingId));
+    }
+
+    // Each replay is counted in the outbox before dispatching, so an entry that keeps failing (or crashing the
+    // process) is dead-lettered after maxOutboxReplays startups instead of being sent forever
+    @Override
+    public int resumePendingNotifications() {
+        int resumed = 0;
+        for (NotificationOutboxEntry entry : notificationOutboxPort.findPending()) {
+            if (entry.getReplays() >= maxOutboxReplays) {
+                giveUp(entry);
+                continue;
+            }
+            NotificationOutboxEntry replay = entry.toBuilder().replays(entry.getReplays() + 1).build();
+            try {
+                notificationOutboxPort.append(replay);
+                dispatchTracked(startTracking(replay), replay, result -> { });
+            } catch (NotificationDispatchException e) {
+                // Left in the outbox: the next startup picks it up again
+                break;
+            }
+            resumed++;
+        }
+        return resumed;
+    }
+
+    private void giveUp(NotificationOutboxEntry entry) {
+        notificationOutboxPort.deadLetter(entry);
+        NotificationResult result = NotificationResult.failure(
+                "Notification not sent after " + entry.getReplays() + " outbox replays");
+        notificationTrackingPersistencePort.save(toCompletedTracking(startTracking(entry), result));
+    }
+
+    // Duplicates arriving while a send is in flight share it; only successful results stay cached so failures can be retried
+    private CompletableFuture<NotificationResult> sendOnce(NotificationMessage message,
+                                                           Supplier<CompletableFuture<NotificationResult>> send) {
+        String key = idempotencyKey(message);
+        CompletableFuture<NotificationResult> inFlight = new CompletableFuture<>();
+        Optional<CompletableFuture<NotificationResult>> previous = notificationIdempotencyPort.claim(key, inFlight);
+        if (previous.isPresent()) {
+            return previous.get();
+        }
+
+        try {
+            send.get().whenComplete((result, error) -> settle(key, inFlight, result, error));
+        } catch (RuntimeException e) {
+            settle(key, inFlight, null, e);
+            throw e;
+        }
+        return inFlight;
+    }
+
+    private void settle(String key, CompletableFuture<NotificationResult> inFlight, NotificationResult result, Throwable error) {
+        try {
+            if (error != null || !result.isSuccess()) {
+                notificationIdempotencyPort.release(key, inFlight);
+            }
+        } finally {
+            if (error != null) {
+                inFlight.completeExceptionally(error);
+            } else {
+                inFlight.complete(result);
+            }
+        }
+    }
+
+    // The duplicate gets its own tracking ID, completed from the shared send; the outbox entry belongs to the original
+    private NotificationTracking trackShared(CompletableFuture<NotificationResult> shared) {
+        NotificationTracking tracking = startTracking(UUID.randomUUID().toString(), Instant.now());
+        shared.whenComplete((result, error) -> notificationTrackingPersistencePort.save(toCompletedTracking(tracking,
+                error == null ? result : NotificationResult.failure("Unexpected error sending notification: " + error.getMessage()))));
+        return tracking;
+    }
+
+    private String idempotencyKey(NotificationMessage message) {
+        String idempotencyKey = message.getIdempotencyKey();
+        if (idempotencyKey != null && !idempotencyKey.trim().isEmpty()) {
+            return "key:" + idempotencyKey;
+        }
+        return "order:" + message.getOrderId() + "|" + message.getSecurityPin() + "|" + recipient(message);
+    }
+
+    private NotificationResult sendIsolated(NotificationMessage message) {
+        try {
+            return sendOrderReadyNotification(message);
+        } catch (IllegalArgumentException e) {
+            return NotificationResult.failure(e.getMessage());
+        } catch (RuntimeException e) {
+            return NotificationResult.failure("Unexpected error sending notification: " + e.getMessage());
+        }
+    }
+
+    private NotificationTracking startTracking(NotificationOutboxEntry entry) {
+        return startTracking(entry.getTrackingId(), entry.getAcceptedAt());
+    }
+
+    private NotificationTracking startTracking(String trackingId, Instant acceptedAt) {
+        NotificationTracking tracking = NotificationTracking.builder()
+                .trackingId(trackingId)
+                .status(NotificationStatus.PENDING)
+                .acceptedAt(acceptedAt)
+                .build();
+        notificationTrackingPersistencePort.save(tracking);
+        return tracking;
+    }
+
+    private void dispatchTracked(NotificationTracking tracking, NotificationOutboxEntry entry,
+                                 Consumer<NotificationResult> onCompleted) {
+        NotificationMessage message = entry.getMessage();
+        String formattedMessage = formatOrderReadyMessage(message);
+        notificationDispatchPort.dispatch(() -> completeTracking(tracking, message, formattedMessage, onCompleted));
+    }
+
+    private void completeTracking(NotificationTracking tracking, NotificationMessage message, String formattedMessage,
+                                  Consumer<NotificationResult> onCompleted) {
+        NotificationResult result;
+        try {
+            result = send(message, formattedMessage);
+        } catch (RuntimeException e) {
+            result = NotificationResult.failure("Unexpected error sending notification: " + e.getMessage());
+        }
+        try {
+            notificationTrackingPersistencePort.save(toCompletedTracking(tracking, result));
+            // Only transient failures stay in the outbox for the next startup; permanent rejections would fail again
+            if (result.isSuccess() || !smsFailureClassifierPort.isTransient(result)) {
+                notificationOutboxPort.markDone(tracking.getTrackingId());
+            }
+        } finally {
+            onCompleted.accept(result);
+        }
+    }
+
+    private NotificationResult send(NotificationMessage message, String formattedMessage) {
+        notificationMetricsPort.sendStarted(NotificationType.ORDER_READY);
+        NotificationResult result = null;
+        try {
+            Optional<CompletableFuture<NotificationResult>> held = hold(message);
+            result = held.isPresent() ? held.get().join() : sendNow(message, formattedMessage);
+            return result;
+        } finally {
+            notificationMetricsPort.sendCompleted(NotificationType.ORDER_READY, result);
+        }
+    }
 
-        return smsMessagingPort.sendSms(message.getPhoneNumber(), formattedMessage);
+    private CompletableFuture<NotificationResult> sendAsync(NotificationMessage message, String formattedMessage) {
+        notificationMetricsPort.sendStarted(NotificationType.ORDER_READY);
+        CompletableFuture<NotificationResult> send;
+        try {
+            Optional<CompletableFuture<NotificationResult>> held = hold(message);
+            send = held.isPresent()
+                    ? held.get()
+                    : sendNowAsync(message.getRestaurantId(), recipient(message), formattedMessage)
+                            .thenApply(outcome -> recordAccepted(message, outcome));
+        } catch (RuntimeException e) {
+            notificationMetricsPort.sendCompleted(NotificationType.ORDER_READY, null);
+            throw e;
+        }
+        return send.whenComplete((result, error) ->
+                notificationMetricsPort.sendCompleted(NotificationType.ORDER_READY, error == null ? result : null));
+    }
+
+    private Optional<CompletableFuture<NotificationResult>> hold(NotificationMessage message) {
+        return notificationCoalescingPort.hold(recipient(message), message, this::sendGroup);
+    }
+
+    // Any restaurantId takes the restaurant-scoped path; restaurants without a sub-account fall back to the
+    // default account inside the SMS adapter, not here
+    private NotificationResult sendNow(NotificationMessage message, String formattedMessage) {
+        String restaurantId = message.getRestaurantId();
+        String phoneNumber = recipient(message);
+        NotificationResult result = restaurantId == null
+                ? smsMessagingPort.sendSms(phoneNumber, formattedMessage)
+                : smsMessagingPort.sendSms(restaurantId, phoneNumber, formattedMessage);
+        return recordAccepted(message, result);
+    }
+
+    private CompletableFuture<NotificationResult> sendNowAsync(String restaurantId, String phoneNumber, String text) {
+        return restaurantId == null
+                ? smsMessagingPort.sendSmsAsync(phoneNumber, text)
+                : smsMessagingPort.sendSmsAsync(restaurantId, phoneNumber, text);
+    }
+
+    // Never completes exceptionally, so every notification of the group gets a result, in the group's order
+    private CompletableFuture<List<NotificationResult>> sendGroup(List<NotificationMessage> messages) {
+        Map<NotificationMessage, CompletableFuture<NotificationResult>> sends = new IdentityHashMap<>();
+        for (List<NotificationMessage> digest : packDigests(messages)) {
+            CompletableFuture<NotificationResult> send = sendDigest(digest);
+            digest.forEach(message -> sends.put(message, send));
+        }
+        return CompletableFuture.allOf(sends.values().toArray(CompletableFuture[]::new))
+                .thenApply(done -> messages.stream().map(message -> sends.get(message).join()).toList());
+    }
+
+    // Every order of a digest belongs to the same restaurant, so the SMS bills to that restaurant's account
+    private CompletableFuture<NotificationResult> sendDigest(List<NotificationMessage> digest) {
+        NotificationMessage first = digest.getFirst();
+        String text = digest.size() == 1 ? formatOrderReadyMessage(first) : encodeOrderReadyDigest(digest).getText();
+        CompletableFuture<NotificationResult> send;
+        try {
+            send = sendNowAsync(first.getRestaurantId(), recipient(first), text);
+        } catch (RuntimeException e) {
+            send = CompletableFuture.failedFuture(e);
+        }
+        return send.handle((result, error) -> {
+            if (error != null) {
+                return NotificationResult.failure("Unexpected error sending notification: " + error.getMessage());
+            }
+            digest.forEach(message -> recordAccepted(message, result));
+            return result;
+        });
+    }
+
+    // Split by restaurant first so no digest mixes billing accounts, then greedy packing in arrival order:
+    // a notification joins the current digest while it stays within the segment budget
+    private List<List<NotificationMessage>> packDigests(List<NotificationMessage> messages) {
+        Map<String, List<NotificationMessage>> byRestaurant = new LinkedHashMap<>();
+        for (NotificationMessage message : messages) {
+            byRestaurant.computeIfAbsent(message.getRestaurantId(), restaurantId -> new ArrayList<>()).add(message);
+        }
+
+        List<List<NotificationMessage>> digests = new ArrayList<>();
+        for (List<NotificationMessage> restaurantMessages : byRestaurant.values()) {
+            List<NotificationMessage> current = new ArrayList<>();
+            for (NotificationMessage message : restaurantMessages) {
+                current.add(message);
+                if (current.size() > 1
+                        && encodeOrderReadyDigest(current).getSegments() > ORDER_READY_DIGEST_MAX_SEGMENTS) {
+                    current.removeLast();
+                    digests.add(current);
+                    current = new ArrayList<>(List.of(message));
+                }
+            }
+            digests.add(current);
+        }
+        return digests;
+    }
+
+    private EncodedSms encodeOrderReadyDigest(List<NotificationMessage> messages) {
+        StringBuilder text = new StringBuilder(ORDER_READY_DIGEST_HEADER);
+        for (int i = 0; i < messages.size(); i++) {
+            if (i > 0) {
+                text.append(ORDER_READY_DIGEST_SEPARATOR);
+            }
+            text.append(ORDER_READY_DIGEST_ENTRY_TEMPLATE.render(messages.get(i)));
+        }
+        return smsEncoder.encode(text.append(ORDER_READY_DIGEST_FOOTER).toString());
+    }
+
+    // Formatting differences ("+57 300-123 4567", "0057...") must not split one customer into several groups,
+    // and messages resumed from the outbox are validated again here because the packed number is not stored
+    private String recipient(NotificationMessage message) {
+        if (!E164.isValid(message.getNormalizedPhoneNumber())) {
+            normalizePhoneNumber(message);
+        }
+        return E164.format(message.getNormalizedPhoneNumber());
+    }
+
+    private void normalizePhoneNumber(NotificationMessage message) {
+        long normalized = phoneNumberNormalizer.normalize(message.getPhoneNumber());
+        if (!E164.isValid(normalized)) {
+            throw new InvalidPhoneNumberException("Invalid phone number format");
+        }
+        message.setNormalizedPhoneNumber(normalized);
+    }
+
+    // Links the provider message ID to the order so delivery callbacks can be looked up by orderId
+    private NotificationResult recordAccepted(NotificationMessage message, NotificationResult result) {
+        if (result != null && result.isSuccess() && result.getMessageId() != null) {
+            messageDeliveryPersistencePort.merge(MessageDelivery.accepted(result.getMessageId(), message.getOrderId()));
+        }
+        return result;
+    }
+
+    private NotificationTracking toCompletedTracking(NotificationTracking tracking, NotificationResult result) {
+        return tracking.toBuilder()
+                .status(result.isSuccess() ? NotificationStatus.SENT : NotificationStatus.FAILED)
+                .result(result)
+                .completedAt(Instant.now())
+                .build();
+    }
+
+    private String formatOrderReadyMessage(NotificationMessage message) {
+        long start = System.nanoTime();
+        try {
+            EncodedSms full = smsEncoder.encode(ORDER_READY_MESSAGE_TEMPLATE.render(message));
+            if (full.getSegments() == 1) {
+                return full.getText();
+            }
+            EncodedSms shortVariant = smsEncoder.encode(ORDER_READY_SHORT_MESSAGE_TEMPLATE.render(message));
+            return shortVariant.getSegments() < full.getSegments() ? shortVariant.getText() : full.getText();
+        } finally {
+            notificationMetricsPort.recordFormatting(System.nanoTime() - start);
+        }
     }
 
     private void validateNotificationMessage(NotificationMessage message) {
@@ -37,6 +469,7 @@ public class NotificationUseCase implements INotificationServicePort {
         if (message.getPhoneNumber() == null || message.getPhoneNumber().trim().isEmpty()) {
             throw new IllegalArgumentException("Phone number is required");
         }
+        normalizePhoneNumber(message);
         if (message.getSecurityPin() == null || message.getSecurityPin().trim().isEmpty()) {
             throw new IllegalArgumentException("Security PIN is required");
         }
@@ -1,8 +1,21 @@
 package com.pragma.mensajeria.infrastructure.configuration;
 
+import com.pragma.mensajeria.domain.api.IMessageDeliveryServicePort;
 import com.pragma.mensajeria.domain.api.INotificationServicePort;
+import com.pragma.mensajeria.domain.model.PhoneNumberNormalizer;
+import com.pragma.mensajeria.domain.model.SmsEncoder;
+import com.pragma.mensajeria.domain.spi.IMessageDeliveryPersistencePort;
+import com.pragma.mensajeria.domain.spi.INotificationCoalescingPort;
+import com.pragma.mensajeria.domain.spi.INotificationDispatchPort;
+import com.pragma.mensajeria.domain.spi.INotificationIdempotencyPort;
+import com.pragma.mensajeria.domain.spi.INotificationMetricsPort;
+import com.pragma.mensajeria.domain.spi.INotificationOutboxPort;
+import com.pragma.mensajeria.domain.spi.INotificationTrackingPersistencePort;
+import com.pragma.mensajeria.domain.spi.ISmsFailureClassifierPort;
 import com.pragma.mensajeria.domain.spi.ISmsMessagingPort;
+import com.pragma.mensajeria.domain.usecase.MessageDeliveryUseCase;
 import com.pragma.mensajeria.domain.usecase.NotificationUseCase;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
@@ -10,7 +23,37 @@ import org.springframework.context.annotation.Configuration;
 public class BeanConfiguration {
 
     @Bean
-    public INotificationServicePort notificationServicePort(ISmsMessagingPort smsMessagingPort) {
-        return new NotificationUseCase(smsMessagingPort);
+    public INotificationServicePort notificationServicePort(ISmsMessagingPort smsMessagingPort,
+                                                            INotificationTrackingPersistencePort notificationTrackingPersistencePort,
+                                                            INotificationDispatchPort notificationDispatchPort,
+                                                            INotificationOutboxPort notificationOutboxPort,
+                                                            INotificationIdempotencyPort notificationIdempotencyPort,
+                                                            SmsEncoder smsEncoder,
+                                                            IMessageDeliveryPersistencePort messageDeliveryPersistencePort,
+                                                            INotificationCoalescingPort notificationCoalescingPort,
+                                                            PhoneNumberNormalizer phoneNumberNormalizer,
+                                                            INotificationMetricsPort notificationMetricsPort,
+                                                            ISmsFailureClassifierPort smsFailureClassifierPort,
+                                                            @Value("${notification.outbox.max-replays:5}") int maxOutboxReplays) {
+        return new NotificationUseCase(smsMessagingPort, notificationTrackingPersistencePort,
+                notificationDispatchPort, notificationOutboxPort, notificationIdempotencyPort, smsEncoder,
+                messageDeliveryPersistencePort, notificationCoalescingPort, phoneNumberNormalizer,
+                notificationMetricsPort, smsFailureClassifierPort, maxOutboxReplays);
+    }
+
+    @Bean
+    public IMessageDeliveryServicePort messageDeliveryServicePort(IMessageDeliveryPersistencePort messageDeliveryPersistencePort) {
+        return new MessageDeliveryUseCase(messageDeliveryPersistencePort);
+    }
+
+    @Bean
+    public SmsEncoder smsEncoder(@Value("${sms.encoding.transliterate:true}") boolean transliterate) {
+        return new SmsEncoder(transliterate);
+    }
+
+    @Bean
+    public PhoneNumberNormalizer phoneNumberNormalizer(@Value("${phone.default-country-code:57}") int defaultCountryCode,
+                                                      @Value("${phone.national-number-length:10}") int nationalNumberLength) {
+        return new PhoneNumberNormalizer(defaultCountryCode, nationalNumberLength);
     }
 }
@@ -2,6 +2,7 @@ package com.pragma.mensajeria.infrastructure.configuration;
 
 import com.pragma.mensajeria.infrastructure.constant.ApiConstants;
 import com.pragma.mensajeria.infrastructure.security.JwtAuthenticationFilter;
+import jakarta.servlet.DispatcherType;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
@@ -27,12 +28,20 @@ public class SecurityConfiguration {
                 .csrf(AbstractHttpConfigurer::disable)
                 .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .authorizeHttpRequests(auth -> auth
+                        // Async dispatches resume a request that was already authorized
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                         // Swagger and API docs - public
                         .requestMatchers(
                                 ApiConstants.API_DOCS_PATH + "/**",
                                 "/swagger-ui/**",
                                 ApiConstants.SWAGGER_PATH
                         ).permitAll()
+                        // Probes and the Prometheus scraper - public, they carry no tenant data
+                        .requestMatchers(ApiConstants.ACTUATOR_HEALTH_PATH + "/**",
+                                ApiConstants.ACTUATOR_PROMETHEUS_PATH).permitAll()
+                        // Twilio status callbacks - authenticated by their request signature instead of a JWT
+                        .requestMatchers(ApiConstants.TWILIO_STATUS_CALLBACK_PATH,
+                                ApiConstants.TWILIO_STATUS_CALLBACK_PATH + "/*").permitAll()
                         // Notifications - require authentication (called by plazoleta-service)
                         .requestMatchers(ApiConstants.NOTIFICATIONS_BASE_PATH + "/**").authenticated()
                         // All other requests require authentication
@@ -0,0 +1,82 @@
+package com.pragma.mensajeria.infrastructure.configuration;
+
+import com.pragma.mensajeria.domain.spi.ISmsFailureClassifierPort;
+import com.pragma.mensajeria.domain.spi.ISmsMessagingPort;
+import com.pragma.mensajeria.infrastructure.output.sms.ConcurrencyLimitedSmsMessagingPort;
+import com.pragma.mensajeria.infrastructure.output.sms.HedgingSmsMessagingPort;
+import com.pragma.mensajeria.infrastructure.output.sms.RetryBudget;
+import com.pragma.mensajeria.infrastructure.output.sms.RetryingSmsMessagingPort;
+import com.pragma.mensajeria.infrastructure.output.sms.SegmentMeteredSmsMessagingPort;
+import com.pragma.mensajeria.infrastructure.output.sms.SmsProvider;
+import com.pragma.mensajeria.infrastructure.output.twilio.adapter.TwilioSmsAdapter;
+import com.pragma.mensajeria.infrastructure.output.twilio.client.TwilioErrorClassifier;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.tracing.Tracer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.annotation.Order;
+
+import java.time.Duration;
+import java.util.List;
+
+@Configuration
+public class SmsMessagingConfiguration {
+
+    // Further providers are added as SmsProvider beans; @Order sets their failover and hedging priority
+    @Bean
+    @Order(0)
+    public SmsProvider twilioSmsProvider(TwilioSmsAdapter twilioSmsAdapter,
+                                         @Value("${twilio.concurrency.max-in-flight:100}") int maxInFlight,
+                                         @Value("${twilio.concurrency.queue-wait-timeout:PT5S}") Duration queueWaitTimeout,
+                                         MeterRegistry meterRegistry,
+                                         Tracer tracer) {
+        ISmsMessagingPort metered = new SegmentMeteredSmsMessagingPort(twilioSmsAdapter, meterRegistry);
+        ISmsMessagingPort limited = new ConcurrencyLimitedSmsMessagingPort(metered, maxInFlight,
+                queueWaitTimeout, meterRegistry, tracer.currentTraceContext());
+        // An unknown outcome may already have been delivered, so it never fails over to another provider
+        return new SmsProvider("twilio", limited, result -> result.getErrorCode() != null
+                && !TwilioErrorClassifier.OUTCOME_UNKNOWN.equals(result.getErrorCode())
+                && (TwilioErrorClassifier.isProviderFailure(result.getErrorCode())
+                || TwilioErrorClassifier.CIRCUIT_OPEN.equals(result.getErrorCode())));
+    }
+
+    // Lets the notification use case tell transient send failures, kept in the outbox, from permanent ones
+    @Bean
+    public ISmsFailureClassifierPort smsFailureClassifierPort() {
+        return new TwilioErrorClassifier();
+    }
+
+    @Bean
+    @Primary
+    public ISmsMessagingPort smsMessagingPort(List<SmsProvider> providers,
+                                              @Value("${sms.retry.max-attempts:3}") int maxAttempts,
+                                              @Value("${sms.retry.base-delay:PT0.2S}") Duration baseDelay,
+                                              @Value("${sms.retry.max-delay:PT5S}") Duration maxDelay,
+                                              @Value("${sms.retry.budget.ratio:0.1}") double retryRatio,
+                                              @Value("${sms.retry.budget.min-per-second:1}") double minRetriesPerSecond,
+                                              @Value("${sms.retry.budget.max-balance:100}") double maxRetryBalance,
+                                              @Value("${sms.hedging.enabled:false}") boolean hedgingEnabled,
+                                              @Value("${sms.hedging.percentile:0.95}") double hedgePercentile,
+                                              @Value("${sms.hedging.min-delay:PT0.05S}") Duration minHedgeDelay,
+                                              @Value("${sms.hedging.max-delay:PT2S}") Duration maxHedgeDelay,
+                                              @Value("${sms.hedging.default-delay:PT0.5S}") Duration defaultHedgeDelay,
+                                              @Value("${sms.hedging.min-samples:50}") int minLatencySamples,
+                                              @Value("${sms.failover.window-size:50}") int failoverWindowSize,
+                                              @Value("${sms.failover.minimum-calls:20}") int failoverMinimumCalls,
+                                              @Value("${sms.failover.error-rate-threshold:50}") double failoverErrorRate,
+                                              @Value("${sms.failover.cooldown:PT30S}") Duration failoverCooldown,
+                                              MeterRegistry meterRegistry,
+                                              Tracer tracer) {
+        ISmsMessagingPort hedging = new HedgingSmsMessagingPort(providers, hedgingEnabled, hedgePercentile, minHedgeDelay,
+                maxHedgeDelay, defaultHedgeDelay, minLatencySamples,
+                new HedgingSmsMessagingPort.HealthSettings(failoverWindowSize, failoverMinimumCalls,
+                        failoverErrorRate, failoverCooldown),
+                meterRegistry, tracer.currentTraceContext());
+        // Retries sit outside the concurrency limit so a pending retry does not hold an in-flight permit
+        return new RetryingSmsMessagingPort(hedging, new TwilioErrorClassifier(), maxAttempts,
+                baseDelay, maxDelay, new RetryBudget(retryRatio, minRetriesPerSecond, maxRetryBalance), meterRegistry,
+                tracer.currentTraceContext());
+    }
+}
@@ -0,0 +1,33 @@
+package com.pragma.mensajeria.infrastructure.configuration;
+
+import com.pragma.mensajeria.infrastructure.input.rest.validation.TimedValidator;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.validation.Validator;
+import org.springframework.validation.beanvalidation.SpringValidatorAdapter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+public class WebMvcMetricsConfiguration implements WebMvcConfigurer {
+
+    // Boot's default validator, which creates constraint validators through Spring so they can be injected
+    private final ObjectProvider<jakarta.validation.Validator> validator;
+    private final MeterRegistry meterRegistry;
+
+    public WebMvcMetricsConfiguration(ObjectProvider<jakarta.validation.Validator> validator,
+                                      MeterRegistry meterRegistry) {
+        this.validator = validator;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public Validator getValidator() {
+        Timer validationTimer = Timer.builder("notification.stage.duration")
+                .tag("stage", "validation")
+                .description("Time spent in each stage of the notification pipeline")
+                .register(meterRegistry);
+        return new TimedValidator(new SpringValidatorAdapter(validator.getObject()), validationTimer);
+    }
+}
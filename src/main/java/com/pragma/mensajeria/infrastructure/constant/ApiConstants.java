@@ -9,19 +9,32 @@ public final class ApiConstants {
     public static final String API_VERSION = "/api/v1";
 
     public static final String NOTIFICATIONS_BASE_PATH = API_VERSION + "/notifications";
+    public static final String DELIVERIES_BASE_PATH = NOTIFICATIONS_BASE_PATH + "/deliveries";
+    public static final String TWILIO_STATUS_CALLBACK_PATH = API_VERSION + "/webhooks/twilio/status";
 
     public static final String SWAGGER_PATH = "/swagger-ui.html";
     public static final String API_DOCS_PATH = "/api-docs";
 
+    public static final String ACTUATOR_HEALTH_PATH = "/actuator/health";
+    public static final String ACTUATOR_PROMETHEUS_PATH = "/actuator/prometheus";
+
     public static final String STATUS_200 = "200";
     public static final String STATUS_201 = "201";
+    public static final String STATUS_202 = "202";
+    public static final String STATUS_207 = "207";
     public static final String STATUS_400 = "400";
     public static final String STATUS_401 = "401";
     public static final String STATUS_403 = "403";
     public static final String STATUS_404 = "404";
     public static final String STATUS_500 = "500";
+    public static final String STATUS_503 = "503";
 
     public static final String APPLICATION_JSON = "application/json";
 
+    public static final String PREFER_HEADER = "Prefer";
+    public static final String RESPOND_ASYNC = "respond-async";
+    public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    public static final String TWILIO_SIGNATURE_HEADER = "X-Twilio-Signature";
+
     public static final String NOTIFICATION_ORDER_READY = "ORDER_READY";
 }
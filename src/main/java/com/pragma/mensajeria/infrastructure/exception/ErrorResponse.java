@@ -1,5 +1,6 @@
 package com.pragma.mensajeria.infrastructure.exception;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -18,4 +19,11 @@ public class ErrorResponse {
     private String error;
     private String message;
     private String path;
+    // Lets support find the request's trace from what the caller saw; left out when the request was not traced
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String traceId;
+
+    public ErrorResponse(LocalDateTime timestamp, int status, String error, String message, String path) {
+        this(timestamp, status, error, message, path, null);
+    }
 }
@@ -1,5 +1,9 @@
 package com.pragma.mensajeria.infrastructure.exception;
 
+import com.pragma.mensajeria.domain.exception.NotificationDispatchException;
+import com.pragma.mensajeria.domain.exception.NotificationNotFoundException;
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.Tracer;
 import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -7,6 +11,7 @@ import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.context.request.async.AsyncRequestTimeoutException;
 
 import java.time.LocalDateTime;
 import java.util.stream.Collectors;
@@ -16,18 +21,38 @@ public class GlobalExceptionHandler {
 
     private static final String BAD_REQUEST = "Bad Request";
     private static final String VALIDATION_ERROR = "Validation Error";
+    private static final String NOT_FOUND = "Not Found";
+    private static final String SERVICE_UNAVAILABLE = "Service Unavailable";
+
+    private final Tracer tracer;
+
+    public GlobalExceptionHandler(Tracer tracer) {
+        this.tracer = tracer;
+    }
 
     @ExceptionHandler(IllegalArgumentException.class)
     public ResponseEntity<ErrorResponse> handleIllegalArgumentException(
             IllegalArgumentException ex, HttpServletRequest request) {
-        ErrorResponse error = new ErrorResponse(
-                LocalDateTime.now(),
-                HttpStatus.BAD_REQUEST.value(),
-                BAD_REQUEST,
-                ex.getMessage(),
-                request.getRequestURI()
-        );
-        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
+        return errorResponse(HttpStatus.BAD_REQUEST, BAD_REQUEST, ex.getMessage(), request);
+    }
+
+    @ExceptionHandler(NotificationNotFoundException.class)
+    public ResponseEntity<ErrorResponse> handleNotificationNotFoundException(
+            NotificationNotFoundException ex, HttpServletRequest request) {
+        return errorResponse(HttpStatus.NOT_FOUND, NOT_FOUND, ex.getMessage(), request);
+    }
+
+    @ExceptionHandler(NotificationDispatchException.class)
+    public ResponseEntity<ErrorResponse> handleNotificationDispatchException(
+            NotificationDispatchException ex, HttpServletRequest request) {
+        return errorResponse(HttpStatus.SERVICE_UNAVAILABLE, SERVICE_UNAVAILABLE, ex.getMessage(), request);
+    }
+
+    @ExceptionHandler(AsyncRequestTimeoutException.class)
+    public ResponseEntity<ErrorResponse> handleAsyncRequestTimeoutException(
+            AsyncRequestTimeoutException ex, HttpServletRequest request) {
+        return errorResponse(HttpStatus.SERVICE_UNAVAILABLE, SERVICE_UNAVAILABLE,
+                "Timed out waiting for the SMS provider", request);
     }
 
     @ExceptionHandler(MethodArgumentNotValidException.class)
@@ -40,26 +65,35 @@ public class GlobalExceptionHandler {
                 .findFirst()
                 .orElse("Input data validation error");
 
-        ErrorResponse error = new ErrorResponse(
-                LocalDateTime.now(),
-                HttpStatus.BAD_REQUEST.value(),
-                VALIDATION_ERROR,
-                message,
-                request.getRequestURI()
-        );
-        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
+        return errorResponse(HttpStatus.BAD_REQUEST, VALIDATION_ERROR, message, request);
     }
 
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ErrorResponse> handleGenericException(
             Exception ex, HttpServletRequest request) {
-        ErrorResponse error = new ErrorResponse(
+        return errorResponse(HttpStatus.INTERNAL_SERVER_ERROR, "Internal Server Error",
+                "An unexpected error occurred: " + ex.getMessage(), request);
+    }
+
+    private ResponseEntity<ErrorResponse> errorResponse(HttpStatus status, String error, String message,
+                                                        HttpServletRequest request) {
+        ErrorResponse body = new ErrorResponse(
                 LocalDateTime.now(),
-                HttpStatus.INTERNAL_SERVER_ERROR.value(),
-                "Internal Server Error",
-                "An unexpected error occurred: " + ex.getMessage(),
-                request.getRequestURI()
+                status.value(),
+                error,
+                message,
+                request.getRequestURI(),
+                currentTraceId()
         );
-        return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(error);
+        return ResponseEntity.status(status).body(body);
+    }
+
+    private String currentTraceId() {
+        Span span = tracer.currentSpan();
+        if (span == null) {
+            return null;
+        }
+        String traceId = span.context().traceId();
+        return traceId == null || traceId.isEmpty() ? null : traceId;
     }
 }
@@ -0,0 +1,72 @@
+package com.pragma.mensajeria.infrastructure.input.rest.controller;
+
+import com.pragma.mensajeria.application.dto.MessageDeliveryResponseDto;
+import com.pragma.mensajeria.application.handler.IMessageDeliveryHandler;
+import com.pragma.mensajeria.infrastructure.constant.ApiConstants;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping(ApiConstants.DELIVERIES_BASE_PATH)
+@Tag(name = "Deliveries", description = "Carrier delivery status of sent SMS, as reported by Twilio")
+@SecurityRequirement(name = "bearerAuth")
+public class MessageDeliveryRestController {
+
+    private final IMessageDeliveryHandler messageDeliveryHandler;
+
+    public MessageDeliveryRestController(IMessageDeliveryHandler messageDeliveryHandler) {
+        this.messageDeliveryHandler = messageDeliveryHandler;
+    }
+
+    @Operation(summary = "Get delivery status of a message",
+            description = "Returns the latest delivery status Twilio reported for a message SID.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200",
+                    description = "Delivery status found",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = MessageDeliveryResponseDto.class))),
+            @ApiResponse(responseCode = "401",
+                    description = "Not authenticated",
+                    content = @Content),
+            @ApiResponse(responseCode = "404",
+                    description = "Unknown or evicted message SID",
+                    content = @Content)
+    })
+    @GetMapping("/{messageId}")
+    public ResponseEntity<MessageDeliveryResponseDto> getDelivery(@PathVariable String messageId) {
+        return ResponseEntity.ok(messageDeliveryHandler.getDelivery(messageId));
+    }
+
+    @Operation(summary = "Get delivery status of an order's messages",
+            description = "Returns the delivery status of every SMS sent for an order, oldest update first.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200",
+                    description = "Deliveries of the order, empty when none is known",
+                    content = @Content(mediaType = "application/json",
+                            array = @ArraySchema(schema = @Schema(implementation = MessageDeliveryResponseDto.class)))),
+            @ApiResponse(responseCode = "400",
+                    description = "Missing order ID",
+                    content = @Content),
+            @ApiResponse(responseCode = "401",
+                    description = "Not authenticated",
+                    content = @Content)
+    })
+    @GetMapping
+    public ResponseEntity<List<MessageDeliveryResponseDto>> getDeliveriesByOrder(@RequestParam String orderId) {
+        return ResponseEntity.ok(messageDeliveryHandler.getDeliveriesByOrder(orderId));
+    }
+}
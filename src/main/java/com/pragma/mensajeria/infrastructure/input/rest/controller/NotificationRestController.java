@@ -1,10 +1,14 @@
 package com.pragma.mensajeria.infrastructure.input.rest.controller;
 
 import com.pragma.mensajeria.application.dto.NotificationResponseDto;
+import com.pragma.mensajeria.application.dto.NotificationTrackingResponseDto;
+import com.pragma.mensajeria.application.dto.OrderReadyBatchNotificationRequestDto;
 import com.pragma.mensajeria.application.dto.OrderReadyNotificationRequestDto;
 import com.pragma.mensajeria.application.handler.INotificationHandler;
 import com.pragma.mensajeria.infrastructure.constant.ApiConstants;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -14,11 +18,18 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.net.URI;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
 @RestController
 @RequestMapping(ApiConstants.NOTIFICATIONS_BASE_PATH)
 @Tag(name = "Notifications", description = "Notification management API for sending messages to clients")
@@ -33,7 +44,8 @@ public class NotificationRestController {
 
     @Operation(summary = "Send order ready notification",
             description = "Sends an SMS notification to the client informing that their order is ready to be picked up. " +
-                    "Includes a security PIN that the client must present to claim the order.")
+                    "Includes a security PIN that the client must present to claim the order. " +
+                    "Retries of a successful request return the original result without sending another SMS.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200",
                     description = "Notification sent successfully",
@@ -50,14 +62,92 @@ public class NotificationRestController {
                     content = @Content)
     })
     @PostMapping("/order-ready")
-    public ResponseEntity<NotificationResponseDto> sendOrderReadyNotification(
+    public CompletableFuture<ResponseEntity<NotificationResponseDto>> sendOrderReadyNotification(
+            @Valid @RequestBody OrderReadyNotificationRequestDto request,
+            @Parameter(description = "Optional key to deduplicate retries. Defaults to orderId + securityPin + phoneNumber")
+            @RequestHeader(value = ApiConstants.IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey) {
+        return notificationHandler.sendOrderReadyNotificationAsync(request, idempotencyKey)
+                .thenApply(response -> {
+                    if (response.isSuccess()) {
+                        return ResponseEntity.ok(response);
+                    } else {
+                        return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
+                    }
+                });
+    }
+
+    @Operation(summary = "Send a batch of order ready notifications",
+            description = "Sends up to 100 order ready SMS notifications concurrently in a single request. " +
+                    "The response contains one result per notification, in the same order as the request.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200",
+                    description = "All notifications sent successfully",
+                    content = @Content(mediaType = "application/json",
+                            array = @ArraySchema(schema = @Schema(implementation = NotificationResponseDto.class)))),
+            @ApiResponse(responseCode = "207",
+                    description = "Some notifications could not be sent - check each result",
+                    content = @Content(mediaType = "application/json",
+                            array = @ArraySchema(schema = @Schema(implementation = NotificationResponseDto.class)))),
+            @ApiResponse(responseCode = "400",
+                    description = "Empty or oversized batch",
+                    content = @Content),
+            @ApiResponse(responseCode = "401",
+                    description = "Not authenticated",
+                    content = @Content)
+    })
+    @PostMapping("/order-ready/batch")
+    public ResponseEntity<List<NotificationResponseDto>> sendOrderReadyNotifications(
+            @Valid @RequestBody OrderReadyBatchNotificationRequestDto request) {
+        List<NotificationResponseDto> responses = notificationHandler.sendOrderReadyNotifications(request);
+
+        boolean allSucceeded = responses.stream().allMatch(NotificationResponseDto::isSuccess);
+        return ResponseEntity.status(allSucceeded ? HttpStatus.OK : HttpStatus.MULTI_STATUS).body(responses);
+    }
+
+    @Operation(summary = "Accept order ready notification for asynchronous delivery",
+            description = "Opt-in with the header 'Prefer: respond-async'. Validates the request, enqueues the SMS and " +
+                    "returns a tracking ID immediately. The delivery result can be queried with GET /{trackingId}.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "202",
+                    description = "Notification accepted for delivery",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = NotificationTrackingResponseDto.class))),
+            @ApiResponse(responseCode = "400",
+                    description = "Invalid input data - Missing required fields",
+                    content = @Content),
+            @ApiResponse(responseCode = "401",
+                    description = "Not authenticated",
+                    content = @Content),
+            @ApiResponse(responseCode = "503",
+                    description = "Dispatch queue is full",
+                    content = @Content)
+    })
+    @PostMapping(value = "/order-ready", headers = ApiConstants.PREFER_HEADER + "=" + ApiConstants.RESPOND_ASYNC)
+    public ResponseEntity<NotificationTrackingResponseDto> acceptOrderReadyNotification(
             @Valid @RequestBody OrderReadyNotificationRequestDto request) {
-        NotificationResponseDto response = notificationHandler.sendOrderReadyNotification(request);
-        
-        if (response.isSuccess()) {
-            return ResponseEntity.ok(response);
-        } else {
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
-        }
+        NotificationTrackingResponseDto response = notificationHandler.acceptOrderReadyNotification(request);
+
+        return ResponseEntity.accepted()
+                .location(URI.create(ApiConstants.NOTIFICATIONS_BASE_PATH + "/" + response.getTrackingId()))
+                .body(response);
+    }
+
+    @Operation(summary = "Get notification status",
+            description = "Returns the delivery status of a notification accepted in asynchronous mode.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200",
+                    description = "Notification status found",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = NotificationTrackingResponseDto.class))),
+            @ApiResponse(responseCode = "401",
+                    description = "Not authenticated",
+                    content = @Content),
+            @ApiResponse(responseCode = "404",
+                    description = "Unknown or expired tracking ID",
+                    content = @Content)
+    })
+    @GetMapping("/{trackingId}")
+    public ResponseEntity<NotificationTrackingResponseDto> getNotificationTracking(@PathVariable String trackingId) {
+        return ResponseEntity.ok(notificationHandler.getNotificationTracking(trackingId));
     }
 }
@@ -0,0 +1,62 @@
+package com.pragma.mensajeria.infrastructure.input.rest.controller;
+
+import com.pragma.mensajeria.application.handler.IMessageDeliveryHandler;
+import com.pragma.mensajeria.infrastructure.constant.ApiConstants;
+import com.pragma.mensajeria.infrastructure.security.TwilioSignatureValidator;
+import io.swagger.v3.oas.annotations.Hidden;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Map;
+
+// Called by Twilio, not by our clients, so it is kept out of the published API docs
+@Hidden
+@RestController
+@RequestMapping(ApiConstants.TWILIO_STATUS_CALLBACK_PATH)
+public class TwilioStatusCallbackController {
+
+    private static final Logger logger = LoggerFactory.getLogger(TwilioStatusCallbackController.class);
+
+    private final IMessageDeliveryHandler messageDeliveryHandler;
+    private final TwilioSignatureValidator twilioSignatureValidator;
+
+    public TwilioStatusCallbackController(IMessageDeliveryHandler messageDeliveryHandler,
+                                          TwilioSignatureValidator twilioSignatureValidator) {
+        this.messageDeliveryHandler = messageDeliveryHandler;
+        this.twilioSignatureValidator = twilioSignatureValidator;
+    }
+
+    @PostMapping(consumes = MediaType.APPLICATION_FORM_URLENCODED_VALUE)
+    public ResponseEntity<Void> receiveStatus(
+            @RequestParam Map<String, String> params,
+            @RequestHeader(value = ApiConstants.TWILIO_SIGNATURE_HEADER, required = false) String signature) {
+        return ingest(null, params, signature);
+    }
+
+    @PostMapping(value = "/{restaurantId}", consumes = MediaType.APPLICATION_FORM_URLENCODED_VALUE)
+    public ResponseEntity<Void> receiveRestaurantStatus(
+            @PathVariable String restaurantId,
+            @RequestParam Map<String, String> params,
+            @RequestHeader(value = ApiConstants.TWILIO_SIGNATURE_HEADER, required = false) String signature) {
+        return ingest(restaurantId, params, signature);
+    }
+
+    private ResponseEntity<Void> ingest(String restaurantId, Map<String, String> params, String signature) {
+        if (!twilioSignatureValidator.isValid(restaurantId, params, signature)) {
+            logger.warn("Rejected Twilio status callback with an invalid signature for message {}", params.get("MessageSid"));
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        messageDeliveryHandler.recordStatusUpdate(params.get("MessageSid"), params.get("MessageStatus"),
+                params.get("ErrorCode"));
+        return ResponseEntity.noContent().build();
+    }
+}
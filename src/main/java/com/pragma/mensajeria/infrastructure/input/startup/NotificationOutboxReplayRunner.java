@@ -0,0 +1,28 @@
+package com.pragma.mensajeria.infrastructure.input.startup;
+
+import com.pragma.mensajeria.domain.api.INotificationServicePort;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+@Component
+public class NotificationOutboxReplayRunner implements ApplicationRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(NotificationOutboxReplayRunner.class);
+
+    private final INotificationServicePort notificationServicePort;
+
+    public NotificationOutboxReplayRunner(INotificationServicePort notificationServicePort) {
+        this.notificationServicePort = notificationServicePort;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        int resumed = notificationServicePort.resumePendingNotifications();
+        if (resumed > 0) {
+            logger.info("Resumed {} notifications accepted before the last shutdown", resumed);
+        }
+    }
+}
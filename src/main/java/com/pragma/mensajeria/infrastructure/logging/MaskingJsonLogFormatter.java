@@ -0,0 +1,30 @@
+package com.pragma.mensajeria.infrastructure.logging;
+
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.spi.ThrowableProxyUtil;
+import org.springframework.boot.json.JsonWriter;
+import org.springframework.boot.logging.structured.StructuredLogFormatter;
+
+import java.util.Map;
+
+// One JSON object per line; phone numbers are masked in the message and in stack traces, where Twilio errors quote them
+public class MaskingJsonLogFormatter implements StructuredLogFormatter<ILoggingEvent> {
+
+    private final JsonWriter<ILoggingEvent> writer = JsonWriter.<ILoggingEvent>of(members -> {
+        members.add("@timestamp", event -> event.getInstant().toString());
+        members.add("level", event -> event.getLevel().toString());
+        members.add("logger", ILoggingEvent::getLoggerName);
+        members.add("thread", ILoggingEvent::getThreadName);
+        members.add("message", event -> PhoneNumberMasking.mask(event.getFormattedMessage()));
+        // traceId and spanId come from the tracing MDC
+        members.add("mdc", ILoggingEvent::getMDCPropertyMap).whenNot(Map::isEmpty);
+        members.add("error", ILoggingEvent::getThrowableProxy)
+                .whenNotNull()
+                .as(proxy -> PhoneNumberMasking.mask(ThrowableProxyUtil.asString(proxy)));
+    }).withNewLineAtEnd();
+
+    @Override
+    public String format(ILoggingEvent event) {
+        return writer.writeToString(event);
+    }
+}
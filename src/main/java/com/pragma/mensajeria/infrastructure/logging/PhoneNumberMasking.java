@@ -0,0 +1,56 @@
+package com.pragma.mensajeria.infrastructure.logging;
+
+import com.pragma.mensajeria.domain.model.CountryCallingCodes;
+import com.pragma.mensajeria.domain.model.E164;
+
+public final class PhoneNumberMasking {
+
+    private static final int VISIBLE_TRAILING_DIGITS = 4;
+    private static final char MASK = '*';
+
+    private PhoneNumberMasking() {
+    }
+
+    // Masks every strict E.164 number ("+" and 7 to 15 digits) in free text, keeping the calling code and last digits.
+    // Text without a '+' is returned as-is, so most log lines cost one scan and no allocation
+    public static String mask(String text) {
+        if (text == null || text.indexOf('+') < 0) {
+            return text;
+        }
+        StringBuilder masked = null;
+        int copied = 0;
+        for (int plus = text.indexOf('+'); plus >= 0; plus = text.indexOf('+', plus + 1)) {
+            int end = plus + 1;
+            long digits = 0;
+            while (end < text.length() && isDigit(text.charAt(end))) {
+                if (end - plus <= E164.MAX_DIGITS) {
+                    digits = digits * 10 + (text.charAt(end) - '0');
+                }
+                end++;
+            }
+            int count = end - plus - 1;
+            if (count < E164.MIN_DIGITS || count > E164.MAX_DIGITS
+                    || (plus > 0 && Character.isLetterOrDigit(text.charAt(plus - 1)))) {
+                continue;
+            }
+            int codeLength = CountryCallingCodes.prefixLength(digits, count);
+            int maskFrom = plus + 1 + codeLength;
+            int maskTo = end - Math.min(VISIBLE_TRAILING_DIGITS, (count - codeLength) / 2);
+            if (masked == null) {
+                masked = new StringBuilder(text.length());
+            }
+            masked.append(text, copied, maskFrom);
+            masked.repeat(MASK, maskTo - maskFrom);
+            copied = maskTo;
+            plus = end - 1;
+        }
+        if (masked == null) {
+            return text;
+        }
+        return masked.append(text, copied, text.length()).toString();
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+}
@@ -0,0 +1,79 @@
+package com.pragma.mensajeria.infrastructure.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import org.slf4j.Marker;
+import org.slf4j.MarkerFactory;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+// Caps repetitive success logs per logger. Only events that opt in with the SAMPLED marker are ever dropped,
+// and never at WARN or above or with an exception attached, so failures always reach the appender
+public class SampledLogTurboFilter extends TurboFilter {
+
+    public static final Marker SAMPLED = MarkerFactory.getMarker("SAMPLED");
+
+    private static final long WINDOW_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final ConcurrentHashMap<String, Window> windows = new ConcurrentHashMap<>();
+    private final LongSupplier nanoClock;
+    private int maxPerSecond = 10;
+
+    public SampledLogTurboFilter() {
+        this(System::nanoTime);
+    }
+
+    SampledLogTurboFilter(LongSupplier nanoClock) {
+        this.nanoClock = nanoClock;
+    }
+
+    public void setMaxPerSecond(int maxPerSecond) {
+        this.maxPerSecond = maxPerSecond;
+    }
+
+    @Override
+    public void start() {
+        if (maxPerSecond < 0) {
+            addError("maxPerSecond must not be negative: " + maxPerSecond);
+            return;
+        }
+        super.start();
+    }
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params, Throwable t) {
+        // format is null for isXxxEnabled() checks, which must not spend the budget
+        if (marker == null || !marker.contains(SAMPLED) || format == null || t != null
+                || level.isGreaterOrEqual(Level.WARN) || !level.isGreaterOrEqual(logger.getEffectiveLevel())) {
+            return FilterReply.NEUTRAL;
+        }
+        long now = nanoClock.getAsLong();
+        Window window = windows.computeIfAbsent(logger.getName(), name -> new Window(now));
+        return window.tryAcquire(now, maxPerSecond) ? FilterReply.NEUTRAL : FilterReply.DENY;
+    }
+
+    // Fixed one-second window; a racing reset may let a few extra events through, which is fine for logs
+    private static final class Window {
+
+        private final AtomicLong start;
+        private final AtomicInteger count = new AtomicInteger();
+
+        private Window(long now) {
+            this.start = new AtomicLong(now);
+        }
+
+        private boolean tryAcquire(long now, int max) {
+            long windowStart = start.get();
+            if (now - windowStart >= WINDOW_NANOS && start.compareAndSet(windowStart, now)) {
+                count.set(0);
+            }
+            return count.incrementAndGet() <= max;
+        }
+    }
+}
@@ -0,0 +1,218 @@
+package com.pragma.mensajeria.infrastructure.output.coalescing.adapter;
+
+import com.pragma.mensajeria.domain.model.NotificationMessage;
+import com.pragma.mensajeria.domain.model.NotificationResult;
+import com.pragma.mensajeria.domain.spi.INotificationCoalescingPort;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+// Holds notifications to one phone for a short window and sends them as one group.
+// With bypass-when-idle, a phone with nothing held or sent within the window goes out immediately.
+@Component
+public class WindowedNotificationCoalescingAdapter implements INotificationCoalescingPort {
+
+    private static final String METRIC_PREFIX = "notification.coalescing.";
+
+    private final boolean enabled;
+    private final long windowNanos;
+    private final int maxGroupSize;
+    private final boolean bypassWhenIdle;
+    // Only mutated inside compute calls, which serialize every change for a phone
+    private final ConcurrentHashMap<String, Recipient> recipients = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService scheduler;
+    private final Counter bypassed;
+    private final Counter held;
+    private final DistributionSummary groupSize;
+
+    public WindowedNotificationCoalescingAdapter(@Value("${notification.coalescing.enabled:false}") boolean enabled,
+                                                 @Value("${notification.coalescing.window:PT2S}") Duration window,
+                                                 @Value("${notification.coalescing.max-group-size:10}") int maxGroupSize,
+                                                 @Value("${notification.coalescing.bypass-when-idle:true}") boolean bypassWhenIdle,
+                                                 MeterRegistry meterRegistry) {
+        this.enabled = enabled;
+        this.windowNanos = window.toNanos();
+        this.maxGroupSize = maxGroupSize;
+        this.bypassWhenIdle = bypassWhenIdle;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().daemon().name("notification-coalescer").factory());
+
+        this.bypassed = Counter.builder(METRIC_PREFIX + "bypassed")
+                .description("Notifications sent immediately because nothing was pending for the phone")
+                .register(meterRegistry);
+        this.held = Counter.builder(METRIC_PREFIX + "held")
+                .description("Notifications held to be sent together with others to the same phone")
+                .register(meterRegistry);
+        this.groupSize = DistributionSummary.builder(METRIC_PREFIX + "group.size")
+                .description("Notifications per coalesced group")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Optional<CompletableFuture<NotificationResult>> hold(
+            String recipientKey, NotificationMessage message,
+            Function<List<NotificationMessage>, CompletableFuture<List<NotificationResult>>> sendGroup) {
+        if (!enabled || scheduler.isShutdown()) {
+            return Optional.empty();
+        }
+        long now = System.nanoTime();
+        AtomicReference<Admission> admission = new AtomicReference<>();
+        recipients.compute(recipientKey, (key, recipient) -> {
+            Recipient current = recipient != null ? recipient : new Recipient();
+            admission.set(current.admit(message, sendGroup, now));
+            return current;
+        });
+
+        Admission result = admission.get();
+        if (result.future() == null) {
+            bypassed.increment();
+            schedule(() -> forgetIfIdle(recipientKey));
+            return Optional.empty();
+        }
+        held.increment();
+        if (result.opened() != null) {
+            Group opened = result.opened();
+            schedule(() -> flush(recipientKey, opened));
+        }
+        if (result.full() != null) {
+            send(result.full());
+        }
+        return Optional.of(result.future());
+    }
+
+    public int getRecipientCount() {
+        return recipients.size();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+        // Send whatever is still held instead of dropping it
+        for (String recipientKey : recipients.keySet()) {
+            AtomicReference<Group> pending = new AtomicReference<>();
+            recipients.computeIfPresent(recipientKey, (key, recipient) -> {
+                pending.set(recipient.open);
+                return null;
+            });
+            if (pending.get() != null) {
+                send(pending.get());
+            }
+        }
+    }
+
+    private void flush(String recipientKey, Group group) {
+        AtomicReference<Group> due = new AtomicReference<>();
+        recipients.computeIfPresent(recipientKey, (key, recipient) -> {
+            // The group may already have been sent because it filled up
+            if (recipient.open == group) {
+                recipient.open = null;
+                due.set(group);
+            }
+            return recipient;
+        });
+        if (due.get() != null) {
+            send(due.get());
+        }
+        schedule(() -> forgetIfIdle(recipientKey));
+    }
+
+    private void forgetIfIdle(String recipientKey) {
+        long now = System.nanoTime();
+        recipients.computeIfPresent(recipientKey, (key, recipient) -> recipient.isIdle(now) ? null : recipient);
+    }
+
+    private void send(Group group) {
+        groupSize.record(group.messages.size());
+        CompletableFuture<List<NotificationResult>> results;
+        try {
+            results = group.sendGroup.apply(List.copyOf(group.messages));
+        } catch (RuntimeException e) {
+            results = CompletableFuture.failedFuture(e);
+        }
+        results.whenComplete((sent, error) -> {
+            for (int i = 0; i < group.futures.size(); i++) {
+                if (error != null) {
+                    group.futures.get(i).completeExceptionally(error);
+                } else {
+                    group.futures.get(i).complete(sent.get(i));
+                }
+            }
+        });
+    }
+
+    private void schedule(Runnable task) {
+        try {
+            scheduler.schedule(task, windowNanos, TimeUnit.NANOSECONDS);
+        } catch (RejectedExecutionException _) {
+            // Shutting down: shutdown() sends every held group itself
+        }
+    }
+
+    // future is null when the notification bypasses the window
+    private record Admission(CompletableFuture<NotificationResult> future, Group opened, Group full) {
+    }
+
+    private final class Recipient {
+
+        private long lastArrivalNanos;
+        private boolean seen;
+        private Group open;
+
+        private Admission admit(NotificationMessage message,
+                                Function<List<NotificationMessage>, CompletableFuture<List<NotificationResult>>> sendGroup,
+                                long now) {
+            boolean idle = isIdle(now);
+            seen = true;
+            lastArrivalNanos = now;
+            if (idle && bypassWhenIdle) {
+                return new Admission(null, null, null);
+            }
+
+            CompletableFuture<NotificationResult> future = new CompletableFuture<>();
+            Group opened = null;
+            if (open == null) {
+                open = new Group(sendGroup);
+                opened = open;
+            }
+            open.messages.add(message);
+            open.futures.add(future);
+            if (open.messages.size() >= maxGroupSize) {
+                Group full = open;
+                open = null;
+                return new Admission(future, opened, full);
+            }
+            return new Admission(future, opened, null);
+        }
+
+        private boolean isIdle(long now) {
+            return open == null && (!seen || now - lastArrivalNanos >= windowNanos);
+        }
+    }
+
+    private static final class Group {
+
+        private final Function<List<NotificationMessage>, CompletableFuture<List<NotificationResult>>> sendGroup;
+        private final List<NotificationMessage> messages = new ArrayList<>();
+        private final List<CompletableFuture<NotificationResult>> futures = new ArrayList<>();
+
+        private Group(Function<List<NotificationMessage>, CompletableFuture<List<NotificationResult>>> sendGroup) {
+            this.sendGroup = sendGroup;
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package com.pragma.mensajeria.infrastructure.output.dispatch.adapter;
+
+import com.pragma.mensajeria.domain.exception.NotificationDispatchException;
+import com.pragma.mensajeria.domain.spi.INotificationDispatchPort;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+// Shut down before the outbox so sends still draining at shutdown can record their completion
+@Component
+@DependsOn("mappedFileNotificationOutboxAdapter")
+public class ExecutorNotificationDispatchAdapter implements INotificationDispatchPort {
+
+    private static final Logger logger = LoggerFactory.getLogger(ExecutorNotificationDispatchAdapter.class);
+    private static final String THREAD_NAME_PREFIX = "notification-dispatch-";
+
+    private final ExecutorService executor;
+    private final Semaphore pendingTasks;
+    private final int maxPendingTasks;
+    private final int batchParallelism;
+    private final Duration shutdownTimeout;
+
+    public ExecutorNotificationDispatchAdapter(@Value("${notification.dispatch.max-pending:10000}") int maxPendingTasks,
+                                               @Value("${notification.batch.parallelism:8}") int batchParallelism,
+                                               @Value("${notification.dispatch.shutdown-timeout:PT30S}") Duration shutdownTimeout,
+                                               MeterRegistry meterRegistry) {
+        this.executor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name(THREAD_NAME_PREFIX, 0).factory());
+        this.pendingTasks = new Semaphore(maxPendingTasks);
+        this.maxPendingTasks = maxPendingTasks;
+        this.batchParallelism = batchParallelism;
+        this.shutdownTimeout = shutdownTimeout;
+
+        Gauge.builder("notification.dispatch.pending", this, ExecutorNotificationDispatchAdapter::getPendingTaskCount)
+                .description("Notification sends waiting for or running on a dispatch virtual thread")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void dispatch(Runnable task) {
+        if (!pendingTasks.tryAcquire()) {
+            throw new NotificationDispatchException("Notification dispatch queue is full");
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    task.run();
+                } finally {
+                    pendingTasks.release();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            pendingTasks.release();
+            throw new NotificationDispatchException("Notification dispatcher is shutting down", e);
+        }
+    }
+
+    @Override
+    public <T> List<T> dispatchAll(List<Supplier<T>> tasks) {
+        Semaphore permits = new Semaphore(batchParallelism);
+        List<CompletableFuture<T>> futures = new ArrayList<>(tasks.size());
+        try {
+            for (Supplier<T> task : tasks) {
+                permits.acquire();
+                futures.add(submitWithPermit(task, permits));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            futures.forEach(future -> future.cancel(true));
+            throw new NotificationDispatchException("Interrupted while dispatching notification batch", e);
+        }
+        return futures.stream()
+                .map(CompletableFuture::join)
+                .toList();
+    }
+
+    public int getPendingTaskCount() {
+        return maxPendingTasks - pendingTasks.availablePermits();
+    }
+
+    private <T> CompletableFuture<T> submitWithPermit(Supplier<T> task, Semaphore permits) {
+        if (!pendingTasks.tryAcquire()) {
+            // Dispatcher saturated: run on the caller thread so the batch still makes progress
+            try {
+                return CompletableFuture.completedFuture(task.get());
+            } finally {
+                permits.release();
+            }
+        }
+        try {
+            return CompletableFuture.supplyAsync(task, executor)
+                    .whenComplete((result, error) -> {
+                        pendingTasks.release();
+                        permits.release();
+                    });
+        } catch (RejectedExecutionException e) {
+            pendingTasks.release();
+            permits.release();
+            throw new NotificationDispatchException("Notification dispatcher is shutting down", e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(shutdownTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                logger.warn("Notification dispatch executor did not terminate in {}. Pending tasks: {}",
+                        shutdownTimeout, getPendingTaskCount());
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException _) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package com.pragma.mensajeria.infrastructure.output.memory.adapter;
+
+import com.pragma.mensajeria.domain.model.MessageDelivery;
+import com.pragma.mensajeria.domain.spi.IMessageDeliveryPersistencePort;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+// Status callbacks arrive at high rate, so updates are compare-and-set retries rather than locks
+@Component
+public class InMemoryMessageDeliveryAdapter implements IMessageDeliveryPersistencePort {
+
+    private final ConcurrentHashMap<String, MessageDelivery> deliveries = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Set<String>> messageIdsByOrder = new ConcurrentHashMap<>();
+    // A coalesced SMS carries several orders, so eviction needs every order that points at a message
+    private final ConcurrentHashMap<String, Set<String>> orderIdsByMessage = new ConcurrentHashMap<>();
+    private final ConcurrentLinkedQueue<String> insertionOrder = new ConcurrentLinkedQueue<>();
+    private final int maxEntries;
+
+    public InMemoryMessageDeliveryAdapter(@Value("${notification.delivery.max-entries:100000}") int maxEntries) {
+        this.maxEntries = maxEntries;
+    }
+
+    @Override
+    public MessageDelivery merge(MessageDelivery update) {
+        String messageId = update.getMessageId();
+        while (true) {
+            MessageDelivery current = deliveries.get(messageId);
+            if (current == null) {
+                if (deliveries.putIfAbsent(messageId, update) == null) {
+                    insertionOrder.add(messageId);
+                    indexOrder(update);
+                    evictOverflow();
+                    return update;
+                }
+                continue;
+            }
+            MessageDelivery merged = current.mergedWith(update);
+            // MessageDelivery has identity equality, so this swaps only the exact version that was merged
+            if (deliveries.replace(messageId, current, merged)) {
+                indexOrder(update);
+                return merged;
+            }
+        }
+    }
+
+    @Override
+    public Optional<MessageDelivery> findByMessageId(String messageId) {
+        return Optional.ofNullable(deliveries.get(messageId));
+    }
+
+    @Override
+    public List<MessageDelivery> findByOrderId(String orderId) {
+        Set<String> messageIds = messageIdsByOrder.get(orderId);
+        if (messageIds == null) {
+            return List.of();
+        }
+        return messageIds.stream()
+                .map(deliveries::get)
+                .filter(Objects::nonNull)
+                .sorted(Comparator.comparing(MessageDelivery::getUpdatedAt, Comparator.nullsFirst(Comparator.naturalOrder())))
+                .toList();
+    }
+
+    public int size() {
+        return deliveries.size();
+    }
+
+    int indexedMessageCount() {
+        return orderIdsByMessage.size();
+    }
+
+    int indexedOrderCount() {
+        return messageIdsByOrder.size();
+    }
+
+    // The entry is already published, so an eviction on another thread may drop it while this runs. Nothing would
+    // evict the index afterwards, so it is undone when the entry turns out to be gone.
+    private void indexOrder(MessageDelivery update) {
+        String orderId = update.getOrderId();
+        if (orderId == null) {
+            return;
+        }
+        String messageId = update.getMessageId();
+        orderIdsByMessage.computeIfAbsent(messageId, key -> ConcurrentHashMap.newKeySet()).add(orderId);
+        messageIdsByOrder.computeIfAbsent(orderId, key -> ConcurrentHashMap.newKeySet()).add(messageId);
+        if (!deliveries.containsKey(messageId)) {
+            orderIdsByMessage.computeIfPresent(messageId, (key, orderIds) -> {
+                orderIds.remove(orderId);
+                return orderIds.isEmpty() ? null : orderIds;
+            });
+            unlinkOrder(orderId, messageId);
+        }
+    }
+
+    private void unlinkOrder(String orderId, String messageId) {
+        messageIdsByOrder.computeIfPresent(orderId, (key, messageIds) -> {
+            messageIds.remove(messageId);
+            return messageIds.isEmpty() ? null : messageIds;
+        });
+    }
+
+    private void evictOverflow() {
+        while (deliveries.size() > maxEntries) {
+            String oldestId = insertionOrder.poll();
+            if (oldestId == null) {
+                return;
+            }
+            deliveries.remove(oldestId);
+            Set<String> orderIds = orderIdsByMessage.remove(oldestId);
+            if (orderIds != null) {
+                orderIds.forEach(orderId -> unlinkOrder(orderId, oldestId));
+            }
+        }
+    }
+}
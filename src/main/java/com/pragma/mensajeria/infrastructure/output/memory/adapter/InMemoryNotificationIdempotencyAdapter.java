@@ -0,0 +1,117 @@
+package com.pragma.mensajeria.infrastructure.output.memory.adapter;
+
+import com.pragma.mensajeria.domain.model.NotificationResult;
+import com.pragma.mensajeria.domain.spi.INotificationIdempotencyPort;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.locks.ReentrantLock;
+
+@Component
+public class InMemoryNotificationIdempotencyAdapter implements INotificationIdempotencyPort {
+
+    // Every claim and release is O(1) under the lock; removing a key also unlinks it from the insertion order,
+    // so the map never holds more than maxEntries
+    private final ReentrantLock lock = new ReentrantLock();
+    private final LinkedHashMap<String, IdempotencyEntry> entries = new LinkedHashMap<>();
+    private final int maxEntries;
+    private final long ttlNanos;
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter evictions;
+
+    public InMemoryNotificationIdempotencyAdapter(@Value("${notification.idempotency.max-entries:50000}") int maxEntries,
+                                                  @Value("${notification.idempotency.ttl:PT10M}") Duration ttl,
+                                                  MeterRegistry meterRegistry) {
+        this.maxEntries = maxEntries;
+        this.ttlNanos = ttl.toNanos();
+        this.hits = Counter.builder("notification.idempotency.requests")
+                .tag("result", "hit")
+                .description("Order-ready requests answered from the idempotency store")
+                .register(meterRegistry);
+        this.misses = Counter.builder("notification.idempotency.requests")
+                .tag("result", "miss")
+                .description("Order-ready requests that triggered a new SMS send")
+                .register(meterRegistry);
+        this.evictions = Counter.builder("notification.idempotency.evictions")
+                .description("Idempotency entries dropped because they expired or the store was full")
+                .register(meterRegistry);
+        Gauge.builder("notification.idempotency.size", this, InMemoryNotificationIdempotencyAdapter::size)
+                .description("Idempotency entries currently stored")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Optional<CompletableFuture<NotificationResult>> claim(String key, CompletableFuture<NotificationResult> inFlight) {
+        long now = System.nanoTime();
+        lock.lock();
+        try {
+            IdempotencyEntry existing = entries.get(key);
+            if (existing != null && !isExpired(existing, now)) {
+                hits.increment();
+                return Optional.of(existing.result());
+            }
+            // An expired entry is unlinked before the new claim goes to the tail
+            if (existing != null) {
+                entries.remove(key);
+                evictions.increment();
+            }
+            entries.put(key, new IdempotencyEntry(inFlight, now));
+            misses.increment();
+            evictExpiredAndOverflow(now);
+            return Optional.empty();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void release(String key, CompletableFuture<NotificationResult> inFlight) {
+        lock.lock();
+        try {
+            IdempotencyEntry entry = entries.get(key);
+            if (entry != null && entry.result() == inFlight) {
+                entries.remove(key);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int size() {
+        lock.lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Claims sit in insertion order, so expired and overflowing entries are always at the head
+    private void evictExpiredAndOverflow(long now) {
+        Iterator<IdempotencyEntry> oldest = entries.values().iterator();
+        while (oldest.hasNext()) {
+            IdempotencyEntry entry = oldest.next();
+            if (entries.size() <= maxEntries && !isExpired(entry, now)) {
+                return;
+            }
+            oldest.remove();
+            evictions.increment();
+        }
+    }
+
+    private boolean isExpired(IdempotencyEntry entry, long now) {
+        return now - entry.createdAtNanos() > ttlNanos;
+    }
+
+    private record IdempotencyEntry(CompletableFuture<NotificationResult> result, long createdAtNanos) {
+    }
+}
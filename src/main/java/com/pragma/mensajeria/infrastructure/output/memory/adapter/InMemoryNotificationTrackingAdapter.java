@@ -0,0 +1,71 @@
+package com.pragma.mensajeria.infrastructure.output.memory.adapter;
+
+import com.pragma.mensajeria.domain.model.NotificationTracking;
+import com.pragma.mensajeria.domain.spi.INotificationTrackingPersistencePort;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+@Component
+public class InMemoryNotificationTrackingAdapter implements INotificationTrackingPersistencePort {
+
+    private final ConcurrentHashMap<String, NotificationTracking> trackings = new ConcurrentHashMap<>();
+    private final ConcurrentLinkedQueue<String> insertionOrder = new ConcurrentLinkedQueue<>();
+    private final int maxEntries;
+    private final Duration retention;
+
+    public InMemoryNotificationTrackingAdapter(@Value("${notification.tracking.max-entries:100000}") int maxEntries,
+                                               @Value("${notification.tracking.retention:PT1H}") Duration retention) {
+        this.maxEntries = maxEntries;
+        this.retention = retention;
+    }
+
+    @Override
+    public void save(NotificationTracking tracking) {
+        if (trackings.put(tracking.getTrackingId(), tracking) == null) {
+            insertionOrder.add(tracking.getTrackingId());
+            evictExpiredAndOverflow();
+        }
+    }
+
+    @Override
+    public Optional<NotificationTracking> findByTrackingId(String trackingId) {
+        NotificationTracking tracking = trackings.get(trackingId);
+        if (tracking == null) {
+            return Optional.empty();
+        }
+        if (isExpired(tracking, Instant.now().minus(retention))) {
+            trackings.remove(trackingId, tracking);
+            return Optional.empty();
+        }
+        return Optional.of(tracking);
+    }
+
+    public int size() {
+        return trackings.size();
+    }
+
+    private void evictExpiredAndOverflow() {
+        Instant cutoff = Instant.now().minus(retention);
+        String oldestId;
+        while ((oldestId = insertionOrder.peek()) != null) {
+            NotificationTracking oldest = trackings.get(oldestId);
+            boolean overflow = trackings.size() > maxEntries;
+            if (oldest != null && !overflow && !isExpired(oldest, cutoff)) {
+                return;
+            }
+            if (insertionOrder.remove(oldestId)) {
+                trackings.remove(oldestId);
+            }
+        }
+    }
+
+    private boolean isExpired(NotificationTracking tracking, Instant cutoff) {
+        return tracking.getAcceptedAt() != null && tracking.getAcceptedAt().isBefore(cutoff);
+    }
+}
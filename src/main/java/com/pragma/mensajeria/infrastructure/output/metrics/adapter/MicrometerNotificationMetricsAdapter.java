@@ -0,0 +1,77 @@
+package com.pragma.mensajeria.infrastructure.output.metrics.adapter;
+
+import com.pragma.mensajeria.domain.model.NotificationResult;
+import com.pragma.mensajeria.domain.model.NotificationType;
+import com.pragma.mensajeria.domain.spi.INotificationMetricsPort;
+import com.pragma.mensajeria.infrastructure.constant.ApiConstants;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Every meter is registered up front, so the hot path never builds tags or looks meters up
+@Component
+public class MicrometerNotificationMetricsAdapter implements INotificationMetricsPort {
+
+    private static final String METRIC_PREFIX = "notification.";
+
+    private final Timer formatting;
+    private final Map<NotificationType, AtomicInteger> inFlight = new EnumMap<>(NotificationType.class);
+    private final Map<NotificationType, Counter> succeeded = new EnumMap<>(NotificationType.class);
+    private final Map<NotificationType, Counter> failed = new EnumMap<>(NotificationType.class);
+
+    public MicrometerNotificationMetricsAdapter(MeterRegistry meterRegistry) {
+        this.formatting = Timer.builder(METRIC_PREFIX + "stage.duration")
+                .tag("stage", "formatting")
+                .description("Time spent in each stage of the notification pipeline")
+                .register(meterRegistry);
+
+        for (NotificationType type : NotificationType.values()) {
+            String tag = typeTag(type);
+            AtomicInteger sending = new AtomicInteger();
+            inFlight.put(type, sending);
+            Gauge.builder(METRIC_PREFIX + "sends.in.flight", sending, AtomicInteger::get)
+                    .tag("type", tag)
+                    .description("Notifications handed to the SMS provider and not completed yet")
+                    .register(meterRegistry);
+            succeeded.put(type, outcomeCounter(meterRegistry, tag, "success"));
+            failed.put(type, outcomeCounter(meterRegistry, tag, "failure"));
+        }
+    }
+
+    @Override
+    public void recordFormatting(long nanos) {
+        formatting.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void sendStarted(NotificationType type) {
+        inFlight.get(type).incrementAndGet();
+    }
+
+    @Override
+    public void sendCompleted(NotificationType type, NotificationResult result) {
+        inFlight.get(type).decrementAndGet();
+        (result != null && result.isSuccess() ? succeeded : failed).get(type).increment();
+    }
+
+    private static Counter outcomeCounter(MeterRegistry meterRegistry, String type, String outcome) {
+        return Counter.builder(METRIC_PREFIX + "sends")
+                .tag("type", type)
+                .tag("outcome", outcome)
+                .description("Completed notification sends by type and outcome")
+                .register(meterRegistry);
+    }
+
+    private static String typeTag(NotificationType type) {
+        return switch (type) {
+            case ORDER_READY -> ApiConstants.NOTIFICATION_ORDER_READY;
+        };
+    }
+}
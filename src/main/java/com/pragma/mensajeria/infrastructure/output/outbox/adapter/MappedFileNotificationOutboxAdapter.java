@@ -0,0 +1,422 @@
+package com.pragma.mensajeria.infrastructure.output.outbox.adapter;
+
+import com.pragma.mensajeria.domain.exception.NotificationDispatchException;
+import com.pragma.mensajeria.domain.model.NotificationOutboxEntry;
+import com.pragma.mensajeria.domain.spi.INotificationOutboxPort;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+@Component
+public class MappedFileNotificationOutboxAdapter implements INotificationOutboxPort {
+
+    private static final Logger logger = LoggerFactory.getLogger(MappedFileNotificationOutboxAdapter.class);
+    private static final String SEGMENT_PREFIX = "outbox-";
+    private static final String SEGMENT_SUFFIX = ".log";
+    // Entries given up after too many replays, kept as length-prefixed append payloads for manual inspection
+    private static final String DEAD_LETTER_FILE = "dead-letters.log";
+
+    private final Path directory;
+    private final int segmentSize;
+    private final SegmentForce segmentForce;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition flushRequested = lock.newCondition();
+    private final Condition flushCompleted = lock.newCondition();
+    private final Deque<OutboxSegment> sealedSegments = new ArrayDeque<>();
+    private final Map<String, PendingEntry> pendingEntries = new LinkedHashMap<>();
+    private final Timer flushTimer;
+    private final DistributionSummary flushBatchSize;
+    private final Counter deadLetterCounter;
+    private final Thread flusher;
+    private final ScheduledExecutorService compactor;
+    private OutboxSegment activeSegment;
+    private long nextSegmentId;
+    private long writtenSequence;
+    private long durableSequence;
+    // Highest sequence a flush has finished with, successfully or not, and the highest one whose flush failed
+    private long attemptedSequence;
+    private long failedSequence;
+    private UncheckedIOException flushFailure;
+    private boolean closed;
+
+    @Autowired
+    public MappedFileNotificationOutboxAdapter(@Value("${notification.outbox.directory:data/outbox}") String directory,
+                                               @Value("${notification.outbox.segment-size:64MB}") DataSize segmentSize,
+                                               @Value("${notification.outbox.compaction-interval:PT30S}") Duration compactionInterval,
+                                               MeterRegistry meterRegistry) {
+        this(directory, segmentSize, compactionInterval, meterRegistry, OutboxSegment::force);
+    }
+
+    MappedFileNotificationOutboxAdapter(String directory, DataSize segmentSize, Duration compactionInterval,
+                                        MeterRegistry meterRegistry, SegmentForce segmentForce) {
+        this.directory = Path.of(directory);
+        this.segmentSize = Math.toIntExact(segmentSize.toBytes());
+        this.segmentForce = segmentForce;
+        try {
+            recover();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to open notification outbox at " + this.directory.toAbsolutePath(), e);
+        }
+
+        this.flushTimer = Timer.builder("notification.outbox.flush")
+                .description("Time spent forcing outbox appends to disk")
+                .register(meterRegistry);
+        this.flushBatchSize = DistributionSummary.builder("notification.outbox.flush.batch")
+                .description("Appends made durable by a single group-commit flush")
+                .register(meterRegistry);
+        this.deadLetterCounter = Counter.builder("notification.outbox.dead.letter")
+                .description("Pending notifications given up after too many outbox replays")
+                .register(meterRegistry);
+        Gauge.builder("notification.outbox.pending", this, MappedFileNotificationOutboxAdapter::getPendingCount)
+                .description("Accepted notifications not yet confirmed by the SMS provider")
+                .register(meterRegistry);
+
+        this.flusher = Thread.ofPlatform().daemon().name("notification-outbox-flusher").start(this::flushLoop);
+        this.compactor = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().daemon().name("notification-outbox-compactor").factory());
+        long intervalMillis = compactionInterval.toMillis();
+        compactor.scheduleWithFixedDelay(this::compact, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void append(NotificationOutboxEntry entry) {
+        byte[] payload = OutboxRecordCodec.encodeAppend(entry);
+        lock.lock();
+        try {
+            if (closed) {
+                throw new NotificationDispatchException("Notification outbox is closed");
+            }
+            OutboxSegment segment = writeRecord(OutboxRecordCodec.APPEND_RECORD, payload);
+            trackPending(entry, segment);
+            long sequence = ++writtenSequence;
+            flushRequested.signal();
+
+            // Group commit: every appender parked here is released by the same force() call
+            while (durableSequence < sequence && failedSequence < sequence) {
+                flushCompleted.awaitUninterruptibly();
+            }
+            if (durableSequence < sequence) {
+                // Only this batch fails; the done marker cancels the record should a later flush persist it anyway
+                untrackPending(entry.getTrackingId());
+                writeRecord(OutboxRecordCodec.DONE_RECORD, OutboxRecordCodec.encodeDone(entry.getTrackingId()));
+                throw new NotificationDispatchException("Notification outbox is unavailable", flushFailure);
+            }
+        } catch (IOException | UncheckedIOException e) {
+            throw new NotificationDispatchException("Notification outbox is unavailable", e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void markDone(String trackingId) {
+        byte[] payload = OutboxRecordCodec.encodeDone(trackingId);
+        lock.lock();
+        try {
+            if (closed || !untrackPending(trackingId)) {
+                return;
+            }
+            // Not waited on: losing a done marker only means a duplicate send on replay
+            writeRecord(OutboxRecordCodec.DONE_RECORD, payload);
+        } catch (IOException | UncheckedIOException e) {
+            logger.warn("Unable to record outbox completion for {}: {}", trackingId, e.getMessage());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Written to the dead-letter file before the done marker, so a crash in between only costs one more replay
+    @Override
+    public void deadLetter(NotificationOutboxEntry entry) {
+        String trackingId = entry.getTrackingId();
+        byte[] payload = OutboxRecordCodec.encodeAppend(entry);
+        lock.lock();
+        try {
+            if (closed || !pendingEntries.containsKey(trackingId)) {
+                return;
+            }
+            try (DataOutputStream out = new DataOutputStream(Files.newOutputStream(directory.resolve(DEAD_LETTER_FILE),
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND))) {
+                out.writeInt(payload.length);
+                out.write(payload);
+            }
+            untrackPending(trackingId);
+            writeRecord(OutboxRecordCodec.DONE_RECORD, OutboxRecordCodec.encodeDone(trackingId));
+            deadLetterCounter.increment();
+            logger.warn("Notification {} moved to the outbox dead letters after {} replays", trackingId, entry.getReplays());
+        } catch (IOException | UncheckedIOException e) {
+            logger.warn("Unable to dead-letter outbox entry {}: {}", trackingId, e.getMessage());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public List<NotificationOutboxEntry> findPending() {
+        lock.lock();
+        try {
+            return pendingEntries.values().stream()
+                    .map(PendingEntry::entry)
+                    .toList();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getPendingCount() {
+        lock.lock();
+        try {
+            return pendingEntries.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getSegmentCount() {
+        lock.lock();
+        try {
+            return sealedSegments.size() + 1;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Drops sealed segments oldest first, copying any still-pending entries forward into the active segment.
+    // Deleting strictly in order guarantees a done marker is never removed while its append record survives.
+    public void compact() {
+        List<OutboxSegment> compacted = new ArrayList<>();
+        lock.lock();
+        try {
+            int sealed = sealedSegments.size();
+            for (int i = 0; i < sealed && !closed; i++) {
+                OutboxSegment oldest = sealedSegments.peekFirst();
+                if (oldest.liveEntries() > 0) {
+                    copyForward(oldest);
+                }
+                compacted.add(sealedSegments.removeFirst());
+            }
+        } catch (IOException | UncheckedIOException e) {
+            logger.warn("Outbox compaction failed: {}", e.getMessage());
+        } finally {
+            lock.unlock();
+        }
+
+        for (OutboxSegment segment : compacted) {
+            try {
+                segment.delete();
+            } catch (IOException e) {
+                logger.warn("Unable to delete compacted outbox segment {}: {}", segment.id(), e.getMessage());
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        compactor.shutdownNow();
+        lock.lock();
+        try {
+            closed = true;
+            flushRequested.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        try {
+            flusher.join();
+        } catch (InterruptedException _) {
+            Thread.currentThread().interrupt();
+        }
+
+        lock.lock();
+        try {
+            segmentForce.force(activeSegment, activeSegment.position());
+            for (OutboxSegment segment : sealedSegments) {
+                segment.close();
+            }
+            activeSegment.close();
+        } catch (IOException | UncheckedIOException e) {
+            logger.warn("Unable to close notification outbox cleanly: {}", e.getMessage());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void recover() throws IOException {
+        Files.createDirectories(directory);
+        List<Path> segmentFiles;
+        try (Stream<Path> files = Files.list(directory)) {
+            segmentFiles = files.filter(MappedFileNotificationOutboxAdapter::isSegmentFile)
+                    .sorted(Comparator.comparingLong(MappedFileNotificationOutboxAdapter::segmentId))
+                    .toList();
+        }
+
+        for (Path file : segmentFiles) {
+            long id = segmentId(file);
+            OutboxSegment segment = OutboxSegment.open(id, file);
+            segment.scan((type, payload) -> {
+                if (type == OutboxRecordCodec.APPEND_RECORD) {
+                    trackPending(OutboxRecordCodec.decodeAppend(payload), segment);
+                } else if (type == OutboxRecordCodec.DONE_RECORD) {
+                    untrackPending(OutboxRecordCodec.decodeDone(payload));
+                }
+            });
+            sealedSegments.addLast(segment);
+            nextSegmentId = id + 1;
+        }
+        if (!pendingEntries.isEmpty()) {
+            logger.info("Recovered {} pending notifications from {} outbox segments",
+                    pendingEntries.size(), segmentFiles.size());
+        }
+
+        // Recovered segments are never appended to; new writes always start a fresh segment
+        activeSegment = newSegment();
+    }
+
+    private void flushLoop() {
+        while (true) {
+            OutboxSegment segment;
+            int position;
+            long target;
+            lock.lock();
+            try {
+                while (attemptedSequence == writtenSequence && !closed) {
+                    flushRequested.awaitUninterruptibly();
+                }
+                if (attemptedSequence == writtenSequence) {
+                    return;
+                }
+                segment = activeSegment;
+                position = segment.position();
+                target = writtenSequence;
+            } finally {
+                lock.unlock();
+            }
+
+            UncheckedIOException failure = null;
+            long start = System.nanoTime();
+            try {
+                segmentForce.force(segment, position);
+            } catch (UncheckedIOException e) {
+                failure = e;
+                logger.error("Unable to flush notification outbox: {}", e.getMessage());
+            }
+            flushTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+
+            lock.lock();
+            try {
+                // A failed force fails only the appenders it covered; the flusher keeps serving later batches
+                if (failure != null) {
+                    flushFailure = failure;
+                    failedSequence = target;
+                } else {
+                    flushBatchSize.record(target - durableSequence);
+                    durableSequence = target;
+                    flushFailure = null;
+                }
+                attemptedSequence = target;
+                flushCompleted.signalAll();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    private OutboxSegment writeRecord(byte type, byte[] payload) throws IOException {
+        int recordSize = OutboxSegment.RECORD_HEADER_SIZE + payload.length;
+        if (recordSize > segmentSize) {
+            throw new IllegalArgumentException("Outbox record of " + recordSize + " bytes exceeds the segment size");
+        }
+        if (activeSegment.remaining() < recordSize) {
+            rollSegment();
+        }
+        activeSegment.write(type, payload);
+        return activeSegment;
+    }
+
+    private void rollSegment() throws IOException {
+        // Sealed segments are fully forced, so the flusher only ever needs to look at the active one
+        segmentForce.force(activeSegment, activeSegment.position());
+        sealedSegments.addLast(activeSegment);
+        activeSegment = newSegment();
+    }
+
+    private void copyForward(OutboxSegment segment) throws IOException {
+        for (PendingEntry pending : List.copyOf(pendingEntries.values())) {
+            if (pending.segment() == segment) {
+                NotificationOutboxEntry entry = pending.entry();
+                OutboxSegment target = writeRecord(OutboxRecordCodec.APPEND_RECORD, OutboxRecordCodec.encodeAppend(entry));
+                trackPending(entry, target);
+            }
+        }
+        segmentForce.force(activeSegment, activeSegment.position());
+    }
+
+    private void trackPending(NotificationOutboxEntry entry, OutboxSegment segment) {
+        PendingEntry previous = pendingEntries.put(entry.getTrackingId(), new PendingEntry(entry, segment));
+        if (previous != null) {
+            previous.segment().removeLiveEntry();
+        }
+        segment.addLiveEntry();
+    }
+
+    private boolean untrackPending(String trackingId) {
+        PendingEntry removed = pendingEntries.remove(trackingId);
+        if (removed == null) {
+            return false;
+        }
+        removed.segment().removeLiveEntry();
+        return true;
+    }
+
+    private OutboxSegment newSegment() throws IOException {
+        long id = nextSegmentId++;
+        return OutboxSegment.create(id, directory.resolve(SEGMENT_PREFIX + String.format("%020d", id) + SEGMENT_SUFFIX), segmentSize);
+    }
+
+    private static boolean isSegmentFile(Path file) {
+        String name = file.getFileName().toString();
+        return name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX);
+    }
+
+    private static long segmentId(Path file) {
+        String name = file.getFileName().toString();
+        return Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+    }
+
+    @FunctionalInterface
+    interface SegmentForce {
+        void force(OutboxSegment segment, int upTo);
+    }
+
+    private record PendingEntry(NotificationOutboxEntry entry, OutboxSegment segment) {
+    }
+}
@@ -0,0 +1,91 @@
+package com.pragma.mensajeria.infrastructure.output.outbox.adapter;
+
+import com.pragma.mensajeria.domain.model.NotificationMessage;
+import com.pragma.mensajeria.domain.model.NotificationOutboxEntry;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Instant;
+
+final class OutboxRecordCodec {
+
+    static final byte APPEND_RECORD = 1;
+    static final byte DONE_RECORD = 2;
+
+    private OutboxRecordCodec() {
+    }
+
+    static byte[] encodeAppend(NotificationOutboxEntry entry) {
+        NotificationMessage message = entry.getMessage();
+        return encode(out -> {
+            out.writeUTF(entry.getTrackingId());
+            out.writeLong(entry.getAcceptedAt().getEpochSecond());
+            out.writeInt(entry.getAcceptedAt().getNano());
+            writeNullable(out, message.getPhoneNumber());
+            writeNullable(out, message.getMessageContent());
+            writeNullable(out, message.getOrderId());
+            writeNullable(out, message.getSecurityPin());
+            writeNullable(out, message.getRestaurantName());
+            writeNullable(out, message.getRestaurantId());
+            out.writeInt(entry.getReplays());
+        });
+    }
+
+    static NotificationOutboxEntry decodeAppend(byte[] payload) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload));
+        String trackingId = in.readUTF();
+        Instant acceptedAt = Instant.ofEpochSecond(in.readLong(), in.readInt());
+        NotificationMessage message = new NotificationMessage(
+                readNullable(in),
+                readNullable(in),
+                readNullable(in),
+                readNullable(in),
+                readNullable(in)
+        );
+        // Records written before restaurant ids were stored end here
+        if (in.available() > 0) {
+            message.setRestaurantId(readNullable(in));
+        }
+        // ...and those written before replays were counted here
+        int replays = in.available() > 0 ? in.readInt() : 0;
+        return new NotificationOutboxEntry(trackingId, acceptedAt, message, replays);
+    }
+
+    static byte[] encodeDone(String trackingId) {
+        return encode(out -> out.writeUTF(trackingId));
+    }
+
+    static String decodeDone(byte[] payload) throws IOException {
+        return new DataInputStream(new ByteArrayInputStream(payload)).readUTF();
+    }
+
+    private static byte[] encode(RecordWriter writer) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(128);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            writer.write(out);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static void writeNullable(DataOutputStream out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    private static String readNullable(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+
+    @FunctionalInterface
+    private interface RecordWriter {
+        void write(DataOutputStream out) throws IOException;
+    }
+}
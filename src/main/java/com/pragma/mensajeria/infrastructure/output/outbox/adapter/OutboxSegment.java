@@ -0,0 +1,139 @@
+package com.pragma.mensajeria.infrastructure.output.outbox.adapter;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32;
+
+final class OutboxSegment {
+
+    // length (int) + crc32 (int) + record type (byte)
+    static final int RECORD_HEADER_SIZE = Integer.BYTES + Integer.BYTES + Byte.BYTES;
+
+    private static final Logger logger = LoggerFactory.getLogger(OutboxSegment.class);
+
+    private final long id;
+    private final Path path;
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    private int forcedPosition;
+    private int liveEntries;
+
+    private OutboxSegment(long id, Path path, FileChannel channel, MappedByteBuffer buffer) {
+        this.id = id;
+        this.path = path;
+        this.channel = channel;
+        this.buffer = buffer;
+    }
+
+    static OutboxSegment create(long id, Path path, int size) throws IOException {
+        FileChannel channel = FileChannel.open(path,
+                StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+            channel.force(true);
+            return new OutboxSegment(id, path, channel, buffer);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    static OutboxSegment open(long id, Path path) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, channel.size());
+            return new OutboxSegment(id, path, channel, buffer);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    long id() {
+        return id;
+    }
+
+    int position() {
+        return buffer.position();
+    }
+
+    int remaining() {
+        return buffer.remaining();
+    }
+
+    int liveEntries() {
+        return liveEntries;
+    }
+
+    void addLiveEntry() {
+        liveEntries++;
+    }
+
+    void removeLiveEntry() {
+        liveEntries--;
+    }
+
+    void write(byte type, byte[] payload) {
+        buffer.putInt(payload.length)
+                .putInt(checksum(type, payload))
+                .put(type)
+                .put(payload);
+    }
+
+    // Reads records until the zero-filled tail or the first torn/corrupt record, leaving the buffer positioned after the last valid one
+    void scan(RecordVisitor visitor) throws IOException {
+        while (buffer.remaining() >= RECORD_HEADER_SIZE) {
+            int start = buffer.position();
+            int length = buffer.getInt();
+            if (length <= 0 || length > buffer.remaining() - Integer.BYTES - Byte.BYTES) {
+                buffer.position(start);
+                return;
+            }
+            int crc = buffer.getInt();
+            byte type = buffer.get();
+            byte[] payload = new byte[length];
+            buffer.get(payload);
+            if (crc != checksum(type, payload)) {
+                logger.warn("Discarding torn outbox record at {}:{}", path.getFileName(), start);
+                buffer.position(start);
+                return;
+            }
+            visitor.visit(type, payload);
+        }
+    }
+
+    synchronized void force(int upTo) {
+        if (upTo > forcedPosition) {
+            buffer.force(forcedPosition, upTo - forcedPosition);
+            forcedPosition = upTo;
+        }
+    }
+
+    void close() throws IOException {
+        channel.close();
+    }
+
+    void delete() throws IOException {
+        close();
+        Files.deleteIfExists(path);
+    }
+
+    private static int checksum(byte type, byte[] payload) {
+        CRC32 crc = new CRC32();
+        crc.update(type);
+        crc.update(payload);
+        return (int) crc.getValue();
+    }
+
+    @FunctionalInterface
+    interface RecordVisitor {
+        void visit(byte type, byte[] payload) throws IOException;
+    }
+}
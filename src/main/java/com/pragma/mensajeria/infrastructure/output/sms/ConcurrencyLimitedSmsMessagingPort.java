@@ -0,0 +1,138 @@
+package com.pragma.mensajeria.infrastructure.output.sms;
+
+import com.pragma.mensajeria.domain.model.NotificationResult;
+import com.pragma.mensajeria.domain.spi.ISmsMessagingPort;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.tracing.CurrentTraceContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+public class ConcurrencyLimitedSmsMessagingPort implements ISmsMessagingPort {
+
+    private static final Logger logger = LoggerFactory.getLogger(ConcurrencyLimitedSmsMessagingPort.class);
+    private static final String METRIC_PREFIX = "sms.provider.concurrency.";
+    private static final String LIMIT_REACHED_MESSAGE = "SMS provider concurrency limit reached, try again later";
+    public static final String LIMIT_REACHED_CODE = "CONCURRENCY_LIMIT";
+    private static final Executor VIRTUAL_THREADS = Thread::startVirtualThread;
+
+    private final ISmsMessagingPort delegate;
+    private final Semaphore permits;
+    private final int maxInFlight;
+    private final Duration queueWaitTimeout;
+    private final Executor waitExecutor;
+    private final Timer waitTimer;
+    private final Counter rejectedCounter;
+
+    public ConcurrencyLimitedSmsMessagingPort(ISmsMessagingPort delegate,
+                                              int maxInFlight,
+                                              Duration queueWaitTimeout,
+                                              MeterRegistry meterRegistry,
+                                              CurrentTraceContext traceContext) {
+        this.delegate = delegate;
+        this.permits = new Semaphore(maxInFlight, true);
+        this.maxInFlight = maxInFlight;
+        this.queueWaitTimeout = queueWaitTimeout;
+        this.waitExecutor = traceContext.wrap(VIRTUAL_THREADS);
+
+        Gauge.builder(METRIC_PREFIX + "in.use", this, ConcurrencyLimitedSmsMessagingPort::getPermitsInUse)
+                .description("SMS provider requests currently in flight")
+                .register(meterRegistry);
+        Gauge.builder(METRIC_PREFIX + "waiting", permits, Semaphore::getQueueLength)
+                .description("Sends waiting for an in-flight permit")
+                .register(meterRegistry);
+        Gauge.builder(METRIC_PREFIX + "limit", () -> maxInFlight)
+                .description("Maximum SMS provider requests allowed in flight")
+                .register(meterRegistry);
+        this.waitTimer = Timer.builder(METRIC_PREFIX + "wait")
+                .description("Time spent waiting for an in-flight permit")
+                .register(meterRegistry);
+        this.rejectedCounter = Counter.builder(METRIC_PREFIX + "rejected")
+                .description("Sends rejected after waiting longer than the queue-wait timeout")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public NotificationResult sendSms(String phoneNumber, String message) {
+        return sendWithPermit(() -> delegate.sendSms(phoneNumber, message));
+    }
+
+    @Override
+    public CompletableFuture<NotificationResult> sendSmsAsync(String phoneNumber, String message) {
+        return sendAsync(() -> delegate.sendSmsAsync(phoneNumber, message));
+    }
+
+    @Override
+    public NotificationResult sendSms(String restaurantId, String phoneNumber, String message) {
+        return sendWithPermit(() -> delegate.sendSms(restaurantId, phoneNumber, message));
+    }
+
+    @Override
+    public CompletableFuture<NotificationResult> sendSmsAsync(String restaurantId, String phoneNumber, String message) {
+        return sendAsync(() -> delegate.sendSmsAsync(restaurantId, phoneNumber, message));
+    }
+
+    public int getPermitsInUse() {
+        return maxInFlight - permits.availablePermits();
+    }
+
+    private NotificationResult sendWithPermit(Supplier<NotificationResult> send) {
+        if (!acquirePermit()) {
+            return rejected();
+        }
+        try {
+            return send.get();
+        } finally {
+            permits.release();
+        }
+    }
+
+    private CompletableFuture<NotificationResult> sendAsync(Supplier<CompletableFuture<NotificationResult>> send) {
+        if (permits.tryAcquire()) {
+            waitTimer.record(0, TimeUnit.NANOSECONDS);
+            return sendAsyncWithPermit(send);
+        }
+        // Wait for a permit on a virtual thread so the caller is never blocked
+        return CompletableFuture.supplyAsync(this::acquirePermit, waitExecutor)
+                .thenCompose(acquired -> acquired
+                        ? sendAsyncWithPermit(send)
+                        : CompletableFuture.completedFuture(rejected()));
+    }
+
+    private CompletableFuture<NotificationResult> sendAsyncWithPermit(Supplier<CompletableFuture<NotificationResult>> send) {
+        try {
+            return send.get()
+                    .whenComplete((result, error) -> permits.release());
+        } catch (RuntimeException e) {
+            permits.release();
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    private NotificationResult rejected() {
+        rejectedCounter.increment();
+        logger.warn("SMS provider concurrency limit of {} reached; no permit within {}", maxInFlight, queueWaitTimeout);
+        return NotificationResult.failure(LIMIT_REACHED_MESSAGE, LIMIT_REACHED_CODE);
+    }
+
+    private boolean acquirePermit() {
+        long start = System.nanoTime();
+        try {
+            return permits.tryAcquire(queueWaitTimeout.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException _) {
+            Thread.currentThread().interrupt();
+            return false;
+        } finally {
+            waitTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+}
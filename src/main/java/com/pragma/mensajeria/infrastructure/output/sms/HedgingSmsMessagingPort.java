@@ -0,0 +1,371 @@
+package com.pragma.mensajeria.infrastructure.output.sms;
+
+import com.pragma.mensajeria.domain.model.NotificationResult;
+import com.pragma.mensajeria.domain.spi.ISmsMessagingPort;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import io.micrometer.tracing.CurrentTraceContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+// Fails over between SMS providers and, when enabled, hedges a slow primary with the next provider.
+// Hedging is off by default: an SMS send is not idempotent, and a primary that is merely slow has usually already
+// handed the message to its provider, so a hedge sends the customer a second PIN. Nothing can check a slow send
+// yet, so only enable it once a second provider with a status lookup can tell a slow send from a lost one.
+public class HedgingSmsMessagingPort implements ISmsMessagingPort {
+
+    private static final Logger logger = LoggerFactory.getLogger(HedgingSmsMessagingPort.class);
+    private static final String METRIC_PREFIX = "sms.provider.";
+    private static final String PROVIDER_TAG = "provider";
+    private static final Executor VIRTUAL_THREADS = Thread::startVirtualThread;
+    private static final long HEDGE_DELAY_REFRESH_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final List<ProviderState> providers;
+    private final boolean hedgingEnabled;
+    private final double hedgePercentile;
+    private final long minHedgeDelayNanos;
+    private final long maxHedgeDelayNanos;
+    private final long defaultHedgeDelayNanos;
+    private final int minLatencySamples;
+    // The hedge fires on a timer thread and must still show up under the request's trace
+    private final CurrentTraceContext traceContext;
+    private final Counter hedgesFired;
+    private final Counter duplicates;
+    private final Counter failovers;
+
+    public HedgingSmsMessagingPort(List<SmsProvider> providers,
+                                   boolean hedgingEnabled,
+                                   double hedgePercentile,
+                                   Duration minHedgeDelay,
+                                   Duration maxHedgeDelay,
+                                   Duration defaultHedgeDelay,
+                                   int minLatencySamples,
+                                   HealthSettings healthSettings,
+                                   MeterRegistry meterRegistry,
+                                   CurrentTraceContext traceContext) {
+        if (providers.isEmpty()) {
+            throw new IllegalArgumentException("At least one SMS provider is required");
+        }
+        this.hedgingEnabled = hedgingEnabled;
+        this.hedgePercentile = hedgePercentile;
+        this.minHedgeDelayNanos = minHedgeDelay.toNanos();
+        this.maxHedgeDelayNanos = maxHedgeDelay.toNanos();
+        this.defaultHedgeDelayNanos = defaultHedgeDelay.toNanos();
+        this.minLatencySamples = minLatencySamples;
+        this.traceContext = traceContext;
+        this.providers = providers.stream()
+                .map(provider -> new ProviderState(provider, healthSettings, hedgePercentile, meterRegistry))
+                .toList();
+        this.hedgesFired = Counter.builder("sms.hedge.fired")
+                .description("Secondary sends fired because the primary provider exceeded the hedge delay")
+                .register(meterRegistry);
+        this.duplicates = Counter.builder("sms.hedge.duplicates")
+                .description("Hedged sends where more than one provider delivered the message")
+                .register(meterRegistry);
+        this.failovers = Counter.builder("sms.provider.failovers")
+                .description("Sends moved to the next provider after a provider-level failure")
+                .register(meterRegistry);
+    }
+
+    public record HealthSettings(int windowSize, int minimumCalls, double errorRateThreshold, Duration cooldown) {
+    }
+
+    @Override
+    public NotificationResult sendSms(String phoneNumber, String message) {
+        return join(sendSmsAsync(phoneNumber, message));
+    }
+
+    @Override
+    public CompletableFuture<NotificationResult> sendSmsAsync(String phoneNumber, String message) {
+        return send(port -> port.sendSmsAsync(phoneNumber, message));
+    }
+
+    @Override
+    public NotificationResult sendSms(String restaurantId, String phoneNumber, String message) {
+        return join(sendSmsAsync(restaurantId, phoneNumber, message));
+    }
+
+    @Override
+    public CompletableFuture<NotificationResult> sendSmsAsync(String restaurantId, String phoneNumber, String message) {
+        return send(port -> port.sendSmsAsync(restaurantId, phoneNumber, message));
+    }
+
+    private CompletableFuture<NotificationResult> send(Function<ISmsMessagingPort, CompletableFuture<NotificationResult>> send) {
+        List<ProviderState> candidates = availableProviders();
+        if (candidates.size() == 1) {
+            ProviderState only = candidates.getFirst();
+            long start = System.nanoTime();
+            return invoke(only, send).whenComplete((result, error) -> {
+                only.record(result, error, System.nanoTime() - start);
+                if (error == null && result.isSuccess()) {
+                    only.wins.increment();
+                }
+            });
+        }
+        HedgedSend hedged = new HedgedSend(candidates, send);
+        hedged.launchNext();
+        if (!hedgingEnabled) {
+            return hedged.result;
+        }
+        long hedgeDelay = candidates.getFirst().hedgeDelayNanos();
+        traceContext.wrap(CompletableFuture.delayedExecutor(hedgeDelay, TimeUnit.NANOSECONDS, VIRTUAL_THREADS))
+                .execute(hedged::hedge);
+        return hedged.result;
+    }
+
+    private static NotificationResult join(CompletableFuture<NotificationResult> result) {
+        try {
+            return result.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    // Healthy providers in priority order; when every provider is unhealthy all of them are tried anyway
+    private List<ProviderState> availableProviders() {
+        List<ProviderState> healthy = new ArrayList<>(providers.size());
+        long now = System.nanoTime();
+        for (ProviderState provider : providers) {
+            if (provider.isHealthy(now)) {
+                healthy.add(provider);
+            }
+        }
+        return healthy.isEmpty() ? providers : healthy;
+    }
+
+    private static CompletableFuture<NotificationResult> invoke(ProviderState provider,
+                                                                Function<ISmsMessagingPort, CompletableFuture<NotificationResult>> send) {
+        try {
+            return send.apply(provider.provider.port());
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    private final class HedgedSend {
+
+        private final List<ProviderState> candidates;
+        private final Function<ISmsMessagingPort, CompletableFuture<NotificationResult>> send;
+        private final CompletableFuture<NotificationResult> result = new CompletableFuture<>();
+        private final ReentrantLock lock = new ReentrantLock();
+        private int launched;
+        private int inFlight;
+
+        private HedgedSend(List<ProviderState> candidates,
+                           Function<ISmsMessagingPort, CompletableFuture<NotificationResult>> send) {
+            this.candidates = candidates;
+            this.send = send;
+        }
+
+        private void hedge() {
+            ProviderState secondary;
+            lock.lock();
+            try {
+                // Only hedge a primary that is still the sole send in flight and has not answered at all: any outcome,
+                // including an unknown one that may already have been delivered, settles the send without a hedge
+                if (result.isDone() || launched != 1 || launched >= candidates.size()) {
+                    return;
+                }
+                secondary = reserveNext();
+                hedgesFired.increment();
+            } finally {
+                lock.unlock();
+            }
+            start(secondary);
+        }
+
+        private void launchNext() {
+            ProviderState provider;
+            lock.lock();
+            try {
+                if (result.isDone() || launched >= candidates.size()) {
+                    return;
+                }
+                provider = reserveNext();
+            } finally {
+                lock.unlock();
+            }
+            start(provider);
+        }
+
+        private ProviderState reserveNext() {
+            inFlight++;
+            return candidates.get(launched++);
+        }
+
+        private void start(ProviderState provider) {
+            long start = System.nanoTime();
+            invoke(provider, send)
+                    .whenComplete((outcome, error) -> onOutcome(provider, outcome, error, System.nanoTime() - start));
+        }
+
+        private void onOutcome(ProviderState provider, NotificationResult outcome, Throwable error, long elapsedNanos) {
+            provider.record(outcome, error, elapsedNanos);
+            boolean success = error == null && outcome.isSuccess();
+            boolean providerFailure = error != null || (!success && provider.provider.providerFailure().test(outcome));
+
+            NotificationResult completion = null;
+            Throwable completionError = null;
+            boolean failover = false;
+            lock.lock();
+            try {
+                inFlight--;
+                if (result.isDone()) {
+                    if (success) {
+                        // Both providers delivered: the hedge could not be taken back
+                        duplicates.increment();
+                        logger.warn("Hedged SMS delivered by more than one provider; late winner {}", provider.provider.name());
+                    }
+                    return;
+                }
+                if (success) {
+                    provider.wins.increment();
+                    completion = outcome;
+                } else if (providerFailure && launched < candidates.size()) {
+                    failover = true;
+                } else if (inFlight == 0) {
+                    completion = outcome;
+                    completionError = error;
+                }
+            } finally {
+                lock.unlock();
+            }
+
+            if (completion != null || completionError != null) {
+                complete(completion, completionError);
+            } else if (failover) {
+                failovers.increment();
+                logger.warn("SMS provider {} failed ({}); failing over", provider.provider.name(),
+                        error != null ? error.getMessage() : outcome.getErrorCode());
+                launchNext();
+            }
+        }
+
+        private void complete(NotificationResult outcome, Throwable error) {
+            if (error != null) {
+                result.completeExceptionally(error);
+            } else {
+                result.complete(outcome);
+            }
+        }
+    }
+
+    private final class ProviderState {
+
+        private final SmsProvider provider;
+        private final Timer latency;
+        private final Counter requests;
+        private final Counter wins;
+        private final HealthSettings healthSettings;
+        private final ReentrantLock lock = new ReentrantLock();
+        private final boolean[] failures;
+        private int windowIndex;
+        private int windowCalls;
+        private int windowFailures;
+        private volatile long unhealthyUntilNanos;
+        private volatile long cachedHedgeDelayNanos;
+        private volatile long hedgeDelayComputedAtNanos;
+
+        private ProviderState(SmsProvider provider, HealthSettings healthSettings, double hedgePercentile,
+                              MeterRegistry meterRegistry) {
+            this.provider = provider;
+            this.healthSettings = healthSettings;
+            this.failures = new boolean[healthSettings.windowSize()];
+            this.unhealthyUntilNanos = System.nanoTime();
+            this.cachedHedgeDelayNanos = defaultHedgeDelayNanos;
+            this.hedgeDelayComputedAtNanos = System.nanoTime() - HEDGE_DELAY_REFRESH_NANOS;
+            this.latency = Timer.builder(METRIC_PREFIX + "latency")
+                    .tag(PROVIDER_TAG, provider.name())
+                    .description("SMS provider response time")
+                    .publishPercentiles(hedgePercentile)
+                    .distributionStatisticExpiry(Duration.ofMinutes(1))
+                    .register(meterRegistry);
+            this.requests = Counter.builder(METRIC_PREFIX + "requests")
+                    .tag(PROVIDER_TAG, provider.name())
+                    .description("Sends issued to the SMS provider, including hedges and failovers")
+                    .register(meterRegistry);
+            this.wins = Counter.builder(METRIC_PREFIX + "wins")
+                    .tag(PROVIDER_TAG, provider.name())
+                    .description("Sends whose successful result came from this provider")
+                    .register(meterRegistry);
+            Gauge.builder(METRIC_PREFIX + "win.rate", this, state -> state.requests.count() == 0
+                            ? 0.0 : state.wins.count() / state.requests.count())
+                    .tag(PROVIDER_TAG, provider.name())
+                    .description("Share of this provider's sends that produced the winning result")
+                    .register(meterRegistry);
+            Gauge.builder(METRIC_PREFIX + "healthy", this, state -> state.isHealthy(System.nanoTime()) ? 1 : 0)
+                    .tag(PROVIDER_TAG, provider.name())
+                    .description("1 while the provider is eligible for sends, 0 while failed over")
+                    .register(meterRegistry);
+        }
+
+        private boolean isHealthy(long now) {
+            return now - unhealthyUntilNanos >= 0;
+        }
+
+        private void record(NotificationResult outcome, Throwable error, long elapsedNanos) {
+            requests.increment();
+            latency.record(elapsedNanos, TimeUnit.NANOSECONDS);
+            boolean failed = error != null || (!outcome.isSuccess() && provider.providerFailure().test(outcome));
+
+            lock.lock();
+            try {
+                if (windowCalls == failures.length) {
+                    windowFailures -= failures[windowIndex] ? 1 : 0;
+                } else {
+                    windowCalls++;
+                }
+                failures[windowIndex] = failed;
+                windowFailures += failed ? 1 : 0;
+                windowIndex = (windowIndex + 1) % failures.length;
+
+                if (windowCalls >= healthSettings.minimumCalls()
+                        && 100.0 * windowFailures / windowCalls >= healthSettings.errorRateThreshold()) {
+                    unhealthyUntilNanos = System.nanoTime() + healthSettings.cooldown().toNanos();
+                    windowIndex = 0;
+                    windowCalls = 0;
+                    windowFailures = 0;
+                    logger.warn("SMS provider {} error rate over {}%; failing over for {}",
+                            provider.name(), healthSettings.errorRateThreshold(), healthSettings.cooldown());
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        // The percentile snapshot is refreshed at most once a second so sends do not pay for it
+        private long hedgeDelayNanos() {
+            long now = System.nanoTime();
+            if (now - hedgeDelayComputedAtNanos < HEDGE_DELAY_REFRESH_NANOS) {
+                return cachedHedgeDelayNanos;
+            }
+            long delay = defaultHedgeDelayNanos;
+            if (latency.count() >= minLatencySamples) {
+                for (ValueAtPercentile value : latency.takeSnapshot().percentileValues()) {
+                    if (value.percentile() == hedgePercentile) {
+                        delay = (long) value.value(TimeUnit.NANOSECONDS);
+                    }
+                }
+            }
+            cachedHedgeDelayNanos = Math.clamp(delay, minHedgeDelayNanos, maxHedgeDelayNanos);
+            hedgeDelayComputedAtNanos = now;
+            return cachedHedgeDelayNanos;
+        }
+    }
+}
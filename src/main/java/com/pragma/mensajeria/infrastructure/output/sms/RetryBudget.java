@@ -0,0 +1,75 @@
+package com.pragma.mensajeria.infrastructure.output.sms;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+// Every first attempt deposits a fraction of a retry and every retry withdraws a whole one, so during an outage
+// retries stay near that fraction of traffic; a small per-second allowance keeps low-traffic periods retryable
+public class RetryBudget {
+
+    private static final double NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final double retryRatio;
+    private final double minRetriesPerSecond;
+    private final double maxBalance;
+    private final LongSupplier nanoClock;
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private double balance;
+    private long lastRefillNanos;
+
+    public RetryBudget(double retryRatio, double minRetriesPerSecond, double maxBalance) {
+        this(retryRatio, minRetriesPerSecond, maxBalance, System::nanoTime);
+    }
+
+    RetryBudget(double retryRatio, double minRetriesPerSecond, double maxBalance, LongSupplier nanoClock) {
+        if (retryRatio < 0 || minRetriesPerSecond < 0 || maxBalance < 1) {
+            throw new IllegalArgumentException("Retry budget needs a non-negative ratio and room for at least one retry");
+        }
+        this.retryRatio = retryRatio;
+        this.minRetriesPerSecond = minRetriesPerSecond;
+        this.maxBalance = maxBalance;
+        this.nanoClock = nanoClock;
+        this.lastRefillNanos = nanoClock.getAsLong();
+    }
+
+    public void recordSend() {
+        lock.lock();
+        try {
+            balance = Math.min(maxBalance, balance + retryRatio);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public boolean tryAcquireRetry() {
+        lock.lock();
+        try {
+            refill();
+            if (balance < 1) {
+                return false;
+            }
+            balance -= 1;
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public double getBalance() {
+        lock.lock();
+        try {
+            refill();
+            return balance;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void refill() {
+        long now = nanoClock.getAsLong();
+        balance = Math.min(maxBalance, balance + (now - lastRefillNanos) / NANOS_PER_SECOND * minRetriesPerSecond);
+        lastRefillNanos = now;
+    }
+}
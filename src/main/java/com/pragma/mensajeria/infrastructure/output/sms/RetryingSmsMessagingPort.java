@@ -0,0 +1,146 @@
+package com.pragma.mensajeria.infrastructure.output.sms;
+
+import com.pragma.mensajeria.domain.model.NotificationResult;
+import com.pragma.mensajeria.domain.spi.ISmsMessagingPort;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.tracing.CurrentTraceContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+public class RetryingSmsMessagingPort implements ISmsMessagingPort {
+
+    private static final Logger logger = LoggerFactory.getLogger(RetryingSmsMessagingPort.class);
+    private static final String METRIC_PREFIX = "sms.retry.";
+    private static final Executor VIRTUAL_THREADS = Thread::startVirtualThread;
+
+    private final ISmsMessagingPort delegate;
+    private final Predicate<NotificationResult> retryable;
+    private final int maxAttempts;
+    private final long baseDelayNanos;
+    private final long maxDelayNanos;
+    private final RetryBudget retryBudget;
+    private final CurrentTraceContext traceContext;
+    private final Counter scheduledCounter;
+    private final Counter budgetExhaustedCounter;
+    private final DistributionSummary attemptsSummary;
+
+    public RetryingSmsMessagingPort(ISmsMessagingPort delegate,
+                                    Predicate<NotificationResult> retryable,
+                                    int maxAttempts,
+                                    Duration baseDelay,
+                                    Duration maxDelay,
+                                    RetryBudget retryBudget,
+                                    MeterRegistry meterRegistry,
+                                    CurrentTraceContext traceContext) {
+        this.delegate = delegate;
+        this.retryable = retryable;
+        this.maxAttempts = maxAttempts;
+        this.baseDelayNanos = baseDelay.toNanos();
+        this.maxDelayNanos = maxDelay.toNanos();
+        this.retryBudget = retryBudget;
+        this.traceContext = traceContext;
+
+        this.scheduledCounter = Counter.builder(METRIC_PREFIX + "scheduled")
+                .description("SMS sends rescheduled after a retryable provider error")
+                .register(meterRegistry);
+        this.budgetExhaustedCounter = Counter.builder(METRIC_PREFIX + "budget.exhausted")
+                .description("Retryable SMS failures returned as-is because the retry budget was spent")
+                .register(meterRegistry);
+        this.attemptsSummary = DistributionSummary.builder(METRIC_PREFIX + "attempts")
+                .description("Provider attempts per SMS send")
+                .register(meterRegistry);
+        Gauge.builder(METRIC_PREFIX + "budget.balance", retryBudget, RetryBudget::getBalance)
+                .description("Retries currently allowed by the retry budget")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public NotificationResult sendSms(String phoneNumber, String message) {
+        return join(sendSmsAsync(phoneNumber, message));
+    }
+
+    @Override
+    public CompletableFuture<NotificationResult> sendSmsAsync(String phoneNumber, String message) {
+        retryBudget.recordSend();
+        return attempt(() -> delegate.sendSmsAsync(phoneNumber, message), 1, 0);
+    }
+
+    @Override
+    public NotificationResult sendSms(String restaurantId, String phoneNumber, String message) {
+        return join(sendSmsAsync(restaurantId, phoneNumber, message));
+    }
+
+    @Override
+    public CompletableFuture<NotificationResult> sendSmsAsync(String restaurantId, String phoneNumber, String message) {
+        retryBudget.recordSend();
+        return attempt(() -> delegate.sendSmsAsync(restaurantId, phoneNumber, message), 1, 0);
+    }
+
+    private static NotificationResult join(CompletableFuture<NotificationResult> result) {
+        try {
+            return result.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    // providerCalls adds up what each attempt reports, since the provider may call out more than once per attempt
+    private CompletableFuture<NotificationResult> attempt(Supplier<CompletableFuture<NotificationResult>> send, int attempt,
+                                                          int providerCalls) {
+        CompletableFuture<NotificationResult> result;
+        try {
+            result = send.get();
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        return result.thenCompose(outcome -> {
+            int calls = providerCalls + Math.max(1, outcome.getAttempts());
+            if (outcome.isSuccess() || !retryable.test(outcome) || attempt >= maxAttempts) {
+                return completed(outcome, calls);
+            }
+            if (!retryBudget.tryAcquireRetry()) {
+                budgetExhaustedCounter.increment();
+                logger.warn("SMS retry budget exhausted; giving up after attempt {} ({})", attempt, outcome.getErrorCode());
+                return completed(outcome, calls);
+            }
+            long delayNanos = backoffNanos(attempt);
+            scheduledCounter.increment();
+            logger.info("Retryable SMS failure ({}) on attempt {}; retrying in {} ms",
+                    outcome.getErrorCode(), attempt, TimeUnit.NANOSECONDS.toMillis(delayNanos));
+            // The delay runs on the CompletableFuture timer, so no thread sleeps while a retry is pending;
+            // the retry keeps the trace context of the attempt that scheduled it
+            Executor delayed = traceContext.wrap(
+                    CompletableFuture.delayedExecutor(delayNanos, TimeUnit.NANOSECONDS, VIRTUAL_THREADS));
+            return CompletableFuture.supplyAsync(() -> attempt(send, attempt + 1, calls), delayed)
+                    .thenCompose(next -> next);
+        });
+    }
+
+    private CompletableFuture<NotificationResult> completed(NotificationResult outcome, int attempts) {
+        outcome.setAttempts(attempts);
+        attemptsSummary.record(attempts);
+        return CompletableFuture.completedFuture(outcome);
+    }
+
+    // Full jitter: a uniform delay between zero and the capped exponential backoff
+    long backoffNanos(int attempt) {
+        long exponential = baseDelayNanos << Math.min(attempt - 1, 30);
+        long cap = exponential <= 0 ? maxDelayNanos : Math.min(maxDelayNanos, exponential);
+        return ThreadLocalRandom.current().nextLong(cap + 1);
+    }
+}
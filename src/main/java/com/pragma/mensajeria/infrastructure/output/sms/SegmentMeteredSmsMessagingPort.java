@@ -0,0 +1,59 @@
+package com.pragma.mensajeria.infrastructure.output.sms;
+
+import com.pragma.mensajeria.domain.model.EncodedSms;
+import com.pragma.mensajeria.domain.model.NotificationResult;
+import com.pragma.mensajeria.domain.model.SmsEncoder;
+import com.pragma.mensajeria.domain.model.SmsEncoding;
+import com.pragma.mensajeria.domain.spi.ISmsMessagingPort;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+// Wraps a single provider, below retries and hedging, so every accepted send is counted once per provider call,
+// including retried and hedged duplicates. Rejected sends are not billed and are not recorded
+public class SegmentMeteredSmsMessagingPort implements ISmsMessagingPort {
+
+    private final ISmsMessagingPort delegate;
+    private final Map<SmsEncoding, DistributionSummary> segmentsByEncoding = new EnumMap<>(SmsEncoding.class);
+
+    public SegmentMeteredSmsMessagingPort(ISmsMessagingPort delegate, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        for (SmsEncoding encoding : SmsEncoding.values()) {
+            segmentsByEncoding.put(encoding, DistributionSummary.builder("sms.message.segments")
+                    .tag("encoding", encoding.name().toLowerCase())
+                    .description("Billed SMS segments per message accepted by the provider")
+                    .register(meterRegistry));
+        }
+    }
+
+    @Override
+    public NotificationResult sendSms(String phoneNumber, String message) {
+        return record(message, delegate.sendSms(phoneNumber, message));
+    }
+
+    @Override
+    public CompletableFuture<NotificationResult> sendSmsAsync(String phoneNumber, String message) {
+        return delegate.sendSmsAsync(phoneNumber, message).thenApply(result -> record(message, result));
+    }
+
+    @Override
+    public NotificationResult sendSms(String restaurantId, String phoneNumber, String message) {
+        return record(message, delegate.sendSms(restaurantId, phoneNumber, message));
+    }
+
+    @Override
+    public CompletableFuture<NotificationResult> sendSmsAsync(String restaurantId, String phoneNumber, String message) {
+        return delegate.sendSmsAsync(restaurantId, phoneNumber, message).thenApply(result -> record(message, result));
+    }
+
+    private NotificationResult record(String message, NotificationResult result) {
+        if (result != null && result.isSuccess()) {
+            EncodedSms measured = SmsEncoder.measure(message);
+            segmentsByEncoding.get(measured.getEncoding()).record(measured.getSegments());
+        }
+        return result;
+    }
+}
@@ -0,0 +1,10 @@
+package com.pragma.mensajeria.infrastructure.output.sms;
+
+import com.pragma.mensajeria.domain.model.NotificationResult;
+import com.pragma.mensajeria.domain.spi.ISmsMessagingPort;
+
+import java.util.function.Predicate;
+
+// A provider adapter taking part in hedged sends; providerFailure tells outages apart from per-message errors
+public record SmsProvider(String name, ISmsMessagingPort port, Predicate<NotificationResult> providerFailure) {
+}
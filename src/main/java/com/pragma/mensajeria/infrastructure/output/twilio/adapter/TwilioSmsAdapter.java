@@ -3,19 +3,49 @@ package com.pragma.mensajeria.infrastructure.output.twilio.adapter;
 import com.pragma.mensajeria.domain.model.NotificationResult;
 import com.pragma.mensajeria.domain.spi.ISmsMessagingPort;
 import com.pragma.mensajeria.infrastructure.output.twilio.client.TwilioSmsClient;
+import io.micrometer.tracing.Tracer;
+import jakarta.annotation.PreDestroy;
 import org.springframework.stereotype.Component;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
 @Component
 public class TwilioSmsAdapter implements ISmsMessagingPort {
 
     private final TwilioSmsClient twilioSmsClient;
+    private final ExecutorService executor;
 
-    public TwilioSmsAdapter(TwilioSmsClient twilioSmsClient) {
+    // Tasks run under the caller's trace context so the Twilio span joins the request's trace
+    public TwilioSmsAdapter(TwilioSmsClient twilioSmsClient, Tracer tracer) {
         this.twilioSmsClient = twilioSmsClient;
+        this.executor = tracer.currentTraceContext().wrap(Executors.newThreadPerTaskExecutor(
+                Thread.ofVirtual().name("twilio-send-", 0).factory()));
     }
 
     @Override
     public NotificationResult sendSms(String phoneNumber, String message) {
         return twilioSmsClient.sendSms(phoneNumber, message);
     }
+
+    @Override
+    public CompletableFuture<NotificationResult> sendSmsAsync(String phoneNumber, String message) {
+        return CompletableFuture.supplyAsync(() -> twilioSmsClient.sendSms(phoneNumber, message), executor);
+    }
+
+    @Override
+    public NotificationResult sendSms(String restaurantId, String phoneNumber, String message) {
+        return twilioSmsClient.sendSms(restaurantId, phoneNumber, message);
+    }
+
+    @Override
+    public CompletableFuture<NotificationResult> sendSmsAsync(String restaurantId, String phoneNumber, String message) {
+        return CompletableFuture.supplyAsync(() -> twilioSmsClient.sendSms(restaurantId, phoneNumber, message), executor);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.close();
+    }
 }
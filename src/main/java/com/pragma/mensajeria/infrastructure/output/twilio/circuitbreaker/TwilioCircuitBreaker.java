@@ -0,0 +1,300 @@
+package com.pragma.mensajeria.infrastructure.output.twilio.circuitbreaker;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+@Component
+public class TwilioCircuitBreaker {
+
+    private static final Logger logger = LoggerFactory.getLogger(TwilioCircuitBreaker.class);
+    private static final String METRIC_PREFIX = "twilio.circuit.breaker.";
+
+    public enum State { CLOSED, OPEN, HALF_OPEN }
+
+    public static final long NOT_PERMITTED = -1;
+
+    private final int windowSize;
+    private final int minimumCalls;
+    private final double failureRateThreshold;
+    private final double slowCallRateThreshold;
+    private final long slowCallNanos;
+    private final long openNanos;
+    private final int halfOpenProbes;
+    private final long probeTimeoutNanos;
+    private final MeterRegistry meterRegistry;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ReentrantLock lock = new ReentrantLock();
+
+    // Ring buffer of the last windowSize outcomes while closed
+    private final boolean[] failedCalls;
+    private final boolean[] slowCalls;
+    private int windowIndex;
+    private int windowCalls;
+    private int windowFailures;
+    private int windowSlow;
+
+    private int probesInFlight;
+    // Probes that neither report nor release by then (a hung call, a caller that died) reopen the breaker
+    private long probeDeadlineNanos;
+    private int probeCalls;
+    private int probeFailures;
+    private int probeSlow;
+
+    // Read without the lock so rejections while open cost a volatile read and a clock call.
+    // The generation moves on with every transition and tags each permission with the phase it was granted in
+    private volatile Phase phase = new Phase(State.CLOSED, 0);
+    private volatile long openUntilNanos;
+
+    private final Counter successfulCalls;
+    private final Counter failedCallsCounter;
+    private final Counter slowCallsCounter;
+    private final Counter notPermittedCalls;
+
+    public TwilioCircuitBreaker(@Value("${twilio.circuit-breaker.sliding-window-size:100}") int windowSize,
+                                @Value("${twilio.circuit-breaker.minimum-calls:20}") int minimumCalls,
+                                @Value("${twilio.circuit-breaker.failure-rate-threshold:50}") double failureRateThreshold,
+                                @Value("${twilio.circuit-breaker.slow-call-rate-threshold:80}") double slowCallRateThreshold,
+                                @Value("${twilio.circuit-breaker.slow-call-duration:PT3S}") Duration slowCallDuration,
+                                @Value("${twilio.circuit-breaker.open-duration:PT10S}") Duration openDuration,
+                                @Value("${twilio.circuit-breaker.half-open-probes:3}") int halfOpenProbes,
+                                @Value("${twilio.circuit-breaker.probe-timeout:PT30S}") Duration probeTimeout,
+                                MeterRegistry meterRegistry,
+                                ApplicationEventPublisher eventPublisher) {
+        this.windowSize = windowSize;
+        this.minimumCalls = Math.min(minimumCalls, windowSize);
+        this.failureRateThreshold = failureRateThreshold;
+        this.slowCallRateThreshold = slowCallRateThreshold;
+        this.slowCallNanos = slowCallDuration.toNanos();
+        this.openNanos = openDuration.toNanos();
+        this.halfOpenProbes = halfOpenProbes;
+        this.probeTimeoutNanos = probeTimeout.toNanos();
+        this.meterRegistry = meterRegistry;
+        this.eventPublisher = eventPublisher;
+        this.failedCalls = new boolean[windowSize];
+        this.slowCalls = new boolean[windowSize];
+
+        for (State candidate : State.values()) {
+            Gauge.builder(METRIC_PREFIX + "state", this, breaker -> breaker.getState() == candidate ? 1 : 0)
+                    .tag("state", candidate.name().toLowerCase())
+                    .description("1 for the current Twilio circuit breaker state, 0 otherwise")
+                    .register(meterRegistry);
+        }
+        Gauge.builder(METRIC_PREFIX + "failure.rate", this, TwilioCircuitBreaker::getFailureRate)
+                .description("Failure percentage in the sliding window")
+                .register(meterRegistry);
+        Gauge.builder(METRIC_PREFIX + "slow.call.rate", this, TwilioCircuitBreaker::getSlowCallRate)
+                .description("Slow-call percentage in the sliding window")
+                .register(meterRegistry);
+        this.successfulCalls = callsCounter("successful");
+        this.failedCallsCounter = callsCounter("failed");
+        this.slowCallsCounter = callsCounter("slow");
+        this.notPermittedCalls = callsCounter("not_permitted");
+    }
+
+    // Returns the permission's generation, to be passed back with its result, or NOT_PERMITTED
+    public long tryAcquirePermission() {
+        Phase current = phase;
+        if (current.state() == State.CLOSED) {
+            return current.generation();
+        }
+        if (current.state() == State.OPEN && System.nanoTime() < openUntilNanos) {
+            notPermittedCalls.increment();
+            return NOT_PERMITTED;
+        }
+
+        long permission = NOT_PERMITTED;
+        Transition transition = null;
+        boolean probeExpired = false;
+        lock.lock();
+        try {
+            long now = System.nanoTime();
+            if (phase.state() == State.OPEN && now >= openUntilNanos) {
+                transition = transitionTo(State.HALF_OPEN);
+            } else if (phase.state() == State.HALF_OPEN && probesInFlight > 0 && now - probeDeadlineNanos >= 0) {
+                // Their late results carry the old generation and are ignored
+                probeExpired = true;
+                transition = transitionTo(State.OPEN);
+            }
+            if (phase.state() == State.CLOSED) {
+                permission = phase.generation();
+            } else if (phase.state() == State.HALF_OPEN && probesInFlight + probeCalls < halfOpenProbes) {
+                probesInFlight++;
+                probeDeadlineNanos = now + probeTimeoutNanos;
+                permission = phase.generation();
+            }
+        } finally {
+            lock.unlock();
+        }
+        if (probeExpired) {
+            logger.warn("Twilio circuit breaker probe got no result within {} ms; reopening",
+                    TimeUnit.NANOSECONDS.toMillis(probeTimeoutNanos));
+        }
+        publish(transition);
+        if (permission == NOT_PERMITTED) {
+            notPermittedCalls.increment();
+        }
+        return permission;
+    }
+
+    // Returns a permission that ended without a provider call, so a half-open probe slot is not lost
+    public void releasePermission(long permission) {
+        lock.lock();
+        try {
+            if (phase.generation() == permission && phase.state() == State.HALF_OPEN && probesInFlight > 0) {
+                probesInFlight--;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void onSuccess(long permission, long durationNanos) {
+        record(permission, false, durationNanos);
+    }
+
+    public void onError(long permission, long durationNanos) {
+        record(permission, true, durationNanos);
+    }
+
+    public State getState() {
+        return phase.state();
+    }
+
+    public double getFailureRate() {
+        lock.lock();
+        try {
+            return windowCalls == 0 ? 0.0 : 100.0 * windowFailures / windowCalls;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public double getSlowCallRate() {
+        lock.lock();
+        try {
+            return windowCalls == 0 ? 0.0 : 100.0 * windowSlow / windowCalls;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void record(long permission, boolean failed, long durationNanos) {
+        boolean slow = durationNanos >= slowCallNanos;
+        (failed ? failedCallsCounter : successfulCalls).increment();
+        if (slow) {
+            slowCallsCounter.increment();
+        }
+
+        Transition transition = null;
+        lock.lock();
+        try {
+            // A call permitted in an earlier state (a slow call from before the breaker opened, say) says nothing
+            // about the current one, and must not be taken for a half-open probe
+            if (permission == phase.generation()) {
+                transition = switch (phase.state()) {
+                    case CLOSED -> recordClosed(failed, slow);
+                    case HALF_OPEN -> recordProbe(failed, slow);
+                    case OPEN -> null;
+                };
+            }
+        } finally {
+            lock.unlock();
+        }
+        publish(transition);
+    }
+
+    private Transition recordClosed(boolean failed, boolean slow) {
+        if (windowCalls == windowSize) {
+            windowFailures -= failedCalls[windowIndex] ? 1 : 0;
+            windowSlow -= slowCalls[windowIndex] ? 1 : 0;
+        } else {
+            windowCalls++;
+        }
+        failedCalls[windowIndex] = failed;
+        slowCalls[windowIndex] = slow;
+        windowFailures += failed ? 1 : 0;
+        windowSlow += slow ? 1 : 0;
+        windowIndex = (windowIndex + 1) % windowSize;
+
+        if (windowCalls >= minimumCalls && exceedsThresholds(windowFailures, windowSlow, windowCalls)) {
+            return transitionTo(State.OPEN);
+        }
+        return null;
+    }
+
+    private Transition recordProbe(boolean failed, boolean slow) {
+        probesInFlight = Math.max(0, probesInFlight - 1);
+        probeCalls++;
+        probeFailures += failed ? 1 : 0;
+        probeSlow += slow ? 1 : 0;
+        if (probeCalls >= halfOpenProbes) {
+            return transitionTo(exceedsThresholds(probeFailures, probeSlow, probeCalls) ? State.OPEN : State.CLOSED);
+        }
+        return null;
+    }
+
+    private boolean exceedsThresholds(int failures, int slow, int calls) {
+        return 100.0 * failures / calls >= failureRateThreshold || 100.0 * slow / calls >= slowCallRateThreshold;
+    }
+
+    // Called under the lock: only changes state. Metrics, logging and listeners run in publish(), after unlocking
+    private Transition transitionTo(State target) {
+        State previous = phase.state();
+        if (target == State.OPEN) {
+            openUntilNanos = System.nanoTime() + openNanos;
+        }
+        resetWindow();
+        phase = new Phase(target, phase.generation() + 1);
+        return new Transition(previous, target, Instant.now());
+    }
+
+    private void publish(Transition transition) {
+        if (transition == null) {
+            return;
+        }
+        Counter.builder(METRIC_PREFIX + "transitions")
+                .tag("from", transition.from().name().toLowerCase())
+                .tag("to", transition.to().name().toLowerCase())
+                .description("Twilio circuit breaker state transitions")
+                .register(meterRegistry)
+                .increment();
+        logger.warn("Twilio circuit breaker {} -> {}", transition.from(), transition.to());
+        eventPublisher.publishEvent(new TwilioCircuitBreakerStateChangedEvent(transition.from(), transition.to(),
+                transition.at()));
+    }
+
+    private void resetWindow() {
+        windowIndex = 0;
+        windowCalls = 0;
+        windowFailures = 0;
+        windowSlow = 0;
+        probesInFlight = 0;
+        probeCalls = 0;
+        probeFailures = 0;
+        probeSlow = 0;
+    }
+
+    private Counter callsCounter(String kind) {
+        return Counter.builder(METRIC_PREFIX + "calls")
+                .tag("kind", kind)
+                .description("Twilio calls seen by the circuit breaker")
+                .register(meterRegistry);
+    }
+
+    private record Phase(State state, long generation) {
+    }
+
+    private record Transition(State from, State to, Instant at) {
+    }
+}
@@ -0,0 +1,8 @@
+package com.pragma.mensajeria.infrastructure.output.twilio.circuitbreaker;
+
+import java.time.Instant;
+
+public record TwilioCircuitBreakerStateChangedEvent(TwilioCircuitBreaker.State from,
+                                                    TwilioCircuitBreaker.State to,
+                                                    Instant changedAt) {
+}
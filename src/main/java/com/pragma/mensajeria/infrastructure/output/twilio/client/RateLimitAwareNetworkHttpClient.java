@@ -0,0 +1,84 @@
+package com.pragma.mensajeria.infrastructure.output.twilio.client;
+
+import com.pragma.mensajeria.infrastructure.output.twilio.ratelimit.TwilioRateLimiter;
+import com.twilio.http.NetworkHttpClient;
+import com.twilio.http.Request;
+import com.twilio.http.Response;
+import org.apache.http.Header;
+import org.apache.http.impl.client.HttpClientBuilder;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+
+// The SDK's ApiException drops response headers, so Retry-After is read here before the response is turned into one
+public class RateLimitAwareNetworkHttpClient extends NetworkHttpClient {
+
+    static final int TOO_MANY_REQUESTS = 429;
+    static final String RETRY_AFTER_HEADER = "Retry-After";
+    static final String MESSAGING_SERVICE_SID_PARAM = "MessagingServiceSid";
+
+    private final TwilioRateLimiter twilioRateLimiter;
+    private final Duration defaultRetryAfter;
+
+    public RateLimitAwareNetworkHttpClient(HttpClientBuilder httpClientBuilder,
+                                           TwilioRateLimiter twilioRateLimiter,
+                                           Duration defaultRetryAfter) {
+        super(httpClientBuilder);
+        this.twilioRateLimiter = twilioRateLimiter;
+        this.defaultRetryAfter = defaultRetryAfter;
+    }
+
+    @Override
+    public Response makeRequest(Request request) {
+        Response response = super.makeRequest(request);
+        onResponse(request, response);
+        return response;
+    }
+
+    void onResponse(Request request, Response response) {
+        if (response == null || response.getStatusCode() != TOO_MANY_REQUESTS) {
+            return;
+        }
+        List<String> sids = request.getPostParams().get(MESSAGING_SERVICE_SID_PARAM);
+        if (sids == null || sids.isEmpty()) {
+            return;
+        }
+        twilioRateLimiter.onThrottled(sids.getFirst(), retryAfter(response));
+    }
+
+    private Duration retryAfter(Response response) {
+        Header[] headers = response.getHeaders();
+        if (headers != null) {
+            for (Header header : headers) {
+                if (RETRY_AFTER_HEADER.equalsIgnoreCase(header.getName())) {
+                    return parseRetryAfter(header.getValue(), Instant.now(), defaultRetryAfter);
+                }
+            }
+        }
+        return defaultRetryAfter;
+    }
+
+    // Retry-After is either delay-seconds or an HTTP-date (RFC 9110 section 10.2.3)
+    static Duration parseRetryAfter(String value, Instant now, Duration fallback) {
+        if (value == null || value.isBlank()) {
+            return fallback;
+        }
+        String trimmed = value.trim();
+        try {
+            return Duration.ofSeconds(Math.max(0, Long.parseLong(trimmed)));
+        } catch (NumberFormatException _) {
+            // Not delay-seconds; try the HTTP-date form
+        }
+        try {
+            Instant retryAt = ZonedDateTime.parse(trimmed, DateTimeFormatter.RFC_1123_DATE_TIME).toInstant();
+            Duration delay = Duration.between(now, retryAt);
+            return delay.isNegative() ? Duration.ZERO : delay;
+        } catch (DateTimeParseException _) {
+            return fallback;
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.pragma.mensajeria.infrastructure.output.twilio.client;
+
+import com.pragma.mensajeria.domain.model.NotificationResult;
+import com.pragma.mensajeria.domain.spi.ISmsFailureClassifierPort;
+import com.pragma.mensajeria.infrastructure.output.sms.ConcurrencyLimitedSmsMessagingPort;
+import com.twilio.exception.ApiConnectionException;
+import com.twilio.exception.ApiException;
+import org.apache.http.conn.ConnectTimeoutException;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.NoRouteToHostException;
+import java.net.UnknownHostException;
+import java.util.Set;
+import java.util.function.Predicate;
+
+public class TwilioErrorClassifier implements Predicate<NotificationResult>, ISmsFailureClassifierPort {
+
+    // The connection was never opened, so Twilio cannot have seen the request
+    public static final String CONNECTION_ERROR = "CONNECTION_ERROR";
+    // The request may have reached Twilio (read timeout, reset, no response); sending again could deliver it twice
+    public static final String OUTCOME_UNKNOWN = "OUTCOME_UNKNOWN";
+    public static final String RATE_LIMITED = "RATE_LIMITED";
+    public static final String CIRCUIT_OPEN = "CIRCUIT_OPEN";
+    public static final String INVALID_PHONE_NUMBER = "INVALID_PHONE_NUMBER";
+    public static final String UNEXPECTED_ERROR = "UNEXPECTED_ERROR";
+    private static final String HTTP_STATUS_PREFIX = "HTTP_";
+
+    // 20500 Internal Server Error, 20503 Service Unavailable. 20429 is left to TwilioSmsClient, which resends
+    // throttled messages once the rate limiter has waited out Retry-After
+    private static final Set<String> RETRYABLE_TWILIO_CODES = Set.of("20500", "20503");
+
+    // Rejected before or by Twilio without creating a message: safe to send again on a later outbox replay
+    private static final Set<String> DEFERRABLE_CODES = Set.of("20429", HTTP_STATUS_PREFIX + "429",
+            RATE_LIMITED, CIRCUIT_OPEN, ConcurrencyLimitedSmsMessagingPort.LIMIT_REACHED_CODE);
+
+    public static String errorCode(ApiException e) {
+        if (e.getCode() != null) {
+            return String.valueOf(e.getCode());
+        }
+        if (e.getStatusCode() != null) {
+            return HTTP_STATUS_PREFIX + e.getStatusCode();
+        }
+        if (failedToConnect(e)) {
+            return CONNECTION_ERROR;
+        }
+        if (e instanceof ApiConnectionException || hasCause(e, IOException.class)) {
+            return OUTCOME_UNKNOWN;
+        }
+        return UNEXPECTED_ERROR;
+    }
+
+    // Server-side or network failures: what the circuit breaker counts as Twilio being unhealthy
+    public static boolean isProviderFailure(String errorCode) {
+        return CONNECTION_ERROR.equals(errorCode)
+                || OUTCOME_UNKNOWN.equals(errorCode)
+                || "20500".equals(errorCode)
+                || "20503".equals(errorCode)
+                || errorCode.startsWith(HTTP_STATUS_PREFIX + "5");
+    }
+
+    // Local rejections (rate-limit queue, concurrency limit, open circuit) are left alone: retrying them only adds load.
+    // Creating a message is not idempotent, so an unknown outcome is surfaced instead of risking a second SMS
+    @Override
+    public boolean test(NotificationResult result) {
+        String errorCode = result.getErrorCode();
+        if (errorCode == null) {
+            return false;
+        }
+        if (CONNECTION_ERROR.equals(errorCode) || RETRYABLE_TWILIO_CODES.contains(errorCode)) {
+            return true;
+        }
+        if (errorCode.startsWith(HTTP_STATUS_PREFIX)) {
+            String status = errorCode.substring(HTTP_STATUS_PREFIX.length());
+            return status.startsWith("5");
+        }
+        return false;
+    }
+
+    // Wider than test(): throttling and local load shedding are worth another try once the pressure is gone.
+    // Unknown outcomes stay out for the same reason as in test(), and everything else is a permanent rejection
+    @Override
+    public boolean isTransient(NotificationResult result) {
+        return test(result) || (result.getErrorCode() != null && DEFERRABLE_CODES.contains(result.getErrorCode()));
+    }
+
+    // Refused, unreachable, or timed out while connecting or waiting for a pooled connection: the POST never went out
+    private static boolean failedToConnect(Throwable e) {
+        return hasCause(e, ConnectException.class)
+                || hasCause(e, ConnectTimeoutException.class)
+                || hasCause(e, UnknownHostException.class)
+                || hasCause(e, NoRouteToHostException.class);
+    }
+
+    private static boolean hasCause(Throwable e, Class<? extends Throwable> type) {
+        for (Throwable cause = e.getCause(); cause != null && cause != e; cause = cause.getCause()) {
+            if (type.isInstance(cause)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
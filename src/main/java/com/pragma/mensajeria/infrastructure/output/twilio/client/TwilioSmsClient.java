@@ -1,83 +1,226 @@
 package com.pragma.mensajeria.infrastructure.output.twilio.client;
 
+import com.pragma.mensajeria.domain.model.E164;
 import com.pragma.mensajeria.domain.model.NotificationResult;
+import com.pragma.mensajeria.infrastructure.logging.SampledLogTurboFilter;
+import com.pragma.mensajeria.infrastructure.output.twilio.circuitbreaker.TwilioCircuitBreaker;
 import com.pragma.mensajeria.infrastructure.output.twilio.config.TwilioConfiguration;
-import com.twilio.Twilio;
+import com.pragma.mensajeria.infrastructure.output.twilio.ratelimit.TwilioRateLimiter;
+import com.pragma.mensajeria.infrastructure.output.twilio.tenant.TwilioTenantAccount;
+import com.pragma.mensajeria.infrastructure.output.twilio.tenant.TwilioTenantClientRegistry;
 import com.twilio.exception.ApiException;
+import com.twilio.http.TwilioRestClient;
 import com.twilio.rest.api.v2010.account.Message;
+import com.twilio.rest.api.v2010.account.MessageCreator;
 import com.twilio.type.PhoneNumber;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.Tracer;
 import jakarta.annotation.PostConstruct;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import java.net.URI;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
 @Component
 public class TwilioSmsClient {
 
     private static final Logger logger = LoggerFactory.getLogger(TwilioSmsClient.class);
-    private static final String PHONE_NUMBER_PATTERN = "^\\+[1-9]\\d{1,14}$";
+    private static final int TOO_MANY_REQUESTS = 429;
+    private static final String RATE_LIMITED_MESSAGE = "Twilio rate limit queue is full, try again later";
+    private static final String CIRCUIT_OPEN_MESSAGE = "Twilio is unavailable (circuit breaker open), try again later";
+    private static final String NO_ERROR = "none";
 
     private final TwilioConfiguration twilioConfiguration;
+    private final TwilioRestClient twilioRestClient;
+    private final TwilioTenantClientRegistry tenantClientRegistry;
+    private final TwilioRateLimiter twilioRateLimiter;
+    private final TwilioCircuitBreaker twilioCircuitBreaker;
+    private final int maxThrottleRetries;
+    private final MeterRegistry meterRegistry;
+    private final Timer providerTimer;
+    private final Tracer tracer;
+    private final ConcurrentHashMap<String, Counter> outcomes = new ConcurrentHashMap<>();
 
-    public TwilioSmsClient(TwilioConfiguration twilioConfiguration) {
+    public TwilioSmsClient(TwilioConfiguration twilioConfiguration,
+                           TwilioRestClient twilioRestClient,
+                           TwilioTenantClientRegistry tenantClientRegistry,
+                           TwilioRateLimiter twilioRateLimiter,
+                           TwilioCircuitBreaker twilioCircuitBreaker,
+                           @Value("${twilio.rate-limit.max-throttle-retries:2}") int maxThrottleRetries,
+                           MeterRegistry meterRegistry,
+                           Tracer tracer) {
         this.twilioConfiguration = twilioConfiguration;
+        this.twilioRestClient = twilioRestClient;
+        this.tenantClientRegistry = tenantClientRegistry;
+        this.twilioRateLimiter = twilioRateLimiter;
+        this.twilioCircuitBreaker = twilioCircuitBreaker;
+        this.maxThrottleRetries = maxThrottleRetries;
+        this.meterRegistry = meterRegistry;
+        this.tracer = tracer;
+        this.providerTimer = Timer.builder("notification.stage.duration")
+                .tag("stage", "provider")
+                .description("Time spent in each stage of the notification pipeline")
+                .register(meterRegistry);
     }
 
+    // Fails startup when the default account has no credentials; the REST clients themselves are built as beans
     @PostConstruct
-    public void init() {
+    public void validateCredentials() {
         String accountSid = twilioConfiguration.getAccountSid();
         String authToken = twilioConfiguration.getAuthToken();
-        String msSid = twilioConfiguration.getMessagingServiceSid();
 
         if (accountSid == null || accountSid.isBlank() || authToken == null || authToken.isBlank()) {
             logger.error("Twilio credentials are missing or empty. accountSid present: {}, authToken present: {}",
                     accountSid != null && !accountSid.isBlank(), authToken != null && !authToken.isBlank());
             throw new IllegalStateException("Twilio credentials are not configured");
         }
-
-        logger.info("Initializing Twilio client. Account SID: {}, Messaging Service SID present: {}",
-                accountSid, (msSid != null && !msSid.isBlank()));
-        Twilio.init(accountSid, authToken);
-        logger.info("Twilio SMS client initialized successfully");
     }
 
     public NotificationResult sendSms(String toPhoneNumber, String messageBody) {
+        return sendSms(null, toPhoneNumber, messageBody);
+    }
+
+    // Restaurants with their own sub-account send through its client; everyone else uses the default account
+    public NotificationResult sendSms(String restaurantId, String toPhoneNumber, String messageBody) {
+        NotificationResult result = send(restaurantId, toPhoneNumber, messageBody);
+        outcomeCounter(result.isSuccess() ? NO_ERROR : result.getErrorCode()).increment();
+        return result;
+    }
+
+    private NotificationResult send(String restaurantId, String toPhoneNumber, String messageBody) {
         try {
-            // Validate phone number format
-            if (!isValidPhoneNumber(toPhoneNumber)) {
+            // The use case already normalized the number; anything else reaching the client is rejected as-is
+            if (!E164.isValid(E164.parse(toPhoneNumber))) {
                 String errorMsg = "Invalid phone number format.";
-                logger.warn("Validation error - {}: {}", errorMsg, toPhoneNumber);
-                return NotificationResult.failure(errorMsg);
+                logger.warn("Validation error - {}", errorMsg);
+                return NotificationResult.failure(errorMsg, TwilioErrorClassifier.INVALID_PHONE_NUMBER);
             }
 
-            logger.info("Sending SMS to: {}", toPhoneNumber);
-            logger.debug("Message Service SID: {}", twilioConfiguration.getMessagingServiceSid());
-
-            Message message = Message.creator(
-                    new PhoneNumber(toPhoneNumber),
-                    twilioConfiguration.getMessagingServiceSid(),
-                    messageBody
-            ).create();
+            TwilioTenantAccount account = restaurantId == null ? null : tenantClientRegistry.accountFor(restaurantId);
+            TwilioRestClient restClient = account != null ? account.restClient() : twilioRestClient;
+            String messagingServiceSid = account != null
+                    ? account.messagingServiceSid()
+                    : twilioConfiguration.getMessagingServiceSid();
+            logger.debug("Sending SMS through messaging service {}", messagingServiceSid);
 
-            logger.info("SMS sent successfully. SID: {}, Status: {}", message.getSid(), message.getStatus());
-            return NotificationResult.success(message.getSid());
+            return createThrottled(restClient, toPhoneNumber, messagingServiceSid, messageBody,
+                    twilioConfiguration.statusCallbackUrlFor(restaurantId));
 
         } catch (ApiException e) {
-            String errorMsg = String.format("Twilio API Error: %s", e.getMessage());
-            logger.error(errorMsg, e);
-            return NotificationResult.failure(errorMsg);
+            return apiFailure(e, 1);
         } catch (Exception e) {
             String errorMsg = "Unexpected error sending SMS: " + e.getMessage();
-            logger.error(errorMsg, e);
-            return NotificationResult.failure(errorMsg);
+            logger.error("Unexpected error sending SMS", e);
+            return NotificationResult.failure(errorMsg, TwilioErrorClassifier.UNEXPECTED_ERROR);
         }
     }
 
-    private boolean isValidPhoneNumber(String phoneNumber) {
-        if (phoneNumber == null || phoneNumber.trim().isEmpty()) {
-            return false;
+    // A 429 means Twilio did not accept the message, so it is safe to queue for another token and resend.
+    // This is the only layer that retries a 429: the rate limiter already paused for Retry-After.
+    // Results carry the number of Twilio calls made, so the retry layer above can report the real total
+    private NotificationResult createThrottled(TwilioRestClient restClient, String toPhoneNumber,
+                                               String messagingServiceSid, String messageBody, URI statusCallback) {
+        for (int attempt = 0; ; attempt++) {
+            // Checked before queueing for a token so an open breaker sheds load immediately
+            long permission = twilioCircuitBreaker.tryAcquirePermission();
+            if (permission == TwilioCircuitBreaker.NOT_PERMITTED) {
+                return withAttempts(NotificationResult.failure(CIRCUIT_OPEN_MESSAGE, TwilioErrorClassifier.CIRCUIT_OPEN),
+                        attempt);
+            }
+            if (!twilioRateLimiter.acquire(messagingServiceSid)) {
+                twilioCircuitBreaker.releasePermission(permission);
+                return withAttempts(NotificationResult.failure(RATE_LIMITED_MESSAGE, TwilioErrorClassifier.RATE_LIMITED),
+                        attempt);
+            }
+            try {
+                Message message = createMessage(restClient, toPhoneNumber, messagingServiceSid, messageBody,
+                        statusCallback, attempt + 1, permission);
+                logger.info(SampledLogTurboFilter.SAMPLED, "SMS sent successfully. SID: {}, Status: {}",
+                        message.getSid(), message.getStatus());
+                return withAttempts(NotificationResult.success(message.getSid()), attempt + 1);
+            } catch (ApiException e) {
+                if (!Integer.valueOf(TOO_MANY_REQUESTS).equals(e.getStatusCode()) || attempt >= maxThrottleRetries) {
+                    return apiFailure(e, attempt + 1);
+                }
+                logger.warn("Twilio returned 429 for messaging service {}; retrying after back-off (attempt {} of {})",
+                        messagingServiceSid, attempt + 1, maxThrottleRetries);
+            }
         }
-        return phoneNumber.matches(PHONE_NUMBER_PATTERN);
     }
-}
 
+    private NotificationResult apiFailure(ApiException e, int attempts) {
+        String errorCode = TwilioErrorClassifier.errorCode(e);
+        logger.error("Twilio API error {} sending SMS", errorCode, e);
+        return withAttempts(NotificationResult.failure("Twilio API Error: " + e.getMessage(), errorCode), attempts);
+    }
+
+    // A rejection before the first call still counts as one attempt, matching NotificationResult's default
+    private static NotificationResult withAttempts(NotificationResult result, int attempts) {
+        result.setAttempts(Math.max(1, attempts));
+        return result;
+    }
+
+    // Error codes are either the classifier's names or Twilio's documented codes, a bounded set that is safe as a tag
+    private Counter outcomeCounter(String errorCode) {
+        return outcomes.computeIfAbsent(Objects.requireNonNullElse(errorCode, TwilioErrorClassifier.UNEXPECTED_ERROR),
+                code -> Counter.builder("twilio.messages")
+                        .tag("outcome", NO_ERROR.equals(code) ? "success" : "failure")
+                        .tag("error.code", code)
+                        .description("Messages sent through Twilio by outcome and error code")
+                        .register(meterRegistry));
+    }
+
+    // Only the provider call is timed and traced, so rate-limit waits never count as slow calls
+    private Message createMessage(TwilioRestClient restClient, String toPhoneNumber, String messagingServiceSid,
+                                  String messageBody, URI statusCallback, int attempt, long permission) {
+        long start = System.nanoTime();
+        Span span = tracer.nextSpan()
+                .name("twilio.messages.create")
+                .remoteServiceName("twilio")
+                .tag("twilio.attempt", attempt)
+                .start();
+        try {
+            MessageCreator creator = Message.creator(new PhoneNumber(toPhoneNumber), messagingServiceSid, messageBody);
+            if (statusCallback != null) {
+                creator.setStatusCallback(statusCallback);
+            }
+            Message message = creator.create(restClient);
+            if (message.getSid() != null) {
+                span.tag("twilio.message.sid", message.getSid());
+            }
+            long elapsed = System.nanoTime() - start;
+            providerTimer.record(elapsed, TimeUnit.NANOSECONDS);
+            twilioCircuitBreaker.onSuccess(permission, elapsed);
+            return message;
+        } catch (ApiException e) {
+            span.tag("error.code", TwilioErrorClassifier.errorCode(e));
+            span.error(e);
+            long elapsed = System.nanoTime() - start;
+            providerTimer.record(elapsed, TimeUnit.NANOSECONDS);
+            // 4xx answers (including 429) come from a healthy Twilio and must not trip the breaker
+            if (TwilioErrorClassifier.isProviderFailure(TwilioErrorClassifier.errorCode(e))) {
+                twilioCircuitBreaker.onError(permission, elapsed);
+            } else {
+                twilioCircuitBreaker.onSuccess(permission, elapsed);
+            }
+            throw e;
+        } catch (RuntimeException e) {
+            span.tag("error.code", TwilioErrorClassifier.UNEXPECTED_ERROR);
+            span.error(e);
+            long elapsed = System.nanoTime() - start;
+            providerTimer.record(elapsed, TimeUnit.NANOSECONDS);
+            twilioCircuitBreaker.onError(permission, elapsed);
+            throw e;
+        } finally {
+            span.end();
+        }
+    }
+}
@@ -3,6 +3,10 @@ package com.pragma.mensajeria.infrastructure.output.twilio.config;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
 
+import java.net.URI;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+
 @Configuration
 public class TwilioConfiguration {
 
@@ -15,6 +19,10 @@ public class TwilioConfiguration {
     @Value("${twilio.messaging-service-sid}")
     private String messagingServiceSid;
 
+    // Public base URL Twilio posts delivery updates to; blank disables status callbacks
+    @Value("${twilio.status-callback.url:}")
+    private String statusCallbackUrl;
+
     public String getAccountSid() {
         return accountSid;
     }
@@ -26,4 +34,14 @@ public class TwilioConfiguration {
     public String getMessagingServiceSid() {
         return messagingServiceSid;
     }
+
+    // Sub-account callbacks are signed with that account's token, so the restaurant travels in the path
+    public URI statusCallbackUrlFor(String restaurantId) {
+        if (statusCallbackUrl == null || statusCallbackUrl.isBlank()) {
+            return null;
+        }
+        return URI.create(restaurantId == null
+                ? statusCallbackUrl
+                : statusCallbackUrl + "/" + URLEncoder.encode(restaurantId, StandardCharsets.UTF_8));
+    }
 }
@@ -0,0 +1,122 @@
+package com.pragma.mensajeria.infrastructure.output.twilio.config;
+
+import com.pragma.mensajeria.infrastructure.output.twilio.client.RateLimitAwareNetworkHttpClient;
+import com.pragma.mensajeria.infrastructure.output.twilio.ratelimit.TwilioRateLimiter;
+import com.twilio.http.TwilioRestClient;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.http.HttpHost;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.conn.routing.HttpRoute;
+import org.apache.http.config.SocketConfig;
+import org.apache.http.impl.client.HttpClientBuilder;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+@Configuration
+public class TwilioHttpClientConfiguration {
+
+    @Bean(destroyMethod = "shutdown")
+    public PoolingHttpClientConnectionManager twilioConnectionManager(
+            @Value("${twilio.http.max-connections:200}") int maxConnections,
+            @Value("${twilio.http.max-connections-per-route:200}") int maxConnectionsPerRoute,
+            @Value("${twilio.http.connection-time-to-live:PT5M}") Duration connectionTimeToLive,
+            @Value("${twilio.http.validate-after-inactivity:PT2S}") Duration validateAfterInactivity,
+            @Value("${twilio.http.read-timeout:PT10S}") Duration readTimeout,
+            MeterRegistry meterRegistry) {
+        PoolingHttpClientConnectionManager connectionManager = pooledConnectionManager(maxConnections,
+                maxConnectionsPerRoute, connectionTimeToLive, validateAfterInactivity, readTimeout);
+
+        Gauge.builder("twilio.http.pool.leased", connectionManager, manager -> manager.getTotalStats().getLeased())
+                .description("Twilio HTTP connections currently serving a request")
+                .register(meterRegistry);
+        Gauge.builder("twilio.http.pool.pending", connectionManager, manager -> manager.getTotalStats().getPending())
+                .description("Requests waiting for a Twilio HTTP connection")
+                .register(meterRegistry);
+        Gauge.builder("twilio.http.pool.available", connectionManager, manager -> manager.getTotalStats().getAvailable())
+                .description("Idle keep-alive Twilio HTTP connections ready for reuse")
+                .register(meterRegistry);
+        Gauge.builder("twilio.http.pool.max", connectionManager, manager -> manager.getTotalStats().getMax())
+                .description("Maximum Twilio HTTP connections")
+                .register(meterRegistry);
+        return connectionManager;
+    }
+
+    @Bean
+    public TwilioRestClient twilioRestClient(TwilioConfiguration twilioConfiguration,
+                                             PoolingHttpClientConnectionManager twilioConnectionManager,
+                                             TwilioRateLimiter twilioRateLimiter,
+                                             @Value("${twilio.http.connect-timeout:PT5S}") Duration connectTimeout,
+                                             @Value("${twilio.http.read-timeout:PT10S}") Duration readTimeout,
+                                             @Value("${twilio.http.connection-request-timeout:PT2S}") Duration connectionRequestTimeout,
+                                             @Value("${twilio.http.idle-eviction:PT30S}") Duration idleEviction,
+                                             @Value("${twilio.rate-limit.default-retry-after:PT1S}") Duration defaultRetryAfter,
+                                             @Value("${twilio.http.endpoint-override:}") String endpointOverride) {
+        return pooledRestClient(twilioConfiguration.getAccountSid(), twilioConfiguration.getAuthToken(),
+                twilioConnectionManager, twilioRateLimiter, connectTimeout, readTimeout, connectionRequestTimeout,
+                idleEviction, defaultRetryAfter, endpointOverride);
+    }
+
+    // Shared with the per-restaurant client registry, which builds one pool per Twilio sub-account
+    public static PoolingHttpClientConnectionManager pooledConnectionManager(int maxConnections,
+                                                                             int maxConnectionsPerRoute,
+                                                                             Duration connectionTimeToLive,
+                                                                             Duration validateAfterInactivity,
+                                                                             Duration readTimeout) {
+        // Every send goes to api.twilio.com, so the per-route cap is effectively the pool size
+        PoolingHttpClientConnectionManager connectionManager =
+                new PoolingHttpClientConnectionManager(connectionTimeToLive.toMillis(), TimeUnit.MILLISECONDS);
+        connectionManager.setMaxTotal(maxConnections);
+        connectionManager.setDefaultMaxPerRoute(maxConnectionsPerRoute);
+        connectionManager.setValidateAfterInactivity((int) validateAfterInactivity.toMillis());
+        connectionManager.setDefaultSocketConfig(SocketConfig.custom()
+                .setSoKeepAlive(true)
+                .setTcpNoDelay(true)
+                .setSoTimeout((int) readTimeout.toMillis())
+                .build());
+        return connectionManager;
+    }
+
+    public static TwilioRestClient pooledRestClient(String accountSid,
+                                                    String authToken,
+                                                    PoolingHttpClientConnectionManager connectionManager,
+                                                    TwilioRateLimiter twilioRateLimiter,
+                                                    Duration connectTimeout,
+                                                    Duration readTimeout,
+                                                    Duration connectionRequestTimeout,
+                                                    Duration idleEviction,
+                                                    Duration defaultRetryAfter,
+                                                    String endpointOverride) {
+        RequestConfig requestConfig = RequestConfig.custom()
+                .setConnectTimeout((int) connectTimeout.toMillis())
+                .setSocketTimeout((int) readTimeout.toMillis())
+                .setConnectionRequestTimeout((int) connectionRequestTimeout.toMillis())
+                .build();
+
+        HttpClientBuilder httpClientBuilder = HttpClientBuilder.create()
+                .setConnectionManager(connectionManager)
+                .setDefaultRequestConfig(requestConfig);
+        // Not marked as shared: HttpClient only starts its idle-connection evictor for a manager it owns.
+        // A zero idle eviction skips that thread for callers that sweep their pools themselves.
+        if (!idleEviction.isZero()) {
+            httpClientBuilder.evictExpiredConnections()
+                    .evictIdleConnections(idleEviction.toMillis(), TimeUnit.MILLISECONDS);
+        }
+        if (!endpointOverride.isBlank()) {
+            // Sends every request to a local stand-in (see the twilio-stub profile) while keeping the SDK's URLs
+            URI endpoint = URI.create(endpointOverride);
+            HttpRoute route = new HttpRoute(new HttpHost(endpoint.getHost(), endpoint.getPort(), endpoint.getScheme()));
+            httpClientBuilder.setRoutePlanner((target, request, context) -> route);
+        }
+
+        return new TwilioRestClient.Builder(accountSid, authToken)
+                .httpClient(new RateLimitAwareNetworkHttpClient(httpClientBuilder, twilioRateLimiter, defaultRetryAfter))
+                .build();
+    }
+}
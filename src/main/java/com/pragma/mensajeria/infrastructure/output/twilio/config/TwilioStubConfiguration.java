@@ -0,0 +1,32 @@
+package com.pragma.mensajeria.infrastructure.output.twilio.config;
+
+import com.pragma.mensajeria.infrastructure.output.twilio.stub.TwilioStubServer;
+import com.pragma.mensajeria.infrastructure.output.twilio.stub.TwilioStubServer.ErrorRates;
+import com.pragma.mensajeria.infrastructure.output.twilio.stub.TwilioStubServer.LatencyDistribution;
+import com.pragma.mensajeria.infrastructure.output.twilio.stub.TwilioStubServer.LatencyProfile;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+import java.time.Duration;
+
+@Configuration
+@Profile("twilio-stub")
+public class TwilioStubConfiguration {
+
+    @Bean(initMethod = "start", destroyMethod = "stop")
+    public TwilioStubServer twilioStubServer(
+            @Value("${twilio.stub.port:8089}") int port,
+            @Value("${twilio.stub.latency.distribution:LOG_NORMAL}") LatencyDistribution distribution,
+            @Value("${twilio.stub.latency.median:PT0.08S}") Duration median,
+            @Value("${twilio.stub.latency.p99:PT0.4S}") Duration p99,
+            @Value("${twilio.stub.errors.rate-limited:0}") double rateLimited,
+            @Value("${twilio.stub.errors.invalid-number:0}") double invalidNumber,
+            @Value("${twilio.stub.errors.server-error:0}") double serverError,
+            @Value("${twilio.stub.errors.unavailable:0}") double unavailable,
+            @Value("${twilio.stub.max-requests-per-second:0}") double maxRequestsPerSecond) {
+        return new TwilioStubServer(port, new LatencyProfile(distribution, median, p99),
+                new ErrorRates(rateLimited, invalidNumber, serverError, unavailable), maxRequestsPerSecond);
+    }
+}
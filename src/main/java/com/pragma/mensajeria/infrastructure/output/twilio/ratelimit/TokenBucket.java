@@ -0,0 +1,144 @@
+package com.pragma.mensajeria.infrastructure.output.twilio.ratelimit;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+public class TokenBucket {
+
+    private static final double NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+    private static final double THROTTLE_BACKOFF_FACTOR = 0.5;
+
+    private final double configuredRate;
+    private final double minRate;
+    private final double capacity;
+    private final int maxQueue;
+    private final long maxWaitNanos;
+    private final long recoveryNanos;
+    private final LongSupplier nanoClock;
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private double tokens;
+    private double throttledRate;
+    private long lastRefillNanos;
+    private long lastThrottleNanos;
+    private long pausedUntilNanos;
+    private int waiting;
+
+    public TokenBucket(double permitsPerSecond, double minPermitsPerSecond, int burst,
+                       int maxQueue, Duration maxWait, Duration recoveryPeriod) {
+        this(permitsPerSecond, minPermitsPerSecond, burst, maxQueue, maxWait, recoveryPeriod, System::nanoTime);
+    }
+
+    TokenBucket(double permitsPerSecond, double minPermitsPerSecond, int burst,
+                int maxQueue, Duration maxWait, Duration recoveryPeriod, LongSupplier nanoClock) {
+        if (permitsPerSecond <= 0 || burst < 1) {
+            throw new IllegalArgumentException("Token bucket needs a positive rate and a burst of at least one");
+        }
+        this.configuredRate = permitsPerSecond;
+        this.minRate = Math.min(minPermitsPerSecond, permitsPerSecond);
+        this.capacity = burst;
+        this.maxQueue = maxQueue;
+        this.maxWaitNanos = maxWait.toNanos();
+        this.recoveryNanos = Math.max(1, recoveryPeriod.toNanos());
+        this.nanoClock = nanoClock;
+        this.tokens = burst;
+        this.throttledRate = permitsPerSecond;
+        this.lastRefillNanos = nanoClock.getAsLong();
+        this.lastThrottleNanos = lastRefillNanos - recoveryNanos;
+        this.pausedUntilNanos = lastRefillNanos;
+    }
+
+    // Reserves a token and returns how long the caller must wait for it, or -1 when the queue is full or the wait too long
+    public long reserve() {
+        lock.lock();
+        try {
+            long now = nanoClock.getAsLong();
+            refill(now);
+            long waitNanos = Math.max(0, pausedUntilNanos - now);
+            if (tokens < 1) {
+                waitNanos += (long) ((1 - tokens) / currentRate(now) * NANOS_PER_SECOND);
+            }
+            if (waitNanos > 0 && (waiting >= maxQueue || waitNanos > maxWaitNanos)) {
+                return -1;
+            }
+            tokens -= 1;
+            if (waitNanos > 0) {
+                waiting++;
+            }
+            return waitNanos;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void leaveQueue() {
+        lock.lock();
+        try {
+            waiting--;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Twilio asked us to back off: stop handing out tokens until Retry-After has passed and halve the rate
+    public void throttle(Duration retryAfter) {
+        lock.lock();
+        try {
+            long now = nanoClock.getAsLong();
+            refill(now);
+            throttledRate = Math.max(minRate, currentRate(now) * THROTTLE_BACKOFF_FACTOR);
+            lastThrottleNanos = now;
+            pausedUntilNanos = Math.max(pausedUntilNanos, now + retryAfter.toNanos());
+            tokens = Math.min(tokens, 0);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public double getAvailableTokens() {
+        lock.lock();
+        try {
+            refill(nanoClock.getAsLong());
+            return Math.max(0, tokens);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public double getCurrentRate() {
+        lock.lock();
+        try {
+            return currentRate(nanoClock.getAsLong());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getQueueDepth() {
+        lock.lock();
+        try {
+            return waiting;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void refill(long now) {
+        long refillFrom = Math.max(lastRefillNanos, pausedUntilNanos);
+        if (now > refillFrom) {
+            tokens = Math.min(capacity, tokens + (now - refillFrom) / NANOS_PER_SECOND * currentRate(now));
+        }
+        lastRefillNanos = Math.max(lastRefillNanos, now);
+    }
+
+    // After a throttle the rate climbs linearly back to the configured one over the recovery period
+    private double currentRate(long now) {
+        long sinceThrottle = now - lastThrottleNanos;
+        if (sinceThrottle >= recoveryNanos) {
+            return configuredRate;
+        }
+        return throttledRate + (configuredRate - throttledRate) * sinceThrottle / recoveryNanos;
+    }
+}
@@ -0,0 +1,138 @@
+package com.pragma.mensajeria.infrastructure.output.twilio.ratelimit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+@Component
+public class TwilioRateLimiter {
+
+    private static final Logger logger = LoggerFactory.getLogger(TwilioRateLimiter.class);
+    private static final String METRIC_PREFIX = "twilio.rate.limit.";
+    private static final String SID_TAG = "messaging_service";
+
+    private final Map<String, MessagingServiceLimit> limits = new ConcurrentHashMap<>();
+    private final double defaultPermitsPerSecond;
+    private final Map<String, Double> permitsPerSecondBySid;
+    private final double minPermitsPerSecond;
+    private final int burst;
+    private final int maxQueue;
+    private final Duration maxWait;
+    private final Duration recoveryPeriod;
+    private final MeterRegistry meterRegistry;
+
+    public TwilioRateLimiter(@Value("${twilio.rate-limit.messages-per-second:10}") double defaultPermitsPerSecond,
+                             @Value("#{${twilio.rate-limit.messaging-service-rates:{:}}}") Map<String, Double> permitsPerSecondBySid,
+                             @Value("${twilio.rate-limit.min-messages-per-second:1}") double minPermitsPerSecond,
+                             @Value("${twilio.rate-limit.burst:10}") int burst,
+                             @Value("${twilio.rate-limit.max-queue:500}") int maxQueue,
+                             @Value("${twilio.rate-limit.max-wait:PT10S}") Duration maxWait,
+                             @Value("${twilio.rate-limit.recovery-period:PT1M}") Duration recoveryPeriod,
+                             MeterRegistry meterRegistry) {
+        this.defaultPermitsPerSecond = defaultPermitsPerSecond;
+        this.permitsPerSecondBySid = Map.copyOf(permitsPerSecondBySid);
+        this.minPermitsPerSecond = minPermitsPerSecond;
+        this.burst = burst;
+        this.maxQueue = maxQueue;
+        this.maxWait = maxWait;
+        this.recoveryPeriod = recoveryPeriod;
+        this.meterRegistry = meterRegistry;
+    }
+
+    // Blocks until a token for the messaging service is available; false when the wait queue is full or too long
+    public boolean acquire(String messagingServiceSid) {
+        MessagingServiceLimit limit = limitFor(messagingServiceSid);
+        long waitNanos = limit.bucket().reserve();
+        if (waitNanos < 0) {
+            limit.rejected().increment();
+            logger.warn("Twilio rate-limit queue full for messaging service {}", messagingServiceSid);
+            return false;
+        }
+        if (waitNanos == 0) {
+            limit.throttleTimer().record(0, TimeUnit.NANOSECONDS);
+            return true;
+        }
+        try {
+            TimeUnit.NANOSECONDS.sleep(waitNanos);
+            return true;
+        } catch (InterruptedException _) {
+            Thread.currentThread().interrupt();
+            return false;
+        } finally {
+            limit.bucket().leaveQueue();
+            limit.throttleTimer().record(waitNanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    public void onThrottled(String messagingServiceSid, Duration retryAfter) {
+        MessagingServiceLimit limit = limitFor(messagingServiceSid);
+        limit.bucket().throttle(retryAfter);
+        limit.providerThrottled().increment();
+        logger.warn("Twilio throttled messaging service {}; pausing for {} and lowering rate to {}/s",
+                messagingServiceSid, retryAfter, limit.bucket().getCurrentRate());
+    }
+
+    public TokenBucket bucketFor(String messagingServiceSid) {
+        return limitFor(messagingServiceSid).bucket();
+    }
+
+    // Called once no client sends through the messaging service any more, so per-SID state and meters stay bounded
+    // by the cached sub-accounts; a later send simply starts a fresh limit
+    public void remove(String messagingServiceSid) {
+        MessagingServiceLimit limit = limits.remove(messagingServiceSid);
+        if (limit != null) {
+            limit.meters().forEach(meterRegistry::remove);
+        }
+    }
+
+    private MessagingServiceLimit limitFor(String messagingServiceSid) {
+        return limits.computeIfAbsent(messagingServiceSid, this::newLimit);
+    }
+
+    private MessagingServiceLimit newLimit(String messagingServiceSid) {
+        double permitsPerSecond = permitsPerSecondBySid.getOrDefault(messagingServiceSid, defaultPermitsPerSecond);
+        TokenBucket bucket = new TokenBucket(permitsPerSecond, minPermitsPerSecond, burst, maxQueue, maxWait, recoveryPeriod);
+        Gauge tokens = Gauge.builder(METRIC_PREFIX + "tokens", bucket, TokenBucket::getAvailableTokens)
+                .tag(SID_TAG, messagingServiceSid)
+                .description("Rate-limit tokens available for immediate sends")
+                .register(meterRegistry);
+        Gauge queue = Gauge.builder(METRIC_PREFIX + "queue", bucket, TokenBucket::getQueueDepth)
+                .tag(SID_TAG, messagingServiceSid)
+                .description("Sends waiting for a rate-limit token")
+                .register(meterRegistry);
+        Gauge rate = Gauge.builder(METRIC_PREFIX + "rate", bucket, TokenBucket::getCurrentRate)
+                .tag(SID_TAG, messagingServiceSid)
+                .description("Current messages per second allowed after 429 back-off")
+                .register(meterRegistry);
+        Timer throttleTimer = Timer.builder(METRIC_PREFIX + "throttle")
+                .tag(SID_TAG, messagingServiceSid)
+                .description("Time sends waited for a rate-limit token")
+                .register(meterRegistry);
+        Counter rejected = Counter.builder(METRIC_PREFIX + "rejected")
+                .tag(SID_TAG, messagingServiceSid)
+                .description("Sends rejected because the rate-limit queue was full")
+                .register(meterRegistry);
+        Counter providerThrottled = Counter.builder(METRIC_PREFIX + "provider.throttled")
+                .tag(SID_TAG, messagingServiceSid)
+                .description("429 responses received from Twilio")
+                .register(meterRegistry);
+        return new MessagingServiceLimit(bucket, throttleTimer, rejected, providerThrottled,
+                List.of(tokens, queue, rate, throttleTimer, rejected, providerThrottled));
+    }
+
+    private record MessagingServiceLimit(TokenBucket bucket, Timer throttleTimer, Counter rejected,
+                                         Counter providerThrottled, List<Meter> meters) {
+    }
+}
@@ -0,0 +1,270 @@
+package com.pragma.mensajeria.infrastructure.output.twilio.stub;
+
+import com.pragma.mensajeria.domain.model.SmsEncoder;
+import com.pragma.mensajeria.infrastructure.output.twilio.ratelimit.TokenBucket;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// Stand-in for the Twilio Messages API (POST /2010-04-01/Accounts/{AccountSid}/Messages.json) for local load tests
+public class TwilioStubServer {
+
+    private static final Logger logger = LoggerFactory.getLogger(TwilioStubServer.class);
+    private static final Pattern MESSAGES_PATH = Pattern.compile("^/2010-04-01/Accounts/([^/]+)/Messages\\.json$");
+    private static final DateTimeFormatter TWILIO_DATE = DateTimeFormatter.ofPattern("EEE, dd MMM yyyy HH:mm:ss Z", Locale.US);
+    // P99 of a standard normal, used to derive the log-normal sigma from the configured median and p99
+    private static final double Z_99 = 2.326;
+
+    // Twilio's magic test numbers trigger the same errors here
+    public static final String INVALID_NUMBER = "+15005550001";
+    public static final String UNROUTABLE_NUMBER = "+15005550002";
+
+    public enum LatencyDistribution { NONE, CONSTANT, LOG_NORMAL }
+
+    public record LatencyProfile(LatencyDistribution distribution, Duration median, Duration p99) {
+    }
+
+    public record ErrorRates(double rateLimited, double invalidNumber, double serverError, double unavailable) {
+
+        public static final ErrorRates NONE = new ErrorRates(0, 0, 0, 0);
+    }
+
+    private final int port;
+    private final LatencyProfile latency;
+    private final ErrorRates errorRates;
+    private final TokenBucket throughputCap;
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder accepted = new LongAdder();
+    private HttpServer server;
+    private ExecutorService executor;
+
+    public TwilioStubServer(int port, LatencyProfile latency, ErrorRates errorRates, double maxRequestsPerSecond) {
+        this.port = port;
+        this.latency = latency;
+        this.errorRates = errorRates;
+        // Zero queue: above the cap the stub answers 429 straight away, like Twilio's own MPS limit
+        this.throughputCap = maxRequestsPerSecond > 0
+                ? new TokenBucket(maxRequestsPerSecond, maxRequestsPerSecond, (int) Math.max(1, maxRequestsPerSecond),
+                0, Duration.ZERO, Duration.ZERO)
+                : null;
+    }
+
+    public void start() throws IOException {
+        executor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("twilio-stub-", 0).factory());
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", port), 1024);
+        server.setExecutor(executor);
+        server.createContext("/", this::handle);
+        server.start();
+        logger.info("Twilio stub listening on http://127.0.0.1:{} (latency {}, errors {}, cap {} rps)",
+                getPort(), latency, errorRates, throughputCap == null ? "none" : throughputCap.getCurrentRate());
+    }
+
+    public void stop() {
+        if (server != null) {
+            server.stop(0);
+            executor.close();
+        }
+    }
+
+    public int getPort() {
+        return server != null ? server.getAddress().getPort() : port;
+    }
+
+    public long getRequestCount() {
+        return requests.sum();
+    }
+
+    public long getAcceptedCount() {
+        return accepted.sum();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try {
+            requests.increment();
+            Matcher matcher = MESSAGES_PATH.matcher(exchange.getRequestURI().getPath());
+            if (!"POST".equals(exchange.getRequestMethod()) || !matcher.matches()) {
+                sendError(exchange, 404, 20404, "The requested resource " + exchange.getRequestURI().getPath() + " was not found");
+                return;
+            }
+
+            Map<String, String> form = parseForm(exchange.getRequestBody());
+            simulateLatency();
+
+            if (throughputCap != null && throughputCap.reserve() != 0) {
+                exchange.getResponseHeaders().add("Retry-After", "1");
+                sendError(exchange, 429, 20429, "Too Many Requests");
+                return;
+            }
+            if (injectError(exchange, form.get("To"))) {
+                return;
+            }
+
+            accepted.increment();
+            sendJson(exchange, 201, messageJson(matcher.group(1), form));
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private boolean injectError(HttpExchange exchange, String to) throws IOException {
+        if (INVALID_NUMBER.equals(to)) {
+            sendError(exchange, 400, 21211, "The 'To' number " + to + " is not a valid phone number.");
+            return true;
+        }
+        if (UNROUTABLE_NUMBER.equals(to)) {
+            sendError(exchange, 400, 21612, "The 'To' phone number: " + to + ", is not currently reachable.");
+            return true;
+        }
+
+        double roll = ThreadLocalRandom.current().nextDouble();
+        if ((roll -= errorRates.rateLimited()) < 0) {
+            exchange.getResponseHeaders().add("Retry-After", "1");
+            sendError(exchange, 429, 20429, "Too Many Requests");
+        } else if ((roll -= errorRates.invalidNumber()) < 0) {
+            sendError(exchange, 400, 21211, "The 'To' number " + to + " is not a valid phone number.");
+        } else if ((roll -= errorRates.serverError()) < 0) {
+            sendError(exchange, 500, 20500, "Internal Server Error");
+        } else if (roll - errorRates.unavailable() < 0) {
+            sendError(exchange, 503, 20503, "Service Unavailable");
+        } else {
+            return false;
+        }
+        return true;
+    }
+
+    private void simulateLatency() {
+        long nanos = switch (latency.distribution()) {
+            case NONE -> 0;
+            case CONSTANT -> latency.median().toNanos();
+            case LOG_NORMAL -> {
+                double median = latency.median().toNanos();
+                double sigma = Math.log(Math.max(latency.p99().toNanos(), median) / median) / Z_99;
+                yield (long) (median * Math.exp(sigma * ThreadLocalRandom.current().nextGaussian()));
+            }
+        };
+        if (nanos <= 0) {
+            return;
+        }
+        // Handlers run on virtual threads, so sleeping here does not tie up a platform thread
+        try {
+            TimeUnit.NANOSECONDS.sleep(nanos);
+        } catch (InterruptedException _) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static String messageJson(String accountSid, Map<String, String> form) {
+        String sid = "SM" + HexFormat.of().formatHex(randomBytes());
+        String body = form.getOrDefault("Body", "");
+        String now = ZonedDateTime.now(ZoneOffset.UTC).format(TWILIO_DATE);
+        return "{"
+                + "\"sid\":" + quote(sid) + ","
+                + "\"account_sid\":" + quote(accountSid) + ","
+                + "\"messaging_service_sid\":" + quote(form.get("MessagingServiceSid")) + ","
+                + "\"to\":" + quote(form.get("To")) + ","
+                + "\"from\":null,"
+                + "\"body\":" + quote(body) + ","
+                + "\"status\":\"accepted\","
+                + "\"direction\":\"outbound-api\","
+                + "\"num_segments\":\"" + SmsEncoder.measure(body).getSegments() + "\","
+                + "\"num_media\":\"0\","
+                + "\"price\":null,"
+                + "\"price_unit\":\"USD\","
+                + "\"error_code\":null,"
+                + "\"error_message\":null,"
+                + "\"api_version\":\"2010-04-01\","
+                + "\"date_created\":" + quote(now) + ","
+                + "\"date_updated\":" + quote(now) + ","
+                + "\"date_sent\":null,"
+                + "\"uri\":" + quote("/2010-04-01/Accounts/" + accountSid + "/Messages/" + sid + ".json") + ","
+                + "\"subresource_uris\":{\"media\":" + quote("/2010-04-01/Accounts/" + accountSid + "/Messages/" + sid + "/Media.json") + "}"
+                + "}";
+    }
+
+    private static void sendError(HttpExchange exchange, int status, int code, String message) throws IOException {
+        sendJson(exchange, status, "{"
+                + "\"code\":" + code + ","
+                + "\"message\":" + quote(message) + ","
+                + "\"more_info\":\"https://www.twilio.com/docs/errors/" + code + "\","
+                + "\"status\":" + status
+                + "}");
+    }
+
+    private static void sendJson(HttpExchange exchange, int status, String json) throws IOException {
+        byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json; charset=utf-8");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream body = exchange.getResponseBody()) {
+            body.write(bytes);
+        }
+    }
+
+    private static Map<String, String> parseForm(InputStream body) throws IOException {
+        String encoded = new String(body.readAllBytes(), StandardCharsets.UTF_8);
+        Map<String, String> form = new HashMap<>();
+        for (String pair : encoded.split("&")) {
+            if (pair.isEmpty()) {
+                continue;
+            }
+            int separator = pair.indexOf('=');
+            String name = separator < 0 ? pair : pair.substring(0, separator);
+            String value = separator < 0 ? "" : pair.substring(separator + 1);
+            form.put(URLDecoder.decode(name, StandardCharsets.UTF_8), URLDecoder.decode(value, StandardCharsets.UTF_8));
+        }
+        return form;
+    }
+
+    private static String quote(String value) {
+        if (value == null) {
+            return "null";
+        }
+        StringBuilder builder = new StringBuilder(value.length() + 2).append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"' -> builder.append("\\\"");
+                case '\\' -> builder.append("\\\\");
+                case '\n' -> builder.append("\\n");
+                case '\r' -> builder.append("\\r");
+                case '\t' -> builder.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        builder.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        builder.append(c);
+                    }
+                }
+            }
+        }
+        return builder.append('"').toString();
+    }
+
+    private static byte[] randomBytes() {
+        byte[] bytes = new byte[16];
+        ThreadLocalRandom.current().nextBytes(bytes);
+        return bytes;
+    }
+}
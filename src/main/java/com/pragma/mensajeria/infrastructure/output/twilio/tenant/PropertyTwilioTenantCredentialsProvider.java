@@ -0,0 +1,31 @@
+package com.pragma.mensajeria.infrastructure.output.twilio.tenant;
+
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+
+// Reads twilio.tenants.accounts.<restaurantId>.* from any property source (yml, environment, secret store)
+@Component
+public class PropertyTwilioTenantCredentialsProvider implements TwilioTenantCredentialsProvider {
+
+    private static final String PREFIX = "twilio.tenants.accounts.";
+
+    private final Environment environment;
+
+    public PropertyTwilioTenantCredentialsProvider(Environment environment) {
+        this.environment = environment;
+    }
+
+    @Override
+    public Optional<TwilioTenantCredentials> credentialsFor(String restaurantId) {
+        String prefix = PREFIX + restaurantId + ".";
+        String accountSid = environment.getProperty(prefix + "account-sid");
+        if (accountSid == null || accountSid.isBlank()) {
+            return Optional.empty();
+        }
+        return Optional.of(new TwilioTenantCredentials(accountSid,
+                environment.getRequiredProperty(prefix + "auth-token"),
+                environment.getRequiredProperty(prefix + "messaging-service-sid")));
+    }
+}
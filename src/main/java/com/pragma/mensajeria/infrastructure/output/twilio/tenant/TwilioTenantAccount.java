@@ -0,0 +1,6 @@
+package com.pragma.mensajeria.infrastructure.output.twilio.tenant;
+
+import com.twilio.http.TwilioRestClient;
+
+public record TwilioTenantAccount(String accountSid, String messagingServiceSid, TwilioRestClient restClient) {
+}
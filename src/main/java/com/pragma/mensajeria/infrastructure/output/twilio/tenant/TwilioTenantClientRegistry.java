@@ -0,0 +1,252 @@
+package com.pragma.mensajeria.infrastructure.output.twilio.tenant;
+
+import com.pragma.mensajeria.infrastructure.output.twilio.config.TwilioHttpClientConfiguration;
+import com.pragma.mensajeria.infrastructure.output.twilio.ratelimit.TwilioRateLimiter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+// One pooled TwilioRestClient per sub-account, created on first use and evicted LRU or after sitting idle
+@Component
+public class TwilioTenantClientRegistry {
+
+    private static final Logger logger = LoggerFactory.getLogger(TwilioTenantClientRegistry.class);
+    private static final String METRIC_PREFIX = "twilio.tenant.clients.";
+
+    private final TwilioTenantCredentialsProvider credentialsProvider;
+    private final TwilioRateLimiter twilioRateLimiter;
+    private final int maxClients;
+    private final long idleTimeoutNanos;
+    private final int maxConnectionsPerAccount;
+    private final Duration connectionTimeToLive;
+    private final Duration validateAfterInactivity;
+    private final Duration connectTimeout;
+    private final Duration readTimeout;
+    private final Duration connectionRequestTimeout;
+    private final Duration idleEviction;
+    private final Duration defaultRetryAfter;
+    private final String endpointOverride;
+    private final ReentrantLock lock = new ReentrantLock();
+    // Access-ordered, so iteration starts at the least recently used account
+    private final Map<String, CachedClient> clients = new LinkedHashMap<>(16, 0.75f, true);
+    private final Queue<CachedClient> retired = new ConcurrentLinkedQueue<>();
+    private final Counter createdCounter;
+    private final Counter lruEvictions;
+    private final Counter idleEvictions;
+    private final ScheduledExecutorService sweeper;
+
+    public TwilioTenantClientRegistry(TwilioTenantCredentialsProvider credentialsProvider,
+                                      TwilioRateLimiter twilioRateLimiter,
+                                      @Value("${twilio.tenants.max-clients:500}") int maxClients,
+                                      @Value("${twilio.tenants.idle-timeout:PT15M}") Duration idleTimeout,
+                                      @Value("${twilio.tenants.sweep-interval:PT1M}") Duration sweepInterval,
+                                      @Value("${twilio.tenants.max-connections-per-account:20}") int maxConnectionsPerAccount,
+                                      @Value("${twilio.http.connection-time-to-live:PT5M}") Duration connectionTimeToLive,
+                                      @Value("${twilio.http.validate-after-inactivity:PT2S}") Duration validateAfterInactivity,
+                                      @Value("${twilio.http.connect-timeout:PT5S}") Duration connectTimeout,
+                                      @Value("${twilio.http.read-timeout:PT10S}") Duration readTimeout,
+                                      @Value("${twilio.http.connection-request-timeout:PT2S}") Duration connectionRequestTimeout,
+                                      @Value("${twilio.http.idle-eviction:PT30S}") Duration idleEviction,
+                                      @Value("${twilio.rate-limit.default-retry-after:PT1S}") Duration defaultRetryAfter,
+                                      @Value("${twilio.http.endpoint-override:}") String endpointOverride,
+                                      MeterRegistry meterRegistry) {
+        this.credentialsProvider = credentialsProvider;
+        this.twilioRateLimiter = twilioRateLimiter;
+        this.maxClients = maxClients;
+        this.idleTimeoutNanos = idleTimeout.toNanos();
+        this.maxConnectionsPerAccount = maxConnectionsPerAccount;
+        this.connectionTimeToLive = connectionTimeToLive;
+        this.validateAfterInactivity = validateAfterInactivity;
+        this.connectTimeout = connectTimeout;
+        this.readTimeout = readTimeout;
+        this.connectionRequestTimeout = connectionRequestTimeout;
+        this.idleEviction = idleEviction;
+        this.defaultRetryAfter = defaultRetryAfter;
+        this.endpointOverride = endpointOverride;
+
+        Gauge.builder(METRIC_PREFIX + "active", this, TwilioTenantClientRegistry::getClientCount)
+                .description("Twilio sub-account clients currently cached")
+                .register(meterRegistry);
+        this.createdCounter = Counter.builder(METRIC_PREFIX + "created")
+                .description("Twilio sub-account clients created")
+                .register(meterRegistry);
+        this.lruEvictions = evictionCounter("lru", meterRegistry);
+        this.idleEvictions = evictionCounter("idle", meterRegistry);
+
+        // One sweeper for every pool instead of an idle-connection evictor thread per client
+        this.sweeper = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().daemon().name("twilio-tenant-sweeper").factory());
+        long intervalMillis = sweepInterval.toMillis();
+        sweeper.scheduleWithFixedDelay(this::sweep, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    // Null when the restaurant bills to the default account
+    public TwilioTenantAccount accountFor(String restaurantId) {
+        Optional<TwilioTenantCredentials> credentials = credentialsProvider.credentialsFor(restaurantId);
+        return credentials.map(this::clientFor).orElse(null);
+    }
+
+    public int getClientCount() {
+        lock.lock();
+        try {
+            return clients.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        sweeper.shutdownNow();
+        retired.forEach(CachedClient::close);
+        lock.lock();
+        try {
+            clients.values().forEach(CachedClient::close);
+            clients.clear();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Clients are keyed by account so restaurants of one chain share a sub-account's pool
+    private TwilioTenantAccount clientFor(TwilioTenantCredentials credentials) {
+        List<CachedClient> evicted = new ArrayList<>(1);
+        CachedClient client;
+        lock.lock();
+        try {
+            client = clients.get(credentials.accountSid());
+            if (client == null || !client.credentials.equals(credentials)) {
+                if (client != null) {
+                    // Rotated token or messaging service: replace the client built with the old credentials
+                    evicted.add(client);
+                }
+                client = newClient(credentials);
+                clients.put(credentials.accountSid(), client);
+                createdCounter.increment();
+                Iterator<CachedClient> leastRecentlyUsed = clients.values().iterator();
+                while (clients.size() > maxClients) {
+                    evicted.add(leastRecentlyUsed.next());
+                    leastRecentlyUsed.remove();
+                    lruEvictions.increment();
+                }
+            }
+            client.lastUsedNanos = System.nanoTime();
+        } finally {
+            lock.unlock();
+        }
+        evicted.forEach(this::retire);
+        return client.account;
+    }
+
+    private CachedClient newClient(TwilioTenantCredentials credentials) {
+        PoolingHttpClientConnectionManager connectionManager = TwilioHttpClientConfiguration.pooledConnectionManager(
+                maxConnectionsPerAccount, maxConnectionsPerAccount, connectionTimeToLive, validateAfterInactivity,
+                readTimeout);
+        TwilioTenantAccount account = new TwilioTenantAccount(credentials.accountSid(), credentials.messagingServiceSid(),
+                TwilioHttpClientConfiguration.pooledRestClient(credentials.accountSid(), credentials.authToken(),
+                        connectionManager, twilioRateLimiter, connectTimeout, readTimeout, connectionRequestTimeout,
+                        Duration.ZERO, defaultRetryAfter, endpointOverride));
+        logger.info("Created Twilio client for sub-account {}", credentials.accountSid());
+        return new CachedClient(credentials, account, connectionManager);
+    }
+
+    void sweep() {
+        List<CachedClient> idle = new ArrayList<>();
+        List<CachedClient> active = new ArrayList<>();
+        long now = System.nanoTime();
+        lock.lock();
+        try {
+            Iterator<CachedClient> iterator = clients.values().iterator();
+            while (iterator.hasNext()) {
+                CachedClient client = iterator.next();
+                if (now - client.lastUsedNanos >= idleTimeoutNanos) {
+                    iterator.remove();
+                    idle.add(client);
+                    idleEvictions.increment();
+                } else {
+                    active.add(client);
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+        idle.forEach(this::retire);
+        for (CachedClient client : active) {
+            client.connectionManager.closeExpiredConnections();
+            client.connectionManager.closeIdleConnections(idleEviction.toMillis(), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    // A send may still hold the evicted client, so its pool is closed once such a request has timed out
+    private void retire(CachedClient client) {
+        logger.info("Evicting Twilio client for sub-account {}", client.credentials.accountSid());
+        retired.add(client);
+        sweeper.schedule(() -> {
+            retired.remove(client);
+            client.close();
+            releaseRateLimit(client.credentials.messagingServiceSid());
+        }, connectionRequestTimeout.plus(readTimeout).toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    // The limiter keeps a limit and SID-tagged meters per messaging service; they go with the last client using it
+    private void releaseRateLimit(String messagingServiceSid) {
+        lock.lock();
+        try {
+            boolean inUse = clients.values().stream()
+                    .anyMatch(client -> client.credentials.messagingServiceSid().equals(messagingServiceSid))
+                    || retired.stream()
+                    .anyMatch(client -> client.credentials.messagingServiceSid().equals(messagingServiceSid));
+            if (!inUse) {
+                twilioRateLimiter.remove(messagingServiceSid);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static Counter evictionCounter(String reason, MeterRegistry meterRegistry) {
+        return Counter.builder(METRIC_PREFIX + "evicted")
+                .tag("reason", reason)
+                .description("Twilio sub-account clients evicted from the registry")
+                .register(meterRegistry);
+    }
+
+    private static final class CachedClient {
+
+        private final TwilioTenantCredentials credentials;
+        private final TwilioTenantAccount account;
+        private final PoolingHttpClientConnectionManager connectionManager;
+        private volatile long lastUsedNanos;
+
+        private CachedClient(TwilioTenantCredentials credentials, TwilioTenantAccount account,
+                             PoolingHttpClientConnectionManager connectionManager) {
+            this.credentials = credentials;
+            this.account = account;
+            this.connectionManager = connectionManager;
+        }
+
+        private void close() {
+            connectionManager.shutdown();
+        }
+    }
+}
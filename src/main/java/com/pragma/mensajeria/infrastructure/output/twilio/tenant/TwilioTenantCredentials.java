@@ -0,0 +1,9 @@
+package com.pragma.mensajeria.infrastructure.output.twilio.tenant;
+
+public record TwilioTenantCredentials(String accountSid, String authToken, String messagingServiceSid) {
+
+    @Override
+    public String toString() {
+        return "TwilioTenantCredentials[accountSid=" + accountSid + ", messagingServiceSid=" + messagingServiceSid + "]";
+    }
+}
@@ -0,0 +1,9 @@
+package com.pragma.mensajeria.infrastructure.output.twilio.tenant;
+
+import java.util.Optional;
+
+// Empty when the restaurant has no sub-account of its own and bills to the default account
+public interface TwilioTenantCredentialsProvider {
+
+    Optional<TwilioTenantCredentials> credentialsFor(String restaurantId);
+}
@@ -0,0 +1,14 @@
+package com.pragma.mensajeria.infrastructure.security;
+
+import org.springframework.security.core.GrantedAuthority;
+
+import java.time.Instant;
+import java.util.List;
+
+// Immutable, so one cached value can back a fresh Authentication on every request
+public record CachedPrincipal(String email, Long userId, List<GrantedAuthority> authorities, Instant expiresAt) {
+
+    public CachedPrincipal {
+        authorities = List.copyOf(authorities);
+    }
+}
@@ -1,5 +1,9 @@
 package com.pragma.mensajeria.infrastructure.security;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.Tracer;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -12,6 +16,7 @@ import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 @Component
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
@@ -20,9 +25,19 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     private static final String BEARER_PREFIX = "Bearer ";
 
     private final JwtTokenValidator jwtTokenValidator;
+    private final VerifiedTokenCache verifiedTokenCache;
+    private final Timer authenticationTimer;
+    private final Tracer tracer;
 
-    public JwtAuthenticationFilter(JwtTokenValidator jwtTokenValidator) {
+    public JwtAuthenticationFilter(JwtTokenValidator jwtTokenValidator, VerifiedTokenCache verifiedTokenCache,
+                                   MeterRegistry meterRegistry, Tracer tracer) {
         this.jwtTokenValidator = jwtTokenValidator;
+        this.verifiedTokenCache = verifiedTokenCache;
+        this.tracer = tracer;
+        this.authenticationTimer = Timer.builder("notification.stage.duration")
+                .tag("stage", "authentication")
+                .description("Time spent in each stage of the notification pipeline")
+                .register(meterRegistry);
     }
 
     @Override
@@ -37,30 +52,47 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             return;
         }
 
-        String token = authHeader.substring(BEARER_PREFIX.length());
-
-        if (jwtTokenValidator.isTokenValid(token)) {
-            String email = jwtTokenValidator.extractEmail(token);
-            String role = jwtTokenValidator.extractRole(token);
-            Long userId = jwtTokenValidator.extractUserId(token);
-
-            if (email != null && !email.trim().isEmpty() &&
-                role != null && !role.trim().isEmpty() &&
-                userId != null) {
-
-                List<SimpleGrantedAuthority> authorities = List.of(
-                        new SimpleGrantedAuthority("ROLE_" + role)
-                );
-
-                UsernamePasswordAuthenticationToken authentication =
-                        new UsernamePasswordAuthenticationToken(email, null, authorities);
-
-                authentication.setDetails(userId);
-
-                SecurityContextHolder.getContext().setAuthentication(authentication);
+        long start = System.nanoTime();
+        // Child of the server span, which already carries the caller's traceparent
+        Span span = tracer.nextSpan().name("jwt.authenticate").start();
+        UsernamePasswordAuthenticationToken authentication;
+        try (Tracer.SpanInScope _ = tracer.withSpan(span)) {
+            String token = authHeader.substring(BEARER_PREFIX.length());
+
+            CachedPrincipal principal = verifiedTokenCache.get(token);
+            span.tag("jwt.cache", principal != null ? "hit" : "miss");
+            if (principal == null) {
+                principal = jwtTokenValidator.verify(token)
+                        .map(verified -> cache(token, verified))
+                        .orElse(null);
             }
+            authentication = principal != null ? authenticate(principal) : null;
+            span.tag("jwt.valid", String.valueOf(authentication != null));
+        } finally {
+            span.end();
+            authenticationTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+
+        if (authentication != null) {
+            SecurityContextHolder.getContext().setAuthentication(authentication);
         }
 
         filterChain.doFilter(request, response);
     }
+
+    // The authority list is built once per verified token and shared by every request that reuses it
+    private CachedPrincipal cache(String token, VerifiedPrincipal verified) {
+        CachedPrincipal principal = new CachedPrincipal(verified.email(), verified.userId(),
+                List.of(new SimpleGrantedAuthority("ROLE_" + verified.role())), verified.expiresAt());
+        verifiedTokenCache.put(token, principal);
+        return principal;
+    }
+
+    // A fresh token per request: Authentication is mutable, so a cached instance must never be handed out
+    private UsernamePasswordAuthenticationToken authenticate(CachedPrincipal principal) {
+        UsernamePasswordAuthenticationToken authentication =
+                new UsernamePasswordAuthenticationToken(principal.email(), null, principal.authorities());
+        authentication.setDetails(principal.userId());
+        return authentication;
+    }
 }
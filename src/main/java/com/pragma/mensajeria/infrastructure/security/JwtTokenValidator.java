@@ -2,6 +2,7 @@ package com.pragma.mensajeria.infrastructure.security;
 
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
 import org.springframework.beans.factory.annotation.Value;
@@ -10,54 +11,41 @@ import org.springframework.stereotype.Component;
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
 import java.util.Date;
+import java.util.Optional;
 
 @Component
 public class JwtTokenValidator {
 
-    private final SecretKey secretKey;
+    // JwtParser is immutable and thread-safe, so one instance serves every request
+    private final JwtParser parser;
 
     public JwtTokenValidator(@Value("${jwt.secret}") String secret) {
-        this.secretKey = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
-    }
-
-    public String extractEmail(String token) {
-        try {
-            return extractAllClaims(token).getSubject();
-        } catch (JwtException | IllegalArgumentException _) {
-            return null;
-        }
-    }
-
-    public String extractRole(String token) {
-        try {
-            return extractAllClaims(token).get("role", String.class);
-        } catch (JwtException | IllegalArgumentException _) {
-            return null;
-        }
-    }
-
-    public Long extractUserId(String token) {
-        try {
-            return extractAllClaims(token).get("userId", Long.class);
-        } catch (JwtException | IllegalArgumentException _) {
-            return null;
-        }
+        SecretKey secretKey = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+        this.parser = Jwts.parser()
+                .verifyWith(secretKey)
+                .build();
     }
 
-    public boolean isTokenValid(String token) {
+    public Optional<VerifiedPrincipal> verify(String token) {
         try {
             Claims claims = extractAllClaims(token);
-            return !claims.getExpiration().before(new Date());
+            String email = claims.getSubject();
+            String role = claims.get("role", String.class);
+            Long userId = claims.get("userId", Long.class);
+            Date expiration = claims.getExpiration();
+
+            if (email == null || email.trim().isEmpty() ||
+                role == null || role.trim().isEmpty() ||
+                userId == null || expiration == null || expiration.before(new Date())) {
+                return Optional.empty();
+            }
+            return Optional.of(new VerifiedPrincipal(email, role, userId, expiration.toInstant()));
         } catch (JwtException | IllegalArgumentException _) {
-            return false;
+            return Optional.empty();
         }
     }
 
     private Claims extractAllClaims(String token) {
-        return Jwts.parser()
-                .verifyWith(secretKey)
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+        return parser.parseSignedClaims(token).getPayload();
     }
 }
@@ -0,0 +1,37 @@
+package com.pragma.mensajeria.infrastructure.security;
+
+import com.pragma.mensajeria.infrastructure.output.twilio.config.TwilioConfiguration;
+import com.pragma.mensajeria.infrastructure.output.twilio.tenant.TwilioTenantCredentials;
+import com.pragma.mensajeria.infrastructure.output.twilio.tenant.TwilioTenantCredentialsProvider;
+import com.twilio.security.RequestValidator;
+import org.springframework.stereotype.Component;
+
+import java.net.URI;
+import java.util.Map;
+
+@Component
+public class TwilioSignatureValidator {
+
+    private final TwilioConfiguration twilioConfiguration;
+    private final TwilioTenantCredentialsProvider credentialsProvider;
+
+    public TwilioSignatureValidator(TwilioConfiguration twilioConfiguration,
+                                    TwilioTenantCredentialsProvider credentialsProvider) {
+        this.twilioConfiguration = twilioConfiguration;
+        this.credentialsProvider = credentialsProvider;
+    }
+
+    // Twilio signs the URL it was given, not the one seen behind proxies, so the configured URL is rebuilt here
+    public boolean isValid(String restaurantId, Map<String, String> params, String signature) {
+        URI callbackUrl = twilioConfiguration.statusCallbackUrlFor(restaurantId);
+        if (callbackUrl == null || signature == null || signature.isBlank()) {
+            return false;
+        }
+        String authToken = restaurantId == null
+                ? twilioConfiguration.getAuthToken()
+                : credentialsProvider.credentialsFor(restaurantId)
+                        .map(TwilioTenantCredentials::authToken)
+                        .orElseGet(twilioConfiguration::getAuthToken);
+        return new RequestValidator(authToken).validate(callbackUrl.toString(), params, signature);
+    }
+}
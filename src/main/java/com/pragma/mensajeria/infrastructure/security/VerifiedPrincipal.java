@@ -0,0 +1,6 @@
+package com.pragma.mensajeria.infrastructure.security;
+
+import java.time.Instant;
+
+public record VerifiedPrincipal(String email, String role, Long userId, Instant expiresAt) {
+}
@@ -0,0 +1,165 @@
+package com.pragma.mensajeria.infrastructure.security;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+@Component
+public class VerifiedTokenCache implements MeterBinder {
+
+    private static final int EVICTION_SAMPLES = 16;
+    // Cloning a pristine prototype skips the provider lookup of getInstance and, unlike a ThreadLocal,
+    // does not leave a digest behind on every virtual thread
+    private static final MessageDigest SHA_256 = sha256();
+
+    private final ConcurrentHashMap<String, Slot> entries = new ConcurrentHashMap<>();
+    private final int maxEntries;
+    private final ReentrantLock evictionLock = new ReentrantLock();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private Iterator<Map.Entry<String, Slot>> sampler = Collections.emptyIterator();
+
+    public VerifiedTokenCache(@Value("${jwt.cache.max-entries:10000}") int maxEntries) {
+        this.maxEntries = maxEntries;
+    }
+
+    public CachedPrincipal get(String token) {
+        String key = digest(token);
+        Slot slot = entries.get(key);
+        if (slot != null && Instant.now().isBefore(slot.principal().expiresAt())) {
+            slot.touch();
+            hits.increment();
+            return slot.principal();
+        }
+        if (slot != null) {
+            entries.remove(key, slot);
+        }
+        misses.increment();
+        return null;
+    }
+
+    public void put(String token, CachedPrincipal principal) {
+        entries.put(digest(token), new Slot(principal));
+        evictIfFull();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public double hitRatio() {
+        long hitCount = hits.sum();
+        long total = hitCount + misses.sum();
+        return total == 0 ? 0.0 : (double) hitCount / total;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("jwt.cache.requests", hits, LongAdder::sum)
+                .tag("result", "hit")
+                .description("Bearer tokens served from the verified-token cache")
+                .register(registry);
+        FunctionCounter.builder("jwt.cache.requests", misses, LongAdder::sum)
+                .tag("result", "miss")
+                .description("Bearer tokens that required signature verification")
+                .register(registry);
+        Gauge.builder("jwt.cache.hit.ratio", this, VerifiedTokenCache::hitRatio)
+                .description("Share of bearer tokens served from the verified-token cache")
+                .register(registry);
+        Gauge.builder("jwt.cache.size", this, VerifiedTokenCache::size)
+                .description("Verified tokens currently cached")
+                .register(registry);
+    }
+
+    // Only one thread evicts at a time; the others carry on, leaving the cache briefly a few entries over its cap
+    private void evictIfFull() {
+        if (entries.size() <= maxEntries || !evictionLock.tryLock()) {
+            return;
+        }
+        try {
+            while (entries.size() > maxEntries) {
+                evictOne();
+            }
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    // Approximate LRU: the least recently used of a few entries read from a rotating iterator, or the first expired one
+    private void evictOne() {
+        Instant now = Instant.now();
+        Map.Entry<String, Slot> victim = null;
+        int samples = Math.min(EVICTION_SAMPLES, entries.size());
+        for (int i = 0; i < samples; i++) {
+            if (!sampler.hasNext()) {
+                sampler = entries.entrySet().iterator();
+                if (!sampler.hasNext()) {
+                    return;
+                }
+            }
+            Map.Entry<String, Slot> candidate = sampler.next();
+            if (!now.isBefore(candidate.getValue().principal().expiresAt())) {
+                victim = candidate;
+                break;
+            }
+            if (victim == null || candidate.getValue().lastAccessNanos < victim.getValue().lastAccessNanos) {
+                victim = candidate;
+            }
+        }
+        if (victim != null) {
+            entries.remove(victim.getKey(), victim.getValue());
+        }
+    }
+
+    // Only the SHA-256 digest is kept, so a heap dump never exposes a usable bearer token
+    private static String digest(String token) {
+        MessageDigest digest;
+        try {
+            digest = (MessageDigest) SHA_256.clone();
+        } catch (CloneNotSupportedException e) {
+            digest = sha256();
+        }
+        return HexFormat.of().formatHex(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private static final class Slot {
+
+        private final CachedPrincipal principal;
+        private volatile long lastAccessNanos = System.nanoTime();
+
+        private Slot(CachedPrincipal principal) {
+            this.principal = principal;
+        }
+
+        private CachedPrincipal principal() {
+            return principal;
+        }
+
+        private void touch() {
+            lastAccessNanos = System.nanoTime();
+        }
+    }
+}
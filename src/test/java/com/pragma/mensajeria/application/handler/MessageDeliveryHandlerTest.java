@@ -0,0 +1,61 @@
+package com.pragma.mensajeria.application.handler;
+
+import com.pragma.mensajeria.application.dto.MessageDeliveryResponseDto;
+import com.pragma.mensajeria.application.mapper.IMessageDeliveryDtoMapper;
+import com.pragma.mensajeria.domain.api.IMessageDeliveryServicePort;
+import com.pragma.mensajeria.domain.model.MessageDelivery;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class MessageDeliveryHandlerTest {
+
+    @Mock
+    private IMessageDeliveryServicePort messageDeliveryServicePort;
+
+    @Mock
+    private IMessageDeliveryDtoMapper messageDeliveryDtoMapper;
+
+    @InjectMocks
+    private MessageDeliveryHandler messageDeliveryHandler;
+
+    @Test
+    @DisplayName("Should forward Twilio status updates to the service port")
+    void shouldRecordStatusUpdate() {
+        messageDeliveryHandler.recordStatusUpdate("SM1", "undelivered", "30003");
+
+        verify(messageDeliveryServicePort).recordStatusUpdate("SM1", "undelivered", "30003");
+    }
+
+    @Test
+    @DisplayName("Should return delivery status by message SID")
+    void shouldGetDelivery() {
+        MessageDelivery delivery = MessageDelivery.accepted("SM1", "123");
+        MessageDeliveryResponseDto responseDto = MessageDeliveryResponseDto.builder().messageId("SM1").build();
+        when(messageDeliveryServicePort.getByMessageId("SM1")).thenReturn(delivery);
+        when(messageDeliveryDtoMapper.toMessageDeliveryResponseDto(delivery)).thenReturn(responseDto);
+
+        assertThat(messageDeliveryHandler.getDelivery("SM1")).isSameAs(responseDto);
+    }
+
+    @Test
+    @DisplayName("Should return every delivery of an order")
+    void shouldGetDeliveriesByOrder() {
+        List<MessageDelivery> deliveries = List.of(MessageDelivery.accepted("SM1", "123"));
+        List<MessageDeliveryResponseDto> responseDtos = List.of(MessageDeliveryResponseDto.builder().messageId("SM1").build());
+        when(messageDeliveryServicePort.getByOrderId("123")).thenReturn(deliveries);
+        when(messageDeliveryDtoMapper.toMessageDeliveryResponseDtos(deliveries)).thenReturn(responseDtos);
+
+        assertThat(messageDeliveryHandler.getDeliveriesByOrder("123")).isEqualTo(responseDtos);
+    }
+}
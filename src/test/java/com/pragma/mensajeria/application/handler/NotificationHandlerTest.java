@@ -1,18 +1,28 @@
 package com.pragma.mensajeria.application.handler;
 
 import com.pragma.mensajeria.application.dto.NotificationResponseDto;
+import com.pragma.mensajeria.application.dto.NotificationTrackingResponseDto;
+import com.pragma.mensajeria.application.dto.OrderReadyBatchNotificationRequestDto;
 import com.pragma.mensajeria.application.dto.OrderReadyNotificationRequestDto;
 import com.pragma.mensajeria.application.mapper.INotificationDtoMapper;
 import com.pragma.mensajeria.domain.api.INotificationServicePort;
 import com.pragma.mensajeria.domain.model.NotificationMessage;
 import com.pragma.mensajeria.domain.model.NotificationResult;
+import com.pragma.mensajeria.domain.model.NotificationStatus;
+import com.pragma.mensajeria.domain.model.NotificationTracking;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.tracing.test.simple.SimpleSpan;
+import io.micrometer.tracing.test.simple.SimpleTracer;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -26,9 +36,17 @@ class NotificationHandlerTest {
     @Mock
     private INotificationDtoMapper notificationDtoMapper;
 
-    @InjectMocks
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final SimpleTracer tracer = new SimpleTracer();
+
     private NotificationHandler notificationHandler;
 
+    @BeforeEach
+    void setUp() {
+        notificationHandler = new NotificationHandler(notificationServicePort, notificationDtoMapper, meterRegistry, tracer);
+    }
+
     @Test
     @DisplayName("Should send order ready notification successfully")
     void shouldSendOrderReadyNotificationSuccessfully() {
@@ -54,17 +72,158 @@ class NotificationHandlerTest {
                 .build();
 
         when(notificationDtoMapper.toNotificationMessage(requestDto)).thenReturn(message);
-        when(notificationServicePort.sendOrderReadyNotification(message)).thenReturn(result);
+        when(notificationServicePort.sendOrderReadyNotificationAsync(message))
+                .thenReturn(CompletableFuture.completedFuture(result));
         when(notificationDtoMapper.toNotificationResponseDto(result)).thenReturn(expectedResponse);
 
-        NotificationResponseDto response = notificationHandler.sendOrderReadyNotification(requestDto);
+        NotificationResponseDto response = notificationHandler.sendOrderReadyNotificationAsync(requestDto, null).join();
 
         assertThat(response).isNotNull();
         assertThat(response.isSuccess()).isTrue();
         assertThat(response.getMessageId()).isEqualTo("MSG123");
 
         verify(notificationDtoMapper).toNotificationMessage(requestDto);
-        verify(notificationServicePort).sendOrderReadyNotification(message);
+        verify(notificationServicePort).sendOrderReadyNotificationAsync(message);
         verify(notificationDtoMapper).toNotificationResponseDto(result);
+        assertThat(meterRegistry.get("notification.stage.duration").tag("stage", "mapping").timer().count())
+                .isEqualTo(2);
+        SimpleSpan span = tracer.onlySpan();
+        assertThat(span.getName()).isEqualTo("notification.order-ready");
+        assertThat(span.getTags()).containsEntry("order.id", "123").containsEntry("twilio.message.sid", "MSG123");
+    }
+
+    @Test
+    @DisplayName("Should accept order ready notification and return tracking")
+    void shouldAcceptOrderReadyNotification() {
+        OrderReadyNotificationRequestDto requestDto = new OrderReadyNotificationRequestDto(
+                "+573001234567",
+                "123",
+                "456789",
+                "Mi Restaurante"
+        );
+        NotificationMessage message = new NotificationMessage();
+        NotificationTracking tracking = NotificationTracking.builder()
+                .trackingId("TRK1")
+                .status(NotificationStatus.PENDING)
+                .build();
+        NotificationTrackingResponseDto expectedResponse = NotificationTrackingResponseDto.builder()
+                .trackingId("TRK1")
+                .status("PENDING")
+                .build();
+
+        when(notificationDtoMapper.toNotificationMessage(requestDto)).thenReturn(message);
+        when(notificationServicePort.acceptOrderReadyNotification(message)).thenReturn(tracking);
+        when(notificationDtoMapper.toNotificationTrackingResponseDto(tracking)).thenReturn(expectedResponse);
+
+        NotificationTrackingResponseDto response = notificationHandler.acceptOrderReadyNotification(requestDto);
+
+        assertThat(response.getTrackingId()).isEqualTo("TRK1");
+        assertThat(response.getStatus()).isEqualTo("PENDING");
+        verify(notificationServicePort).acceptOrderReadyNotification(message);
+    }
+
+    @Test
+    @DisplayName("Should return notification tracking by ID")
+    void shouldReturnNotificationTrackingById() {
+        NotificationTracking tracking = NotificationTracking.builder()
+                .trackingId("TRK1")
+                .status(NotificationStatus.SENT)
+                .result(NotificationResult.success("MSG123"))
+                .build();
+        NotificationTrackingResponseDto expectedResponse = NotificationTrackingResponseDto.builder()
+                .trackingId("TRK1")
+                .status("SENT")
+                .messageId("MSG123")
+                .build();
+
+        when(notificationServicePort.getNotificationTracking("TRK1")).thenReturn(tracking);
+        when(notificationDtoMapper.toNotificationTrackingResponseDto(tracking)).thenReturn(expectedResponse);
+
+        NotificationTrackingResponseDto response = notificationHandler.getNotificationTracking("TRK1");
+
+        assertThat(response.getStatus()).isEqualTo("SENT");
+        assertThat(response.getMessageId()).isEqualTo("MSG123");
+    }
+
+    @Test
+    @DisplayName("Should send a batch of order ready notifications")
+    void shouldSendBatchOfOrderReadyNotifications() {
+        List<OrderReadyNotificationRequestDto> requestDtos = List.of(
+                new OrderReadyNotificationRequestDto("+573001234567", "123", "456789", "Mi Restaurante"),
+                new OrderReadyNotificationRequestDto("+573009876543", "124", "111222", "Mi Restaurante")
+        );
+        List<NotificationMessage> messages = List.of(new NotificationMessage(), new NotificationMessage());
+        List<NotificationResult> results = List.of(
+                NotificationResult.success("MSG1"),
+                NotificationResult.failure("Invalid phone number format."));
+        List<NotificationResponseDto> expectedResponses = List.of(
+                NotificationResponseDto.builder().success(true).messageId("MSG1").build(),
+                NotificationResponseDto.builder().success(false).message("Invalid phone number format.").build());
+
+        when(notificationDtoMapper.toNotificationMessages(requestDtos)).thenReturn(messages);
+        when(notificationServicePort.sendOrderReadyNotifications(messages)).thenReturn(results);
+        when(notificationDtoMapper.toNotificationResponseDtos(results)).thenReturn(expectedResponses);
+
+        List<NotificationResponseDto> responses = notificationHandler.sendOrderReadyNotifications(
+                new OrderReadyBatchNotificationRequestDto(requestDtos));
+
+        assertThat(responses).isSameAs(expectedResponses);
+        verify(notificationServicePort).sendOrderReadyNotifications(messages);
+    }
+
+    @Test
+    @DisplayName("Should send order ready notification without blocking")
+    void shouldSendOrderReadyNotificationAsync() {
+        OrderReadyNotificationRequestDto requestDto = new OrderReadyNotificationRequestDto(
+                "+573001234567",
+                "123",
+                "456789",
+                "Mi Restaurante"
+        );
+        NotificationMessage message = new NotificationMessage();
+        NotificationResult result = NotificationResult.success("MSG123");
+        NotificationResponseDto expectedResponse = NotificationResponseDto.builder()
+                .success(true)
+                .messageId("MSG123")
+                .build();
+
+        when(notificationDtoMapper.toNotificationMessage(requestDto)).thenReturn(message);
+        when(notificationServicePort.sendOrderReadyNotificationAsync(message))
+                .thenReturn(CompletableFuture.completedFuture(result));
+        when(notificationDtoMapper.toNotificationResponseDto(result)).thenReturn(expectedResponse);
+
+        NotificationResponseDto response = notificationHandler.sendOrderReadyNotificationAsync(requestDto, "retry-key").join();
+
+        assertThat(response).isSameAs(expectedResponse);
+        assertThat(message.getIdempotencyKey()).isEqualTo("retry-key");
+    }
+
+    @Test
+    @DisplayName("Should end the use case span with the error code once the async send completes")
+    void shouldTagAsyncSpanWithErrorCode() {
+        OrderReadyNotificationRequestDto requestDto = new OrderReadyNotificationRequestDto(
+                "+573001234567",
+                "123",
+                "456789",
+                "Mi Restaurante"
+        );
+        NotificationMessage message = new NotificationMessage();
+        message.setOrderId("123");
+        NotificationResult result = NotificationResult.failure("Invalid phone number", "21211");
+        CompletableFuture<NotificationResult> pending = new CompletableFuture<>();
+
+        when(notificationDtoMapper.toNotificationMessage(requestDto)).thenReturn(message);
+        when(notificationServicePort.sendOrderReadyNotificationAsync(message)).thenReturn(pending);
+        when(notificationDtoMapper.toNotificationResponseDto(result)).thenReturn(new NotificationResponseDto());
+
+        CompletableFuture<NotificationResponseDto> response = notificationHandler.sendOrderReadyNotificationAsync(requestDto, null);
+        assertThat(tracer.lastSpan().getTags()).doesNotContainKey("notification.success");
+
+        pending.complete(result);
+        response.join();
+
+        assertThat(tracer.onlySpan().getTags())
+                .containsEntry("notification.success", "false")
+                .containsEntry("error.code", "21211");
     }
 }
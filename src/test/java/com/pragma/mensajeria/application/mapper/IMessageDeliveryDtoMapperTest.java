@@ -0,0 +1,33 @@
+package com.pragma.mensajeria.application.mapper;
+
+import com.pragma.mensajeria.application.dto.MessageDeliveryResponseDto;
+import com.pragma.mensajeria.domain.model.DeliveryStatus;
+import com.pragma.mensajeria.domain.model.MessageDelivery;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mapstruct.factory.Mappers;
+
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Message Delivery DTO Mapper Tests")
+class IMessageDeliveryDtoMapperTest {
+
+    private final IMessageDeliveryDtoMapper messageDeliveryDtoMapper = Mappers.getMapper(IMessageDeliveryDtoMapper.class);
+
+    @Test
+    @DisplayName("Should map MessageDelivery to MessageDeliveryResponseDto")
+    void shouldMapMessageDeliveryToResponseDto() {
+        Instant updatedAt = Instant.now();
+        MessageDelivery delivery = new MessageDelivery("SM1", "123", DeliveryStatus.UNDELIVERED, "30003", updatedAt);
+
+        MessageDeliveryResponseDto responseDto = messageDeliveryDtoMapper.toMessageDeliveryResponseDto(delivery);
+
+        assertThat(responseDto.getMessageId()).isEqualTo("SM1");
+        assertThat(responseDto.getOrderId()).isEqualTo("123");
+        assertThat(responseDto.getStatus()).isEqualTo("UNDELIVERED");
+        assertThat(responseDto.getErrorCode()).isEqualTo("30003");
+        assertThat(responseDto.getUpdatedAt()).isEqualTo(updatedAt);
+    }
+}
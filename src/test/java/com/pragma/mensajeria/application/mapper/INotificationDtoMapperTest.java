@@ -1,14 +1,19 @@
 package com.pragma.mensajeria.application.mapper;
 
 import com.pragma.mensajeria.application.dto.NotificationResponseDto;
+import com.pragma.mensajeria.application.dto.NotificationTrackingResponseDto;
 import com.pragma.mensajeria.application.dto.OrderReadyNotificationRequestDto;
 import com.pragma.mensajeria.domain.model.NotificationMessage;
 import com.pragma.mensajeria.domain.model.NotificationResult;
+import com.pragma.mensajeria.domain.model.NotificationStatus;
+import com.pragma.mensajeria.domain.model.NotificationTracking;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 
+import java.time.Instant;
+
 import static org.assertj.core.api.Assertions.assertThat;
 
 @SpringBootTest
@@ -174,4 +179,46 @@ class INotificationDtoMapperTest {
         // Assert
         assertThat(notificationDtoMapper).isNotNull();
     }
+
+    @Test
+    @DisplayName("Should map completed NotificationTracking to NotificationTrackingResponseDto")
+    void shouldMapCompletedNotificationTracking() {
+        // Arrange
+        Instant acceptedAt = Instant.now();
+        NotificationTracking tracking = NotificationTracking.builder()
+                .trackingId("TRK1")
+                .status(NotificationStatus.FAILED)
+                .result(NotificationResult.builder().errorMessage(ERROR_MESSAGE).attempts(3).build())
+                .acceptedAt(acceptedAt)
+                .completedAt(acceptedAt)
+                .build();
+
+        // Act
+        NotificationTrackingResponseDto response = notificationDtoMapper.toNotificationTrackingResponseDto(tracking);
+
+        // Assert
+        assertThat(response.getTrackingId()).isEqualTo("TRK1");
+        assertThat(response.getStatus()).isEqualTo("FAILED");
+        assertThat(response.getMessage()).isEqualTo(ERROR_MESSAGE);
+        assertThat(response.getAttempts()).isEqualTo(3);
+        assertThat(response.getAcceptedAt()).isEqualTo(acceptedAt);
+    }
+
+    @Test
+    @DisplayName("Should map pending NotificationTracking without result")
+    void shouldMapPendingNotificationTracking() {
+        // Arrange
+        NotificationTracking tracking = NotificationTracking.builder()
+                .trackingId("TRK2")
+                .status(NotificationStatus.PENDING)
+                .build();
+
+        // Act
+        NotificationTrackingResponseDto response = notificationDtoMapper.toNotificationTrackingResponseDto(tracking);
+
+        // Assert
+        assertThat(response.getStatus()).isEqualTo("PENDING");
+        assertThat(response.getMessageId()).isNull();
+        assertThat(response.getMessage()).isNull();
+    }
 }
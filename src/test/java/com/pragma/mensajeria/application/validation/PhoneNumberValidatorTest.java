@@ -0,0 +1,29 @@
+package com.pragma.mensajeria.application.validation;
+
+import com.pragma.mensajeria.domain.model.PhoneNumberNormalizer;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PhoneNumberValidatorTest {
+
+    private final PhoneNumberValidator validator = new PhoneNumberValidator(new PhoneNumberNormalizer(57, 10));
+
+    @Test
+    void isValid_ShouldAcceptInternationalAndNationalNumbers() {
+        assertTrue(validator.isValid("+573001234567", null));
+        assertTrue(validator.isValid("300 123 4567", null));
+    }
+
+    @Test
+    void isValid_ShouldRejectMalformedNumbers() {
+        assertFalse(validator.isValid("123-invalid", null));
+        assertFalse(validator.isValid("+99912345678", null));
+    }
+
+    @Test
+    void isValid_ShouldLeaveMissingNumbersToNotBlank() {
+        assertTrue(validator.isValid(null, null));
+        assertTrue(validator.isValid("  ", null));
+    }
+}
@@ -0,0 +1,44 @@
+package com.pragma.mensajeria.domain.model;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Country Calling Codes Tests")
+class CountryCallingCodesTest {
+
+    @Test
+    @DisplayName("Should find one, two and three digit codes at the start of a number")
+    void shouldFindCodesOfEveryLength() {
+        assertThat(CountryCallingCodes.prefixLength(12025550123L, 11)).isEqualTo(1);
+        assertThat(CountryCallingCodes.prefixLength(573001234567L, 12)).isEqualTo(2);
+        assertThat(CountryCallingCodes.prefixLength(593991234567L, 12)).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Should return 0 for spare codes")
+    void shouldRejectUnassignedCodes() {
+        assertThat(CountryCallingCodes.prefixLength(2801234567L, 10)).isZero();
+        assertThat(CountryCallingCodes.prefixLength(8011234567L, 10)).isZero();
+        assertThat(CountryCallingCodes.prefixLength(9991234567L, 10)).isZero();
+    }
+
+    @Test
+    @DisplayName("Should only match codes within the number's digits")
+    void shouldRespectDigitCount() {
+        assertThat(CountryCallingCodes.prefixLength(35, 2)).isZero();
+        assertThat(CountryCallingCodes.prefixLength(353, 3)).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Should tell whether a code is assigned")
+    void shouldTellAssignedCodes() {
+        assertThat(CountryCallingCodes.isAssigned(57)).isTrue();
+        assertThat(CountryCallingCodes.isAssigned(1)).isTrue();
+        assertThat(CountryCallingCodes.isAssigned(998)).isTrue();
+        assertThat(CountryCallingCodes.isAssigned(5)).isFalse();
+        assertThat(CountryCallingCodes.isAssigned(570)).isFalse();
+        assertThat(CountryCallingCodes.isAssigned(1000)).isFalse();
+    }
+}
@@ -0,0 +1,66 @@
+package com.pragma.mensajeria.domain.model;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("E164 Tests")
+class E164Test {
+
+    @Test
+    @DisplayName("Should parse and format a number unchanged")
+    void shouldRoundTrip() {
+        long packed = E164.parse("+573001234567");
+
+        assertThat(E164.isValid(packed)).isTrue();
+        assertThat(E164.format(packed)).isEqualTo("+573001234567");
+        assertThat(E164.countryCode(packed)).isEqualTo(57);
+        assertThat(E164.nationalNumber(packed)).isEqualTo(3001234567L);
+    }
+
+    @Test
+    @DisplayName("Should keep zeros that follow the country code")
+    void shouldKeepZerosAfterCountryCode() {
+        long packed = E164.parse("+390612345678");
+
+        assertThat(E164.format(packed)).isEqualTo("+390612345678");
+        assertThat(E164.countryCode(packed)).isEqualTo(39);
+        assertThat(E164.nationalNumber(packed)).isEqualTo(612345678L);
+    }
+
+    @Test
+    @DisplayName("Should accept the longest E.164 number")
+    void shouldAcceptFifteenDigits() {
+        long packed = E164.parse("+998999999999999");
+
+        assertThat(E164.format(packed)).isEqualTo("+998999999999999");
+        assertThat(E164.countryCode(packed)).isEqualTo(998);
+    }
+
+    @Test
+    @DisplayName("Should reject anything outside the strict +digits form")
+    void shouldRejectMalformedNumbers() {
+        assertThat(E164.parse(null)).isEqualTo(E164.INVALID);
+        assertThat(E164.parse("573001234567")).isEqualTo(E164.INVALID);
+        assertThat(E164.parse("+57 3001234567")).isEqualTo(E164.INVALID);
+        assertThat(E164.parse("123-invalid")).isEqualTo(E164.INVALID);
+        assertThat(E164.parse("+0573001234567")).isEqualTo(E164.INVALID);
+        assertThat(E164.parse("+5730012345678901")).isEqualTo(E164.INVALID);
+        assertThat(E164.parse("+571234")).isEqualTo(E164.INVALID);
+    }
+
+    @Test
+    @DisplayName("Should reject numbers whose country code is not assigned")
+    void shouldRejectUnassignedCountryCode() {
+        assertThat(E164.parse("+2801234567")).isEqualTo(E164.INVALID);
+    }
+
+    @Test
+    @DisplayName("Should refuse to format an unset or invalid number")
+    void shouldNotFormatInvalidNumber() {
+        assertThat(E164.isValid(0)).isFalse();
+        assertThatThrownBy(() -> E164.format(E164.INVALID)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
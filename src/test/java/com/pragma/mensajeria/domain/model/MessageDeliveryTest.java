@@ -0,0 +1,46 @@
+package com.pragma.mensajeria.domain.model;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Message Delivery Tests")
+class MessageDeliveryTest {
+
+    @Test
+    @DisplayName("Should map Twilio status names to delivery statuses")
+    void shouldMapProviderStatuses() {
+        assertThat(DeliveryStatus.fromProvider("delivered")).contains(DeliveryStatus.DELIVERED);
+        assertThat(DeliveryStatus.fromProvider(" Undelivered ")).contains(DeliveryStatus.UNDELIVERED);
+        assertThat(DeliveryStatus.fromProvider("received")).isEmpty();
+        assertThat(DeliveryStatus.fromProvider(null)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should advance status and keep the order ID from acceptance")
+    void shouldAdvanceStatusAndKeepOrderId() {
+        Instant updatedAt = Instant.now();
+        MessageDelivery update = new MessageDelivery("SM1", null, DeliveryStatus.UNDELIVERED, "30003", updatedAt);
+
+        MessageDelivery merged = MessageDelivery.accepted("SM1", "123").mergedWith(update);
+
+        assertThat(merged.getOrderId()).isEqualTo("123");
+        assertThat(merged.getStatus()).isEqualTo(DeliveryStatus.UNDELIVERED);
+        assertThat(merged.getErrorCode()).isEqualTo("30003");
+        assertThat(merged.getUpdatedAt()).isEqualTo(updatedAt);
+    }
+
+    @Test
+    @DisplayName("Should ignore a late callback for an earlier status")
+    void shouldIgnoreLateCallback() {
+        MessageDelivery delivered = new MessageDelivery("SM1", null, DeliveryStatus.DELIVERED, null, Instant.now());
+
+        MessageDelivery merged = delivered.mergedWith(MessageDelivery.accepted("SM1", "123"));
+
+        assertThat(merged.getStatus()).isEqualTo(DeliveryStatus.DELIVERED);
+        assertThat(merged.getOrderId()).isEqualTo("123");
+    }
+}
@@ -0,0 +1,93 @@
+package com.pragma.mensajeria.domain.model;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("Message Template Tests")
+class MessageTemplateTest {
+
+    private static final Map<String, Function<? super NotificationMessage, String>> RESOLVERS = Map.of(
+            "orderId", NotificationMessage::getOrderId,
+            "restaurantName", NotificationMessage::getRestaurantName,
+            "securityPin", NotificationMessage::getSecurityPin
+    );
+
+    @Test
+    @DisplayName("Should render the same text as String.format")
+    void shouldRenderSameTextAsStringFormat() {
+        // Arrange
+        MessageTemplate<NotificationMessage> template = MessageTemplate.compile(
+                "Order #{orderId} at {restaurantName}. PIN: {securityPin}.", RESOLVERS);
+        NotificationMessage message = new NotificationMessage("+573001234567", null, "123", "456789", "Mi Restaurante");
+
+        // Act
+        String rendered = template.render(message);
+
+        // Assert
+        assertThat(rendered).isEqualTo(String.format("Order #%s at %s. PIN: %s.", "123", "Mi Restaurante", "456789"));
+        assertThat(template.getPlaceholderNames()).containsExactly("orderId", "restaurantName", "securityPin");
+        assertThat(template.getLiteralLength()).isEqualTo("Order # at . PIN: .".length());
+    }
+
+    @Test
+    @DisplayName("Should render placeholders at the edges and null values like String.format")
+    void shouldRenderEdgePlaceholdersAndNullValues() {
+        MessageTemplate<NotificationMessage> template = MessageTemplate.compile("{orderId}{securityPin}", RESOLVERS);
+        NotificationMessage message = new NotificationMessage("+573001234567", null, "123", null, "Mi Restaurante");
+
+        assertThat(template.render(message)).isEqualTo("123null");
+    }
+
+    @Test
+    @DisplayName("Should call each resolver once per render")
+    void shouldCallEachResolverOncePerRender() {
+        AtomicInteger calls = new AtomicInteger();
+        Function<? super NotificationMessage, String> counting = message -> {
+            calls.incrementAndGet();
+            return message.getOrderId();
+        };
+        MessageTemplate<NotificationMessage> template = MessageTemplate.compile("Order #{orderId}", Map.of("orderId", counting));
+
+        String rendered = template.render(new NotificationMessage("+573001234567", null, "123", "456789", "Mi Restaurante"));
+
+        assertThat(rendered).isEqualTo("Order #123");
+        assertThat(calls).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("Should render a template without placeholders")
+    void shouldRenderTemplateWithoutPlaceholders() {
+        MessageTemplate<NotificationMessage> template = MessageTemplate.compile("Static text", RESOLVERS);
+
+        assertThat(template.render(new NotificationMessage())).isEqualTo("Static text");
+        assertThat(template.getPlaceholderNames()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should reject unknown placeholders at compile time")
+    void shouldRejectUnknownPlaceholders() {
+        assertThatThrownBy(() -> MessageTemplate.compile("Hi {customerName}", RESOLVERS))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Unknown placeholder {customerName}");
+    }
+
+    @Test
+    @DisplayName("Should reject malformed placeholders at compile time")
+    void shouldRejectMalformedPlaceholders() {
+        assertThatThrownBy(() -> MessageTemplate.compile("Order {orderId", RESOLVERS))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Unclosed placeholder");
+        assertThatThrownBy(() -> MessageTemplate.compile("Order orderId}", RESOLVERS))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Unmatched '}'");
+        assertThatThrownBy(() -> MessageTemplate.compile(null, RESOLVERS))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
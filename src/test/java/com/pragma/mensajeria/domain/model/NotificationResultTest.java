@@ -263,4 +263,30 @@ class NotificationResultTest {
         assertThat(result.getMessageId()).isNull();
         assertThat(result.getErrorMessage()).isEqualTo(ERROR_MESSAGE);
     }
+
+    @Test
+    @DisplayName("Should default to a single attempt without error code")
+    void shouldDefaultToSingleAttemptWithoutErrorCode() {
+        // Act
+        NotificationResult result = NotificationResult.success(SUCCESS_MESSAGE_ID);
+        NotificationResult built = NotificationResult.builder().success(true).build();
+
+        // Assert
+        assertThat(result.getAttempts()).isEqualTo(1);
+        assertThat(result.getErrorCode()).isNull();
+        assertThat(built.getAttempts()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should create failed NotificationResult with error code")
+    void shouldCreateFailedNotificationResultWithErrorCode() {
+        // Act
+        NotificationResult result = NotificationResult.failure(ERROR_MESSAGE, "20429");
+
+        // Assert
+        assertThat(result.isSuccess()).isFalse();
+        assertThat(result.getErrorMessage()).isEqualTo(ERROR_MESSAGE);
+        assertThat(result.getErrorCode()).isEqualTo("20429");
+        assertThat(result.getAttempts()).isEqualTo(1);
+    }
 }
@@ -0,0 +1,69 @@
+package com.pragma.mensajeria.domain.model;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("Phone Number Normalizer Tests")
+class PhoneNumberNormalizerTest {
+
+    private final PhoneNumberNormalizer normalizer = new PhoneNumberNormalizer(57, 10);
+
+    @Test
+    @DisplayName("Should normalize the common ways of writing the same number")
+    void shouldNormalizeFormattingVariants() {
+        assertThat(format("+573001234567")).isEqualTo("+573001234567");
+        assertThat(format("+57 300 123 4567")).isEqualTo("+573001234567");
+        assertThat(format("0057-300-123-4567")).isEqualTo("+573001234567");
+        assertThat(format("(300) 123.4567")).isEqualTo("+573001234567");
+        assertThat(format("573001234567")).isEqualTo("+573001234567");
+    }
+
+    @Test
+    @DisplayName("Should keep foreign numbers written with an international prefix")
+    void shouldKeepForeignNumbers() {
+        assertThat(format("+1 (202) 555-0123")).isEqualTo("+12025550123");
+        assertThat(format("0034 612 345 678")).isEqualTo("+34612345678");
+    }
+
+    @Test
+    @DisplayName("Should reject numbers that are neither international nor national")
+    void shouldRejectAmbiguousNumbers() {
+        assertThat(normalizer.isValid("6012345")).isFalse();
+        assertThat(normalizer.isValid("0300123456")).isFalse();
+        assertThat(normalizer.isValid("343001234567")).isFalse();
+        assertThat(normalizer.isValid("000573001234567")).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should reject letters, misplaced plus signs and oversized input")
+    void shouldRejectMalformedInput() {
+        assertThat(normalizer.isValid(null)).isFalse();
+        assertThat(normalizer.isValid("")).isFalse();
+        assertThat(normalizer.isValid("123-invalid")).isFalse();
+        assertThat(normalizer.isValid("57+3001234567")).isFalse();
+        assertThat(normalizer.isValid("++573001234567")).isFalse();
+        assertThat(normalizer.isValid("+57300123456789012345")).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should use the configured default country for national numbers")
+    void shouldUseConfiguredDefaultCountry() {
+        PhoneNumberNormalizer mexico = new PhoneNumberNormalizer(52, 10);
+
+        assertThat(E164.format(mexico.normalize("55 1234 5678"))).isEqualTo("+525512345678");
+    }
+
+    @Test
+    @DisplayName("Should refuse an unknown default country or a national length that overflows E.164")
+    void shouldValidateConfiguration() {
+        assertThatThrownBy(() -> new PhoneNumberNormalizer(999, 10)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new PhoneNumberNormalizer(57, 14)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private String format(String phoneNumber) {
+        return E164.format(normalizer.normalize(phoneNumber));
+    }
+}
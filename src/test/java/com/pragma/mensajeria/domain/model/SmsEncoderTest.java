@@ -0,0 +1,70 @@
+package com.pragma.mensajeria.domain.model;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("SMS Encoder Tests")
+class SmsEncoderTest {
+
+    private final SmsEncoder encoder = new SmsEncoder(true);
+
+    @Test
+    @DisplayName("Should keep GSM-7 text untouched and count 160 septets per single segment")
+    void shouldKeepGsm7TextAndCountSingleSegment() {
+        EncodedSms encoded = encoder.encode("a".repeat(160));
+
+        assertThat(encoded.getEncoding()).isEqualTo(SmsEncoding.GSM_7);
+        assertThat(encoded.getSegments()).isEqualTo(1);
+        assertThat(encoder.encode("a".repeat(161)).getSegments()).isEqualTo(2);
+        assertThat(encoder.encode("a".repeat(307)).getSegments()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Should count extension table characters as two septets")
+    void shouldCountExtensionCharactersAsTwoSeptets() {
+        assertThat(SmsEncoder.countGsm7Septets("€[]")).isEqualTo(6);
+        assertThat(encoder.encode("€".repeat(81)).getSegments()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should accept accented characters that belong to the GSM-7 alphabet")
+    void shouldAcceptGsm7AccentedCharacters() {
+        EncodedSms encoded = encoder.encode("Café Olé Ñ ü à");
+
+        assertThat(encoded.getEncoding()).isEqualTo(SmsEncoding.GSM_7);
+        assertThat(encoded.getText()).isEqualTo("Café Olé Ñ ü à");
+    }
+
+    @Test
+    @DisplayName("Should transliterate non GSM-7 characters")
+    void shouldTransliterateNonGsm7Characters() {
+        EncodedSms encoded = encoder.encode("Cafetería “Ñandú” – Ação…");
+
+        assertThat(encoded.getEncoding()).isEqualTo(SmsEncoding.GSM_7);
+        assertThat(encoded.getText()).isEqualTo("Cafeteria \"Ñandu\" - Acao...");
+    }
+
+    @Test
+    @DisplayName("Should fall back to UCS-2 with the original text when transliteration is not enough")
+    void shouldFallBackToUcs2WithOriginalText() {
+        String text = "Pedido listo en 東京 Cafetería";
+
+        EncodedSms encoded = encoder.encode(text);
+
+        assertThat(encoded.getEncoding()).isEqualTo(SmsEncoding.UCS_2);
+        assertThat(encoded.getText()).isEqualTo(text);
+        assertThat(encoded.getSegments()).isEqualTo(1);
+        assertThat(encoder.encode("東".repeat(71)).getSegments()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should not transliterate when disabled")
+    void shouldNotTransliterateWhenDisabled() {
+        EncodedSms encoded = new SmsEncoder(false).encode("Cafetería");
+
+        assertThat(encoded.getEncoding()).isEqualTo(SmsEncoding.UCS_2);
+        assertThat(encoded.getText()).isEqualTo("Cafetería");
+    }
+}
@@ -0,0 +1,42 @@
+package com.pragma.mensajeria.domain.spi;
+
+import com.pragma.mensajeria.domain.model.NotificationResult;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("SMS Messaging Port Tests")
+class ISmsMessagingPortTest {
+
+    @Test
+    @DisplayName("Should bridge blocking adapters onto a virtual thread")
+    void shouldBridgeBlockingAdaptersOntoVirtualThread() {
+        AtomicBoolean virtual = new AtomicBoolean();
+        ISmsMessagingPort blockingPort = (phoneNumber, message) -> {
+            virtual.set(Thread.currentThread().isVirtual());
+            return NotificationResult.success("MSG123");
+        };
+
+        NotificationResult result = blockingPort.sendSmsAsync("+573001234567", "hello").join();
+
+        assertThat(result.getMessageId()).isEqualTo("MSG123");
+        assertThat(virtual).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should complete exceptionally when the blocking adapter throws")
+    void shouldCompleteExceptionallyWhenBlockingAdapterThrows() {
+        ISmsMessagingPort failingPort = (phoneNumber, message) -> {
+            throw new IllegalStateException("boom");
+        };
+
+        assertThatThrownBy(() -> failingPort.sendSmsAsync("+573001234567", "hello").join())
+                .isInstanceOf(CompletionException.class)
+                .hasCauseInstanceOf(IllegalStateException.class);
+    }
+}
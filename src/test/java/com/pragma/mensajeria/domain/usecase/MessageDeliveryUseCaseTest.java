@@ -0,0 +1,89 @@
+package com.pragma.mensajeria.domain.usecase;
+
+import com.pragma.mensajeria.domain.exception.NotificationNotFoundException;
+import com.pragma.mensajeria.domain.model.DeliveryStatus;
+import com.pragma.mensajeria.domain.model.MessageDelivery;
+import com.pragma.mensajeria.domain.spi.IMessageDeliveryPersistencePort;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Message Delivery Use Case Tests")
+class MessageDeliveryUseCaseTest {
+
+    @Mock
+    private IMessageDeliveryPersistencePort messageDeliveryPersistencePort;
+
+    @InjectMocks
+    private MessageDeliveryUseCase messageDeliveryUseCase;
+
+    @Test
+    @DisplayName("Should merge a known provider status into the store")
+    void shouldMergeKnownStatus() {
+        messageDeliveryUseCase.recordStatusUpdate("SM1", "undelivered", "30003");
+
+        ArgumentCaptor<MessageDelivery> captor = ArgumentCaptor.forClass(MessageDelivery.class);
+        verify(messageDeliveryPersistencePort).merge(captor.capture());
+        assertThat(captor.getValue().getMessageId()).isEqualTo("SM1");
+        assertThat(captor.getValue().getStatus()).isEqualTo(DeliveryStatus.UNDELIVERED);
+        assertThat(captor.getValue().getErrorCode()).isEqualTo("30003");
+        assertThat(captor.getValue().getUpdatedAt()).isNotNull();
+    }
+
+    @Test
+    @DisplayName("Should drop blank error codes")
+    void shouldDropBlankErrorCode() {
+        messageDeliveryUseCase.recordStatusUpdate("SM1", "delivered", "");
+
+        ArgumentCaptor<MessageDelivery> captor = ArgumentCaptor.forClass(MessageDelivery.class);
+        verify(messageDeliveryPersistencePort).merge(captor.capture());
+        assertThat(captor.getValue().getErrorCode()).isNull();
+    }
+
+    @Test
+    @DisplayName("Should ignore statuses outside the outbound lifecycle")
+    void shouldIgnoreUnknownStatus() {
+        messageDeliveryUseCase.recordStatusUpdate("SM1", "receiving", null);
+
+        verify(messageDeliveryPersistencePort, never()).merge(any());
+    }
+
+    @Test
+    @DisplayName("Should reject updates without a message SID")
+    void shouldRejectMissingMessageId() {
+        assertThatThrownBy(() -> messageDeliveryUseCase.recordStatusUpdate(" ", "delivered", null))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("Should throw when the delivery status is unknown")
+    void shouldThrowWhenDeliveryIsUnknown() {
+        when(messageDeliveryPersistencePort.findByMessageId("SM404")).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> messageDeliveryUseCase.getByMessageId("SM404"))
+                .isInstanceOf(NotificationNotFoundException.class)
+                .hasMessage("Delivery status not found: SM404");
+    }
+
+    @Test
+    @DisplayName("Should return deliveries of an order")
+    void shouldReturnDeliveriesOfOrder() {
+        List<MessageDelivery> deliveries = List.of(MessageDelivery.accepted("SM1", "123"));
+        when(messageDeliveryPersistencePort.findByOrderId("123")).thenReturn(deliveries);
+
+        assertThat(messageDeliveryUseCase.getByOrderId("123")).isEqualTo(deliveries);
+    }
+}
@@ -1,22 +1,61 @@
 package com.pragma.mensajeria.domain.usecase;
 
+import com.pragma.mensajeria.domain.exception.InvalidPhoneNumberException;
+import com.pragma.mensajeria.domain.exception.NotificationDispatchException;
+import com.pragma.mensajeria.domain.exception.NotificationNotFoundException;
+import com.pragma.mensajeria.domain.model.DeliveryStatus;
+import com.pragma.mensajeria.domain.model.E164;
+import com.pragma.mensajeria.domain.model.MessageDelivery;
 import com.pragma.mensajeria.domain.model.NotificationMessage;
+import com.pragma.mensajeria.domain.model.NotificationOutboxEntry;
 import com.pragma.mensajeria.domain.model.NotificationResult;
+import com.pragma.mensajeria.domain.model.NotificationStatus;
+import com.pragma.mensajeria.domain.model.NotificationTracking;
+import com.pragma.mensajeria.domain.model.NotificationType;
+import com.pragma.mensajeria.domain.model.PhoneNumberNormalizer;
+import com.pragma.mensajeria.domain.model.SmsEncoder;
+import com.pragma.mensajeria.domain.spi.IMessageDeliveryPersistencePort;
+import com.pragma.mensajeria.domain.spi.INotificationCoalescingPort;
+import com.pragma.mensajeria.domain.spi.INotificationDispatchPort;
+import com.pragma.mensajeria.domain.spi.INotificationIdempotencyPort;
+import com.pragma.mensajeria.domain.spi.INotificationMetricsPort;
+import com.pragma.mensajeria.domain.spi.INotificationOutboxPort;
+import com.pragma.mensajeria.domain.spi.INotificationTrackingPersistencePort;
+import com.pragma.mensajeria.domain.spi.ISmsFailureClassifierPort;
 import com.pragma.mensajeria.domain.spi.ISmsMessagingPort;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
-import org.mockito.InjectMocks;
+import org.mockito.InOrder;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -26,13 +65,51 @@ class NotificationUseCaseTest {
     @Mock
     private ISmsMessagingPort smsMessagingPort;
 
-    @InjectMocks
+    @Mock
+    private INotificationTrackingPersistencePort notificationTrackingPersistencePort;
+
+    @Mock
+    private INotificationDispatchPort notificationDispatchPort;
+
+    @Mock
+    private INotificationOutboxPort notificationOutboxPort;
+
+    @Mock
+    private INotificationIdempotencyPort notificationIdempotencyPort;
+
+    @Spy
+    private SmsEncoder smsEncoder = new SmsEncoder(true);
+
+    @Mock
+    private IMessageDeliveryPersistencePort messageDeliveryPersistencePort;
+
+    @Mock
+    private INotificationCoalescingPort notificationCoalescingPort;
+
+    @Spy
+    private PhoneNumberNormalizer phoneNumberNormalizer = new PhoneNumberNormalizer(57, 10);
+
+    @Mock
+    private INotificationMetricsPort notificationMetricsPort;
+
+    @Mock
+    private ISmsFailureClassifierPort smsFailureClassifierPort;
+
     private NotificationUseCase notificationUseCase;
 
     private static final String PHONE_NUMBER = "+573001234567";
     private static final String ORDER_ID = "123";
     private static final String SECURITY_PIN = "456789";
     private static final String RESTAURANT_NAME = "Mi Restaurante";
+    private static final int MAX_OUTBOX_REPLAYS = 3;
+
+    @BeforeEach
+    void setUp() {
+        notificationUseCase = new NotificationUseCase(smsMessagingPort, notificationTrackingPersistencePort,
+                notificationDispatchPort, notificationOutboxPort, notificationIdempotencyPort, smsEncoder,
+                messageDeliveryPersistencePort, notificationCoalescingPort, phoneNumberNormalizer,
+                notificationMetricsPort, smsFailureClassifierPort, MAX_OUTBOX_REPLAYS);
+    }
 
     @Nested
     @DisplayName("Send Order Ready Notification - Happy Path")
@@ -56,6 +133,37 @@ class NotificationUseCaseTest {
             verify(smsMessagingPort).sendSms(eq(PHONE_NUMBER), anyString());
         }
 
+        @Test
+        @DisplayName("Should link the provider message ID to the order for delivery callbacks")
+        void shouldRecordAcceptedDeliveryForOrder() {
+            NotificationMessage message = createValidNotificationMessage();
+            when(smsMessagingPort.sendSms(eq(PHONE_NUMBER), anyString()))
+                    .thenReturn(NotificationResult.success("MSG123"));
+
+            notificationUseCase.sendOrderReadyNotification(message);
+
+            ArgumentCaptor<MessageDelivery> captor = ArgumentCaptor.forClass(MessageDelivery.class);
+            verify(messageDeliveryPersistencePort).merge(captor.capture());
+            assertThat(captor.getValue().getMessageId()).isEqualTo("MSG123");
+            assertThat(captor.getValue().getOrderId()).isEqualTo(ORDER_ID);
+            assertThat(captor.getValue().getStatus()).isEqualTo(DeliveryStatus.ACCEPTED);
+        }
+
+        @Test
+        @DisplayName("Should send through the restaurant's own account when it has one")
+        void shouldSendThroughRestaurantAccount() {
+            NotificationMessage message = createValidNotificationMessage();
+            message.setRestaurantId("42");
+
+            when(smsMessagingPort.sendSms(eq("42"), eq(PHONE_NUMBER), anyString()))
+                    .thenReturn(NotificationResult.success("MSG123"));
+
+            NotificationResult result = notificationUseCase.sendOrderReadyNotification(message);
+
+            assertThat(result.getMessageId()).isEqualTo("MSG123");
+            verify(smsMessagingPort, never()).sendSms(eq(PHONE_NUMBER), anyString());
+        }
+
         @Test
         @DisplayName("Should format message with order details")
         void shouldFormatMessageWithOrderDetails() {
@@ -140,6 +248,33 @@ class NotificationUseCaseTest {
             verify(smsMessagingPort, never()).sendSms(anyString(), anyString());
         }
 
+        @Test
+        @DisplayName("Should reject phone numbers that cannot be normalized to E.164")
+        void shouldThrowExceptionWhenPhoneNumberIsMalformed() {
+            NotificationMessage message = createValidNotificationMessage();
+            message.setPhoneNumber("300-CALL-NOW");
+
+            assertThatThrownBy(() -> notificationUseCase.sendOrderReadyNotification(message))
+                    .isInstanceOf(InvalidPhoneNumberException.class)
+                    .hasMessage("Invalid phone number format");
+
+            verify(smsMessagingPort, never()).sendSms(anyString(), anyString());
+        }
+
+        @Test
+        @DisplayName("Should send national numbers in E.164 form and keep the packed number on the message")
+        void shouldNormalizeNationalPhoneNumber() {
+            NotificationMessage message = createValidNotificationMessage();
+            message.setPhoneNumber("(300) 123-4567");
+            when(smsMessagingPort.sendSms(eq(PHONE_NUMBER), anyString()))
+                    .thenReturn(NotificationResult.success("MSG123"));
+
+            notificationUseCase.sendOrderReadyNotification(message);
+
+            assertThat(E164.format(message.getNormalizedPhoneNumber())).isEqualTo(PHONE_NUMBER);
+            verify(smsMessagingPort).sendSms(eq(PHONE_NUMBER), anyString());
+        }
+
         @Test
         @DisplayName("Should throw exception when notification message is null")
         void shouldThrowExceptionWhenNotificationMessageIsNull() {
@@ -335,6 +470,700 @@ class NotificationUseCaseTest {
         }
     }
 
+    @Nested
+    @DisplayName("Send Order Ready Notification - Non-blocking")
+    class SendOrderReadyNotificationAsync {
+
+        @Test
+        @DisplayName("Should compose the asynchronous SMS port")
+        void shouldComposeAsynchronousSmsPort() {
+            NotificationMessage message = createValidNotificationMessage();
+            when(smsMessagingPort.sendSmsAsync(eq(PHONE_NUMBER), anyString()))
+                    .thenReturn(CompletableFuture.completedFuture(NotificationResult.success("MSG123")));
+
+            NotificationResult result = notificationUseCase.sendOrderReadyNotificationAsync(message).join();
+
+            assertThat(result.getMessageId()).isEqualTo("MSG123");
+            verify(smsMessagingPort, never()).sendSms(anyString(), anyString());
+        }
+
+        @Test
+        @DisplayName("Should validate synchronously before sending")
+        void shouldValidateSynchronouslyBeforeSending() {
+            NotificationMessage message = createValidNotificationMessage();
+            message.setRestaurantName(null);
+
+            assertThatThrownBy(() -> notificationUseCase.sendOrderReadyNotificationAsync(message))
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessageContaining("Restaurant name is required");
+
+            verify(smsMessagingPort, never()).sendSmsAsync(anyString(), anyString());
+        }
+    }
+
+    @Nested
+    @DisplayName("Send Order Ready Notification - Coalescing")
+    class SendOrderReadyNotificationCoalescing {
+
+        @Test
+        @DisplayName("Should return the held result without sending on its own")
+        void shouldReturnHeldResult() {
+            NotificationMessage message = createValidNotificationMessage();
+            when(notificationCoalescingPort.hold(eq("+573001234567"), eq(message), any()))
+                    .thenReturn(Optional.of(CompletableFuture.completedFuture(NotificationResult.success("MSG123"))));
+
+            NotificationResult result = notificationUseCase.sendOrderReadyNotificationAsync(message).join();
+
+            assertThat(result.getMessageId()).isEqualTo("MSG123");
+            verify(smsMessagingPort, never()).sendSmsAsync(anyString(), anyString());
+        }
+
+        @Test
+        @DisplayName("Should key coalescing by the normalized phone number")
+        void shouldNormalizePhoneNumberForCoalescingKey() {
+            NotificationMessage message = createValidNotificationMessage();
+            message.setPhoneNumber("0057 300-123 4567");
+            when(smsMessagingPort.sendSms(anyString(), anyString())).thenReturn(NotificationResult.success("MSG123"));
+
+            notificationUseCase.sendOrderReadyNotification(message);
+
+            verify(notificationCoalescingPort).hold(eq("+573001234567"), eq(message), any());
+        }
+
+        @Test
+        @DisplayName("Should merge a held group into one SMS listing every order and PIN")
+        void shouldMergeGroupIntoOneSms() {
+            NotificationMessage first = createValidNotificationMessage();
+            NotificationMessage second = new NotificationMessage(PHONE_NUMBER, null, "124", "111222", "Otro Local");
+            when(smsMessagingPort.sendSmsAsync(eq(PHONE_NUMBER), anyString()))
+                    .thenReturn(CompletableFuture.completedFuture(NotificationResult.success("MSG123")));
+
+            List<NotificationResult> results = sendGroup(first).apply(List.of(first, second)).join();
+
+            ArgumentCaptor<String> text = ArgumentCaptor.forClass(String.class);
+            verify(smsMessagingPort).sendSmsAsync(eq(PHONE_NUMBER), text.capture());
+            assertThat(text.getValue())
+                    .contains("#123 at Mi Restaurante, PIN 456789")
+                    .contains("#124 at Otro Local, PIN 111222");
+            assertThat(results).extracting(NotificationResult::getMessageId).containsExactly("MSG123", "MSG123");
+            verify(messageDeliveryPersistencePort, times(2)).merge(any(MessageDelivery.class));
+        }
+
+        @Test
+        @DisplayName("Should split a group that would exceed the segment budget")
+        void shouldSplitGroupOverSegmentBudget() {
+            List<NotificationMessage> group = IntStream.range(0, 8)
+                    .mapToObj(i -> new NotificationMessage(PHONE_NUMBER, null, "10" + i, "45678" + i, "Restaurante Numero " + i))
+                    .toList();
+            when(smsMessagingPort.sendSmsAsync(eq(PHONE_NUMBER), anyString()))
+                    .thenReturn(CompletableFuture.completedFuture(NotificationResult.success("MSG123")));
+
+            List<NotificationResult> results = sendGroup(group.getFirst()).apply(group).join();
+
+            ArgumentCaptor<String> text = ArgumentCaptor.forClass(String.class);
+            verify(smsMessagingPort, times(2)).sendSmsAsync(eq(PHONE_NUMBER), text.capture());
+            assertThat(text.getAllValues()).allSatisfy(sms -> assertThat(smsEncoder.encode(sms).getSegments()).isLessThanOrEqualTo(2));
+            assertThat(results).hasSize(8);
+        }
+
+        @Test
+        @DisplayName("Should split a group spanning restaurants so each SMS bills to its restaurant's sub-account")
+        void shouldSplitMixedRestaurantGroupByRestaurantAccount() {
+            NotificationMessage first = createValidNotificationMessage();
+            first.setRestaurantId("1");
+            NotificationMessage second = new NotificationMessage(PHONE_NUMBER, null, "124", "111222", "Otro Local");
+            second.setRestaurantId("2");
+            NotificationMessage third = new NotificationMessage(PHONE_NUMBER, null, "125", "333444", RESTAURANT_NAME);
+            third.setRestaurantId("1");
+            when(smsMessagingPort.sendSmsAsync(eq("1"), eq(PHONE_NUMBER), anyString()))
+                    .thenReturn(CompletableFuture.completedFuture(NotificationResult.success("MSG1")));
+            when(smsMessagingPort.sendSmsAsync(eq("2"), eq(PHONE_NUMBER), anyString()))
+                    .thenReturn(CompletableFuture.completedFuture(NotificationResult.success("MSG2")));
+
+            List<NotificationResult> results = sendGroup(first).apply(List.of(first, second, third)).join();
+
+            ArgumentCaptor<String> text = ArgumentCaptor.forClass(String.class);
+            verify(smsMessagingPort).sendSmsAsync(eq("1"), eq(PHONE_NUMBER), text.capture());
+            assertThat(text.getValue()).contains("#123").contains("#125").doesNotContain("#124");
+            verify(smsMessagingPort).sendSmsAsync(eq("2"), eq(PHONE_NUMBER), anyString());
+            verify(smsMessagingPort, never()).sendSmsAsync(eq(PHONE_NUMBER), anyString());
+            assertThat(results).extracting(NotificationResult::getMessageId).containsExactly("MSG1", "MSG2", "MSG1");
+        }
+
+        @Test
+        @DisplayName("Should turn a failed group send into failure results")
+        void shouldTurnGroupSendErrorIntoFailures() {
+            NotificationMessage first = createValidNotificationMessage();
+            NotificationMessage second = new NotificationMessage(PHONE_NUMBER, null, "124", "111222", "Otro Local");
+            when(smsMessagingPort.sendSmsAsync(eq(PHONE_NUMBER), anyString()))
+                    .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("boom")));
+
+            List<NotificationResult> results = sendGroup(first).apply(List.of(first, second)).join();
+
+            assertThat(results).hasSize(2).noneMatch(NotificationResult::isSuccess);
+        }
+
+        // Captures the group sender the use case hands to the coalescing port
+        private Function<List<NotificationMessage>, CompletableFuture<List<NotificationResult>>> sendGroup(
+                NotificationMessage message) {
+            when(notificationCoalescingPort.hold(anyString(), eq(message), any()))
+                    .thenReturn(Optional.of(new CompletableFuture<>()));
+            notificationUseCase.sendOrderReadyNotificationAsync(message);
+            @SuppressWarnings("unchecked")
+            ArgumentCaptor<Function<List<NotificationMessage>, CompletableFuture<List<NotificationResult>>>> captor =
+                    ArgumentCaptor.forClass(Function.class);
+            verify(notificationCoalescingPort).hold(anyString(), eq(message), captor.capture());
+            return captor.getValue();
+        }
+    }
+
+    @Nested
+    @DisplayName("Send Order Ready Notification - Idempotency")
+    class SendOrderReadyNotificationIdempotency {
+
+        @Test
+        @DisplayName("Should return the previous result without sending again")
+        void shouldReturnPreviousResultWithoutSendingAgain() {
+            NotificationMessage message = createValidNotificationMessage();
+            NotificationResult previous = NotificationResult.success("MSG123");
+            when(notificationIdempotencyPort.claim(anyString(), any()))
+                    .thenReturn(Optional.of(CompletableFuture.completedFuture(previous)));
+
+            NotificationResult result = notificationUseCase.sendOrderReadyNotification(message);
+
+            assertThat(result).isSameAs(previous);
+            verify(smsMessagingPort, never()).sendSms(anyString(), anyString());
+        }
+
+        @Test
+        @DisplayName("Should key on order, PIN and phone when no idempotency key is given")
+        void shouldKeyOnOrderPinAndPhoneByDefault() {
+            when(smsMessagingPort.sendSms(eq(PHONE_NUMBER), anyString()))
+                    .thenReturn(NotificationResult.success("MSG123"));
+
+            notificationUseCase.sendOrderReadyNotification(createValidNotificationMessage());
+
+            verify(notificationIdempotencyPort).claim(eq("order:" + ORDER_ID + "|" + SECURITY_PIN + "|" + PHONE_NUMBER), any());
+            verify(notificationIdempotencyPort, never()).release(anyString(), any());
+        }
+
+        @Test
+        @DisplayName("Should prefer the client supplied idempotency key")
+        void shouldPreferClientSuppliedIdempotencyKey() {
+            NotificationMessage message = createValidNotificationMessage();
+            message.setIdempotencyKey("retry-key");
+            when(smsMessagingPort.sendSmsAsync(eq(PHONE_NUMBER), anyString()))
+                    .thenReturn(CompletableFuture.completedFuture(NotificationResult.success("MSG123")));
+
+            notificationUseCase.sendOrderReadyNotificationAsync(message).join();
+
+            verify(notificationIdempotencyPort).claim(eq("key:retry-key"), any());
+        }
+
+        @Test
+        @DisplayName("Should release the key when the send fails so a retry can send again")
+        void shouldReleaseKeyWhenSendFails() {
+            when(smsMessagingPort.sendSms(eq(PHONE_NUMBER), anyString()))
+                    .thenReturn(NotificationResult.failure("Twilio error"));
+
+            NotificationResult result = notificationUseCase.sendOrderReadyNotification(createValidNotificationMessage());
+
+            assertThat(result.isSuccess()).isFalse();
+            verify(notificationIdempotencyPort).release(anyString(), any());
+        }
+
+        @Test
+        @DisplayName("Should release the key and rethrow when the send throws")
+        void shouldReleaseKeyAndRethrowWhenSendThrows() {
+            when(smsMessagingPort.sendSms(eq(PHONE_NUMBER), anyString()))
+                    .thenThrow(new IllegalStateException("boom"));
+
+            assertThatThrownBy(() -> notificationUseCase.sendOrderReadyNotification(createValidNotificationMessage()))
+                    .isInstanceOf(IllegalStateException.class);
+
+            verify(notificationIdempotencyPort).release(anyString(), any());
+        }
+    }
+
+    @Nested
+    @DisplayName("Send Order Ready Notification - SMS Encoding")
+    class SendOrderReadyNotificationEncoding {
+
+        @Test
+        @DisplayName("Should fall back to the short message when it saves a segment")
+        void shouldFallBackToShortMessageWhenItSavesSegment() {
+            NotificationMessage message = createValidNotificationMessage();
+            message.setRestaurantName("Restaurante La Gran Parrilla");
+            ArgumentCaptor<String> messageCaptor = ArgumentCaptor.forClass(String.class);
+            when(smsMessagingPort.sendSms(eq(PHONE_NUMBER), messageCaptor.capture()))
+                    .thenReturn(NotificationResult.success("MSG123"));
+
+            notificationUseCase.sendOrderReadyNotification(message);
+
+            String sent = messageCaptor.getValue();
+            assertThat(SmsEncoder.measure(sent).getSegments()).isEqualTo(1);
+            assertThat(sent).startsWith("Order #" + ORDER_ID).contains(SECURITY_PIN, "Restaurante La Gran Parrilla");
+        }
+
+        @Test
+        @DisplayName("Should transliterate accents so the message stays in GSM-7")
+        void shouldTransliterateAccentsToStayInGsm7() {
+            NotificationMessage message = createValidNotificationMessage();
+            message.setRestaurantName("Cafetería Ñandú");
+            ArgumentCaptor<String> messageCaptor = ArgumentCaptor.forClass(String.class);
+            when(smsMessagingPort.sendSms(eq(PHONE_NUMBER), messageCaptor.capture()))
+                    .thenReturn(NotificationResult.success("MSG123"));
+
+            notificationUseCase.sendOrderReadyNotification(message);
+
+            assertThat(messageCaptor.getValue()).contains("Cafeteria Ñandu");
+            assertThat(SmsEncoder.countGsm7Septets(messageCaptor.getValue())).isPositive();
+        }
+
+        @Test
+        @DisplayName("Should keep the full message when the short one saves nothing")
+        void shouldKeepFullMessageWhenShortOneSavesNothing() {
+            NotificationMessage message = createValidNotificationMessage();
+            message.setRestaurantName("R".repeat(300));
+            ArgumentCaptor<String> messageCaptor = ArgumentCaptor.forClass(String.class);
+            when(smsMessagingPort.sendSms(eq(PHONE_NUMBER), messageCaptor.capture()))
+                    .thenReturn(NotificationResult.success("MSG123"));
+
+            notificationUseCase.sendOrderReadyNotification(message);
+
+            assertThat(messageCaptor.getValue()).startsWith("Hello!");
+        }
+    }
+
+    @Nested
+    @DisplayName("Send Order Ready Notifications - Batch")
+    class SendOrderReadyNotificationsBatch {
+
+        @Test
+        @DisplayName("Should fan out every message through the dispatch port and keep result order")
+        void shouldFanOutEveryMessageAndKeepResultOrder() {
+            NotificationMessage first = createValidNotificationMessage();
+            NotificationMessage second = createValidNotificationMessage();
+            second.setPhoneNumber("+573009876543");
+            when(notificationDispatchPort.dispatchAll(anyList())).thenAnswer(invocation ->
+                    invocation.<List<Supplier<NotificationResult>>>getArgument(0).stream()
+                            .map(Supplier::get)
+                            .toList());
+            when(smsMessagingPort.sendSms(eq(PHONE_NUMBER), anyString()))
+                    .thenReturn(NotificationResult.success("MSG1"));
+            when(smsMessagingPort.sendSms(eq("+573009876543"), anyString()))
+                    .thenReturn(NotificationResult.success("MSG2"));
+
+            List<NotificationResult> results = notificationUseCase.sendOrderReadyNotifications(List.of(first, second));
+
+            assertThat(results).extracting(NotificationResult::getMessageId).containsExactly("MSG1", "MSG2");
+        }
+
+        @Test
+        @DisplayName("Should report invalid items as failures without aborting the batch")
+        void shouldReportInvalidItemsAsFailures() {
+            NotificationMessage valid = createValidNotificationMessage();
+            NotificationMessage invalid = createValidNotificationMessage();
+            invalid.setOrderId("");
+            when(notificationDispatchPort.dispatchAll(anyList())).thenAnswer(invocation ->
+                    invocation.<List<Supplier<NotificationResult>>>getArgument(0).stream()
+                            .map(Supplier::get)
+                            .toList());
+            when(smsMessagingPort.sendSms(eq(PHONE_NUMBER), anyString()))
+                    .thenReturn(NotificationResult.success("MSG1"));
+
+            List<NotificationResult> results = notificationUseCase.sendOrderReadyNotifications(List.of(valid, invalid));
+
+            assertThat(results.get(0).isSuccess()).isTrue();
+            assertThat(results.get(1).isSuccess()).isFalse();
+            assertThat(results.get(1).getErrorMessage()).isEqualTo("Order ID is required");
+            verify(smsMessagingPort, times(1)).sendSms(anyString(), anyString());
+        }
+
+        @Test
+        @DisplayName("Should reject an empty batch")
+        void shouldRejectEmptyBatch() {
+            assertThatThrownBy(() -> notificationUseCase.sendOrderReadyNotifications(List.of()))
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessageContaining("At least one notification is required");
+
+            verify(notificationDispatchPort, never()).dispatchAll(anyList());
+        }
+    }
+
+    @Nested
+    @DisplayName("Accept Order Ready Notification - Asynchronous Mode")
+    class AcceptOrderReadyNotification {
+
+        @Test
+        @DisplayName("Should save pending tracking and dispatch the send in background")
+        void shouldSavePendingTrackingAndDispatchSend() {
+            NotificationMessage message = createValidNotificationMessage();
+
+            NotificationTracking tracking = notificationUseCase.acceptOrderReadyNotification(message);
+
+            assertThat(tracking.getTrackingId()).isNotBlank();
+            assertThat(tracking.getStatus()).isEqualTo(NotificationStatus.PENDING);
+            assertThat(tracking.getAcceptedAt()).isNotNull();
+            verify(notificationTrackingPersistencePort).save(tracking);
+            verify(notificationDispatchPort).dispatch(any(Runnable.class));
+            verify(smsMessagingPort, never()).sendSms(anyString(), anyString());
+        }
+
+        @Test
+        @DisplayName("Should write the message to the outbox before dispatching it")
+        void shouldWriteMessageToOutboxBeforeDispatching() {
+            NotificationMessage message = createValidNotificationMessage();
+
+            NotificationTracking tracking = notificationUseCase.acceptOrderReadyNotification(message);
+
+            ArgumentCaptor<NotificationOutboxEntry> entryCaptor = ArgumentCaptor.forClass(NotificationOutboxEntry.class);
+            InOrder inOrder = inOrder(notificationOutboxPort, notificationDispatchPort);
+            inOrder.verify(notificationOutboxPort).append(entryCaptor.capture());
+            inOrder.verify(notificationDispatchPort).dispatch(any(Runnable.class));
+            assertThat(entryCaptor.getValue().getTrackingId()).isEqualTo(tracking.getTrackingId());
+            assertThat(entryCaptor.getValue().getMessage()).isSameAs(message);
+            verify(notificationOutboxPort, never()).markDone(anyString());
+        }
+
+        @Test
+        @DisplayName("Should not accept the message when the outbox write fails")
+        void shouldNotAcceptMessageWhenOutboxWriteFails() {
+            NotificationMessage message = createValidNotificationMessage();
+            doThrow(new NotificationDispatchException("Notification outbox is unavailable"))
+                    .when(notificationOutboxPort).append(any(NotificationOutboxEntry.class));
+
+            assertThatThrownBy(() -> notificationUseCase.acceptOrderReadyNotification(message))
+                    .isInstanceOf(NotificationDispatchException.class);
+
+            verify(notificationTrackingPersistencePort, never()).save(any());
+            verify(notificationDispatchPort, never()).dispatch(any());
+        }
+
+        @Test
+        @DisplayName("Should store SENT tracking when dispatched send succeeds")
+        void shouldStoreSentTrackingWhenDispatchedSendSucceeds() {
+            NotificationMessage message = createValidNotificationMessage();
+            doAnswer(invocation -> {
+                invocation.<Runnable>getArgument(0).run();
+                return null;
+            }).when(notificationDispatchPort).dispatch(any(Runnable.class));
+            when(smsMessagingPort.sendSms(eq(PHONE_NUMBER), anyString()))
+                    .thenReturn(NotificationResult.success("MSG123"));
+
+            NotificationTracking tracking = notificationUseCase.acceptOrderReadyNotification(message);
+
+            ArgumentCaptor<NotificationTracking> trackingCaptor = ArgumentCaptor.forClass(NotificationTracking.class);
+            verify(notificationTrackingPersistencePort, times(2)).save(trackingCaptor.capture());
+            List<NotificationTracking> saved = trackingCaptor.getAllValues();
+            NotificationTracking completed = saved.get(1);
+            assertThat(completed.getTrackingId()).isEqualTo(tracking.getTrackingId());
+            assertThat(completed.getStatus()).isEqualTo(NotificationStatus.SENT);
+            assertThat(completed.getResult().getMessageId()).isEqualTo("MSG123");
+            assertThat(completed.getCompletedAt()).isNotNull();
+            verify(notificationOutboxPort).markDone(tracking.getTrackingId());
+        }
+
+        @Test
+        @DisplayName("Should store FAILED tracking when dispatched send throws")
+        void shouldStoreFailedTrackingWhenDispatchedSendThrows() {
+            NotificationMessage message = createValidNotificationMessage();
+            doAnswer(invocation -> {
+                invocation.<Runnable>getArgument(0).run();
+                return null;
+            }).when(notificationDispatchPort).dispatch(any(Runnable.class));
+            when(smsMessagingPort.sendSms(eq(PHONE_NUMBER), anyString()))
+                    .thenThrow(new IllegalStateException("boom"));
+
+            notificationUseCase.acceptOrderReadyNotification(message);
+
+            ArgumentCaptor<NotificationTracking> trackingCaptor = ArgumentCaptor.forClass(NotificationTracking.class);
+            verify(notificationTrackingPersistencePort, times(2)).save(trackingCaptor.capture());
+            NotificationTracking completed = trackingCaptor.getAllValues().get(1);
+            assertThat(completed.getStatus()).isEqualTo(NotificationStatus.FAILED);
+            assertThat(completed.getResult().getErrorMessage()).contains("boom");
+            verify(notificationOutboxPort).markDone(completed.getTrackingId());
+        }
+
+        @Test
+        @DisplayName("Should keep the outbox entry for the next startup when the failure is transient")
+        void shouldKeepOutboxEntryWhenFailureIsTransient() {
+            NotificationMessage message = createValidNotificationMessage();
+            NotificationResult throttled = NotificationResult.failure("Too Many Requests", "20429");
+            doAnswer(invocation -> {
+                invocation.<Runnable>getArgument(0).run();
+                return null;
+            }).when(notificationDispatchPort).dispatch(any(Runnable.class));
+            when(smsMessagingPort.sendSms(eq(PHONE_NUMBER), anyString())).thenReturn(throttled);
+            when(smsFailureClassifierPort.isTransient(throttled)).thenReturn(true);
+
+            notificationUseCase.acceptOrderReadyNotification(message);
+
+            verify(notificationOutboxPort, never()).markDone(anyString());
+        }
+
+        @Test
+        @DisplayName("Should remove the outbox entry when the provider rejects the message permanently")
+        void shouldMarkOutboxEntryDoneWhenFailureIsPermanent() {
+            NotificationMessage message = createValidNotificationMessage();
+            NotificationResult rejected = NotificationResult.failure("Invalid 'To' Phone Number", "21211");
+            doAnswer(invocation -> {
+                invocation.<Runnable>getArgument(0).run();
+                return null;
+            }).when(notificationDispatchPort).dispatch(any(Runnable.class));
+            when(smsMessagingPort.sendSms(eq(PHONE_NUMBER), anyString())).thenReturn(rejected);
+            when(smsFailureClassifierPort.isTransient(rejected)).thenReturn(false);
+
+            NotificationTracking tracking = notificationUseCase.acceptOrderReadyNotification(message);
+
+            verify(notificationOutboxPort).markDone(tracking.getTrackingId());
+        }
+
+        @Test
+        @DisplayName("Should mark tracking as FAILED and rethrow when dispatch is rejected")
+        void shouldMarkTrackingFailedWhenDispatchIsRejected() {
+            NotificationMessage message = createValidNotificationMessage();
+            doThrow(new NotificationDispatchException("Notification dispatch queue is full"))
+                    .when(notificationDispatchPort).dispatch(any(Runnable.class));
+
+            assertThatThrownBy(() -> notificationUseCase.acceptOrderReadyNotification(message))
+                    .isInstanceOf(NotificationDispatchException.class);
+
+            ArgumentCaptor<NotificationTracking> trackingCaptor = ArgumentCaptor.forClass(NotificationTracking.class);
+            verify(notificationTrackingPersistencePort, times(2)).save(trackingCaptor.capture());
+            assertThat(trackingCaptor.getAllValues().get(1).getStatus()).isEqualTo(NotificationStatus.FAILED);
+            verify(notificationOutboxPort).markDone(trackingCaptor.getAllValues().get(1).getTrackingId());
+        }
+
+        @Test
+        @DisplayName("Should send one SMS when the same order is accepted twice")
+        void shouldSendOnceWhenSameOrderIsAcceptedTwice() {
+            Map<String, CompletableFuture<NotificationResult>> claims = new ConcurrentHashMap<>();
+            when(notificationIdempotencyPort.claim(anyString(), any())).thenAnswer(invocation ->
+                    Optional.ofNullable(claims.putIfAbsent(invocation.getArgument(0), invocation.getArgument(1))));
+            doAnswer(invocation -> {
+                invocation.<Runnable>getArgument(0).run();
+                return null;
+            }).when(notificationDispatchPort).dispatch(any(Runnable.class));
+            when(smsMessagingPort.sendSms(eq(PHONE_NUMBER), anyString()))
+                    .thenReturn(NotificationResult.success("MSG123"));
+
+            NotificationTracking first = notificationUseCase.acceptOrderReadyNotification(createValidNotificationMessage());
+            NotificationTracking retried = notificationUseCase.acceptOrderReadyNotification(createValidNotificationMessage());
+
+            verify(smsMessagingPort, times(1)).sendSms(eq(PHONE_NUMBER), anyString());
+            verify(notificationOutboxPort, times(1)).append(any(NotificationOutboxEntry.class));
+            ArgumentCaptor<NotificationTracking> trackingCaptor = ArgumentCaptor.forClass(NotificationTracking.class);
+            verify(notificationTrackingPersistencePort, times(4)).save(trackingCaptor.capture());
+            assertThat(trackingCaptor.getAllValues())
+                    .filteredOn(saved -> saved.getStatus() == NotificationStatus.SENT)
+                    .extracting(NotificationTracking::getTrackingId)
+                    .containsExactlyInAnyOrder(first.getTrackingId(), retried.getTrackingId());
+        }
+
+        @Test
+        @DisplayName("Should release the idempotency key when the dispatched send fails")
+        void shouldReleaseKeyWhenDispatchedSendFails() {
+            doAnswer(invocation -> {
+                invocation.<Runnable>getArgument(0).run();
+                return null;
+            }).when(notificationDispatchPort).dispatch(any(Runnable.class));
+            when(smsMessagingPort.sendSms(eq(PHONE_NUMBER), anyString()))
+                    .thenReturn(NotificationResult.failure("Twilio error"));
+
+            notificationUseCase.acceptOrderReadyNotification(createValidNotificationMessage());
+
+            verify(notificationIdempotencyPort).release(eq("order:" + ORDER_ID + "|" + SECURITY_PIN + "|" + PHONE_NUMBER), any());
+        }
+
+        @Test
+        @DisplayName("Should validate the message before accepting it")
+        void shouldValidateMessageBeforeAccepting() {
+            NotificationMessage message = createValidNotificationMessage();
+            message.setSecurityPin(" ");
+
+            assertThatThrownBy(() -> notificationUseCase.acceptOrderReadyNotification(message))
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessageContaining("Security PIN is required");
+
+            verify(notificationTrackingPersistencePort, never()).save(any());
+            verify(notificationDispatchPort, never()).dispatch(any());
+            verify(notificationOutboxPort, never()).append(any());
+        }
+
+        @Test
+        @DisplayName("Should return stored tracking by ID")
+        void shouldReturnStoredTrackingById() {
+            NotificationTracking stored = NotificationTracking.builder()
+                    .trackingId("TRK1")
+                    .status(NotificationStatus.SENT)
+                    .build();
+            when(notificationTrackingPersistencePort.findByTrackingId("TRK1")).thenReturn(Optional.of(stored));
+
+            assertThat(notificationUseCase.getNotificationTracking("TRK1")).isSameAs(stored);
+        }
+
+        @Test
+        @DisplayName("Should throw not found when tracking ID is unknown")
+        void shouldThrowNotFoundWhenTrackingIdIsUnknown() {
+            when(notificationTrackingPersistencePort.findByTrackingId("UNKNOWN")).thenReturn(Optional.empty());
+
+            assertThatThrownBy(() -> notificationUseCase.getNotificationTracking("UNKNOWN"))
+                    .isInstanceOf(NotificationNotFoundException.class)
+                    .hasMessageContaining("UNKNOWN");
+        }
+
+        @Test
+        @DisplayName("Should reject blank tracking ID")
+        void shouldRejectBlankTrackingId() {
+            assertThatThrownBy(() -> notificationUseCase.getNotificationTracking(" "))
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessageContaining("Tracking ID is required");
+        }
+    }
+
+    @Nested
+    @DisplayName("Resume Pending Notifications - Outbox Replay")
+    class ResumePendingNotifications {
+
+        @Test
+        @DisplayName("Should redispatch pending outbox entries under their original tracking ID")
+        void shouldRedispatchPendingEntriesUnderOriginalTrackingId() {
+            Instant acceptedAt = Instant.parse("2026-01-01T10:00:00Z");
+            NotificationOutboxEntry entry = new NotificationOutboxEntry("TRK1", acceptedAt, createValidNotificationMessage(), 0);
+            when(notificationOutboxPort.findPending()).thenReturn(List.of(entry));
+            doAnswer(invocation -> {
+                invocation.<Runnable>getArgument(0).run();
+                return null;
+            }).when(notificationDispatchPort).dispatch(any(Runnable.class));
+            when(smsMessagingPort.sendSms(eq(PHONE_NUMBER), anyString()))
+                    .thenReturn(NotificationResult.success("MSG123"));
+
+            int resumed = notificationUseCase.resumePendingNotifications();
+
+            assertThat(resumed).isEqualTo(1);
+            ArgumentCaptor<NotificationTracking> trackingCaptor = ArgumentCaptor.forClass(NotificationTracking.class);
+            verify(notificationTrackingPersistencePort, times(2)).save(trackingCaptor.capture());
+            assertThat(trackingCaptor.getAllValues().get(0).getTrackingId()).isEqualTo("TRK1");
+            assertThat(trackingCaptor.getAllValues().get(0).getAcceptedAt()).isEqualTo(acceptedAt);
+            assertThat(trackingCaptor.getAllValues().get(1).getStatus()).isEqualTo(NotificationStatus.SENT);
+            verify(notificationOutboxPort).markDone("TRK1");
+        }
+
+        @Test
+        @DisplayName("Should record the replay in the outbox before dispatching it")
+        void shouldCountReplayBeforeDispatching() {
+            NotificationOutboxEntry entry = new NotificationOutboxEntry("TRK1", Instant.now(), createValidNotificationMessage(), 1);
+            when(notificationOutboxPort.findPending()).thenReturn(List.of(entry));
+
+            notificationUseCase.resumePendingNotifications();
+
+            ArgumentCaptor<NotificationOutboxEntry> entryCaptor = ArgumentCaptor.forClass(NotificationOutboxEntry.class);
+            InOrder inOrder = inOrder(notificationOutboxPort, notificationDispatchPort);
+            inOrder.verify(notificationOutboxPort).append(entryCaptor.capture());
+            inOrder.verify(notificationDispatchPort).dispatch(any(Runnable.class));
+            assertThat(entryCaptor.getValue().getTrackingId()).isEqualTo("TRK1");
+            assertThat(entryCaptor.getValue().getReplays()).isEqualTo(2);
+        }
+
+        @Test
+        @DisplayName("Should dead-letter entries that reached the replay limit instead of sending them")
+        void shouldDeadLetterEntriesAtReplayLimit() {
+            NotificationOutboxEntry exhausted = new NotificationOutboxEntry("TRK1", Instant.now(),
+                    createValidNotificationMessage(), MAX_OUTBOX_REPLAYS);
+            NotificationOutboxEntry fresh = new NotificationOutboxEntry("TRK2", Instant.now(), createValidNotificationMessage(), 0);
+            when(notificationOutboxPort.findPending()).thenReturn(List.of(exhausted, fresh));
+
+            int resumed = notificationUseCase.resumePendingNotifications();
+
+            assertThat(resumed).isEqualTo(1);
+            verify(notificationOutboxPort).deadLetter(exhausted);
+            verify(notificationDispatchPort, times(1)).dispatch(any(Runnable.class));
+            ArgumentCaptor<NotificationTracking> trackingCaptor = ArgumentCaptor.forClass(NotificationTracking.class);
+            verify(notificationTrackingPersistencePort, times(3)).save(trackingCaptor.capture());
+            NotificationTracking givenUp = trackingCaptor.getAllValues().get(1);
+            assertThat(givenUp.getTrackingId()).isEqualTo("TRK1");
+            assertThat(givenUp.getStatus()).isEqualTo(NotificationStatus.FAILED);
+        }
+
+        @Test
+        @DisplayName("Should stop resuming and keep entries pending when the dispatcher is full")
+        void shouldStopResumingWhenDispatcherIsFull() {
+            when(notificationOutboxPort.findPending()).thenReturn(List.of(
+                    new NotificationOutboxEntry("TRK1", Instant.now(), createValidNotificationMessage(), 0),
+                    new NotificationOutboxEntry("TRK2", Instant.now(), createValidNotificationMessage(), 0)));
+            doThrow(new NotificationDispatchException("Notification dispatch queue is full"))
+                    .when(notificationDispatchPort).dispatch(any(Runnable.class));
+
+            int resumed = notificationUseCase.resumePendingNotifications();
+
+            assertThat(resumed).isZero();
+            verify(notificationDispatchPort, times(1)).dispatch(any(Runnable.class));
+            verify(notificationOutboxPort, never()).markDone(anyString());
+        }
+    }
+
+    @Nested
+    @DisplayName("Send Order Ready Notification - Metrics")
+    class SendOrderReadyNotificationMetrics {
+
+        @Test
+        @DisplayName("Should record formatting time and the send outcome")
+        void shouldRecordFormattingAndOutcome() {
+            NotificationResult expectedResult = NotificationResult.success("MSG123");
+            when(smsMessagingPort.sendSms(eq(PHONE_NUMBER), anyString())).thenReturn(expectedResult);
+
+            notificationUseCase.sendOrderReadyNotification(createValidNotificationMessage());
+
+            InOrder order = inOrder(notificationMetricsPort);
+            order.verify(notificationMetricsPort).recordFormatting(anyLong());
+            order.verify(notificationMetricsPort).sendStarted(NotificationType.ORDER_READY);
+            order.verify(notificationMetricsPort).sendCompleted(NotificationType.ORDER_READY, expectedResult);
+        }
+
+        @Test
+        @DisplayName("Should complete the send as failed when the SMS port throws")
+        void shouldCompleteSendWhenSmsPortThrows() {
+            when(smsMessagingPort.sendSms(eq(PHONE_NUMBER), anyString()))
+                    .thenThrow(new IllegalStateException("boom"));
+
+            assertThatThrownBy(() -> notificationUseCase.sendOrderReadyNotification(createValidNotificationMessage()))
+                    .isInstanceOf(IllegalStateException.class);
+
+            verify(notificationMetricsPort).sendCompleted(NotificationType.ORDER_READY, null);
+        }
+
+        @Test
+        @DisplayName("Should keep a non-blocking send in flight until the provider answers")
+        void shouldCompleteAsyncSendWhenProviderAnswers() {
+            CompletableFuture<NotificationResult> providerResult = new CompletableFuture<>();
+            when(smsMessagingPort.sendSmsAsync(eq(PHONE_NUMBER), anyString())).thenReturn(providerResult);
+
+            CompletableFuture<NotificationResult> result =
+                    notificationUseCase.sendOrderReadyNotificationAsync(createValidNotificationMessage());
+
+            verify(notificationMetricsPort).sendStarted(NotificationType.ORDER_READY);
+            verify(notificationMetricsPort, never()).sendCompleted(any(), any());
+
+            providerResult.complete(NotificationResult.failure("Twilio error"));
+
+            assertThat(result.join().isSuccess()).isFalse();
+            verify(notificationMetricsPort).sendCompleted(eq(NotificationType.ORDER_READY), any(NotificationResult.class));
+        }
+
+        @Test
+        @DisplayName("Should not count rejected messages as sends")
+        void shouldNotCountRejectedMessages() {
+            NotificationMessage message = createValidNotificationMessage();
+            message.setOrderId(null);
+
+            assertThatThrownBy(() -> notificationUseCase.sendOrderReadyNotification(message))
+                    .isInstanceOf(IllegalArgumentException.class);
+
+            verify(notificationMetricsPort, never()).sendStarted(any());
+        }
+    }
+
     private NotificationMessage createValidNotificationMessage() {
         return new NotificationMessage(
                 PHONE_NUMBER,
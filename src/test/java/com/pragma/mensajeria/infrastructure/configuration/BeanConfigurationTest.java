@@ -1,7 +1,19 @@
 package com.pragma.mensajeria.infrastructure.configuration;
 
+import com.pragma.mensajeria.domain.api.IMessageDeliveryServicePort;
 import com.pragma.mensajeria.domain.api.INotificationServicePort;
+import com.pragma.mensajeria.domain.model.PhoneNumberNormalizer;
+import com.pragma.mensajeria.domain.model.SmsEncoder;
+import com.pragma.mensajeria.domain.spi.IMessageDeliveryPersistencePort;
+import com.pragma.mensajeria.domain.spi.INotificationCoalescingPort;
+import com.pragma.mensajeria.domain.spi.INotificationDispatchPort;
+import com.pragma.mensajeria.domain.spi.INotificationIdempotencyPort;
+import com.pragma.mensajeria.domain.spi.INotificationMetricsPort;
+import com.pragma.mensajeria.domain.spi.INotificationOutboxPort;
+import com.pragma.mensajeria.domain.spi.INotificationTrackingPersistencePort;
+import com.pragma.mensajeria.domain.spi.ISmsFailureClassifierPort;
 import com.pragma.mensajeria.domain.spi.ISmsMessagingPort;
+import com.pragma.mensajeria.domain.usecase.MessageDeliveryUseCase;
 import com.pragma.mensajeria.domain.usecase.NotificationUseCase;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -20,7 +32,12 @@ class BeanConfigurationTest {
         BeanConfiguration configuration = new BeanConfiguration();
 
         // Act
-        INotificationServicePort result = configuration.notificationServicePort(mockSmsMessagingPort);
+        INotificationServicePort result = configuration.notificationServicePort(mockSmsMessagingPort,
+                mock(INotificationTrackingPersistencePort.class), mock(INotificationDispatchPort.class),
+                mock(INotificationOutboxPort.class), mock(INotificationIdempotencyPort.class),
+                new SmsEncoder(true), mock(IMessageDeliveryPersistencePort.class),
+                mock(INotificationCoalescingPort.class), new PhoneNumberNormalizer(57, 10),
+                mock(INotificationMetricsPort.class), mock(ISmsFailureClassifierPort.class), 5);
 
         // Assert
         assertThat(result).isNotNull();
@@ -35,12 +52,48 @@ class BeanConfigurationTest {
         BeanConfiguration configuration = new BeanConfiguration();
 
         // Act
-        INotificationServicePort result = configuration.notificationServicePort(mockSmsMessagingPort);
+        INotificationServicePort result = configuration.notificationServicePort(mockSmsMessagingPort,
+                mock(INotificationTrackingPersistencePort.class), mock(INotificationDispatchPort.class),
+                mock(INotificationOutboxPort.class), mock(INotificationIdempotencyPort.class),
+                new SmsEncoder(true), mock(IMessageDeliveryPersistencePort.class),
+                mock(INotificationCoalescingPort.class), new PhoneNumberNormalizer(57, 10),
+                mock(INotificationMetricsPort.class), mock(ISmsFailureClassifierPort.class), 5);
 
         // Assert
         assertThat(result).isNotNull();
     }
 
+    @Test
+    @DisplayName("Should create MessageDeliveryServicePort bean with MessageDeliveryUseCase")
+    void shouldCreateMessageDeliveryServicePortBean() {
+        // Act
+        IMessageDeliveryServicePort result = new BeanConfiguration()
+                .messageDeliveryServicePort(mock(IMessageDeliveryPersistencePort.class));
+
+        // Assert
+        assertThat(result).isInstanceOf(MessageDeliveryUseCase.class);
+    }
+
+    @Test
+    @DisplayName("Should create SmsEncoder bean")
+    void shouldCreateSmsEncoderBean() {
+        // Act
+        SmsEncoder result = new BeanConfiguration().smsEncoder(true);
+
+        // Assert
+        assertThat(result.encode("Café Ñandú").getText()).isEqualTo("Café Ñandu");
+    }
+
+    @Test
+    @DisplayName("Should create PhoneNumberNormalizer bean")
+    void shouldCreatePhoneNumberNormalizerBean() {
+        // Act
+        PhoneNumberNormalizer result = new BeanConfiguration().phoneNumberNormalizer(57, 10);
+
+        // Assert
+        assertThat(result.isValid("300 123 4567")).isTrue();
+    }
+
     @Test
     @DisplayName("Should instantiate configuration class")
     void shouldInstantiateConfigurationClass() {
@@ -13,8 +13,11 @@ class ConstantsTest {
     void apiConstants_ShouldExposeExpectedValues() {
         assertEquals("/api/v1", ApiConstants.API_VERSION);
         assertEquals("/api/v1/notifications", ApiConstants.NOTIFICATIONS_BASE_PATH);
+        assertEquals("/api/v1/notifications/deliveries", ApiConstants.DELIVERIES_BASE_PATH);
+        assertEquals("/api/v1/webhooks/twilio/status", ApiConstants.TWILIO_STATUS_CALLBACK_PATH);
         assertEquals("application/json", ApiConstants.APPLICATION_JSON);
         assertEquals("ORDER_READY", ApiConstants.NOTIFICATION_ORDER_READY);
+        assertEquals("/actuator/prometheus", ApiConstants.ACTUATOR_PROMETHEUS_PATH);
     }
 
     @Test
@@ -25,20 +28,10 @@ class ConstantsTest {
         assertEquals("ROLE_", SecurityConstants.ROLE_PREFIX);
     }
 
-    @Test
-    void validationConstants_ShouldExposeExpectedValues() {
-        assertTrue(ValidationConstants.PHONE_PATTERN.matcher("+573001234567").matches());
-        assertFalse(ValidationConstants.PHONE_PATTERN.matcher("abc").matches());
-        assertEquals(15, ValidationConstants.MAX_PHONE_LENGTH);
-        assertEquals(7, ValidationConstants.MIN_PHONE_LENGTH);
-        assertEquals(160, ValidationConstants.MAX_MESSAGE_LENGTH);
-    }
-
     @Test
     void utilityClasses_ConstructorsShouldThrowAssertionError() throws Exception {
         assertConstructorThrows(ApiConstants.class, "Cannot instantiate ApiConstants");
         assertConstructorThrows(SecurityConstants.class, "Cannot instantiate SecurityConstants");
-        assertConstructorThrows(ValidationConstants.class, "Cannot instantiate ValidationConstants");
     }
 
     private void assertConstructorThrows(Class<?> utilityClass, String message) throws Exception {
@@ -41,6 +41,19 @@ class ErrorResponseTest {
         assertThat(response.getPath()).isEqualTo(TEST_PATH);
     }
 
+    @Test
+    @DisplayName("Should leave trace id empty unless given")
+    void shouldLeaveTraceIdEmptyUnlessGiven() {
+        // Act
+        ErrorResponse untraced = new ErrorResponse(TEST_TIMESTAMP, TEST_STATUS, TEST_ERROR, TEST_MESSAGE, TEST_PATH);
+        ErrorResponse traced = new ErrorResponse(TEST_TIMESTAMP, TEST_STATUS, TEST_ERROR, TEST_MESSAGE, TEST_PATH,
+                "4bf92f3577b34da6a3ce929d0e0e4736");
+
+        // Assert
+        assertThat(untraced.getTraceId()).isNull();
+        assertThat(traced.getTraceId()).isEqualTo("4bf92f3577b34da6a3ce929d0e0e4736");
+    }
+
     @Test
     @DisplayName("Should set and get timestamp")
     void shouldSetAndGetTimestamp() {
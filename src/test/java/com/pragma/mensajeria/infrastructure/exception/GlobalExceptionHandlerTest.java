@@ -1,5 +1,10 @@
 package com.pragma.mensajeria.infrastructure.exception;
 
+import com.pragma.mensajeria.domain.exception.NotificationDispatchException;
+import com.pragma.mensajeria.domain.exception.NotificationNotFoundException;
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.TraceContext;
+import io.micrometer.tracing.Tracer;
 import jakarta.servlet.http.HttpServletRequest;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -11,6 +16,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.validation.BindingResult;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
+import org.springframework.web.context.request.async.AsyncRequestTimeoutException;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
@@ -36,7 +42,7 @@ class GlobalExceptionHandlerTest {
 
     @BeforeEach
     void setUp() {
-        globalExceptionHandler = new GlobalExceptionHandler();
+        globalExceptionHandler = new GlobalExceptionHandler(Tracer.NOOP);
         mockRequest = mock(HttpServletRequest.class);
         when(mockRequest.getRequestURI()).thenReturn(TEST_REQUEST_URI);
     }
@@ -211,4 +217,76 @@ class GlobalExceptionHandlerTest {
         assertThat(response).isNotNull();
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
     }
+
+    @Test
+    @DisplayName("Should handle NotificationNotFoundException with NOT_FOUND status")
+    void shouldHandleNotificationNotFoundException() {
+        // Arrange
+        NotificationNotFoundException ex = new NotificationNotFoundException("Notification not found: TRK1");
+
+        // Act
+        ResponseEntity<ErrorResponse> response = globalExceptionHandler.handleNotificationNotFoundException(ex, mockRequest);
+
+        // Assert
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+        assertThat(response.getBody().getError()).isEqualTo("Not Found");
+        assertThat(response.getBody().getMessage()).isEqualTo("Notification not found: TRK1");
+    }
+
+    @Test
+    @DisplayName("Should handle NotificationDispatchException with SERVICE_UNAVAILABLE status")
+    void shouldHandleNotificationDispatchException() {
+        // Arrange
+        NotificationDispatchException ex = new NotificationDispatchException("Notification dispatch queue is full");
+
+        // Act
+        ResponseEntity<ErrorResponse> response = globalExceptionHandler.handleNotificationDispatchException(ex, mockRequest);
+
+        // Assert
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+        assertThat(response.getBody().getError()).isEqualTo("Service Unavailable");
+        assertThat(response.getBody().getMessage()).isEqualTo("Notification dispatch queue is full");
+    }
+
+    @Test
+    @DisplayName("Should handle AsyncRequestTimeoutException with SERVICE_UNAVAILABLE status")
+    void shouldHandleAsyncRequestTimeoutException() {
+        // Act
+        ResponseEntity<ErrorResponse> response = globalExceptionHandler.handleAsyncRequestTimeoutException(
+                new AsyncRequestTimeoutException(), mockRequest);
+
+        // Assert
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+        assertThat(response.getBody().getMessage()).isEqualTo("Timed out waiting for the SMS provider");
+    }
+
+    @Test
+    @DisplayName("Should include the current trace id in the error body")
+    void shouldIncludeCurrentTraceId() {
+        // Arrange
+        Tracer tracer = mock(Tracer.class);
+        Span span = mock(Span.class);
+        TraceContext context = mock(TraceContext.class);
+        when(tracer.currentSpan()).thenReturn(span);
+        when(span.context()).thenReturn(context);
+        when(context.traceId()).thenReturn("4bf92f3577b34da6a3ce929d0e0e4736");
+
+        // Act
+        ResponseEntity<ErrorResponse> response = new GlobalExceptionHandler(tracer).handleIllegalArgumentException(
+                new IllegalArgumentException(ILLEGAL_ARGUMENT_MESSAGE), mockRequest);
+
+        // Assert
+        assertThat(response.getBody().getTraceId()).isEqualTo("4bf92f3577b34da6a3ce929d0e0e4736");
+    }
+
+    @Test
+    @DisplayName("Should leave the trace id out when the request is not traced")
+    void shouldOmitTraceIdWithoutCurrentSpan() {
+        // Act
+        ResponseEntity<ErrorResponse> response = globalExceptionHandler.handleIllegalArgumentException(
+                new IllegalArgumentException(ILLEGAL_ARGUMENT_MESSAGE), mockRequest);
+
+        // Assert
+        assertThat(response.getBody().getTraceId()).isNull();
+    }
 }
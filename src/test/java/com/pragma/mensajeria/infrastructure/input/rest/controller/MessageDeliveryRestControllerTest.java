@@ -0,0 +1,55 @@
+package com.pragma.mensajeria.infrastructure.input.rest.controller;
+
+import com.pragma.mensajeria.application.dto.MessageDeliveryResponseDto;
+import com.pragma.mensajeria.application.handler.IMessageDeliveryHandler;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Message Delivery Rest Controller Tests")
+class MessageDeliveryRestControllerTest {
+
+    @Mock
+    private IMessageDeliveryHandler messageDeliveryHandler;
+
+    @InjectMocks
+    private MessageDeliveryRestController controller;
+
+    @Test
+    @DisplayName("Should return delivery status by message SID with 200 status")
+    void shouldReturnDeliveryByMessageId() {
+        MessageDeliveryResponseDto delivery = MessageDeliveryResponseDto.builder()
+                .messageId("SM1")
+                .status("DELIVERED")
+                .build();
+        when(messageDeliveryHandler.getDelivery("SM1")).thenReturn(delivery);
+
+        ResponseEntity<MessageDeliveryResponseDto> response = controller.getDelivery("SM1");
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody()).isSameAs(delivery);
+    }
+
+    @Test
+    @DisplayName("Should return every delivery of an order with 200 status")
+    void shouldReturnDeliveriesByOrder() {
+        List<MessageDeliveryResponseDto> deliveries = List.of(MessageDeliveryResponseDto.builder().messageId("SM1").build());
+        when(messageDeliveryHandler.getDeliveriesByOrder("123")).thenReturn(deliveries);
+
+        ResponseEntity<List<MessageDeliveryResponseDto>> response = controller.getDeliveriesByOrder("123");
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody()).isEqualTo(deliveries);
+    }
+}
@@ -1,6 +1,8 @@
 package com.pragma.mensajeria.infrastructure.input.rest.controller;
 
 import com.pragma.mensajeria.application.dto.NotificationResponseDto;
+import com.pragma.mensajeria.application.dto.NotificationTrackingResponseDto;
+import com.pragma.mensajeria.application.dto.OrderReadyBatchNotificationRequestDto;
 import com.pragma.mensajeria.application.dto.OrderReadyNotificationRequestDto;
 import com.pragma.mensajeria.application.handler.INotificationHandler;
 import org.junit.jupiter.api.DisplayName;
@@ -12,6 +14,9 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.*;
 
@@ -50,11 +55,12 @@ class NotificationRestControllerTest {
                 .message(SUCCESS_MESSAGE_TEXT)
                 .build();
 
-        when(notificationHandler.sendOrderReadyNotification(request)).thenReturn(successResponse);
+        when(notificationHandler.sendOrderReadyNotificationAsync(request, null))
+                .thenReturn(CompletableFuture.completedFuture(successResponse));
 
         // Act
         ResponseEntity<NotificationResponseDto> response = notificationRestController
-                .sendOrderReadyNotification(request);
+                .sendOrderReadyNotification(request, null).join();
 
         // Assert
         assertThat(response).isNotNull();
@@ -64,7 +70,33 @@ class NotificationRestControllerTest {
         assertThat(response.getBody().getMessageId()).isEqualTo(SUCCESS_MESSAGE_ID);
         assertThat(response.getBody().getMessage()).isEqualTo(SUCCESS_MESSAGE_TEXT);
 
-        verify(notificationHandler).sendOrderReadyNotification(request);
+        verify(notificationHandler).sendOrderReadyNotificationAsync(request, null);
+    }
+
+    @Test
+    @DisplayName("Should pass the Idempotency-Key header to the handler")
+    void shouldPassIdempotencyKeyHeaderToHandler() {
+        // Arrange
+        OrderReadyNotificationRequestDto request = new OrderReadyNotificationRequestDto(
+                VALID_PHONE,
+                VALID_ORDER_ID,
+                VALID_SECURITY_PIN,
+                VALID_RESTAURANT_NAME
+        );
+        NotificationResponseDto successResponse = NotificationResponseDto.builder()
+                .success(true)
+                .messageId(SUCCESS_MESSAGE_ID)
+                .build();
+        when(notificationHandler.sendOrderReadyNotificationAsync(request, "retry-key"))
+                .thenReturn(CompletableFuture.completedFuture(successResponse));
+
+        // Act
+        ResponseEntity<NotificationResponseDto> response = notificationRestController
+                .sendOrderReadyNotification(request, "retry-key").join();
+
+        // Assert
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        verify(notificationHandler).sendOrderReadyNotificationAsync(request, "retry-key");
     }
 
     @Test
@@ -83,11 +115,12 @@ class NotificationRestControllerTest {
                 .message(ERROR_MESSAGE)
                 .build();
 
-        when(notificationHandler.sendOrderReadyNotification(request)).thenReturn(failureResponse);
+        when(notificationHandler.sendOrderReadyNotificationAsync(request, null))
+                .thenReturn(CompletableFuture.completedFuture(failureResponse));
 
         // Act
         ResponseEntity<NotificationResponseDto> response = notificationRestController
-                .sendOrderReadyNotification(request);
+                .sendOrderReadyNotification(request, null).join();
 
         // Assert
         assertThat(response).isNotNull();
@@ -96,7 +129,7 @@ class NotificationRestControllerTest {
         assertThat(response.getBody().isSuccess()).isFalse();
         assertThat(response.getBody().getMessage()).isEqualTo(ERROR_MESSAGE);
 
-        verify(notificationHandler).sendOrderReadyNotification(request);
+        verify(notificationHandler).sendOrderReadyNotificationAsync(request, null);
     }
 
     @Test
@@ -116,13 +149,14 @@ class NotificationRestControllerTest {
                 .message(SUCCESS_MESSAGE_TEXT)
                 .build();
 
-        when(notificationHandler.sendOrderReadyNotification(request)).thenReturn(response);
+        when(notificationHandler.sendOrderReadyNotificationAsync(request, null))
+                .thenReturn(CompletableFuture.completedFuture(response));
 
         // Act
-        notificationRestController.sendOrderReadyNotification(request);
+        notificationRestController.sendOrderReadyNotification(request, null).join();
 
         // Assert
-        verify(notificationHandler).sendOrderReadyNotification(request);
+        verify(notificationHandler).sendOrderReadyNotificationAsync(request, null);
     }
 
     @Test
@@ -143,15 +177,16 @@ class NotificationRestControllerTest {
                 .message(SUCCESS_MESSAGE_TEXT)
                 .build();
 
-        when(notificationHandler.sendOrderReadyNotification(request)).thenReturn(response);
+        when(notificationHandler.sendOrderReadyNotificationAsync(request, null))
+                .thenReturn(CompletableFuture.completedFuture(response));
 
         // Act
         ResponseEntity<NotificationResponseDto> result = notificationRestController
-                .sendOrderReadyNotification(request);
+                .sendOrderReadyNotification(request, null).join();
 
         // Assert
         assertThat(result.getStatusCode()).isEqualTo(HttpStatus.OK);
-        verify(notificationHandler).sendOrderReadyNotification(request);
+        verify(notificationHandler).sendOrderReadyNotificationAsync(request, null);
     }
 
     @Test
@@ -172,11 +207,12 @@ class NotificationRestControllerTest {
                 .message(SUCCESS_MESSAGE_TEXT)
                 .build();
 
-        when(notificationHandler.sendOrderReadyNotification(request)).thenReturn(response);
+        when(notificationHandler.sendOrderReadyNotificationAsync(request, null))
+                .thenReturn(CompletableFuture.completedFuture(response));
 
         // Act
         ResponseEntity<NotificationResponseDto> result = notificationRestController
-                .sendOrderReadyNotification(request);
+                .sendOrderReadyNotification(request, null).join();
 
         // Assert
         assertThat(result.getBody().getMessageId()).isEqualTo(customMessageId);
@@ -206,11 +242,12 @@ class NotificationRestControllerTest {
                 .message(SUCCESS_MESSAGE_TEXT)
                 .build();
 
-        when(notificationHandler.sendOrderReadyNotification(request)).thenReturn(response);
+        when(notificationHandler.sendOrderReadyNotificationAsync(request, null))
+                .thenReturn(CompletableFuture.completedFuture(response));
 
         // Act
         ResponseEntity<NotificationResponseDto> result = notificationRestController
-                .sendOrderReadyNotification(request);
+                .sendOrderReadyNotification(request, null).join();
 
         // Assert
         assertThat(result.getBody()).isNotNull();
@@ -236,14 +273,110 @@ class NotificationRestControllerTest {
                 .message("Original message")
                 .build();
 
-        when(notificationHandler.sendOrderReadyNotification(request)).thenReturn(originalResponse);
+        when(notificationHandler.sendOrderReadyNotificationAsync(request, null))
+                .thenReturn(CompletableFuture.completedFuture(originalResponse));
 
         // Act
         ResponseEntity<NotificationResponseDto> result = notificationRestController
-                .sendOrderReadyNotification(request);
+                .sendOrderReadyNotification(request, null).join();
 
         // Assert
         assertThat(result.getBody().getMessageId()).isEqualTo("ORIGINAL_ID");
         assertThat(result.getBody().getMessage()).isEqualTo("Original message");
     }
+
+    @Test
+    @DisplayName("Should accept notification with 202 status and tracking location")
+    void shouldAcceptNotificationWithAcceptedStatus() {
+        // Arrange
+        OrderReadyNotificationRequestDto request = new OrderReadyNotificationRequestDto(
+                VALID_PHONE,
+                VALID_ORDER_ID,
+                VALID_SECURITY_PIN,
+                VALID_RESTAURANT_NAME
+        );
+
+        NotificationTrackingResponseDto accepted = NotificationTrackingResponseDto.builder()
+                .trackingId("TRK1")
+                .status("PENDING")
+                .build();
+
+        when(notificationHandler.acceptOrderReadyNotification(request)).thenReturn(accepted);
+
+        // Act
+        ResponseEntity<NotificationTrackingResponseDto> result = notificationRestController
+                .acceptOrderReadyNotification(request);
+
+        // Assert
+        assertThat(result.getStatusCode()).isEqualTo(HttpStatus.ACCEPTED);
+        assertThat(result.getHeaders().getLocation()).hasToString("/api/v1/notifications/TRK1");
+        assertThat(result.getBody().getTrackingId()).isEqualTo("TRK1");
+        verify(notificationHandler, never()).sendOrderReadyNotificationAsync(request, null);
+    }
+
+    @Test
+    @DisplayName("Should return notification tracking with 200 status")
+    void shouldReturnNotificationTracking() {
+        // Arrange
+        NotificationTrackingResponseDto tracking = NotificationTrackingResponseDto.builder()
+                .trackingId("TRK1")
+                .status("SENT")
+                .messageId(SUCCESS_MESSAGE_ID)
+                .build();
+
+        when(notificationHandler.getNotificationTracking("TRK1")).thenReturn(tracking);
+
+        // Act
+        ResponseEntity<NotificationTrackingResponseDto> result = notificationRestController
+                .getNotificationTracking("TRK1");
+
+        // Assert
+        assertThat(result.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(result.getBody().getStatus()).isEqualTo("SENT");
+        assertThat(result.getBody().getMessageId()).isEqualTo(SUCCESS_MESSAGE_ID);
+    }
+
+    @Test
+    @DisplayName("Should return 200 status when every notification in the batch succeeds")
+    void shouldReturnOkWhenEveryBatchNotificationSucceeds() {
+        // Arrange
+        OrderReadyBatchNotificationRequestDto request = new OrderReadyBatchNotificationRequestDto(List.of(
+                new OrderReadyNotificationRequestDto(VALID_PHONE, VALID_ORDER_ID, VALID_SECURITY_PIN, VALID_RESTAURANT_NAME)
+        ));
+        List<NotificationResponseDto> responses = List.of(
+                NotificationResponseDto.builder().success(true).messageId(SUCCESS_MESSAGE_ID).build());
+
+        when(notificationHandler.sendOrderReadyNotifications(request)).thenReturn(responses);
+
+        // Act
+        ResponseEntity<List<NotificationResponseDto>> result = notificationRestController
+                .sendOrderReadyNotifications(request);
+
+        // Assert
+        assertThat(result.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(result.getBody()).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("Should return 207 status when part of the batch fails")
+    void shouldReturnMultiStatusWhenPartOfBatchFails() {
+        // Arrange
+        OrderReadyBatchNotificationRequestDto request = new OrderReadyBatchNotificationRequestDto(List.of(
+                new OrderReadyNotificationRequestDto(VALID_PHONE, VALID_ORDER_ID, VALID_SECURITY_PIN, VALID_RESTAURANT_NAME),
+                new OrderReadyNotificationRequestDto("invalid", "124", VALID_SECURITY_PIN, VALID_RESTAURANT_NAME)
+        ));
+        List<NotificationResponseDto> responses = List.of(
+                NotificationResponseDto.builder().success(true).messageId(SUCCESS_MESSAGE_ID).build(),
+                NotificationResponseDto.builder().success(false).message(ERROR_MESSAGE).build());
+
+        when(notificationHandler.sendOrderReadyNotifications(request)).thenReturn(responses);
+
+        // Act
+        ResponseEntity<List<NotificationResponseDto>> result = notificationRestController
+                .sendOrderReadyNotifications(request);
+
+        // Assert
+        assertThat(result.getStatusCode()).isEqualTo(HttpStatus.MULTI_STATUS);
+        assertThat(result.getBody()).extracting(NotificationResponseDto::isSuccess).containsExactly(true, false);
+    }
 }
@@ -0,0 +1,69 @@
+package com.pragma.mensajeria.infrastructure.input.rest.controller;
+
+import com.pragma.mensajeria.application.handler.IMessageDeliveryHandler;
+import com.pragma.mensajeria.infrastructure.security.TwilioSignatureValidator;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Twilio Status Callback Controller Tests")
+class TwilioStatusCallbackControllerTest {
+
+    private static final Map<String, String> PARAMS = Map.of(
+            "MessageSid", "SM1",
+            "MessageStatus", "undelivered",
+            "ErrorCode", "30003");
+
+    @Mock
+    private IMessageDeliveryHandler messageDeliveryHandler;
+
+    @Mock
+    private TwilioSignatureValidator twilioSignatureValidator;
+
+    @InjectMocks
+    private TwilioStatusCallbackController controller;
+
+    @Test
+    @DisplayName("Should record the status update when the signature is valid")
+    void shouldRecordStatusWhenSignatureIsValid() {
+        when(twilioSignatureValidator.isValid(null, PARAMS, "sig")).thenReturn(true);
+
+        ResponseEntity<Void> response = controller.receiveStatus(PARAMS, "sig");
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NO_CONTENT);
+        verify(messageDeliveryHandler).recordStatusUpdate("SM1", "undelivered", "30003");
+    }
+
+    @Test
+    @DisplayName("Should validate restaurant callbacks against the restaurant's account")
+    void shouldValidateRestaurantCallbacks() {
+        when(twilioSignatureValidator.isValid("42", PARAMS, "sig")).thenReturn(true);
+
+        ResponseEntity<Void> response = controller.receiveRestaurantStatus("42", PARAMS, "sig");
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NO_CONTENT);
+        verify(messageDeliveryHandler).recordStatusUpdate("SM1", "undelivered", "30003");
+    }
+
+    @Test
+    @DisplayName("Should reject callbacks with an invalid signature with 403")
+    void shouldRejectInvalidSignature() {
+        when(twilioSignatureValidator.isValid(null, PARAMS, "forged")).thenReturn(false);
+
+        ResponseEntity<Void> response = controller.receiveStatus(PARAMS, "forged");
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.FORBIDDEN);
+        verifyNoInteractions(messageDeliveryHandler);
+    }
+}
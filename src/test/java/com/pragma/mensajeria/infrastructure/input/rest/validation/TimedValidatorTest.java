@@ -0,0 +1,53 @@
+package com.pragma.mensajeria.infrastructure.input.rest.validation;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.Errors;
+import org.springframework.validation.SmartValidator;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class TimedValidatorTest {
+
+    private final SmartValidator delegate = mock(SmartValidator.class);
+    private final Timer timer = Timer.builder("notification.stage.duration")
+            .tag("stage", "validation")
+            .register(new SimpleMeterRegistry());
+    private final TimedValidator validator = new TimedValidator(delegate, timer);
+
+    @Test
+    void validate_ShouldDelegateAndRecordEachCall() {
+        Object target = new Object();
+        Errors errors = new BeanPropertyBindingResult(target, "target");
+
+        validator.validate(target, errors);
+        validator.validate(target, errors, "hint");
+
+        verify(delegate).validate(target, errors);
+        verify(delegate).validate(target, errors, "hint");
+        assertEquals(2, timer.count());
+    }
+
+    @Test
+    void validate_ShouldRecordEvenWhenDelegateThrows() {
+        Object target = new Object();
+        Errors errors = new BeanPropertyBindingResult(target, "target");
+        doThrow(new IllegalStateException("boom")).when(delegate).validate(any(), any());
+
+        assertThrows(IllegalStateException.class, () -> validator.validate(target, errors));
+
+        assertEquals(1, timer.count());
+    }
+
+    @Test
+    void supports_ShouldDelegate() {
+        when(delegate.supports(String.class)).thenReturn(true);
+
+        assertTrue(validator.supports(String.class));
+        assertEquals(0, timer.count());
+    }
+}
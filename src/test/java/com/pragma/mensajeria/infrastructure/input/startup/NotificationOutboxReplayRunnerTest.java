@@ -0,0 +1,31 @@
+package com.pragma.mensajeria.infrastructure.input.startup;
+
+import com.pragma.mensajeria.domain.api.INotificationServicePort;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.boot.DefaultApplicationArguments;
+
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class NotificationOutboxReplayRunnerTest {
+
+    @Mock
+    private INotificationServicePort notificationServicePort;
+
+    @InjectMocks
+    private NotificationOutboxReplayRunner runner;
+
+    @Test
+    void run_ShouldResumePendingNotifications() {
+        when(notificationServicePort.resumePendingNotifications()).thenReturn(2);
+
+        runner.run(new DefaultApplicationArguments());
+
+        verify(notificationServicePort).resumePendingNotifications();
+    }
+}
@@ -0,0 +1,44 @@
+package com.pragma.mensajeria.infrastructure.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.LoggingEvent;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MaskingJsonLogFormatterTest {
+
+    private final Logger logger = new LoggerContext().getLogger("com.pragma.sms");
+    private final MaskingJsonLogFormatter formatter = new MaskingJsonLogFormatter();
+
+    @Test
+    void format_ShouldWriteOneJsonLineWithMaskedMessage() {
+        LoggingEvent event = new LoggingEvent(Logger.class.getName(), logger, Level.INFO,
+                "Sending SMS to {}", null, new Object[]{"+573001234567"});
+        event.setMDCPropertyMap(Map.of("traceId", "4bf92f3577b34da6a3ce929d0e0e4736"));
+
+        String json = formatter.format(event);
+
+        assertTrue(json.startsWith("{") && json.endsWith("}\n"), json);
+        assertTrue(json.contains("\"level\":\"INFO\""), json);
+        assertTrue(json.contains("\"logger\":\"com.pragma.sms\""), json);
+        assertTrue(json.contains("\"message\":\"Sending SMS to +57******4567\""), json);
+        assertTrue(json.contains("\"traceId\":\"4bf92f3577b34da6a3ce929d0e0e4736\""), json);
+        assertFalse(json.contains("\"error\""), json);
+    }
+
+    @Test
+    void format_ShouldMaskPhoneNumbersInStackTraces() {
+        LoggingEvent event = new LoggingEvent(Logger.class.getName(), logger, Level.ERROR, "Twilio API error",
+                new IllegalArgumentException("The 'To' number +573001234567 is not valid"), null);
+
+        String json = formatter.format(event);
+
+        assertTrue(json.contains("IllegalArgumentException: The 'To' number +57******4567 is not valid"), json);
+        assertFalse(json.contains("3001234567"), json);
+    }
+}
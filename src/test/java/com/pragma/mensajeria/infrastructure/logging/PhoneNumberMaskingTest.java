@@ -0,0 +1,36 @@
+package com.pragma.mensajeria.infrastructure.logging;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PhoneNumberMaskingTest {
+
+    @Test
+    void mask_ShouldKeepCallingCodeAndLastFourDigits() {
+        assertEquals("Sending to +57******4567", PhoneNumberMasking.mask("Sending to +573001234567"));
+        assertEquals("+1******1234", PhoneNumberMasking.mask("+14155551234"));
+    }
+
+    @Test
+    void mask_ShouldMaskEveryNumberInTheText() {
+        assertEquals("The 'To' number +57******4567 is not +34*****5678.",
+                PhoneNumberMasking.mask("The 'To' number +573001234567 is not +34612345678."));
+    }
+
+    @Test
+    void mask_ShouldReturnSameInstanceWhenNothingLooksLikeAPhoneNumber() {
+        String text = "SMS sent successfully. SID: SM123, Status: queued";
+
+        assertSame(text, PhoneNumberMasking.mask(text));
+        assertSame("retry in 1+2 ms", PhoneNumberMasking.mask("retry in 1+2 ms"));
+        assertNull(PhoneNumberMasking.mask(null));
+    }
+
+    @Test
+    void mask_ShouldIgnoreDigitRunsThatAreNotE164() {
+        assertEquals("+123456", PhoneNumberMasking.mask("+123456"));
+        assertEquals("+1234567890123456", PhoneNumberMasking.mask("+1234567890123456"));
+        assertEquals("a+573001234567", PhoneNumberMasking.mask("a+573001234567"));
+    }
+}
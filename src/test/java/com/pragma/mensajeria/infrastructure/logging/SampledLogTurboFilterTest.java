@@ -0,0 +1,76 @@
+package com.pragma.mensajeria.infrastructure.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.core.spi.FilterReply;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.pragma.mensajeria.infrastructure.logging.SampledLogTurboFilter.SAMPLED;
+import static org.junit.jupiter.api.Assertions.*;
+
+class SampledLogTurboFilterTest {
+
+    private static final String FORMAT = "SMS sent successfully. SID: {}";
+
+    private final AtomicLong now = new AtomicLong();
+    private final LoggerContext context = new LoggerContext();
+    private final Logger logger = context.getLogger("com.pragma.sms");
+    private SampledLogTurboFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        logger.setLevel(Level.INFO);
+        filter = new SampledLogTurboFilter(now::get);
+        filter.setMaxPerSecond(2);
+        filter.start();
+    }
+
+    @Test
+    void decide_ShouldDropMarkedSuccessLogsOverTheCapUntilTheNextWindow() {
+        assertEquals(FilterReply.NEUTRAL, decide(logger, Level.INFO, null));
+        assertEquals(FilterReply.NEUTRAL, decide(logger, Level.INFO, null));
+        assertEquals(FilterReply.DENY, decide(logger, Level.INFO, null));
+
+        now.addAndGet(TimeUnit.SECONDS.toNanos(1));
+
+        assertEquals(FilterReply.NEUTRAL, decide(logger, Level.INFO, null));
+    }
+
+    @Test
+    void decide_ShouldKeepSeparateBudgetsPerLogger() {
+        Logger other = context.getLogger("com.pragma.other");
+
+        decide(logger, Level.INFO, null);
+        decide(logger, Level.INFO, null);
+
+        assertEquals(FilterReply.NEUTRAL, decide(other, Level.INFO, null));
+    }
+
+    @Test
+    void decide_ShouldNeverDropWarningsErrorsOrExceptions() {
+        filter.setMaxPerSecond(0);
+
+        assertEquals(FilterReply.NEUTRAL, decide(logger, Level.WARN, null));
+        assertEquals(FilterReply.NEUTRAL, decide(logger, Level.ERROR, null));
+        assertEquals(FilterReply.NEUTRAL, decide(logger, Level.INFO, new IllegalStateException("boom")));
+        assertEquals(FilterReply.DENY, decide(logger, Level.INFO, null));
+    }
+
+    @Test
+    void decide_ShouldIgnoreUnmarkedEventsAndLevelChecks() {
+        filter.setMaxPerSecond(0);
+
+        assertEquals(FilterReply.NEUTRAL, filter.decide(null, logger, Level.INFO, FORMAT, null, null));
+        assertEquals(FilterReply.NEUTRAL, filter.decide(SAMPLED, logger, Level.INFO, null, null, null));
+        assertEquals(FilterReply.NEUTRAL, decide(logger, Level.DEBUG, null));
+    }
+
+    private FilterReply decide(Logger target, Level level, Throwable throwable) {
+        return filter.decide(SAMPLED, target, level, FORMAT, new Object[]{"SM1"}, throwable);
+    }
+}
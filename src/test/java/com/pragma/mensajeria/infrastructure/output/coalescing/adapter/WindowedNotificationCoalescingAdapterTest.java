@@ -0,0 +1,133 @@
+package com.pragma.mensajeria.infrastructure.output.coalescing.adapter;
+
+import com.pragma.mensajeria.domain.model.NotificationMessage;
+import com.pragma.mensajeria.domain.model.NotificationResult;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WindowedNotificationCoalescingAdapterTest {
+
+    private static final String PHONE = "+573001234567";
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final List<List<NotificationMessage>> sentGroups = new CopyOnWriteArrayList<>();
+    private final Function<List<NotificationMessage>, CompletableFuture<List<NotificationResult>>> sendGroup = messages -> {
+        sentGroups.add(messages);
+        return CompletableFuture.completedFuture(messages.stream()
+                .map(message -> NotificationResult.success("SM-" + message.getOrderId()))
+                .toList());
+    };
+    private WindowedNotificationCoalescingAdapter adapter;
+
+    @AfterEach
+    void tearDown() {
+        if (adapter != null) {
+            adapter.shutdown();
+        }
+    }
+
+    @Test
+    void hold_ShouldBypassWhenDisabled() {
+        adapter = adapter(false, Duration.ofSeconds(10), 10, true);
+
+        assertTrue(adapter.hold(PHONE, message("1"), sendGroup).isEmpty());
+        assertTrue(adapter.hold(PHONE, message("2"), sendGroup).isEmpty());
+        assertEquals(0, adapter.getRecipientCount());
+    }
+
+    @Test
+    void hold_ShouldSendFirstNotificationImmediatelyWhenPhoneIsIdle() {
+        adapter = adapter(true, Duration.ofSeconds(10), 10, true);
+
+        assertTrue(adapter.hold(PHONE, message("1"), sendGroup).isEmpty());
+        assertEquals(1.0, meterRegistry.get("notification.coalescing.bypassed").counter().count());
+    }
+
+    @Test
+    void hold_ShouldGroupNotificationsArrivingWithinWindow() {
+        adapter = adapter(true, Duration.ofMillis(100), 10, true);
+
+        adapter.hold(PHONE, message("1"), sendGroup);
+        CompletableFuture<NotificationResult> second = adapter.hold(PHONE, message("2"), sendGroup).orElseThrow();
+        CompletableFuture<NotificationResult> third = adapter.hold(PHONE, message("3"), sendGroup).orElseThrow();
+
+        assertEquals("SM-2", second.orTimeout(5, TimeUnit.SECONDS).join().getMessageId());
+        assertEquals("SM-3", third.join().getMessageId());
+        assertEquals(1, sentGroups.size());
+        assertEquals(List.of("2", "3"), sentGroups.getFirst().stream().map(NotificationMessage::getOrderId).toList());
+    }
+
+    @Test
+    void hold_ShouldHoldEvenFirstNotificationWithoutIdleBypass() {
+        adapter = adapter(true, Duration.ofMillis(50), 10, false);
+
+        Optional<CompletableFuture<NotificationResult>> first = adapter.hold(PHONE, message("1"), sendGroup);
+
+        assertTrue(first.isPresent());
+        assertEquals("SM-1", first.get().orTimeout(5, TimeUnit.SECONDS).join().getMessageId());
+    }
+
+    @Test
+    void hold_ShouldKeepPhonesApart() {
+        adapter = adapter(true, Duration.ofSeconds(10), 10, true);
+
+        assertTrue(adapter.hold(PHONE, message("1"), sendGroup).isEmpty());
+        assertTrue(adapter.hold("+573009999999", message("2"), sendGroup).isEmpty());
+    }
+
+    @Test
+    void hold_ShouldSendFullGroupWithoutWaitingForWindow() {
+        adapter = adapter(true, Duration.ofSeconds(10), 2, false);
+
+        CompletableFuture<NotificationResult> first = adapter.hold(PHONE, message("1"), sendGroup).orElseThrow();
+        CompletableFuture<NotificationResult> second = adapter.hold(PHONE, message("2"), sendGroup).orElseThrow();
+
+        assertTrue(first.isDone());
+        assertTrue(second.isDone());
+        assertEquals(1, sentGroups.size());
+    }
+
+    @Test
+    void hold_ShouldFailEveryHeldNotificationWhenGroupSendThrows() {
+        adapter = adapter(true, Duration.ofSeconds(10), 2, false);
+        Function<List<NotificationMessage>, CompletableFuture<List<NotificationResult>>> failing = messages -> {
+            throw new IllegalStateException("boom");
+        };
+
+        CompletableFuture<NotificationResult> first = adapter.hold(PHONE, message("1"), failing).orElseThrow();
+        adapter.hold(PHONE, message("2"), failing);
+
+        assertTrue(first.isCompletedExceptionally());
+    }
+
+    @Test
+    void shutdown_ShouldSendHeldGroups() {
+        adapter = adapter(true, Duration.ofSeconds(10), 10, false);
+        CompletableFuture<NotificationResult> held = adapter.hold(PHONE, message("1"), sendGroup).orElseThrow();
+
+        adapter.shutdown();
+
+        assertEquals("SM-1", held.join().getMessageId());
+        assertTrue(adapter.hold(PHONE, message("2"), sendGroup).isEmpty());
+    }
+
+    private WindowedNotificationCoalescingAdapter adapter(boolean enabled, Duration window, int maxGroupSize,
+                                                          boolean bypassWhenIdle) {
+        return new WindowedNotificationCoalescingAdapter(enabled, window, maxGroupSize, bypassWhenIdle, meterRegistry);
+    }
+
+    private NotificationMessage message(String orderId) {
+        return new NotificationMessage(PHONE, null, orderId, "456789", "Mi Restaurante");
+    }
+}
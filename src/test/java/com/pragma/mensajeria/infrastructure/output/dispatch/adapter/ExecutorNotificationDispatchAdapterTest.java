@@ -0,0 +1,127 @@
+package com.pragma.mensajeria.infrastructure.output.dispatch.adapter;
+
+import com.pragma.mensajeria.domain.exception.NotificationDispatchException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ExecutorNotificationDispatchAdapterTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private ExecutorNotificationDispatchAdapter adapter;
+
+    @AfterEach
+    void tearDown() {
+        adapter.shutdown();
+    }
+
+    @Test
+    void dispatch_ShouldRunTaskOnVirtualThread() throws InterruptedException {
+        adapter = new ExecutorNotificationDispatchAdapter(10, 2, Duration.ofSeconds(1), meterRegistry);
+        CountDownLatch executed = new CountDownLatch(1);
+        AtomicBoolean virtual = new AtomicBoolean();
+
+        adapter.dispatch(() -> {
+            virtual.set(Thread.currentThread().isVirtual());
+            executed.countDown();
+        });
+
+        assertTrue(executed.await(1, TimeUnit.SECONDS));
+        assertTrue(virtual.get());
+    }
+
+    @Test
+    void dispatch_ShouldThrowWhenMaxPendingIsReached() throws InterruptedException {
+        adapter = new ExecutorNotificationDispatchAdapter(1, 1, Duration.ofSeconds(1), meterRegistry);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        adapter.dispatch(() -> {
+            started.countDown();
+            awaitQuietly(release);
+        });
+        assertTrue(started.await(1, TimeUnit.SECONDS));
+
+        NotificationDispatchException exception = assertThrows(NotificationDispatchException.class,
+                () -> adapter.dispatch(() -> { }));
+
+        assertEquals("Notification dispatch queue is full", exception.getMessage());
+        assertEquals(1.0, meterRegistry.get("notification.dispatch.pending").gauge().value());
+        release.countDown();
+    }
+
+    @Test
+    void dispatchAll_ShouldReturnResultsInTaskOrder() {
+        adapter = new ExecutorNotificationDispatchAdapter(100, 4, Duration.ofSeconds(1), meterRegistry);
+        List<Supplier<Integer>> tasks = IntStream.range(0, 20)
+                .<Supplier<Integer>>mapToObj(i -> () -> i)
+                .toList();
+
+        List<Integer> results = adapter.dispatchAll(tasks);
+
+        assertEquals(IntStream.range(0, 20).boxed().toList(), results);
+    }
+
+    @Test
+    void dispatchAll_ShouldNotExceedBatchParallelism() {
+        adapter = new ExecutorNotificationDispatchAdapter(100, 2, Duration.ofSeconds(1), meterRegistry);
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+        List<Supplier<Integer>> tasks = IntStream.range(0, 12)
+                .<Supplier<Integer>>mapToObj(i -> () -> {
+                    maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+                    sleepQuietly();
+                    inFlight.decrementAndGet();
+                    return i;
+                })
+                .toList();
+
+        adapter.dispatchAll(tasks);
+
+        assertTrue(maxInFlight.get() <= 2);
+    }
+
+    @Test
+    void dispatchAll_ShouldRunOnCallerThreadWhenDispatcherIsSaturated() throws InterruptedException {
+        adapter = new ExecutorNotificationDispatchAdapter(1, 4, Duration.ofSeconds(1), meterRegistry);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        adapter.dispatch(() -> {
+            started.countDown();
+            awaitQuietly(release);
+        });
+        assertTrue(started.await(1, TimeUnit.SECONDS));
+
+        List<String> results = adapter.dispatchAll(List.of(() -> Thread.currentThread().getName()));
+
+        assertEquals(Thread.currentThread().getName(), results.getFirst());
+        release.countDown();
+    }
+
+    private void sleepQuietly() {
+        try {
+            TimeUnit.MILLISECONDS.sleep(10);
+        } catch (InterruptedException _) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(1, TimeUnit.SECONDS);
+        } catch (InterruptedException _) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
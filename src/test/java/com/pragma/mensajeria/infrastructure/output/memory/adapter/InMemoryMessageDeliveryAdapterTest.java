@@ -0,0 +1,129 @@
+package com.pragma.mensajeria.infrastructure.output.memory.adapter;
+
+import com.pragma.mensajeria.domain.model.DeliveryStatus;
+import com.pragma.mensajeria.domain.model.MessageDelivery;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InMemoryMessageDeliveryAdapterTest {
+
+    @Test
+    void merge_ShouldKeepOrderIdFromAcceptanceWhenCallbackArrives() {
+        InMemoryMessageDeliveryAdapter adapter = new InMemoryMessageDeliveryAdapter(10);
+
+        adapter.merge(MessageDelivery.accepted("SM1", "ORD1"));
+        MessageDelivery merged = adapter.merge(update("SM1", DeliveryStatus.DELIVERED));
+
+        assertEquals(DeliveryStatus.DELIVERED, merged.getStatus());
+        assertEquals("ORD1", merged.getOrderId());
+        assertEquals(List.of(merged), adapter.findByOrderId("ORD1"));
+    }
+
+    @Test
+    void merge_ShouldNotRegressStatusOnOutOfOrderCallbacks() {
+        InMemoryMessageDeliveryAdapter adapter = new InMemoryMessageDeliveryAdapter(10);
+
+        adapter.merge(update("SM1", DeliveryStatus.DELIVERED));
+        adapter.merge(update("SM1", DeliveryStatus.SENT));
+
+        assertEquals(DeliveryStatus.DELIVERED, adapter.findByMessageId("SM1").orElseThrow().getStatus());
+    }
+
+    @Test
+    void merge_ShouldIndexOrderWhenAcceptanceArrivesAfterCallback() {
+        InMemoryMessageDeliveryAdapter adapter = new InMemoryMessageDeliveryAdapter(10);
+
+        adapter.merge(update("SM1", DeliveryStatus.SENT));
+        adapter.merge(MessageDelivery.accepted("SM1", "ORD1"));
+
+        MessageDelivery delivery = adapter.findByOrderId("ORD1").getFirst();
+        assertEquals(DeliveryStatus.SENT, delivery.getStatus());
+    }
+
+    @Test
+    void merge_ShouldEvictOldestEntriesAndTheirOrderIndex() {
+        InMemoryMessageDeliveryAdapter adapter = new InMemoryMessageDeliveryAdapter(2);
+
+        adapter.merge(MessageDelivery.accepted("SM1", "ORD1"));
+        adapter.merge(MessageDelivery.accepted("SM2", "ORD2"));
+        adapter.merge(MessageDelivery.accepted("SM3", "ORD3"));
+
+        assertEquals(2, adapter.size());
+        assertTrue(adapter.findByMessageId("SM1").isEmpty());
+        assertTrue(adapter.findByOrderId("ORD1").isEmpty());
+        assertTrue(adapter.findByMessageId("SM3").isPresent());
+    }
+
+    @Test
+    void merge_ShouldIndexEveryOrderOfACoalescedMessage() {
+        InMemoryMessageDeliveryAdapter adapter = new InMemoryMessageDeliveryAdapter(1);
+
+        adapter.merge(MessageDelivery.accepted("SM1", "ORD1"));
+        adapter.merge(MessageDelivery.accepted("SM1", "ORD2"));
+
+        assertEquals("SM1", adapter.findByOrderId("ORD2").getFirst().getMessageId());
+
+        adapter.merge(MessageDelivery.accepted("SM2", "ORD3"));
+
+        assertTrue(adapter.findByOrderId("ORD1").isEmpty());
+        assertTrue(adapter.findByOrderId("ORD2").isEmpty());
+    }
+
+    @Test
+    void merge_ShouldKeepHighestStatusUnderConcurrentUpdates() {
+        InMemoryMessageDeliveryAdapter adapter = new InMemoryMessageDeliveryAdapter(10);
+        DeliveryStatus[] statuses = {DeliveryStatus.QUEUED, DeliveryStatus.SENDING, DeliveryStatus.SENT, DeliveryStatus.DELIVERED};
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(8)) {
+            CompletableFuture.allOf(IntStream.range(0, 400)
+                    .mapToObj(i -> CompletableFuture.runAsync(
+                            () -> adapter.merge(update("SM1", statuses[i % statuses.length])), executor))
+                    .toArray(CompletableFuture[]::new)).join();
+        }
+
+        assertEquals(DeliveryStatus.DELIVERED, adapter.findByMessageId("SM1").orElseThrow().getStatus());
+        assertEquals(1, adapter.size());
+    }
+
+    @Test
+    void merge_ShouldNotLeakOrderIndexWhenEvictionRacesWithUpdates() {
+        InMemoryMessageDeliveryAdapter adapter = new InMemoryMessageDeliveryAdapter(4);
+
+        // Each message gets an acceptance and a callback from different threads while new messages keep evicting
+        try (ExecutorService executor = Executors.newFixedThreadPool(8)) {
+            CompletableFuture.allOf(IntStream.range(0, 20_000)
+                    .mapToObj(i -> CompletableFuture.runAsync(() -> {
+                        String messageId = "SM" + (i / 2);
+                        adapter.merge(i % 2 == 0
+                                ? MessageDelivery.accepted(messageId, "ORD" + (i / 2))
+                                : update(messageId, DeliveryStatus.DELIVERED));
+                    }, executor))
+                    .toArray(CompletableFuture[]::new)).join();
+        }
+
+        assertTrue(adapter.size() <= 4);
+        assertTrue(adapter.indexedMessageCount() <= adapter.size());
+        assertTrue(adapter.indexedOrderCount() <= adapter.size());
+    }
+
+    @Test
+    void findByOrderId_ShouldReturnEmptyListForUnknownOrder() {
+        assertTrue(new InMemoryMessageDeliveryAdapter(10).findByOrderId("UNKNOWN").isEmpty());
+    }
+
+    private MessageDelivery update(String messageId, DeliveryStatus status) {
+        return MessageDelivery.builder()
+                .messageId(messageId)
+                .status(status)
+                .updatedAt(Instant.now())
+                .build();
+    }
+}
@@ -0,0 +1,100 @@
+package com.pragma.mensajeria.infrastructure.output.memory.adapter;
+
+import com.pragma.mensajeria.domain.model.NotificationResult;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InMemoryNotificationIdempotencyAdapterTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void claim_ShouldShareTheFirstInFlightSendWithDuplicates() {
+        InMemoryNotificationIdempotencyAdapter adapter = adapter(10, Duration.ofMinutes(10));
+        CompletableFuture<NotificationResult> first = new CompletableFuture<>();
+
+        Optional<CompletableFuture<NotificationResult>> firstClaim = adapter.claim("KEY", first);
+        Optional<CompletableFuture<NotificationResult>> duplicateClaim = adapter.claim("KEY", new CompletableFuture<>());
+
+        assertTrue(firstClaim.isEmpty());
+        assertSame(first, duplicateClaim.orElseThrow());
+        assertEquals(1.0, counter("hit"));
+        assertEquals(1.0, counter("miss"));
+    }
+
+    @Test
+    void release_ShouldLetTheNextClaimSendAgain() {
+        InMemoryNotificationIdempotencyAdapter adapter = adapter(10, Duration.ofMinutes(10));
+        CompletableFuture<NotificationResult> failed = new CompletableFuture<>();
+        adapter.claim("KEY", failed);
+
+        adapter.release("KEY", failed);
+
+        assertTrue(adapter.claim("KEY", new CompletableFuture<>()).isEmpty());
+    }
+
+    @Test
+    void release_ShouldIgnoreAFutureThatNoLongerOwnsTheKey() {
+        InMemoryNotificationIdempotencyAdapter adapter = adapter(10, Duration.ofMinutes(10));
+        CompletableFuture<NotificationResult> owner = new CompletableFuture<>();
+        adapter.claim("KEY", owner);
+
+        adapter.release("KEY", new CompletableFuture<>());
+
+        assertSame(owner, adapter.claim("KEY", new CompletableFuture<>()).orElseThrow());
+    }
+
+    @Test
+    void claim_ShouldEvictOldestEntriesWhenCapacityIsExceeded() {
+        InMemoryNotificationIdempotencyAdapter adapter = adapter(2, Duration.ofMinutes(10));
+
+        adapter.claim("KEY1", new CompletableFuture<>());
+        adapter.claim("KEY2", new CompletableFuture<>());
+        adapter.claim("KEY3", new CompletableFuture<>());
+
+        assertEquals(2, adapter.size());
+        assertEquals(1.0, meterRegistry.get("notification.idempotency.evictions").counter().count());
+        assertTrue(adapter.claim("KEY1", new CompletableFuture<>()).isEmpty());
+    }
+
+    @Test
+    void claim_ShouldNotLetReleasedEntriesEvictLiveOnes() {
+        InMemoryNotificationIdempotencyAdapter adapter = adapter(2, Duration.ofMinutes(10));
+        CompletableFuture<NotificationResult> live = new CompletableFuture<>();
+        adapter.claim("LIVE", live);
+        for (int i = 0; i < 10; i++) {
+            CompletableFuture<NotificationResult> failed = new CompletableFuture<>();
+            adapter.claim("RETRY", failed);
+            adapter.release("RETRY", failed);
+        }
+
+        assertEquals(1, adapter.size());
+        assertEquals(0.0, meterRegistry.get("notification.idempotency.evictions").counter().count());
+        assertSame(live, adapter.claim("LIVE", new CompletableFuture<>()).orElseThrow());
+    }
+
+    @Test
+    void claim_ShouldTreatExpiredEntriesAsMisses() throws InterruptedException {
+        InMemoryNotificationIdempotencyAdapter adapter = adapter(10, Duration.ofMillis(1));
+        adapter.claim("KEY", new CompletableFuture<>());
+
+        Thread.sleep(5);
+
+        assertTrue(adapter.claim("KEY", new CompletableFuture<>()).isEmpty());
+        assertEquals(2.0, counter("miss"));
+    }
+
+    private InMemoryNotificationIdempotencyAdapter adapter(int maxEntries, Duration ttl) {
+        return new InMemoryNotificationIdempotencyAdapter(maxEntries, ttl, meterRegistry);
+    }
+
+    private double counter(String result) {
+        return meterRegistry.get("notification.idempotency.requests").tag("result", result).counter().count();
+    }
+}
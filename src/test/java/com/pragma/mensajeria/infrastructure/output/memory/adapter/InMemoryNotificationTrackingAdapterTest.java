@@ -0,0 +1,55 @@
+package com.pragma.mensajeria.infrastructure.output.memory.adapter;
+
+import com.pragma.mensajeria.domain.model.NotificationStatus;
+import com.pragma.mensajeria.domain.model.NotificationTracking;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InMemoryNotificationTrackingAdapterTest {
+
+    @Test
+    void save_ShouldStoreAndReplaceTrackingById() {
+        InMemoryNotificationTrackingAdapter adapter = new InMemoryNotificationTrackingAdapter(10, Duration.ofHours(1));
+
+        adapter.save(tracking("TRK1", NotificationStatus.PENDING, Instant.now()));
+        adapter.save(tracking("TRK1", NotificationStatus.SENT, Instant.now()));
+
+        assertEquals(1, adapter.size());
+        assertEquals(NotificationStatus.SENT, adapter.findByTrackingId("TRK1").orElseThrow().getStatus());
+    }
+
+    @Test
+    void save_ShouldEvictOldestEntriesWhenCapacityIsExceeded() {
+        InMemoryNotificationTrackingAdapter adapter = new InMemoryNotificationTrackingAdapter(2, Duration.ofHours(1));
+
+        adapter.save(tracking("TRK1", NotificationStatus.PENDING, Instant.now()));
+        adapter.save(tracking("TRK2", NotificationStatus.PENDING, Instant.now()));
+        adapter.save(tracking("TRK3", NotificationStatus.PENDING, Instant.now()));
+
+        assertEquals(2, adapter.size());
+        assertTrue(adapter.findByTrackingId("TRK1").isEmpty());
+        assertTrue(adapter.findByTrackingId("TRK3").isPresent());
+    }
+
+    @Test
+    void findByTrackingId_ShouldNotReturnExpiredEntries() {
+        InMemoryNotificationTrackingAdapter adapter = new InMemoryNotificationTrackingAdapter(10, Duration.ofMinutes(5));
+
+        adapter.save(tracking("OLD", NotificationStatus.SENT, Instant.now().minus(Duration.ofMinutes(10))));
+
+        assertTrue(adapter.findByTrackingId("OLD").isEmpty());
+        assertTrue(adapter.findByTrackingId("UNKNOWN").isEmpty());
+    }
+
+    private NotificationTracking tracking(String trackingId, NotificationStatus status, Instant acceptedAt) {
+        return NotificationTracking.builder()
+                .trackingId(trackingId)
+                .status(status)
+                .acceptedAt(acceptedAt)
+                .build();
+    }
+}
@@ -0,0 +1,57 @@
+package com.pragma.mensajeria.infrastructure.output.metrics.adapter;
+
+import com.pragma.mensajeria.domain.model.NotificationResult;
+import com.pragma.mensajeria.domain.model.NotificationType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MicrometerNotificationMetricsAdapterTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final MicrometerNotificationMetricsAdapter adapter = new MicrometerNotificationMetricsAdapter(meterRegistry);
+
+    @Test
+    void sendStarted_ShouldRaiseInFlightGaugeUntilCompleted() {
+        adapter.sendStarted(NotificationType.ORDER_READY);
+        adapter.sendStarted(NotificationType.ORDER_READY);
+
+        assertEquals(2.0, inFlight());
+
+        adapter.sendCompleted(NotificationType.ORDER_READY, NotificationResult.success("SM1"));
+
+        assertEquals(1.0, inFlight());
+    }
+
+    @Test
+    void sendCompleted_ShouldCountOutcomesByNotificationType() {
+        adapter.sendStarted(NotificationType.ORDER_READY);
+        adapter.sendCompleted(NotificationType.ORDER_READY, NotificationResult.success("SM1"));
+        adapter.sendStarted(NotificationType.ORDER_READY);
+        adapter.sendCompleted(NotificationType.ORDER_READY, NotificationResult.failure("Twilio error"));
+        adapter.sendStarted(NotificationType.ORDER_READY);
+        adapter.sendCompleted(NotificationType.ORDER_READY, null);
+
+        assertEquals(1.0, sends("success"));
+        assertEquals(2.0, sends("failure"));
+        assertEquals(0.0, inFlight());
+    }
+
+    @Test
+    void recordFormatting_ShouldFeedFormattingStageTimer() {
+        adapter.recordFormatting(TimeUnit.MICROSECONDS.toNanos(20));
+
+        assertEquals(1, meterRegistry.get("notification.stage.duration").tag("stage", "formatting").timer().count());
+    }
+
+    private double inFlight() {
+        return meterRegistry.get("notification.sends.in.flight").tag("type", "ORDER_READY").gauge().value();
+    }
+
+    private double sends(String outcome) {
+        return meterRegistry.get("notification.sends").tag("type", "ORDER_READY").tag("outcome", outcome).counter().count();
+    }
+}
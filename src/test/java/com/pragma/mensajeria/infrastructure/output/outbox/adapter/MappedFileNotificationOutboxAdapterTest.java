@@ -0,0 +1,246 @@
+package com.pragma.mensajeria.infrastructure.output.outbox.adapter;
+
+import com.pragma.mensajeria.domain.exception.NotificationDispatchException;
+import com.pragma.mensajeria.domain.model.NotificationMessage;
+import com.pragma.mensajeria.domain.model.NotificationOutboxEntry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MappedFileNotificationOutboxAdapterTest {
+
+    @TempDir
+    Path directory;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void findPending_ShouldReturnAppendedEntriesUntilMarkedDone() {
+        MappedFileNotificationOutboxAdapter outbox = open(DataSize.ofKilobytes(64));
+
+        outbox.append(entry("TRK1"));
+        outbox.append(entry("TRK2"));
+        outbox.markDone("TRK1");
+
+        List<NotificationOutboxEntry> pending = outbox.findPending();
+        assertEquals(1, pending.size());
+        assertEquals("TRK2", pending.get(0).getTrackingId());
+        outbox.shutdown();
+    }
+
+    @Test
+    void recover_ShouldReplayPendingEntriesAfterRestart() {
+        MappedFileNotificationOutboxAdapter outbox = open(DataSize.ofKilobytes(64));
+        NotificationOutboxEntry accepted = entry("TRK1");
+        outbox.append(accepted);
+        outbox.append(entry("TRK2"));
+        outbox.markDone("TRK2");
+        outbox.shutdown();
+
+        MappedFileNotificationOutboxAdapter reopened = open(DataSize.ofKilobytes(64));
+
+        List<NotificationOutboxEntry> pending = reopened.findPending();
+        assertEquals(1, pending.size());
+        NotificationOutboxEntry recovered = pending.get(0);
+        assertEquals("TRK1", recovered.getTrackingId());
+        assertEquals(accepted.getAcceptedAt(), recovered.getAcceptedAt());
+        assertEquals("+573001234567", recovered.getMessage().getPhoneNumber());
+        assertEquals("456789", recovered.getMessage().getSecurityPin());
+        assertNull(recovered.getMessage().getMessageContent());
+        reopened.shutdown();
+    }
+
+    @Test
+    void recover_ShouldKeepRestaurantIdOfPendingEntries() {
+        MappedFileNotificationOutboxAdapter outbox = open(DataSize.ofKilobytes(64));
+        NotificationOutboxEntry accepted = entry("TRK1");
+        accepted.getMessage().setRestaurantId("42");
+        outbox.append(accepted);
+        outbox.shutdown();
+
+        MappedFileNotificationOutboxAdapter reopened = open(DataSize.ofKilobytes(64));
+
+        assertEquals("42", reopened.findPending().get(0).getMessage().getRestaurantId());
+        reopened.shutdown();
+    }
+
+    @Test
+    void recover_ShouldKeepTheLatestReplayCount() {
+        MappedFileNotificationOutboxAdapter outbox = open(DataSize.ofKilobytes(64));
+        NotificationOutboxEntry accepted = entry("TRK1");
+        outbox.append(accepted);
+        outbox.append(accepted.toBuilder().replays(2).build());
+        outbox.shutdown();
+
+        MappedFileNotificationOutboxAdapter reopened = open(DataSize.ofKilobytes(64));
+
+        List<NotificationOutboxEntry> pending = reopened.findPending();
+        assertEquals(1, pending.size());
+        assertEquals(2, pending.get(0).getReplays());
+        reopened.shutdown();
+    }
+
+    @Test
+    void deadLetter_ShouldMoveTheEntryOutOfThePendingSet() throws IOException {
+        MappedFileNotificationOutboxAdapter outbox = open(DataSize.ofKilobytes(64));
+        NotificationOutboxEntry accepted = entry("TRK1");
+        outbox.append(accepted);
+
+        outbox.deadLetter(accepted);
+        outbox.shutdown();
+
+        MappedFileNotificationOutboxAdapter reopened = open(DataSize.ofKilobytes(64));
+        assertTrue(reopened.findPending().isEmpty());
+        assertTrue(Files.size(directory.resolve("dead-letters.log")) > 0);
+        assertEquals(1.0, meterRegistry.get("notification.outbox.dead.letter").counter().count());
+        reopened.shutdown();
+    }
+
+    @Test
+    void recover_ShouldIgnoreTornRecordAtTail() throws IOException {
+        MappedFileNotificationOutboxAdapter outbox = open(DataSize.ofKilobytes(64));
+        outbox.append(entry("TRK1"));
+        outbox.append(entry("TRK2"));
+        outbox.shutdown();
+
+        Path segment = segmentFiles().get(0);
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            // Flip a payload byte of the second record so its checksum no longer matches
+            ByteBuffer firstLength = ByteBuffer.allocate(Integer.BYTES);
+            channel.read(firstLength, 0);
+            long secondRecord = OutboxSegment.RECORD_HEADER_SIZE + firstLength.flip().getInt();
+            channel.write(ByteBuffer.wrap(new byte[]{0x7f}), secondRecord + OutboxSegment.RECORD_HEADER_SIZE + 3);
+        }
+
+        MappedFileNotificationOutboxAdapter reopened = open(DataSize.ofKilobytes(64));
+
+        assertEquals(List.of("TRK1"), reopened.findPending().stream().map(NotificationOutboxEntry::getTrackingId).toList());
+        reopened.shutdown();
+    }
+
+    @Test
+    void compact_ShouldDeleteSealedSegmentsAndCarryPendingEntriesForward() throws IOException {
+        MappedFileNotificationOutboxAdapter outbox = open(DataSize.ofBytes(512));
+        outbox.append(entry("KEEP"));
+        for (int i = 0; i < 20; i++) {
+            outbox.append(entry("TRK" + i));
+            outbox.markDone("TRK" + i);
+        }
+        assertTrue(outbox.getSegmentCount() > 2);
+
+        outbox.compact();
+
+        assertEquals(1, outbox.getSegmentCount());
+        assertEquals(1, segmentFiles().size());
+        outbox.shutdown();
+
+        MappedFileNotificationOutboxAdapter reopened = open(DataSize.ofBytes(512));
+        assertEquals(List.of("KEEP"), reopened.findPending().stream().map(NotificationOutboxEntry::getTrackingId).toList());
+        reopened.shutdown();
+    }
+
+    @Test
+    void append_ShouldMakeEveryConcurrentAppendDurable() throws Exception {
+        MappedFileNotificationOutboxAdapter outbox = open(DataSize.ofMegabytes(1));
+        int appends = 500;
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < appends; i++) {
+                String trackingId = "TRK" + i;
+                futures.add(executor.submit(() -> outbox.append(entry(trackingId))));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        }
+
+        assertEquals(appends, outbox.getPendingCount());
+        assertEquals(appends, (long) meterRegistry.get("notification.outbox.flush.batch").summary().totalAmount());
+        outbox.shutdown();
+    }
+
+    @Test
+    void append_ShouldRecoverAfterATransientFlushFailure() {
+        AtomicBoolean failNextForce = new AtomicBoolean(true);
+        MappedFileNotificationOutboxAdapter outbox = new MappedFileNotificationOutboxAdapter(directory.toString(),
+                DataSize.ofKilobytes(64), Duration.ofHours(1), meterRegistry, (segment, upTo) -> {
+                    if (failNextForce.getAndSet(false)) {
+                        throw new UncheckedIOException(new IOException("disk hiccup"));
+                    }
+                    segment.force(upTo);
+                });
+
+        assertThrows(NotificationDispatchException.class, () -> outbox.append(entry("TRK1")));
+        outbox.append(entry("TRK2"));
+
+        assertEquals(List.of("TRK2"), outbox.findPending().stream().map(NotificationOutboxEntry::getTrackingId).toList());
+        outbox.shutdown();
+
+        MappedFileNotificationOutboxAdapter reopened = open(DataSize.ofKilobytes(64));
+        assertEquals(List.of("TRK2"), reopened.findPending().stream().map(NotificationOutboxEntry::getTrackingId).toList());
+        reopened.shutdown();
+    }
+
+    @Test
+    void append_ShouldWrapAFailedForceWhenRollingTheSegment() {
+        // Only the roll, which runs on the appending thread, fails; the group-commit flusher keeps working
+        AtomicBoolean failForce = new AtomicBoolean();
+        Thread appender = Thread.currentThread();
+        MappedFileNotificationOutboxAdapter outbox = new MappedFileNotificationOutboxAdapter(directory.toString(),
+                DataSize.ofBytes(512), Duration.ofHours(1), meterRegistry, (segment, upTo) -> {
+                    if (failForce.get() && Thread.currentThread() == appender) {
+                        throw new UncheckedIOException(new IOException("disk hiccup"));
+                    }
+                    segment.force(upTo);
+                });
+        outbox.append(entry("TRK0"));
+        failForce.set(true);
+
+        assertThrows(NotificationDispatchException.class, () -> {
+            for (int i = 1; i < 20; i++) {
+                outbox.append(entry("TRK" + i));
+            }
+        });
+
+        failForce.set(false);
+        outbox.append(entry("TRK20"));
+        assertTrue(outbox.findPending().stream().anyMatch(pending -> pending.getTrackingId().equals("TRK20")));
+        outbox.shutdown();
+    }
+
+    private MappedFileNotificationOutboxAdapter open(DataSize segmentSize) {
+        return new MappedFileNotificationOutboxAdapter(directory.toString(), segmentSize, Duration.ofHours(1), meterRegistry);
+    }
+
+    private List<Path> segmentFiles() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.sorted().toList();
+        }
+    }
+
+    private static NotificationOutboxEntry entry(String trackingId) {
+        NotificationMessage message = new NotificationMessage("+573001234567", null, "123", "456789", "Mi Restaurante");
+        return new NotificationOutboxEntry(trackingId, Instant.now(), message, 0);
+    }
+}
@@ -0,0 +1,98 @@
+package com.pragma.mensajeria.infrastructure.output.sms;
+
+import com.pragma.mensajeria.domain.model.NotificationResult;
+import com.pragma.mensajeria.domain.spi.ISmsMessagingPort;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.tracing.CurrentTraceContext;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class ConcurrencyLimitedSmsMessagingPortTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void sendSms_ShouldDelegateAndReleasePermit() {
+        ISmsMessagingPort delegate = mock(ISmsMessagingPort.class);
+        when(delegate.sendSms("+573001234567", "hello")).thenReturn(NotificationResult.success("MSG123"));
+        ConcurrencyLimitedSmsMessagingPort port =
+                new ConcurrencyLimitedSmsMessagingPort(delegate, 2, Duration.ofMillis(100), meterRegistry,
+                        CurrentTraceContext.NOOP);
+
+        NotificationResult result = port.sendSms("+573001234567", "hello");
+
+        assertTrue(result.isSuccess());
+        assertEquals(0, port.getPermitsInUse());
+        assertEquals(1, meterRegistry.get("sms.provider.concurrency.wait").timer().count());
+    }
+
+    @Test
+    void sendSms_ShouldReleasePermitWhenDelegateThrows() {
+        ISmsMessagingPort delegate = mock(ISmsMessagingPort.class);
+        when(delegate.sendSms(anyString(), anyString())).thenThrow(new IllegalStateException("boom"));
+        ConcurrencyLimitedSmsMessagingPort port =
+                new ConcurrencyLimitedSmsMessagingPort(delegate, 1, Duration.ofMillis(100), meterRegistry,
+                        CurrentTraceContext.NOOP);
+
+        assertThrows(IllegalStateException.class, () -> port.sendSms("+573001234567", "hello"));
+
+        assertEquals(0, port.getPermitsInUse());
+    }
+
+    @Test
+    void sendSms_ShouldFailWhenNoPermitIsAvailableWithinQueueWaitTimeout() throws InterruptedException {
+        CountDownLatch inFlight = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ISmsMessagingPort delegate = (phoneNumber, message) -> {
+            inFlight.countDown();
+            try {
+                release.await(1, TimeUnit.SECONDS);
+            } catch (InterruptedException _) {
+                Thread.currentThread().interrupt();
+            }
+            return NotificationResult.success("MSG123");
+        };
+        ConcurrencyLimitedSmsMessagingPort port =
+                new ConcurrencyLimitedSmsMessagingPort(delegate, 1, Duration.ofMillis(20), meterRegistry,
+                        CurrentTraceContext.NOOP);
+        Thread holder = Thread.ofVirtual().start(() -> port.sendSms("+573001234567", "first"));
+        assertTrue(inFlight.await(1, TimeUnit.SECONDS));
+
+        NotificationResult result = port.sendSms("+573001234567", "second");
+
+        assertFalse(result.isSuccess());
+        assertEquals("SMS provider concurrency limit reached, try again later", result.getErrorMessage());
+        assertEquals("CONCURRENCY_LIMIT", result.getErrorCode());
+        assertEquals(1, port.getPermitsInUse());
+        assertEquals(1.0, meterRegistry.get("sms.provider.concurrency.rejected").counter().count());
+        release.countDown();
+        holder.join();
+    }
+
+    @Test
+    void sendSmsAsync_ShouldHoldPermitUntilDelegateCompletes() {
+        ISmsMessagingPort delegate = mock(ISmsMessagingPort.class);
+        CompletableFuture<NotificationResult> pending = new CompletableFuture<>();
+        when(delegate.sendSmsAsync("+573001234567", "hello")).thenReturn(pending);
+        ConcurrencyLimitedSmsMessagingPort port =
+                new ConcurrencyLimitedSmsMessagingPort(delegate, 1, Duration.ofMillis(20), meterRegistry,
+                        CurrentTraceContext.NOOP);
+
+        CompletableFuture<NotificationResult> first = port.sendSmsAsync("+573001234567", "hello");
+        NotificationResult second = port.sendSmsAsync("+573001234567", "hello").join();
+
+        assertEquals(1, port.getPermitsInUse());
+        assertFalse(second.isSuccess());
+        pending.complete(NotificationResult.success("MSG123"));
+        assertTrue(first.join().isSuccess());
+        assertEquals(0, port.getPermitsInUse());
+        verify(delegate, never()).sendSms(anyString(), anyString());
+    }
+}
@@ -0,0 +1,218 @@
+package com.pragma.mensajeria.infrastructure.output.sms;
+
+import com.pragma.mensajeria.domain.model.NotificationResult;
+import com.pragma.mensajeria.domain.spi.ISmsMessagingPort;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.tracing.CurrentTraceContext;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class HedgingSmsMessagingPortTest {
+
+    private static final String PHONE = "+573001234567";
+    private static final Predicate<NotificationResult> OUTAGE = result -> "OUTAGE".equals(result.getErrorCode());
+    private static final HedgingSmsMessagingPort.HealthSettings LENIENT_HEALTH =
+            new HedgingSmsMessagingPort.HealthSettings(10, 10, 100, Duration.ofMinutes(1));
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ISmsMessagingPort primary = mock(ISmsMessagingPort.class);
+    private final ISmsMessagingPort secondary = mock(ISmsMessagingPort.class);
+
+    private HedgingSmsMessagingPort port(Duration hedgeDelay, HedgingSmsMessagingPort.HealthSettings health,
+                                         ISmsMessagingPort... ports) {
+        return port(true, hedgeDelay, health, ports);
+    }
+
+    private HedgingSmsMessagingPort port(boolean hedgingEnabled, Duration hedgeDelay,
+                                         HedgingSmsMessagingPort.HealthSettings health, ISmsMessagingPort... ports) {
+        List<SmsProvider> providers = ports.length == 1
+                ? List.of(new SmsProvider("primary", ports[0], OUTAGE))
+                : List.of(new SmsProvider("primary", ports[0], OUTAGE), new SmsProvider("secondary", ports[1], OUTAGE));
+        return new HedgingSmsMessagingPort(providers, hedgingEnabled, 0.95, hedgeDelay, hedgeDelay, hedgeDelay, 50, health, meterRegistry,
+                CurrentTraceContext.NOOP);
+    }
+
+    private static CompletableFuture<NotificationResult> completed(NotificationResult result) {
+        return CompletableFuture.completedFuture(result);
+    }
+
+    @Test
+    void sendSmsAsync_ShouldPassThroughWithSingleProvider() {
+        when(primary.sendSmsAsync(PHONE, "hello")).thenReturn(completed(NotificationResult.success("SM1")));
+
+        NotificationResult result = port(Duration.ofMillis(10), LENIENT_HEALTH, primary).sendSmsAsync(PHONE, "hello").join();
+
+        assertEquals("SM1", result.getMessageId());
+        assertEquals(1.0, meterRegistry.get("sms.provider.wins").tag("provider", "primary").counter().count());
+    }
+
+    @Test
+    void sendSmsAsync_ShouldNotHedgeWhenPrimaryAnswersInTime() throws InterruptedException {
+        when(primary.sendSmsAsync(PHONE, "hello")).thenReturn(completed(NotificationResult.success("SM1")));
+
+        NotificationResult result = port(Duration.ofMillis(20), LENIENT_HEALTH, primary, secondary)
+                .sendSmsAsync(PHONE, "hello").join();
+        Thread.sleep(60);
+
+        assertEquals("SM1", result.getMessageId());
+        assertEquals(0.0, meterRegistry.get("sms.hedge.fired").counter().count());
+        verifyNoInteractions(secondary);
+    }
+
+    @Test
+    void sendSmsAsync_ShouldHedgeToSecondaryWhenPrimaryIsSlow() {
+        when(primary.sendSmsAsync(PHONE, "hello")).thenReturn(new CompletableFuture<>());
+        when(secondary.sendSmsAsync(PHONE, "hello")).thenReturn(completed(NotificationResult.success("SM2")));
+
+        NotificationResult result = port(Duration.ofMillis(20), LENIENT_HEALTH, primary, secondary)
+                .sendSmsAsync(PHONE, "hello").orTimeout(5, TimeUnit.SECONDS).join();
+
+        assertEquals("SM2", result.getMessageId());
+        assertEquals(1.0, meterRegistry.get("sms.hedge.fired").counter().count());
+        assertEquals(1.0, meterRegistry.get("sms.provider.wins").tag("provider", "secondary").counter().count());
+    }
+
+    @Test
+    void sendSmsAsync_ShouldNotHedgeSlowPrimaryWhenHedgingIsDisabled() throws InterruptedException {
+        CompletableFuture<NotificationResult> slowPrimary = new CompletableFuture<>();
+        when(primary.sendSmsAsync(PHONE, "hello")).thenReturn(slowPrimary);
+
+        CompletableFuture<NotificationResult> result = port(false, Duration.ofMillis(20), LENIENT_HEALTH, primary, secondary)
+                .sendSmsAsync(PHONE, "hello");
+        Thread.sleep(60);
+        slowPrimary.complete(NotificationResult.success("SM1"));
+
+        assertEquals("SM1", result.join().getMessageId());
+        assertEquals(0.0, meterRegistry.get("sms.hedge.fired").counter().count());
+        verifyNoInteractions(secondary);
+    }
+
+    @Test
+    void sendSmsAsync_ShouldStillFailOverWhenHedgingIsDisabled() {
+        when(primary.sendSmsAsync(PHONE, "hello")).thenReturn(completed(NotificationResult.failure("down", "OUTAGE")));
+        when(secondary.sendSmsAsync(PHONE, "hello")).thenReturn(completed(NotificationResult.success("SM2")));
+
+        NotificationResult result = port(false, Duration.ofMillis(20), LENIENT_HEALTH, primary, secondary)
+                .sendSmsAsync(PHONE, "hello").join();
+
+        assertEquals("SM2", result.getMessageId());
+    }
+
+    @Test
+    void sendSmsAsync_ShouldNotHedgeAfterPrimaryReportsUnknownOutcome() throws InterruptedException {
+        when(primary.sendSmsAsync(PHONE, "hello"))
+                .thenReturn(completed(NotificationResult.failure("timed out", "OUTCOME_UNKNOWN")));
+
+        NotificationResult result = port(Duration.ofMillis(20), LENIENT_HEALTH, primary, secondary)
+                .sendSmsAsync(PHONE, "hello").join();
+        Thread.sleep(60);
+
+        assertEquals("OUTCOME_UNKNOWN", result.getErrorCode());
+        assertEquals(0.0, meterRegistry.get("sms.hedge.fired").counter().count());
+        verifyNoInteractions(secondary);
+    }
+
+    @Test
+    void sendSmsAsync_ShouldCountDuplicateWhenBothProvidersDeliver() {
+        CompletableFuture<NotificationResult> slowPrimary = new CompletableFuture<>();
+        when(primary.sendSmsAsync(PHONE, "hello")).thenReturn(slowPrimary);
+        when(secondary.sendSmsAsync(PHONE, "hello")).thenReturn(completed(NotificationResult.success("SM2")));
+
+        NotificationResult result = port(Duration.ofMillis(20), LENIENT_HEALTH, primary, secondary)
+                .sendSmsAsync(PHONE, "hello").orTimeout(5, TimeUnit.SECONDS).join();
+        slowPrimary.complete(NotificationResult.success("SM1"));
+
+        assertEquals("SM2", result.getMessageId());
+        assertEquals(1.0, meterRegistry.get("sms.hedge.duplicates").counter().count());
+    }
+
+    @Test
+    void sendSmsAsync_ShouldFailOverOnProviderFailure() {
+        when(primary.sendSmsAsync(PHONE, "hello")).thenReturn(completed(NotificationResult.failure("down", "OUTAGE")));
+        when(secondary.sendSmsAsync(PHONE, "hello")).thenReturn(completed(NotificationResult.success("SM2")));
+
+        NotificationResult result = port(Duration.ofSeconds(10), LENIENT_HEALTH, primary, secondary)
+                .sendSmsAsync(PHONE, "hello").join();
+
+        assertEquals("SM2", result.getMessageId());
+        assertEquals(1.0, meterRegistry.get("sms.provider.failovers").counter().count());
+    }
+
+    @Test
+    void sendSmsAsync_ShouldFailOverWhenProviderThrows() {
+        when(primary.sendSmsAsync(PHONE, "hello")).thenThrow(new IllegalStateException("boom"));
+        when(secondary.sendSmsAsync(PHONE, "hello")).thenReturn(completed(NotificationResult.success("SM2")));
+
+        NotificationResult result = port(Duration.ofSeconds(10), LENIENT_HEALTH, primary, secondary)
+                .sendSmsAsync(PHONE, "hello").join();
+
+        assertEquals("SM2", result.getMessageId());
+    }
+
+    @Test
+    void sendSmsAsync_ShouldNotFailOverMessageLevelErrors() {
+        when(primary.sendSmsAsync(PHONE, "hello")).thenReturn(completed(NotificationResult.failure("bad number", "21211")));
+
+        NotificationResult result = port(Duration.ofSeconds(10), LENIENT_HEALTH, primary, secondary)
+                .sendSmsAsync(PHONE, "hello").join();
+
+        assertEquals("21211", result.getErrorCode());
+        verifyNoInteractions(secondary);
+    }
+
+    @Test
+    void sendSmsAsync_ShouldReturnLastFailureWhenEveryProviderFails() {
+        when(primary.sendSmsAsync(PHONE, "hello")).thenReturn(completed(NotificationResult.failure("down", "OUTAGE")));
+        when(secondary.sendSmsAsync(PHONE, "hello")).thenReturn(completed(NotificationResult.failure("down too", "OUTAGE")));
+
+        NotificationResult result = port(Duration.ofSeconds(10), LENIENT_HEALTH, primary, secondary)
+                .sendSmsAsync(PHONE, "hello").join();
+
+        assertFalse(result.isSuccess());
+        assertEquals("down too", result.getErrorMessage());
+    }
+
+    @Test
+    void sendSmsAsync_ShouldSkipUnhealthyProviderDuringCooldown() {
+        when(primary.sendSmsAsync(PHONE, "hello")).thenReturn(completed(NotificationResult.failure("down", "OUTAGE")));
+        when(secondary.sendSmsAsync(PHONE, "hello")).thenReturn(completed(NotificationResult.success("SM2")));
+        HedgingSmsMessagingPort port = port(Duration.ofSeconds(10),
+                new HedgingSmsMessagingPort.HealthSettings(10, 2, 50, Duration.ofMinutes(1)), primary, secondary);
+
+        port.sendSmsAsync(PHONE, "hello").join();
+        port.sendSmsAsync(PHONE, "hello").join();
+        port.sendSmsAsync(PHONE, "hello").join();
+
+        verify(primary, times(2)).sendSmsAsync(PHONE, "hello");
+        verify(secondary, times(3)).sendSmsAsync(PHONE, "hello");
+        assertEquals(0.0, meterRegistry.get("sms.provider.healthy").tag("provider", "primary").gauge().value());
+    }
+
+    @Test
+    void sendSmsAsync_ShouldFailOverRestaurantSendsWithTheRestaurant() {
+        when(primary.sendSmsAsync("42", PHONE, "hello")).thenReturn(completed(NotificationResult.failure("down", "OUTAGE")));
+        when(secondary.sendSmsAsync("42", PHONE, "hello")).thenReturn(completed(NotificationResult.success("SM2")));
+
+        NotificationResult result = port(Duration.ofSeconds(10), LENIENT_HEALTH, primary, secondary)
+                .sendSmsAsync("42", PHONE, "hello").join();
+
+        assertEquals("SM2", result.getMessageId());
+    }
+
+    @Test
+    void sendSms_ShouldBlockForHedgedResult() {
+        when(primary.sendSmsAsync(PHONE, "hello")).thenReturn(completed(NotificationResult.success("SM1")));
+
+        NotificationResult result = port(Duration.ofSeconds(10), LENIENT_HEALTH, primary, secondary).sendSms(PHONE, "hello");
+
+        assertEquals("SM1", result.getMessageId());
+    }
+}
@@ -0,0 +1,57 @@
+package com.pragma.mensajeria.infrastructure.output.sms;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RetryBudgetTest {
+
+    private final AtomicLong now = new AtomicLong();
+
+    @Test
+    void tryAcquireRetry_ShouldAllowRetriesInProportionToSends() {
+        RetryBudget budget = new RetryBudget(0.1, 0, 100, now::get);
+
+        for (int i = 0; i < 20; i++) {
+            budget.recordSend();
+        }
+
+        assertTrue(budget.tryAcquireRetry());
+        assertTrue(budget.tryAcquireRetry());
+        assertFalse(budget.tryAcquireRetry());
+    }
+
+    @Test
+    void tryAcquireRetry_ShouldGrantMinimumRetriesPerSecondWithoutTraffic() {
+        RetryBudget budget = new RetryBudget(0.1, 2, 100, now::get);
+
+        assertFalse(budget.tryAcquireRetry());
+
+        now.addAndGet(TimeUnit.SECONDS.toNanos(1));
+
+        assertTrue(budget.tryAcquireRetry());
+        assertTrue(budget.tryAcquireRetry());
+        assertFalse(budget.tryAcquireRetry());
+    }
+
+    @Test
+    void getBalance_ShouldBeCappedAtMaxBalance() {
+        RetryBudget budget = new RetryBudget(1, 10, 5, now::get);
+
+        for (int i = 0; i < 20; i++) {
+            budget.recordSend();
+        }
+        now.addAndGet(TimeUnit.SECONDS.toNanos(10));
+
+        assertEquals(5.0, budget.getBalance(), 1e-9);
+    }
+
+    @Test
+    void constructor_ShouldRejectInvalidSettings() {
+        assertThrows(IllegalArgumentException.class, () -> new RetryBudget(-0.1, 0, 10));
+        assertThrows(IllegalArgumentException.class, () -> new RetryBudget(0.1, 0, 0.5));
+    }
+}
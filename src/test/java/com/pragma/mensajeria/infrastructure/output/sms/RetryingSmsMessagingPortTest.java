@@ -0,0 +1,175 @@
+package com.pragma.mensajeria.infrastructure.output.sms;
+
+import com.pragma.mensajeria.domain.model.NotificationResult;
+import com.pragma.mensajeria.domain.spi.ISmsMessagingPort;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.tracing.CurrentTraceContext;
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.Tracer;
+import io.micrometer.tracing.test.simple.SimpleTracer;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class RetryingSmsMessagingPortTest {
+
+    private static final String PHONE = "+573001234567";
+    private static final Predicate<NotificationResult> RETRY_TRANSIENT = result -> "TRANSIENT".equals(result.getErrorCode());
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ISmsMessagingPort delegate = mock(ISmsMessagingPort.class);
+
+    private RetryingSmsMessagingPort port(int maxAttempts, RetryBudget retryBudget) {
+        return new RetryingSmsMessagingPort(delegate, RETRY_TRANSIENT, maxAttempts,
+                Duration.ofMillis(1), Duration.ofMillis(5), retryBudget, meterRegistry, CurrentTraceContext.NOOP);
+    }
+
+    private static CompletableFuture<NotificationResult> transientFailure() {
+        return CompletableFuture.completedFuture(NotificationResult.failure("busy", "TRANSIENT"));
+    }
+
+    @Test
+    void sendSmsAsync_ShouldReturnFirstSuccessWithOneAttempt() {
+        when(delegate.sendSmsAsync(PHONE, "hello")).thenReturn(CompletableFuture.completedFuture(NotificationResult.success("SM1")));
+
+        NotificationResult result = port(3, new RetryBudget(0.1, 10, 10)).sendSmsAsync(PHONE, "hello").join();
+
+        assertTrue(result.isSuccess());
+        assertEquals(1, result.getAttempts());
+        verify(delegate, times(1)).sendSmsAsync(PHONE, "hello");
+    }
+
+    @Test
+    void sendSmsAsync_ShouldGiveUpWhenRetryBudgetIsSpent() {
+        when(delegate.sendSmsAsync(PHONE, "hello")).thenReturn(transientFailure());
+
+        NotificationResult result = port(3, new RetryBudget(0.1, 0, 10)).sendSmsAsync(PHONE, "hello").join();
+
+        assertFalse(result.isSuccess());
+        assertEquals(1, result.getAttempts());
+        assertEquals(1.0, meterRegistry.get("sms.retry.budget.exhausted").counter().count());
+        verify(delegate, times(1)).sendSmsAsync(PHONE, "hello");
+    }
+
+    @Test
+    void sendSmsAsync_ShouldAddUpTheProviderCallsReportedByEachAttempt() {
+        NotificationResult throttled = NotificationResult.failure("busy", "TRANSIENT");
+        throttled.setAttempts(3);
+        NotificationResult delivered = NotificationResult.success("SM1");
+        delivered.setAttempts(2);
+        when(delegate.sendSmsAsync(PHONE, "hello")).thenReturn(CompletableFuture.completedFuture(throttled),
+                CompletableFuture.completedFuture(delivered));
+
+        NotificationResult result = port(3, new RetryBudget(0.1, 1000, 100))
+                .sendSmsAsync(PHONE, "hello").orTimeout(5, TimeUnit.SECONDS).join();
+
+        assertTrue(result.isSuccess());
+        assertEquals(5, result.getAttempts());
+        verify(delegate, times(2)).sendSmsAsync(PHONE, "hello");
+    }
+
+    @Test
+    void sendSmsAsync_ShouldStopAtMaxAttempts() {
+        when(delegate.sendSmsAsync(PHONE, "hello")).thenAnswer(invocation -> transientFailure());
+
+        NotificationResult result = port(3, new RetryBudget(0.1, 1000, 100))
+                .sendSmsAsync(PHONE, "hello").orTimeout(5, TimeUnit.SECONDS).join();
+
+        assertFalse(result.isSuccess());
+        assertEquals(3, result.getAttempts());
+        assertEquals(2.0, meterRegistry.get("sms.retry.scheduled").counter().count());
+        verify(delegate, times(3)).sendSmsAsync(PHONE, "hello");
+    }
+
+    @Test
+    void sendSmsAsync_ShouldRetryUnderTheCallersTrace() {
+        SimpleTracer tracer = new SimpleTracer();
+        List<String> traceIds = new CopyOnWriteArrayList<>();
+        when(delegate.sendSmsAsync(PHONE, "hello")).thenAnswer(invocation -> {
+            Span current = tracer.currentSpan();
+            traceIds.add(current == null ? "none" : current.context().traceId());
+            return transientFailure();
+        });
+        RetryingSmsMessagingPort port = new RetryingSmsMessagingPort(delegate, RETRY_TRANSIENT, 2,
+                Duration.ofMillis(1), Duration.ofMillis(5), new RetryBudget(0.1, 1000, 100), meterRegistry,
+                tracer.currentTraceContext());
+
+        Span request = tracer.nextSpan().name("request").start();
+        CompletableFuture<NotificationResult> result;
+        try (Tracer.SpanInScope _ = tracer.withSpan(request)) {
+            result = port.sendSmsAsync(PHONE, "hello");
+        }
+        result.orTimeout(5, TimeUnit.SECONDS).join();
+
+        assertEquals(List.of(request.context().traceId(), request.context().traceId()), traceIds);
+    }
+
+    @Test
+    void sendSmsAsync_ShouldRetryRestaurantSendsThroughTheSameRestaurant() {
+        when(delegate.sendSmsAsync("42", PHONE, "hello"))
+                .thenReturn(transientFailure())
+                .thenReturn(CompletableFuture.completedFuture(NotificationResult.success("SM1")));
+
+        NotificationResult result = port(3, new RetryBudget(0.1, 1000, 100))
+                .sendSmsAsync("42", PHONE, "hello").orTimeout(5, TimeUnit.SECONDS).join();
+
+        assertTrue(result.isSuccess());
+        assertEquals(2, result.getAttempts());
+        verify(delegate, never()).sendSmsAsync(PHONE, "hello");
+    }
+
+    @Test
+    void sendSmsAsync_ShouldNotRetryTerminalFailures() {
+        when(delegate.sendSmsAsync(PHONE, "hello"))
+                .thenReturn(CompletableFuture.completedFuture(NotificationResult.failure("bad number", "21211")));
+
+        NotificationResult result = port(3, new RetryBudget(0.1, 1000, 100)).sendSmsAsync(PHONE, "hello").join();
+
+        assertEquals(1, result.getAttempts());
+        verify(delegate, times(1)).sendSmsAsync(PHONE, "hello");
+    }
+
+    @Test
+    void sendSms_ShouldRetryWithoutBlockingOnSleepAndReturnEventualSuccess() {
+        when(delegate.sendSmsAsync(PHONE, "hello"))
+                .thenReturn(transientFailure())
+                .thenReturn(CompletableFuture.completedFuture(NotificationResult.success("SM1")));
+
+        NotificationResult result = port(3, new RetryBudget(0.1, 1000, 100)).sendSms(PHONE, "hello");
+
+        assertTrue(result.isSuccess());
+        assertEquals(2, result.getAttempts());
+        assertEquals(1, meterRegistry.get("sms.retry.attempts").summary().count());
+    }
+
+    @Test
+    void sendSms_ShouldRethrowDelegateExceptions() {
+        when(delegate.sendSmsAsync(PHONE, "hello")).thenThrow(new IllegalStateException("boom"));
+
+        RetryingSmsMessagingPort port = port(3, new RetryBudget(0.1, 1000, 100));
+
+        assertThrows(IllegalStateException.class, () -> port.sendSms(PHONE, "hello"));
+    }
+
+    @Test
+    void backoffNanos_ShouldStayWithinCappedExponentialBound() {
+        RetryingSmsMessagingPort port = new RetryingSmsMessagingPort(delegate, RETRY_TRANSIENT, 10,
+                Duration.ofMillis(100), Duration.ofMillis(500), new RetryBudget(0.1, 0, 10), meterRegistry,
+                CurrentTraceContext.NOOP);
+
+        for (int i = 0; i < 100; i++) {
+            assertTrue(port.backoffNanos(1) <= Duration.ofMillis(100).toNanos());
+            assertTrue(port.backoffNanos(2) <= Duration.ofMillis(200).toNanos());
+            assertTrue(port.backoffNanos(8) <= Duration.ofMillis(500).toNanos());
+            assertTrue(port.backoffNanos(40) >= 0);
+        }
+    }
+}
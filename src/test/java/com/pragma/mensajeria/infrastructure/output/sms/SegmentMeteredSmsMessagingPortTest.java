@@ -0,0 +1,70 @@
+package com.pragma.mensajeria.infrastructure.output.sms;
+
+import com.pragma.mensajeria.domain.model.NotificationResult;
+import com.pragma.mensajeria.domain.spi.ISmsMessagingPort;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class SegmentMeteredSmsMessagingPortTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void sendSms_ShouldRecordSegmentsByEncodingAndDelegate() {
+        ISmsMessagingPort delegate = mock(ISmsMessagingPort.class);
+        when(delegate.sendSms(anyString(), anyString())).thenReturn(NotificationResult.success("MSG123"));
+        SegmentMeteredSmsMessagingPort port = new SegmentMeteredSmsMessagingPort(delegate, meterRegistry);
+
+        NotificationResult result = port.sendSms("+573001234567", "a".repeat(200));
+        port.sendSms("+573001234567", "Cafetería");
+
+        assertTrue(result.isSuccess());
+        assertEquals(2.0, meterRegistry.get("sms.message.segments").tag("encoding", "gsm_7").summary().totalAmount());
+        assertEquals(1.0, meterRegistry.get("sms.message.segments").tag("encoding", "ucs_2").summary().totalAmount());
+    }
+
+    @Test
+    void sendSmsAsync_ShouldRecordSegmentsAndDelegate() {
+        ISmsMessagingPort delegate = mock(ISmsMessagingPort.class);
+        when(delegate.sendSmsAsync(anyString(), anyString()))
+                .thenReturn(CompletableFuture.completedFuture(NotificationResult.success("MSG123")));
+        SegmentMeteredSmsMessagingPort port = new SegmentMeteredSmsMessagingPort(delegate, meterRegistry);
+
+        port.sendSmsAsync("+573001234567", "hello").join();
+
+        assertEquals(1, meterRegistry.get("sms.message.segments").tag("encoding", "gsm_7").summary().count());
+        verify(delegate, never()).sendSms(anyString(), anyString());
+    }
+
+    @Test
+    void sendSms_ShouldNotRecordSendsTheProviderRejected() {
+        ISmsMessagingPort delegate = mock(ISmsMessagingPort.class);
+        when(delegate.sendSms(anyString(), anyString())).thenReturn(NotificationResult.failure("busy", "20503"));
+        when(delegate.sendSmsAsync(anyString(), anyString()))
+                .thenReturn(CompletableFuture.completedFuture(NotificationResult.failure("busy", "20503")));
+        SegmentMeteredSmsMessagingPort port = new SegmentMeteredSmsMessagingPort(delegate, meterRegistry);
+
+        port.sendSms("+573001234567", "hello");
+        port.sendSmsAsync("+573001234567", "hello").join();
+
+        assertEquals(0, meterRegistry.get("sms.message.segments").tag("encoding", "gsm_7").summary().count());
+    }
+
+    @Test
+    void sendSmsAsync_ShouldPassRestaurantToDelegate() {
+        ISmsMessagingPort delegate = mock(ISmsMessagingPort.class);
+        when(delegate.sendSmsAsync("42", "+573001234567", "hello"))
+                .thenReturn(CompletableFuture.completedFuture(NotificationResult.success("MSG123")));
+        SegmentMeteredSmsMessagingPort port = new SegmentMeteredSmsMessagingPort(delegate, meterRegistry);
+
+        NotificationResult result = port.sendSmsAsync("42", "+573001234567", "hello").join();
+
+        assertEquals("MSG123", result.getMessageId());
+        assertEquals(1, meterRegistry.get("sms.message.segments").tag("encoding", "gsm_7").summary().count());
+    }
+}
@@ -2,13 +2,15 @@ package com.pragma.mensajeria.infrastructure.output.twilio.adapter;
 
 import com.pragma.mensajeria.domain.model.NotificationResult;
 import com.pragma.mensajeria.infrastructure.output.twilio.client.TwilioSmsClient;
+import io.micrometer.tracing.Tracer;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -19,9 +21,13 @@ class TwilioSmsAdapterTest {
     @Mock
     private TwilioSmsClient twilioSmsClient;
 
-    @InjectMocks
     private TwilioSmsAdapter twilioSmsAdapter;
 
+    @BeforeEach
+    void setUp() {
+        twilioSmsAdapter = new TwilioSmsAdapter(twilioSmsClient, Tracer.NOOP);
+    }
+
     @Test
     void sendSms_ShouldDelegateToClient() {
         NotificationResult expected = NotificationResult.success("MSG123");
@@ -33,4 +39,18 @@ class TwilioSmsAdapterTest {
         assertEquals("MSG123", result.getMessageId());
         verify(twilioSmsClient).sendSms("+573001234567", "hello");
     }
+
+    @Test
+    void sendSmsAsync_ShouldDelegateToClientOnAnotherThread() {
+        Thread caller = Thread.currentThread();
+        when(twilioSmsClient.sendSms("+573001234567", "hello")).thenAnswer(invocation -> {
+            assertNotSame(caller, Thread.currentThread());
+            return NotificationResult.success("MSG123");
+        });
+
+        NotificationResult result = twilioSmsAdapter.sendSmsAsync("+573001234567", "hello").join();
+
+        assertEquals("MSG123", result.getMessageId());
+        twilioSmsAdapter.shutdown();
+    }
 }
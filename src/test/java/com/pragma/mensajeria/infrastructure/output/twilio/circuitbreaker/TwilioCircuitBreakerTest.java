@@ -0,0 +1,197 @@
+package com.pragma.mensajeria.infrastructure.output.twilio.circuitbreaker;
+
+import com.pragma.mensajeria.infrastructure.output.twilio.circuitbreaker.TwilioCircuitBreaker.State;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class TwilioCircuitBreakerTest {
+
+    private static final long FAST = Duration.ofMillis(10).toNanos();
+    private static final long SLOW = Duration.ofSeconds(5).toNanos();
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ApplicationEventPublisher eventPublisher = mock(ApplicationEventPublisher.class);
+
+    private TwilioCircuitBreaker breaker(Duration openDuration) {
+        return breaker(openDuration, Duration.ofSeconds(30));
+    }
+
+    private TwilioCircuitBreaker breaker(Duration openDuration, Duration probeTimeout) {
+        return new TwilioCircuitBreaker(10, 4, 50, 80, Duration.ofSeconds(1), openDuration, 2, probeTimeout,
+                meterRegistry, eventPublisher);
+    }
+
+    private static void recordFailures(TwilioCircuitBreaker breaker, int count) {
+        for (int i = 0; i < count; i++) {
+            breaker.onError(breaker.tryAcquirePermission(), FAST);
+        }
+    }
+
+    private static void recordSuccesses(TwilioCircuitBreaker breaker, int count, long durationNanos) {
+        for (int i = 0; i < count; i++) {
+            breaker.onSuccess(breaker.tryAcquirePermission(), durationNanos);
+        }
+    }
+
+    @Test
+    void shouldStayClosedBelowMinimumCalls() {
+        TwilioCircuitBreaker breaker = breaker(Duration.ofSeconds(30));
+
+        recordFailures(breaker, 3);
+
+        assertEquals(State.CLOSED, breaker.getState());
+        assertNotEquals(TwilioCircuitBreaker.NOT_PERMITTED, breaker.tryAcquirePermission());
+    }
+
+    @Test
+    void shouldOpenOnFailureRateAndFailFast() {
+        TwilioCircuitBreaker breaker = breaker(Duration.ofSeconds(30));
+        recordSuccesses(breaker, 2, FAST);
+
+        recordFailures(breaker, 2);
+
+        assertEquals(State.OPEN, breaker.getState());
+        assertEquals(TwilioCircuitBreaker.NOT_PERMITTED, breaker.tryAcquirePermission());
+        assertEquals(1.0, meterRegistry.get("twilio.circuit.breaker.calls").tag("kind", "not_permitted").counter().count());
+        assertEquals(1.0, meterRegistry.get("twilio.circuit.breaker.state").tag("state", "open").gauge().value());
+        assertEquals(1.0, meterRegistry.get("twilio.circuit.breaker.transitions")
+                .tag("from", "closed").tag("to", "open").counter().count());
+    }
+
+    @Test
+    void shouldOpenOnSlowCallRate() {
+        TwilioCircuitBreaker breaker = breaker(Duration.ofSeconds(30));
+
+        recordSuccesses(breaker, 4, SLOW);
+
+        assertEquals(State.OPEN, breaker.getState());
+    }
+
+    @Test
+    void shouldForgetOutcomesThatLeaveTheSlidingWindow() {
+        TwilioCircuitBreaker breaker = breaker(Duration.ofSeconds(30));
+        recordSuccesses(breaker, 3, FAST);
+        recordFailures(breaker, 2);
+        recordSuccesses(breaker, 5, FAST);
+        assertEquals(20.0, breaker.getFailureRate(), 1e-9);
+
+        recordSuccesses(breaker, 5, FAST);
+
+        assertEquals(0.0, breaker.getFailureRate(), 1e-9);
+        assertEquals(State.CLOSED, breaker.getState());
+    }
+
+    @Test
+    void shouldAllowLimitedProbesWhenHalfOpenAndCloseOnSuccess() throws InterruptedException {
+        TwilioCircuitBreaker breaker = breaker(Duration.ofMillis(20));
+        recordFailures(breaker, 4);
+        Thread.sleep(40);
+
+        long firstProbe = breaker.tryAcquirePermission();
+        assertNotEquals(TwilioCircuitBreaker.NOT_PERMITTED, firstProbe);
+        assertEquals(State.HALF_OPEN, breaker.getState());
+        long secondProbe = breaker.tryAcquirePermission();
+        assertNotEquals(TwilioCircuitBreaker.NOT_PERMITTED, secondProbe);
+        assertEquals(TwilioCircuitBreaker.NOT_PERMITTED, breaker.tryAcquirePermission());
+
+        breaker.onSuccess(firstProbe, FAST);
+        breaker.onSuccess(secondProbe, FAST);
+
+        assertEquals(State.CLOSED, breaker.getState());
+        ArgumentCaptor<TwilioCircuitBreakerStateChangedEvent> events =
+                ArgumentCaptor.forClass(TwilioCircuitBreakerStateChangedEvent.class);
+        verify(eventPublisher, times(3)).publishEvent(events.capture());
+        assertEquals(List.of(State.OPEN, State.HALF_OPEN, State.CLOSED),
+                events.getAllValues().stream().map(TwilioCircuitBreakerStateChangedEvent::to).toList());
+    }
+
+    @Test
+    void shouldReopenWhenProbesFail() throws InterruptedException {
+        TwilioCircuitBreaker breaker = breaker(Duration.ofMillis(20));
+        recordFailures(breaker, 4);
+        Thread.sleep(40);
+
+        recordFailures(breaker, 2);
+
+        assertEquals(State.OPEN, breaker.getState());
+        assertEquals(TwilioCircuitBreaker.NOT_PERMITTED, breaker.tryAcquirePermission());
+    }
+
+    @Test
+    void shouldIgnoreResultsOfCallsPermittedBeforeTheBreakerOpened() throws InterruptedException {
+        TwilioCircuitBreaker breaker = breaker(Duration.ofMillis(20));
+        long stale = breaker.tryAcquirePermission();
+        recordFailures(breaker, 4);
+        Thread.sleep(40);
+        long probe = breaker.tryAcquirePermission();
+
+        breaker.onSuccess(stale, FAST);
+        breaker.onSuccess(stale, FAST);
+
+        assertEquals(State.HALF_OPEN, breaker.getState());
+        long secondProbe = breaker.tryAcquirePermission();
+        assertNotEquals(TwilioCircuitBreaker.NOT_PERMITTED, secondProbe);
+        breaker.onError(probe, FAST);
+        breaker.onError(secondProbe, FAST);
+        assertEquals(State.OPEN, breaker.getState());
+    }
+
+    @Test
+    void shouldPublishTransitionsAfterReleasingTheLock() {
+        TwilioCircuitBreaker breaker = breaker(Duration.ofSeconds(30));
+        doAnswer(invocation -> {
+            // A listener reading the breaker would block on its lock if the event were published while holding it
+            Thread reader = Thread.ofPlatform().start(breaker::getFailureRate);
+            reader.join(1_000);
+            assertFalse(reader.isAlive());
+            return null;
+        }).when(eventPublisher).publishEvent(any(TwilioCircuitBreakerStateChangedEvent.class));
+
+        recordFailures(breaker, 4);
+
+        assertEquals(State.OPEN, breaker.getState());
+        verify(eventPublisher).publishEvent(any(TwilioCircuitBreakerStateChangedEvent.class));
+    }
+
+    @Test
+    void releasePermission_ShouldReturnProbeSlot() throws InterruptedException {
+        TwilioCircuitBreaker breaker = breaker(Duration.ofMillis(20));
+        recordFailures(breaker, 4);
+        Thread.sleep(40);
+        breaker.tryAcquirePermission();
+        long probe = breaker.tryAcquirePermission();
+
+        breaker.releasePermission(probe);
+
+        assertNotEquals(TwilioCircuitBreaker.NOT_PERMITTED, breaker.tryAcquirePermission());
+    }
+
+    @Test
+    void shouldReopenWhenAProbeIsNeverReported() throws InterruptedException {
+        TwilioCircuitBreaker breaker = breaker(Duration.ofMillis(20), Duration.ofMillis(50));
+        recordFailures(breaker, 4);
+        Thread.sleep(40);
+        long hung = breaker.tryAcquirePermission();
+        breaker.onSuccess(breaker.tryAcquirePermission(), FAST);
+        assertEquals(TwilioCircuitBreaker.NOT_PERMITTED, breaker.tryAcquirePermission());
+
+        Thread.sleep(80);
+
+        assertEquals(TwilioCircuitBreaker.NOT_PERMITTED, breaker.tryAcquirePermission());
+        assertEquals(State.OPEN, breaker.getState());
+        breaker.onSuccess(hung, FAST);
+        assertEquals(State.OPEN, breaker.getState());
+
+        Thread.sleep(40);
+        assertNotEquals(TwilioCircuitBreaker.NOT_PERMITTED, breaker.tryAcquirePermission());
+        assertEquals(State.HALF_OPEN, breaker.getState());
+    }
+}
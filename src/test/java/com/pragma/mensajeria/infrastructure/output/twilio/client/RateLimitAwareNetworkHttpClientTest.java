@@ -0,0 +1,76 @@
+package com.pragma.mensajeria.infrastructure.output.twilio.client;
+
+import com.pragma.mensajeria.infrastructure.output.twilio.ratelimit.TwilioRateLimiter;
+import com.twilio.http.HttpMethod;
+import com.twilio.http.Request;
+import com.twilio.http.Response;
+import org.apache.http.Header;
+import org.apache.http.impl.client.HttpClientBuilder;
+import org.apache.http.message.BasicHeader;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.*;
+
+class RateLimitAwareNetworkHttpClientTest {
+
+    private static final Duration DEFAULT_RETRY_AFTER = Duration.ofSeconds(1);
+
+    private final TwilioRateLimiter twilioRateLimiter = mock(TwilioRateLimiter.class);
+    private final RateLimitAwareNetworkHttpClient httpClient =
+            new RateLimitAwareNetworkHttpClient(HttpClientBuilder.create(), twilioRateLimiter, DEFAULT_RETRY_AFTER);
+
+    private static Request messageRequest() {
+        Request request = new Request(HttpMethod.POST, "https://api.twilio.com/2010-04-01/Accounts/AC123/Messages.json");
+        request.addPostParam("MessagingServiceSid", "MG123");
+        return request;
+    }
+
+    @Test
+    void onResponse_ShouldThrottleMessagingServiceWithRetryAfter() {
+        Response response = new Response("", 429, new Header[]{new BasicHeader("Retry-After", "7")});
+
+        httpClient.onResponse(messageRequest(), response);
+
+        verify(twilioRateLimiter).onThrottled("MG123", Duration.ofSeconds(7));
+    }
+
+    @Test
+    void onResponse_ShouldUseDefaultRetryAfterWhenHeaderIsMissing() {
+        httpClient.onResponse(messageRequest(), new Response("", 429, new Header[0]));
+
+        verify(twilioRateLimiter).onThrottled("MG123", DEFAULT_RETRY_AFTER);
+    }
+
+    @Test
+    void onResponse_ShouldIgnoreNonThrottledResponses() {
+        httpClient.onResponse(messageRequest(), new Response("{}", 201));
+
+        verifyNoInteractions(twilioRateLimiter);
+    }
+
+    @Test
+    void onResponse_ShouldIgnoreRequestsWithoutMessagingService() {
+        Request request = new Request(HttpMethod.GET, "https://api.twilio.com/2010-04-01/Accounts/AC123.json");
+
+        httpClient.onResponse(request, new Response("", 429));
+
+        verifyNoInteractions(twilioRateLimiter);
+    }
+
+    @Test
+    void parseRetryAfter_ShouldSupportSecondsAndHttpDates() {
+        Instant now = Instant.parse("2024-05-01T10:00:00Z");
+
+        assertEquals(Duration.ofSeconds(3), RateLimitAwareNetworkHttpClient.parseRetryAfter(" 3 ", now, DEFAULT_RETRY_AFTER));
+        assertEquals(Duration.ofSeconds(90),
+                RateLimitAwareNetworkHttpClient.parseRetryAfter("Wed, 1 May 2024 10:01:30 GMT", now, DEFAULT_RETRY_AFTER));
+        assertEquals(Duration.ZERO,
+                RateLimitAwareNetworkHttpClient.parseRetryAfter("Wed, 1 May 2024 09:00:00 GMT", now, DEFAULT_RETRY_AFTER));
+        assertEquals(DEFAULT_RETRY_AFTER, RateLimitAwareNetworkHttpClient.parseRetryAfter("soon", now, DEFAULT_RETRY_AFTER));
+        assertEquals(DEFAULT_RETRY_AFTER, RateLimitAwareNetworkHttpClient.parseRetryAfter(null, now, DEFAULT_RETRY_AFTER));
+    }
+}
@@ -0,0 +1,103 @@
+package com.pragma.mensajeria.infrastructure.output.twilio.client;
+
+import com.pragma.mensajeria.domain.model.NotificationResult;
+import com.twilio.exception.ApiConnectionException;
+import com.twilio.exception.ApiException;
+import org.apache.http.conn.ConnectionPoolTimeoutException;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.SocketTimeoutException;
+import java.net.UnknownHostException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TwilioErrorClassifierTest {
+
+    private final TwilioErrorClassifier classifier = new TwilioErrorClassifier();
+
+    private boolean retryable(String errorCode) {
+        return classifier.test(NotificationResult.failure("error", errorCode));
+    }
+
+    @Test
+    void test_ShouldRetryTransientTwilioErrors() {
+        assertTrue(retryable("20500"));
+        assertTrue(retryable("20503"));
+        assertTrue(retryable("HTTP_502"));
+        assertTrue(retryable(TwilioErrorClassifier.CONNECTION_ERROR));
+    }
+
+    @Test
+    void test_ShouldLeaveThrottlingToTheClient() {
+        assertFalse(retryable("20429"));
+        assertFalse(retryable("HTTP_429"));
+    }
+
+    @Test
+    void test_ShouldNotRetryTerminalOrLocalErrors() {
+        assertFalse(retryable("21211"));
+        assertFalse(retryable("21610"));
+        assertFalse(retryable("HTTP_400"));
+        assertFalse(retryable(TwilioErrorClassifier.INVALID_PHONE_NUMBER));
+        assertFalse(retryable(TwilioErrorClassifier.RATE_LIMITED));
+        assertFalse(retryable(TwilioErrorClassifier.UNEXPECTED_ERROR));
+        assertFalse(retryable(TwilioErrorClassifier.CIRCUIT_OPEN));
+        assertFalse(retryable(TwilioErrorClassifier.OUTCOME_UNKNOWN));
+        assertFalse(classifier.test(NotificationResult.failure("no code")));
+    }
+
+    @Test
+    void isTransient_ShouldAlsoDeferThrottlingAndLocalRejections() {
+        assertTrue(classifier.isTransient(NotificationResult.failure("error", "20429")));
+        assertTrue(classifier.isTransient(NotificationResult.failure("error", "HTTP_503")));
+        assertTrue(classifier.isTransient(NotificationResult.failure("error", TwilioErrorClassifier.RATE_LIMITED)));
+        assertTrue(classifier.isTransient(NotificationResult.failure("error", TwilioErrorClassifier.CIRCUIT_OPEN)));
+        assertTrue(classifier.isTransient(NotificationResult.failure("error", "CONCURRENCY_LIMIT")));
+    }
+
+    @Test
+    void isTransient_ShouldTreatRejectionsAndUnknownOutcomesAsFinal() {
+        assertFalse(classifier.isTransient(NotificationResult.failure("error", "21211")));
+        assertFalse(classifier.isTransient(NotificationResult.failure("error", "21610")));
+        assertFalse(classifier.isTransient(NotificationResult.failure("error", TwilioErrorClassifier.INVALID_PHONE_NUMBER)));
+        assertFalse(classifier.isTransient(NotificationResult.failure("error", TwilioErrorClassifier.OUTCOME_UNKNOWN)));
+        assertFalse(classifier.isTransient(NotificationResult.failure("no code")));
+    }
+
+    @Test
+    void errorCode_ShouldPreferTwilioCodeThenHttpStatus() {
+        assertEquals("20429", TwilioErrorClassifier.errorCode(new ApiException("throttled", 20429, null, 429, null)));
+        assertEquals("HTTP_503", TwilioErrorClassifier.errorCode(new ApiException("unavailable", null, null, 503, null)));
+        assertEquals(TwilioErrorClassifier.UNEXPECTED_ERROR, TwilioErrorClassifier.errorCode(new ApiException("unknown")));
+    }
+
+    @Test
+    void errorCode_ShouldOnlyReportConnectionErrorsWhenTheRequestNeverWentOut() {
+        assertEquals(TwilioErrorClassifier.CONNECTION_ERROR,
+                TwilioErrorClassifier.errorCode(new ApiException("refused", new ConnectException("Connection refused"))));
+        assertEquals(TwilioErrorClassifier.CONNECTION_ERROR,
+                TwilioErrorClassifier.errorCode(new ApiConnectionException("pool", new ConnectionPoolTimeoutException("lease"))));
+        assertEquals(TwilioErrorClassifier.CONNECTION_ERROR,
+                TwilioErrorClassifier.errorCode(new ApiException("dns", new UnknownHostException("api.twilio.com"))));
+
+        assertEquals(TwilioErrorClassifier.OUTCOME_UNKNOWN,
+                TwilioErrorClassifier.errorCode(new ApiException("read", new SocketTimeoutException("Read timed out"))));
+        assertEquals(TwilioErrorClassifier.OUTCOME_UNKNOWN,
+                TwilioErrorClassifier.errorCode(new ApiConnectionException("reset", new IOException("reset"))));
+        assertEquals(TwilioErrorClassifier.OUTCOME_UNKNOWN,
+                TwilioErrorClassifier.errorCode(new ApiConnectionException("Unable to connect to server")));
+    }
+
+    @Test
+    void isProviderFailure_ShouldOnlyCountServerAndNetworkErrors() {
+        assertTrue(TwilioErrorClassifier.isProviderFailure(TwilioErrorClassifier.CONNECTION_ERROR));
+        assertTrue(TwilioErrorClassifier.isProviderFailure(TwilioErrorClassifier.OUTCOME_UNKNOWN));
+        assertTrue(TwilioErrorClassifier.isProviderFailure("20500"));
+        assertTrue(TwilioErrorClassifier.isProviderFailure("HTTP_503"));
+        assertFalse(TwilioErrorClassifier.isProviderFailure("20429"));
+        assertFalse(TwilioErrorClassifier.isProviderFailure("HTTP_429"));
+        assertFalse(TwilioErrorClassifier.isProviderFailure("21211"));
+    }
+}
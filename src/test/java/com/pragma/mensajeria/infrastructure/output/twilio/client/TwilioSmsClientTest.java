@@ -1,14 +1,29 @@
 package com.pragma.mensajeria.infrastructure.output.twilio.client;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.pragma.mensajeria.domain.model.NotificationResult;
+import com.pragma.mensajeria.infrastructure.output.twilio.circuitbreaker.TwilioCircuitBreaker;
 import com.pragma.mensajeria.infrastructure.output.twilio.config.TwilioConfiguration;
+import com.pragma.mensajeria.infrastructure.output.twilio.ratelimit.TwilioRateLimiter;
+import com.pragma.mensajeria.infrastructure.output.twilio.tenant.TwilioTenantAccount;
+import com.pragma.mensajeria.infrastructure.output.twilio.tenant.TwilioTenantClientRegistry;
 import com.twilio.exception.ApiException;
+import com.twilio.http.Request;
+import com.twilio.http.Response;
+import com.twilio.http.TwilioRestClient;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.tracing.test.simple.SimpleSpan;
+import io.micrometer.tracing.test.simple.SimpleTracer;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.net.URI;
+import java.util.List;
+
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
@@ -18,30 +33,48 @@ class TwilioSmsClientTest {
     @Mock
     private TwilioConfiguration twilioConfiguration;
 
+    @Mock
+    private TwilioRestClient twilioRestClient;
+
+    @Mock
+    private TwilioTenantClientRegistry tenantClientRegistry;
+
+    @Mock
+    private TwilioRateLimiter twilioRateLimiter;
+
+    @Mock
+    private TwilioCircuitBreaker twilioCircuitBreaker;
+
+    private static final long PERMISSION = 7L;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final SimpleTracer tracer = new SimpleTracer();
+
     private TwilioSmsClient twilioSmsClient;
 
     @BeforeEach
     void setUp() {
-        twilioSmsClient = new TwilioSmsClient(twilioConfiguration);
+        twilioSmsClient = new TwilioSmsClient(twilioConfiguration, twilioRestClient, tenantClientRegistry, twilioRateLimiter, twilioCircuitBreaker, 2,
+                meterRegistry, tracer);
     }
 
     @Test
-    void init_ShouldThrowWhenCredentialsAreMissing() {
+    void validateCredentials_ShouldThrowWhenCredentialsAreMissing() {
         when(twilioConfiguration.getAccountSid()).thenReturn(null);
         when(twilioConfiguration.getAuthToken()).thenReturn(" ");
 
-        IllegalStateException exception = assertThrows(IllegalStateException.class, () -> twilioSmsClient.init());
+        IllegalStateException exception = assertThrows(IllegalStateException.class, () -> twilioSmsClient.validateCredentials());
 
         assertEquals("Twilio credentials are not configured", exception.getMessage());
     }
 
     @Test
-    void init_ShouldInitializeWhenCredentialsArePresent() {
+    void validateCredentials_ShouldPassWhenCredentialsArePresent() {
         when(twilioConfiguration.getAccountSid()).thenReturn("AC123");
         when(twilioConfiguration.getAuthToken()).thenReturn("token123");
-        when(twilioConfiguration.getMessagingServiceSid()).thenReturn("MG123");
 
-        assertDoesNotThrow(() -> twilioSmsClient.init());
+        assertDoesNotThrow(() -> twilioSmsClient.validateCredentials());
     }
 
     @Test
@@ -51,6 +84,7 @@ class TwilioSmsClientTest {
         assertFalse(result.isSuccess());
         assertNull(result.getMessageId());
         assertEquals("Invalid phone number format.", result.getErrorMessage());
+        assertEquals(TwilioErrorClassifier.INVALID_PHONE_NUMBER, result.getErrorCode());
         verify(twilioConfiguration, never()).getMessagingServiceSid();
     }
 
@@ -73,4 +107,185 @@ class TwilioSmsClientTest {
         assertFalse(result.isSuccess());
         assertTrue(result.getErrorMessage().contains("Unexpected error sending SMS: unexpected"));
     }
+
+    @Test
+    void sendSms_ShouldSendThroughInjectedRestClient() {
+        when(twilioConfiguration.getMessagingServiceSid()).thenReturn("MG123");
+        when(twilioRestClient.getAccountSid()).thenReturn("AC123");
+        when(twilioCircuitBreaker.tryAcquirePermission()).thenReturn(PERMISSION);
+        when(twilioRateLimiter.acquire("MG123")).thenReturn(true);
+
+        NotificationResult result = twilioSmsClient.sendSms("+573001234567", "message");
+
+        // The mocked client returns no response, which the SDK reports as a connection error
+        verify(twilioRestClient).request(any(Request.class));
+        assertFalse(result.isSuccess());
+        assertTrue(result.getErrorMessage().startsWith("Twilio API Error:"));
+    }
+
+    @Test
+    void sendSms_ShouldSendThroughRestaurantSubAccountClient() {
+        TwilioRestClient subAccountClient = mock(TwilioRestClient.class);
+        when(subAccountClient.getAccountSid()).thenReturn("ACsub");
+        when(tenantClientRegistry.accountFor("42")).thenReturn(new TwilioTenantAccount("ACsub", "MGsub", subAccountClient));
+        when(twilioCircuitBreaker.tryAcquirePermission()).thenReturn(PERMISSION);
+        when(twilioRateLimiter.acquire("MGsub")).thenReturn(true);
+
+        twilioSmsClient.sendSms("42", "+573001234567", "message");
+
+        verify(subAccountClient).request(any(Request.class));
+        verifyNoInteractions(twilioRestClient);
+        verify(twilioConfiguration, never()).getMessagingServiceSid();
+    }
+
+    @Test
+    void sendSms_ShouldRegisterStatusCallbackForRestaurant() {
+        when(tenantClientRegistry.accountFor("42")).thenReturn(null);
+        when(twilioConfiguration.getMessagingServiceSid()).thenReturn("MG123");
+        when(twilioConfiguration.statusCallbackUrlFor("42"))
+                .thenReturn(URI.create("https://api.example.com/api/v1/webhooks/twilio/status/42"));
+        when(twilioRestClient.getAccountSid()).thenReturn("AC123");
+        when(twilioCircuitBreaker.tryAcquirePermission()).thenReturn(PERMISSION);
+        when(twilioRateLimiter.acquire("MG123")).thenReturn(true);
+
+        twilioSmsClient.sendSms("42", "+573001234567", "message");
+
+        ArgumentCaptor<Request> request = ArgumentCaptor.forClass(Request.class);
+        verify(twilioRestClient).request(request.capture());
+        assertEquals(List.of("https://api.example.com/api/v1/webhooks/twilio/status/42"),
+                request.getValue().getPostParams().get("StatusCallback"));
+    }
+
+    @Test
+    void sendSms_ShouldUseDefaultAccountWhenRestaurantHasNoSubAccount() {
+        when(tenantClientRegistry.accountFor("7")).thenReturn(null);
+        when(twilioConfiguration.getMessagingServiceSid()).thenReturn("MG123");
+        when(twilioRestClient.getAccountSid()).thenReturn("AC123");
+        when(twilioCircuitBreaker.tryAcquirePermission()).thenReturn(PERMISSION);
+        when(twilioRateLimiter.acquire("MG123")).thenReturn(true);
+
+        twilioSmsClient.sendSms("7", "+573001234567", "message");
+
+        verify(twilioRestClient).request(any(Request.class));
+    }
+
+    @Test
+    void sendSms_ShouldFailWithoutCallingTwilioWhenRateLimitQueueIsFull() {
+        when(twilioConfiguration.getMessagingServiceSid()).thenReturn("MG123");
+        when(twilioCircuitBreaker.tryAcquirePermission()).thenReturn(PERMISSION);
+        when(twilioRateLimiter.acquire("MG123")).thenReturn(false);
+
+        NotificationResult result = twilioSmsClient.sendSms("+573001234567", "message");
+
+        assertFalse(result.isSuccess());
+        assertEquals("Twilio rate limit queue is full, try again later", result.getErrorMessage());
+        assertEquals(TwilioErrorClassifier.RATE_LIMITED, result.getErrorCode());
+        verifyNoInteractions(twilioRestClient);
+        verify(twilioCircuitBreaker).releasePermission(PERMISSION);
+    }
+
+    @Test
+    void sendSms_ShouldRequeueThrottledSendsUntilRetriesAreExhausted() {
+        when(twilioConfiguration.getMessagingServiceSid()).thenReturn("MG123");
+        when(twilioCircuitBreaker.tryAcquirePermission()).thenReturn(PERMISSION);
+        when(twilioRateLimiter.acquire("MG123")).thenReturn(true);
+        when(twilioRestClient.getAccountSid()).thenReturn("AC123");
+        when(twilioRestClient.getObjectMapper()).thenReturn(new ObjectMapper());
+        when(twilioRestClient.request(any(Request.class))).thenAnswer(invocation -> new Response(
+                "{\"code\":20429,\"message\":\"Too Many Requests\",\"status\":429}", 429));
+
+        NotificationResult result = twilioSmsClient.sendSms("+573001234567", "message");
+
+        assertFalse(result.isSuccess());
+        assertEquals("Twilio API Error: Too Many Requests", result.getErrorMessage());
+        assertEquals("20429", result.getErrorCode());
+        assertEquals(3, result.getAttempts());
+        verify(twilioRateLimiter, times(3)).acquire("MG123");
+        verify(twilioRestClient, times(3)).request(any(Request.class));
+    }
+
+    @Test
+    void sendSms_ShouldTraceEveryProviderAttemptWithItsErrorCode() {
+        when(twilioConfiguration.getMessagingServiceSid()).thenReturn("MG123");
+        when(twilioCircuitBreaker.tryAcquirePermission()).thenReturn(PERMISSION);
+        when(twilioRateLimiter.acquire("MG123")).thenReturn(true);
+        when(twilioRestClient.getAccountSid()).thenReturn("AC123");
+        when(twilioRestClient.getObjectMapper()).thenReturn(new ObjectMapper());
+        when(twilioRestClient.request(any(Request.class))).thenAnswer(invocation -> new Response(
+                "{\"code\":20429,\"message\":\"Too Many Requests\",\"status\":429}", 429));
+
+        twilioSmsClient.sendSms("+573001234567", "message");
+
+        List<SimpleSpan> spans = List.copyOf(tracer.getSpans());
+        assertEquals(3, spans.size());
+        assertEquals(List.of("1", "2", "3"), spans.stream().map(span -> span.getTags().get("twilio.attempt")).toList());
+        assertTrue(spans.stream().allMatch(span -> "20429".equals(span.getTags().get("error.code"))));
+        assertTrue(spans.stream().allMatch(span -> "twilio".equals(span.getRemoteServiceName())));
+    }
+
+    @Test
+    void sendSms_ShouldTimeEveryProviderCallAndCountOneOutcomePerMessage() {
+        when(twilioConfiguration.getMessagingServiceSid()).thenReturn("MG123");
+        when(twilioCircuitBreaker.tryAcquirePermission()).thenReturn(PERMISSION);
+        when(twilioRateLimiter.acquire("MG123")).thenReturn(true);
+        when(twilioRestClient.getAccountSid()).thenReturn("AC123");
+        when(twilioRestClient.getObjectMapper()).thenReturn(new ObjectMapper());
+        when(twilioRestClient.request(any(Request.class))).thenAnswer(invocation -> new Response(
+                "{\"code\":20429,\"message\":\"Too Many Requests\",\"status\":429}", 429));
+
+        twilioSmsClient.sendSms("+573001234567", "message");
+        twilioSmsClient.sendSms("3001234567", "message");
+
+        assertEquals(3, meterRegistry.get("notification.stage.duration").tag("stage", "provider").timer().count());
+        assertEquals(1.0, meterRegistry.get("twilio.messages")
+                .tag("outcome", "failure").tag("error.code", "20429").counter().count());
+        assertEquals(1.0, meterRegistry.get("twilio.messages")
+                .tag("error.code", TwilioErrorClassifier.INVALID_PHONE_NUMBER).counter().count());
+    }
+
+    @Test
+    void sendSms_ShouldNotRetryOtherTwilioErrors() {
+        when(twilioConfiguration.getMessagingServiceSid()).thenReturn("MG123");
+        when(twilioCircuitBreaker.tryAcquirePermission()).thenReturn(PERMISSION);
+        when(twilioRateLimiter.acquire("MG123")).thenReturn(true);
+        when(twilioRestClient.getAccountSid()).thenReturn("AC123");
+        when(twilioRestClient.getObjectMapper()).thenReturn(new ObjectMapper());
+        when(twilioRestClient.request(any(Request.class))).thenReturn(new Response(
+                "{\"code\":21211,\"message\":\"Invalid 'To' Phone Number\",\"status\":400}", 400));
+
+        NotificationResult result = twilioSmsClient.sendSms("+573001234567", "message");
+
+        assertFalse(result.isSuccess());
+        assertEquals("21211", result.getErrorCode());
+        verify(twilioRestClient, times(1)).request(any(Request.class));
+        verify(twilioCircuitBreaker).onSuccess(eq(PERMISSION), anyLong());
+        verify(twilioCircuitBreaker, never()).onError(anyLong(), anyLong());
+    }
+
+    @Test
+    void sendSms_ShouldFailFastWhenCircuitBreakerIsOpen() {
+        when(twilioConfiguration.getMessagingServiceSid()).thenReturn("MG123");
+        when(twilioCircuitBreaker.tryAcquirePermission()).thenReturn(TwilioCircuitBreaker.NOT_PERMITTED);
+
+        NotificationResult result = twilioSmsClient.sendSms("+573001234567", "message");
+
+        assertFalse(result.isSuccess());
+        assertEquals(TwilioErrorClassifier.CIRCUIT_OPEN, result.getErrorCode());
+        verifyNoInteractions(twilioRateLimiter, twilioRestClient);
+    }
+
+    @Test
+    void sendSms_ShouldRecordServerErrorsAsCircuitBreakerFailures() {
+        when(twilioConfiguration.getMessagingServiceSid()).thenReturn("MG123");
+        when(twilioCircuitBreaker.tryAcquirePermission()).thenReturn(PERMISSION);
+        when(twilioRateLimiter.acquire("MG123")).thenReturn(true);
+        when(twilioRestClient.getAccountSid()).thenReturn("AC123");
+
+        NotificationResult result = twilioSmsClient.sendSms("+573001234567", "message");
+
+        // No response from the mocked client: Twilio may have received the request, so the outcome is unknown
+        assertEquals(TwilioErrorClassifier.OUTCOME_UNKNOWN, result.getErrorCode());
+        verify(twilioCircuitBreaker).onError(eq(PERMISSION), anyLong());
+        verify(twilioCircuitBreaker, never()).onSuccess(anyLong(), anyLong());
+    }
 }
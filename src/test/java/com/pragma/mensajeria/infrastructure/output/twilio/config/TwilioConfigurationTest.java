@@ -4,6 +4,7 @@ import org.junit.jupiter.api.Test;
 import org.springframework.test.util.ReflectionTestUtils;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 
 class TwilioConfigurationTest {
 
@@ -19,4 +20,23 @@ class TwilioConfigurationTest {
         assertEquals("token123", configuration.getAuthToken());
         assertEquals("MG123", configuration.getMessagingServiceSid());
     }
+
+    @Test
+    void statusCallbackUrlFor_ShouldAppendRestaurantToConfiguredUrl() {
+        TwilioConfiguration configuration = new TwilioConfiguration();
+        ReflectionTestUtils.setField(configuration, "statusCallbackUrl", "https://api.example.com/api/v1/webhooks/twilio/status");
+
+        assertEquals("https://api.example.com/api/v1/webhooks/twilio/status",
+                configuration.statusCallbackUrlFor(null).toString());
+        assertEquals("https://api.example.com/api/v1/webhooks/twilio/status/42",
+                configuration.statusCallbackUrlFor("42").toString());
+    }
+
+    @Test
+    void statusCallbackUrlFor_ShouldBeNullWhenCallbacksAreDisabled() {
+        TwilioConfiguration configuration = new TwilioConfiguration();
+        ReflectionTestUtils.setField(configuration, "statusCallbackUrl", "");
+
+        assertNull(configuration.statusCallbackUrlFor("42"));
+    }
 }
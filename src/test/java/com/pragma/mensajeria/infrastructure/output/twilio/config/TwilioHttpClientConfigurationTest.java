@@ -0,0 +1,69 @@
+package com.pragma.mensajeria.infrastructure.output.twilio.config;
+
+import com.pragma.mensajeria.infrastructure.output.twilio.client.RateLimitAwareNetworkHttpClient;
+import com.pragma.mensajeria.infrastructure.output.twilio.ratelimit.TwilioRateLimiter;
+import com.twilio.http.TwilioRestClient;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+class TwilioHttpClientConfigurationTest {
+
+    private final TwilioHttpClientConfiguration configuration = new TwilioHttpClientConfiguration();
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private PoolingHttpClientConnectionManager connectionManager;
+
+    @AfterEach
+    void tearDown() {
+        if (connectionManager != null) {
+            connectionManager.shutdown();
+        }
+    }
+
+    @Test
+    void twilioConnectionManager_ShouldApplyPoolSettings() {
+        connectionManager = configuration.twilioConnectionManager(
+                50, 20, Duration.ofMinutes(5), Duration.ofSeconds(2), Duration.ofSeconds(10), meterRegistry);
+
+        assertEquals(50, connectionManager.getMaxTotal());
+        assertEquals(20, connectionManager.getDefaultMaxPerRoute());
+        assertEquals(2000, connectionManager.getValidateAfterInactivity());
+        assertTrue(connectionManager.getDefaultSocketConfig().isSoKeepAlive());
+        assertEquals(10000, connectionManager.getDefaultSocketConfig().getSoTimeout());
+    }
+
+    @Test
+    void twilioConnectionManager_ShouldExposePoolGauges() {
+        connectionManager = configuration.twilioConnectionManager(
+                50, 20, Duration.ofMinutes(5), Duration.ofSeconds(2), Duration.ofSeconds(10), meterRegistry);
+
+        assertEquals(0.0, meterRegistry.get("twilio.http.pool.leased").gauge().value());
+        assertEquals(0.0, meterRegistry.get("twilio.http.pool.pending").gauge().value());
+        assertEquals(0.0, meterRegistry.get("twilio.http.pool.available").gauge().value());
+        assertEquals(50.0, meterRegistry.get("twilio.http.pool.max").gauge().value());
+    }
+
+    @Test
+    void twilioRestClient_ShouldUsePooledHttpClientAndConfiguredCredentials() {
+        TwilioConfiguration twilioConfiguration = new TwilioConfiguration();
+        ReflectionTestUtils.setField(twilioConfiguration, "accountSid", "AC123");
+        ReflectionTestUtils.setField(twilioConfiguration, "authToken", "token123");
+        connectionManager = configuration.twilioConnectionManager(
+                50, 20, Duration.ofMinutes(5), Duration.ofSeconds(2), Duration.ofSeconds(10), meterRegistry);
+
+        TwilioRestClient client = configuration.twilioRestClient(twilioConfiguration, connectionManager,
+                mock(TwilioRateLimiter.class), Duration.ofSeconds(5), Duration.ofSeconds(10), Duration.ofSeconds(2),
+                Duration.ofSeconds(30), Duration.ofSeconds(1), "");
+
+        assertEquals("AC123", client.getAccountSid());
+        assertInstanceOf(RateLimitAwareNetworkHttpClient.class, client.getHttpClient());
+    }
+}
@@ -0,0 +1,106 @@
+package com.pragma.mensajeria.infrastructure.output.twilio.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TokenBucketTest {
+
+    private final AtomicLong now = new AtomicLong(1_000_000_000L);
+
+    private TokenBucket bucket(double permitsPerSecond, int burst, int maxQueue, Duration maxWait) {
+        return new TokenBucket(permitsPerSecond, 1, burst, maxQueue, maxWait, Duration.ofSeconds(10), now::get);
+    }
+
+    @Test
+    void reserve_ShouldServeBurstWithoutWaiting() {
+        TokenBucket bucket = bucket(10, 3, 10, Duration.ofSeconds(1));
+
+        assertEquals(0, bucket.reserve());
+        assertEquals(0, bucket.reserve());
+        assertEquals(0, bucket.reserve());
+        assertEquals(0.0, bucket.getAvailableTokens(), 1e-9);
+    }
+
+    @Test
+    void reserve_ShouldQueueCallersBeyondTheBurstAtTheConfiguredRate() {
+        TokenBucket bucket = bucket(10, 1, 10, Duration.ofSeconds(1));
+        bucket.reserve();
+
+        long firstWait = bucket.reserve();
+        long secondWait = bucket.reserve();
+
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(100), firstWait);
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(200), secondWait);
+        assertEquals(2, bucket.getQueueDepth());
+    }
+
+    @Test
+    void reserve_ShouldRejectWhenQueueIsFull() {
+        TokenBucket bucket = bucket(10, 1, 1, Duration.ofSeconds(1));
+        bucket.reserve();
+        bucket.reserve();
+
+        assertEquals(-1, bucket.reserve());
+
+        bucket.leaveQueue();
+        assertEquals(0, bucket.getQueueDepth());
+    }
+
+    @Test
+    void reserve_ShouldRejectWhenWaitExceedsMaxWait() {
+        TokenBucket bucket = bucket(1, 1, 10, Duration.ofMillis(500));
+        bucket.reserve();
+
+        assertEquals(-1, bucket.reserve());
+        assertEquals(0, bucket.getQueueDepth());
+    }
+
+    @Test
+    void reserve_ShouldRefillOverTime() {
+        TokenBucket bucket = bucket(10, 2, 10, Duration.ofSeconds(1));
+        bucket.reserve();
+        bucket.reserve();
+
+        now.addAndGet(TimeUnit.MILLISECONDS.toNanos(150));
+
+        assertEquals(0, bucket.reserve());
+        assertEquals(0.5, bucket.getAvailableTokens(), 1e-9);
+    }
+
+    @Test
+    void throttle_ShouldPauseForRetryAfterAndHalveTheRate() {
+        TokenBucket bucket = bucket(10, 5, 10, Duration.ofSeconds(5));
+
+        bucket.throttle(Duration.ofSeconds(2));
+
+        assertEquals(5.0, bucket.getCurrentRate(), 1e-9);
+        assertEquals(0.0, bucket.getAvailableTokens(), 1e-9);
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(2200), bucket.reserve());
+    }
+
+    @Test
+    void throttle_ShouldNotDropBelowMinimumRateAndRecoverAfterRecoveryPeriod() {
+        TokenBucket bucket = bucket(2, 1, 10, Duration.ofSeconds(5));
+
+        bucket.throttle(Duration.ZERO);
+        bucket.throttle(Duration.ZERO);
+        assertEquals(1.0, bucket.getCurrentRate(), 1e-9);
+
+        now.addAndGet(TimeUnit.SECONDS.toNanos(5));
+        assertEquals(1.5, bucket.getCurrentRate(), 1e-9);
+
+        now.addAndGet(TimeUnit.SECONDS.toNanos(5));
+        assertEquals(2.0, bucket.getCurrentRate(), 1e-9);
+    }
+
+    @Test
+    void constructor_ShouldRejectNonPositiveRate() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new TokenBucket(0, 1, 1, 1, Duration.ofSeconds(1), Duration.ofSeconds(1)));
+    }
+}
@@ -0,0 +1,84 @@
+package com.pragma.mensajeria.infrastructure.output.twilio.ratelimit;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TwilioRateLimiterTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private TwilioRateLimiter limiter(double permitsPerSecond, Map<String, Double> ratesBySid, int burst, int maxQueue) {
+        return new TwilioRateLimiter(permitsPerSecond, ratesBySid, 1, burst, maxQueue,
+                Duration.ofSeconds(1), Duration.ofMinutes(1), meterRegistry);
+    }
+
+    @Test
+    void acquire_ShouldGrantTokensWithinBurst() {
+        TwilioRateLimiter limiter = limiter(10, Map.of(), 2, 10);
+
+        assertTrue(limiter.acquire("MG123"));
+        assertTrue(limiter.acquire("MG123"));
+
+        assertEquals(2, meterRegistry.get("twilio.rate.limit.throttle").tag("messaging_service", "MG123").timer().count());
+    }
+
+    @Test
+    void acquire_ShouldWaitForTokenWhenBurstIsExhausted() {
+        TwilioRateLimiter limiter = limiter(50, Map.of(), 1, 10);
+        limiter.acquire("MG123");
+
+        long start = System.nanoTime();
+        assertTrue(limiter.acquire("MG123"));
+
+        assertTrue(System.nanoTime() - start >= Duration.ofMillis(15).toNanos());
+        assertEquals(0.0, meterRegistry.get("twilio.rate.limit.queue").tag("messaging_service", "MG123").gauge().value());
+    }
+
+    @Test
+    void acquire_ShouldRejectWhenQueueIsFull() {
+        TwilioRateLimiter limiter = limiter(1, Map.of(), 1, 0);
+        limiter.acquire("MG123");
+
+        assertFalse(limiter.acquire("MG123"));
+
+        assertEquals(1.0, meterRegistry.get("twilio.rate.limit.rejected").tag("messaging_service", "MG123").counter().count());
+    }
+
+    @Test
+    void bucketFor_ShouldKeepSeparateBucketsAndRatesPerMessagingService() {
+        TwilioRateLimiter limiter = limiter(10, Map.of("MG-FAST", 100.0), 1, 10);
+
+        assertEquals(10.0, limiter.bucketFor("MG-DEFAULT").getCurrentRate(), 1e-9);
+        assertEquals(100.0, limiter.bucketFor("MG-FAST").getCurrentRate(), 1e-9);
+        assertNotSame(limiter.bucketFor("MG-DEFAULT"), limiter.bucketFor("MG-FAST"));
+    }
+
+    @Test
+    void onThrottled_ShouldBackOffAndCountProviderThrottles() {
+        TwilioRateLimiter limiter = limiter(10, Map.of(), 5, 10);
+
+        limiter.onThrottled("MG123", Duration.ofSeconds(30));
+
+        assertEquals(5.0, meterRegistry.get("twilio.rate.limit.rate").tag("messaging_service", "MG123").gauge().value(), 0.01);
+        assertEquals(1.0, meterRegistry.get("twilio.rate.limit.provider.throttled").tag("messaging_service", "MG123").counter().count());
+        assertFalse(limiter.acquire("MG123"));
+    }
+
+    @Test
+    void remove_ShouldDropTheLimitAndItsMeters() {
+        TwilioRateLimiter limiter = limiter(10, Map.of(), 2, 10);
+        TokenBucket before = limiter.bucketFor("MG123");
+        limiter.acquire("MG123");
+
+        limiter.remove("MG123");
+
+        assertTrue(meterRegistry.find("twilio.rate.limit.tokens").tag("messaging_service", "MG123").meters().isEmpty());
+        assertTrue(meterRegistry.find("twilio.rate.limit.throttle").tag("messaging_service", "MG123").meters().isEmpty());
+        assertNotSame(before, limiter.bucketFor("MG123"));
+    }
+}
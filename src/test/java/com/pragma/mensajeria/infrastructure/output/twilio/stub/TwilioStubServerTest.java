@@ -0,0 +1,142 @@
+package com.pragma.mensajeria.infrastructure.output.twilio.stub;
+
+import com.pragma.mensajeria.domain.model.NotificationResult;
+import com.pragma.mensajeria.infrastructure.output.twilio.circuitbreaker.TwilioCircuitBreaker;
+import com.pragma.mensajeria.infrastructure.output.twilio.client.TwilioSmsClient;
+import com.pragma.mensajeria.infrastructure.output.twilio.config.TwilioConfiguration;
+import com.pragma.mensajeria.infrastructure.output.twilio.config.TwilioHttpClientConfiguration;
+import com.pragma.mensajeria.infrastructure.output.twilio.ratelimit.TwilioRateLimiter;
+import com.pragma.mensajeria.infrastructure.output.twilio.stub.TwilioStubServer.ErrorRates;
+import com.pragma.mensajeria.infrastructure.output.twilio.stub.TwilioStubServer.LatencyDistribution;
+import com.pragma.mensajeria.infrastructure.output.twilio.stub.TwilioStubServer.LatencyProfile;
+import com.pragma.mensajeria.infrastructure.output.twilio.tenant.TwilioTenantClientRegistry;
+import com.twilio.http.TwilioRestClient;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.tracing.test.simple.SimpleSpan;
+import io.micrometer.tracing.test.simple.SimpleTracer;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+class TwilioStubServerTest {
+
+    private static final LatencyProfile NO_LATENCY = new LatencyProfile(LatencyDistribution.NONE, Duration.ZERO, Duration.ZERO);
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final SimpleTracer tracer = new SimpleTracer();
+    private TwilioStubServer stubServer;
+    private PoolingHttpClientConnectionManager connectionManager;
+
+    @AfterEach
+    void tearDown() {
+        if (connectionManager != null) {
+            connectionManager.shutdown();
+        }
+        if (stubServer != null) {
+            stubServer.stop();
+        }
+    }
+
+    private TwilioSmsClient clientAgainstStub(ErrorRates errorRates, double maxRequestsPerSecond) throws IOException {
+        stubServer = new TwilioStubServer(0, NO_LATENCY, errorRates, maxRequestsPerSecond);
+        stubServer.start();
+
+        TwilioConfiguration twilioConfiguration = new TwilioConfiguration();
+        ReflectionTestUtils.setField(twilioConfiguration, "accountSid", "ACstub");
+        ReflectionTestUtils.setField(twilioConfiguration, "authToken", "token");
+        ReflectionTestUtils.setField(twilioConfiguration, "messagingServiceSid", "MGstub");
+
+        TwilioHttpClientConfiguration httpConfiguration = new TwilioHttpClientConfiguration();
+        connectionManager = httpConfiguration.twilioConnectionManager(
+                10, 10, Duration.ofMinutes(1), Duration.ofSeconds(2), Duration.ofSeconds(5), meterRegistry);
+        TwilioRateLimiter rateLimiter = new TwilioRateLimiter(1000, Map.of(), 1, 1000, 10,
+                Duration.ofSeconds(1), Duration.ofMinutes(1), meterRegistry);
+        TwilioRestClient restClient = httpConfiguration.twilioRestClient(twilioConfiguration, connectionManager,
+                rateLimiter, Duration.ofSeconds(2), Duration.ofSeconds(5), Duration.ofSeconds(1), Duration.ofSeconds(30),
+                Duration.ofSeconds(1), "http://127.0.0.1:" + stubServer.getPort());
+        TwilioCircuitBreaker circuitBreaker = new TwilioCircuitBreaker(100, 100, 50, 80, Duration.ofSeconds(3),
+                Duration.ofSeconds(10), 3, Duration.ofSeconds(30), meterRegistry, mock(ApplicationEventPublisher.class));
+
+        return new TwilioSmsClient(twilioConfiguration, restClient, mock(TwilioTenantClientRegistry.class), rateLimiter,
+                circuitBreaker, 0, meterRegistry, tracer);
+    }
+
+    @Test
+    void shouldAcceptMessagesThroughTheTwilioSdk() throws IOException {
+        TwilioSmsClient client = clientAgainstStub(ErrorRates.NONE, 0);
+
+        NotificationResult result = client.sendSms("+573001234567", "Your order is ready");
+
+        assertTrue(result.isSuccess(), result.getErrorMessage());
+        assertTrue(result.getMessageId().startsWith("SM"));
+        assertEquals(34, result.getMessageId().length());
+        assertEquals(1, stubServer.getAcceptedCount());
+        SimpleSpan span = tracer.onlySpan();
+        assertEquals("twilio.messages.create", span.getName());
+        assertEquals("twilio", span.getRemoteServiceName());
+        assertEquals(result.getMessageId(), span.getTags().get("twilio.message.sid"));
+    }
+
+    @Test
+    void shouldRejectTwilioMagicInvalidNumber() throws IOException {
+        TwilioSmsClient client = clientAgainstStub(ErrorRates.NONE, 0);
+
+        NotificationResult result = client.sendSms(TwilioStubServer.INVALID_NUMBER, "hello");
+
+        assertFalse(result.isSuccess());
+        assertEquals("21211", result.getErrorCode());
+        assertEquals("21211", tracer.onlySpan().getTags().get("error.code"));
+        assertNotNull(tracer.onlySpan().getError());
+    }
+
+    @Test
+    void shouldInjectConfiguredServerErrors() throws IOException {
+        TwilioSmsClient client = clientAgainstStub(new ErrorRates(0, 0, 1.0, 0), 0);
+
+        NotificationResult result = client.sendSms("+573001234567", "hello");
+
+        assertFalse(result.isSuccess());
+        assertEquals("20500", result.getErrorCode());
+        assertEquals(0, stubServer.getAcceptedCount());
+    }
+
+    @Test
+    void shouldAnswer429AboveThroughputCap() throws IOException {
+        TwilioSmsClient client = clientAgainstStub(ErrorRates.NONE, 1);
+
+        NotificationResult first = client.sendSms("+573001234567", "hello");
+        NotificationResult second = client.sendSms("+573001234567", "hello");
+
+        assertTrue(first.isSuccess());
+        assertFalse(second.isSuccess());
+        assertEquals("20429", second.getErrorCode());
+    }
+
+    @Test
+    void shouldReturnTwilioStyle404ForUnknownResources() throws IOException, InterruptedException {
+        stubServer = new TwilioStubServer(0, NO_LATENCY, ErrorRates.NONE, 0);
+        stubServer.start();
+
+        try (HttpClient httpClient = HttpClient.newHttpClient()) {
+            HttpResponse<String> response = httpClient.send(
+                    HttpRequest.newBuilder(URI.create("http://127.0.0.1:" + stubServer.getPort() + "/2010-04-01/Calls.json")).build(),
+                    HttpResponse.BodyHandlers.ofString());
+
+            assertEquals(404, response.statusCode());
+            assertTrue(response.body().contains("\"code\":20404"));
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.pragma.mensajeria.infrastructure.output.twilio.tenant;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PropertyTwilioTenantCredentialsProviderTest {
+
+    private final MockEnvironment environment = new MockEnvironment()
+            .withProperty("twilio.tenants.accounts.42.account-sid", "ACsub")
+            .withProperty("twilio.tenants.accounts.42.auth-token", "token")
+            .withProperty("twilio.tenants.accounts.42.messaging-service-sid", "MGsub")
+            .withProperty("twilio.tenants.accounts.43.account-sid", "ACbroken");
+    private final PropertyTwilioTenantCredentialsProvider provider = new PropertyTwilioTenantCredentialsProvider(environment);
+
+    @Test
+    void credentialsFor_ShouldReadRestaurantSubAccount() {
+        assertEquals(Optional.of(new TwilioTenantCredentials("ACsub", "token", "MGsub")), provider.credentialsFor("42"));
+    }
+
+    @Test
+    void credentialsFor_ShouldBeEmptyForRestaurantsOnDefaultAccount() {
+        assertTrue(provider.credentialsFor("7").isEmpty());
+    }
+
+    @Test
+    void credentialsFor_ShouldFailWhenSubAccountIsIncomplete() {
+        assertThrows(IllegalStateException.class, () -> provider.credentialsFor("43"));
+    }
+}
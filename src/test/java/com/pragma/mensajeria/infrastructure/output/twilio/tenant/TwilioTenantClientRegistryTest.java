@@ -0,0 +1,152 @@
+package com.pragma.mensajeria.infrastructure.output.twilio.tenant;
+
+import com.pragma.mensajeria.infrastructure.output.twilio.ratelimit.TwilioRateLimiter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.after;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+
+class TwilioTenantClientRegistryTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final Map<String, TwilioTenantCredentials> credentials = new HashMap<>();
+    private TwilioTenantClientRegistry registry;
+
+    @AfterEach
+    void tearDown() {
+        if (registry != null) {
+            registry.shutdown();
+        }
+    }
+
+    private TwilioTenantClientRegistry registry(int maxClients, Duration idleTimeout) {
+        registry = new TwilioTenantClientRegistry(restaurantId -> Optional.ofNullable(credentials.get(restaurantId)),
+                mock(TwilioRateLimiter.class), maxClients, idleTimeout, Duration.ofHours(1), 5,
+                Duration.ofMinutes(5), Duration.ofSeconds(2), Duration.ofSeconds(5), Duration.ofSeconds(10),
+                Duration.ofSeconds(2), Duration.ofSeconds(30), Duration.ofSeconds(1), "", meterRegistry);
+        return registry;
+    }
+
+    @Test
+    void accountFor_ShouldReturnNullWhenRestaurantHasNoSubAccount() {
+        assertNull(registry(10, Duration.ofMinutes(15)).accountFor("1"));
+        assertEquals(0, registry.getClientCount());
+    }
+
+    @Test
+    void accountFor_ShouldCreateClientLazilyAndReuseIt() {
+        credentials.put("1", new TwilioTenantCredentials("AC1", "token1", "MG1"));
+        registry(10, Duration.ofMinutes(15));
+
+        TwilioTenantAccount first = registry.accountFor("1");
+        TwilioTenantAccount second = registry.accountFor("1");
+
+        assertEquals("AC1", first.accountSid());
+        assertEquals("MG1", first.messagingServiceSid());
+        assertEquals("AC1", first.restClient().getAccountSid());
+        assertSame(first.restClient(), second.restClient());
+        assertEquals(1.0, meterRegistry.get("twilio.tenant.clients.created").counter().count());
+    }
+
+    @Test
+    void accountFor_ShouldShareClientBetweenRestaurantsOfOneAccount() {
+        TwilioTenantCredentials chain = new TwilioTenantCredentials("AC1", "token1", "MG1");
+        credentials.put("1", chain);
+        credentials.put("2", chain);
+        registry(10, Duration.ofMinutes(15));
+
+        assertSame(registry.accountFor("1").restClient(), registry.accountFor("2").restClient());
+        assertEquals(1, registry.getClientCount());
+    }
+
+    @Test
+    void accountFor_ShouldEvictLeastRecentlyUsedAccount() {
+        credentials.put("1", new TwilioTenantCredentials("AC1", "token1", "MG1"));
+        credentials.put("2", new TwilioTenantCredentials("AC2", "token2", "MG2"));
+        credentials.put("3", new TwilioTenantCredentials("AC3", "token3", "MG3"));
+        registry(2, Duration.ofMinutes(15));
+
+        TwilioTenantAccount first = registry.accountFor("1");
+        registry.accountFor("2");
+        registry.accountFor("1");
+        registry.accountFor("3");
+
+        assertEquals(2, registry.getClientCount());
+        assertSame(first.restClient(), registry.accountFor("1").restClient());
+        assertEquals(1.0, meterRegistry.get("twilio.tenant.clients.evicted").tag("reason", "lru").counter().count());
+        registry.accountFor("2");
+        assertEquals(4.0, meterRegistry.get("twilio.tenant.clients.created").counter().count());
+    }
+
+    @Test
+    void accountFor_ShouldRebuildClientWhenCredentialsRotate() {
+        credentials.put("1", new TwilioTenantCredentials("AC1", "token1", "MG1"));
+        registry(10, Duration.ofMinutes(15));
+        TwilioTenantAccount before = registry.accountFor("1");
+
+        credentials.put("1", new TwilioTenantCredentials("AC1", "token2", "MG1"));
+        TwilioTenantAccount after = registry.accountFor("1");
+
+        assertNotSame(before.restClient(), after.restClient());
+        assertEquals(1, registry.getClientCount());
+    }
+
+    @Test
+    void sweep_ShouldEvictIdleClients() {
+        credentials.put("1", new TwilioTenantCredentials("AC1", "token1", "MG1"));
+        registry(10, Duration.ZERO);
+        registry.accountFor("1");
+
+        registry.sweep();
+
+        assertEquals(0, registry.getClientCount());
+        assertEquals(1.0, meterRegistry.get("twilio.tenant.clients.evicted").tag("reason", "idle").counter().count());
+    }
+
+    @Test
+    void sweep_ShouldReleaseRateLimitOfEvictedMessagingService() {
+        credentials.put("1", new TwilioTenantCredentials("AC1", "token1", "MG1"));
+        TwilioRateLimiter rateLimiter = mock(TwilioRateLimiter.class);
+        registry = new TwilioTenantClientRegistry(restaurantId -> Optional.ofNullable(credentials.get(restaurantId)),
+                rateLimiter, 10, Duration.ZERO, Duration.ofHours(1), 5,
+                Duration.ofMinutes(5), Duration.ofSeconds(2), Duration.ofSeconds(5), Duration.ofMillis(1),
+                Duration.ofMillis(1), Duration.ofSeconds(30), Duration.ofSeconds(1), "", meterRegistry);
+        registry.accountFor("1");
+
+        registry.sweep();
+
+        verify(rateLimiter, timeout(1000)).remove("MG1");
+    }
+
+    @Test
+    void accountFor_ShouldKeepRateLimitWhenRotatedClientSharesMessagingService() {
+        credentials.put("1", new TwilioTenantCredentials("AC1", "token1", "MG1"));
+        TwilioRateLimiter rateLimiter = mock(TwilioRateLimiter.class);
+        registry = new TwilioTenantClientRegistry(restaurantId -> Optional.ofNullable(credentials.get(restaurantId)),
+                rateLimiter, 10, Duration.ofMinutes(15), Duration.ofHours(1), 5,
+                Duration.ofMinutes(5), Duration.ofSeconds(2), Duration.ofSeconds(5), Duration.ofMillis(1),
+                Duration.ofMillis(1), Duration.ofSeconds(30), Duration.ofSeconds(1), "", meterRegistry);
+        registry.accountFor("1");
+
+        credentials.put("1", new TwilioTenantCredentials("AC1", "token2", "MG1"));
+        registry.accountFor("1");
+
+        verify(rateLimiter, after(200).never()).remove(anyString());
+    }
+
+    @Test
+    void credentials_ShouldNotExposeAuthTokenInToString() {
+        assertFalse(new TwilioTenantCredentials("AC1", "secret-token", "MG1").toString().contains("secret-token"));
+    }
+}
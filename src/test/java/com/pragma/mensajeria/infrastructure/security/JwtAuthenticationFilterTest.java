@@ -1,5 +1,8 @@
 package com.pragma.mensajeria.infrastructure.security;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.tracing.test.simple.SimpleSpan;
+import io.micrometer.tracing.test.simple.SimpleTracer;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
@@ -8,11 +11,17 @@ import org.junit.jupiter.api.Test;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 
+import java.time.Instant;
+import java.util.Optional;
+
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
 class JwtAuthenticationFilterTest {
 
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final SimpleTracer tracer = new SimpleTracer();
+
     @AfterEach
     void tearDown() {
         SecurityContextHolder.clearContext();
@@ -21,7 +30,7 @@ class JwtAuthenticationFilterTest {
     @Test
     void doFilter_noHeader_callsChainAndNoAuth() throws Exception {
         JwtTokenValidator validator = mock(JwtTokenValidator.class);
-        JwtAuthenticationFilter filter = new JwtAuthenticationFilter(validator);
+        JwtAuthenticationFilter filter = new JwtAuthenticationFilter(validator, new VerifiedTokenCache(100), meterRegistry, tracer);
 
         HttpServletRequest request = mock(HttpServletRequest.class);
         HttpServletResponse response = mock(HttpServletResponse.class);
@@ -34,12 +43,13 @@ class JwtAuthenticationFilterTest {
         verify(chain).doFilter(request, response);
         Authentication auth = SecurityContextHolder.getContext().getAuthentication();
         assertNull(auth);
+        assertEquals(0, authenticationTimerCount());
     }
 
     @Test
     void doFilter_withValidToken_setsAuthentication() throws Exception {
         JwtTokenValidator validator = mock(JwtTokenValidator.class);
-        JwtAuthenticationFilter filter = new JwtAuthenticationFilter(validator);
+        JwtAuthenticationFilter filter = new JwtAuthenticationFilter(validator, new VerifiedTokenCache(100), meterRegistry, tracer);
 
         HttpServletRequest request = mock(HttpServletRequest.class);
         HttpServletResponse response = mock(HttpServletResponse.class);
@@ -48,14 +58,14 @@ class JwtAuthenticationFilterTest {
         String token = "token123";
         when(request.getHeader("Authorization")).thenReturn("Bearer " + token);
 
-        when(validator.isTokenValid(token)).thenReturn(true);
-        when(validator.extractEmail(token)).thenReturn("user@example.com");
-        when(validator.extractRole(token)).thenReturn("DRIVER");
-        when(validator.extractUserId(token)).thenReturn(7L);
+        when(validator.verify(token)).thenReturn(Optional.of(
+                new VerifiedPrincipal("user@example.com", "DRIVER", 7L, Instant.now().plusSeconds(60))));
 
         filter.doFilter(request, response, chain);
 
         verify(chain).doFilter(request, response);
+        verify(validator, times(1)).verify(token);
+        verifyNoMoreInteractions(validator);
 
         var auth = SecurityContextHolder.getContext().getAuthentication();
         assertNotNull(auth);
@@ -67,7 +77,7 @@ class JwtAuthenticationFilterTest {
     @Test
     void doFilter_withInvalidToken_doesNotSetAuthentication() throws Exception {
         JwtTokenValidator validator = mock(JwtTokenValidator.class);
-        JwtAuthenticationFilter filter = new JwtAuthenticationFilter(validator);
+        JwtAuthenticationFilter filter = new JwtAuthenticationFilter(validator, new VerifiedTokenCache(100), meterRegistry, tracer);
 
         HttpServletRequest request = mock(HttpServletRequest.class);
         HttpServletResponse response = mock(HttpServletResponse.class);
@@ -76,11 +86,49 @@ class JwtAuthenticationFilterTest {
         String token = "token123";
         when(request.getHeader("Authorization")).thenReturn("Bearer " + token);
 
-        when(validator.isTokenValid(token)).thenReturn(false);
+        when(validator.verify(token)).thenReturn(Optional.empty());
 
         filter.doFilter(request, response, chain);
 
         verify(chain).doFilter(request, response);
         assertNull(SecurityContextHolder.getContext().getAuthentication());
+        SimpleSpan span = tracer.onlySpan();
+        assertEquals("jwt.authenticate", span.getName());
+        assertEquals("miss", span.getTags().get("jwt.cache"));
+        assertEquals("false", span.getTags().get("jwt.valid"));
+    }
+
+    @Test
+    void doFilter_withCachedToken_skipsVerification() throws Exception {
+        JwtTokenValidator validator = mock(JwtTokenValidator.class);
+        JwtAuthenticationFilter filter = new JwtAuthenticationFilter(validator, new VerifiedTokenCache(100), meterRegistry, tracer);
+
+        HttpServletRequest request = mock(HttpServletRequest.class);
+        HttpServletResponse response = mock(HttpServletResponse.class);
+        FilterChain chain = mock(FilterChain.class);
+
+        String token = "token123";
+        when(request.getHeader("Authorization")).thenReturn("Bearer " + token);
+        when(validator.verify(token)).thenReturn(Optional.of(
+                new VerifiedPrincipal("user@example.com", "DRIVER", 7L, Instant.now().plusSeconds(60))));
+
+        filter.doFilter(request, response, chain);
+        var first = SecurityContextHolder.getContext().getAuthentication();
+        SecurityContextHolder.clearContext();
+        filter.doFilter(request, response, chain);
+
+        var second = SecurityContextHolder.getContext().getAuthentication();
+        verify(validator, times(1)).verify(token);
+        assertNotSame(first, second);
+        assertEquals(first.getPrincipal(), second.getPrincipal());
+        assertEquals(first.getDetails(), second.getDetails());
+        assertSame(first.getAuthorities().iterator().next(), second.getAuthorities().iterator().next());
+        assertEquals(2, authenticationTimerCount());
+        assertEquals("hit", tracer.lastSpan().getTags().get("jwt.cache"));
+        assertEquals("true", tracer.lastSpan().getTags().get("jwt.valid"));
+    }
+
+    private long authenticationTimerCount() {
+        return meterRegistry.get("notification.stage.duration").tag("stage", "authentication").timer().count();
     }
 }
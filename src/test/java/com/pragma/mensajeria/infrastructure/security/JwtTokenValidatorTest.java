@@ -14,27 +14,42 @@ class JwtTokenValidatorTest {
     private static final String SECRET = "01234567890123456789012345678901"; // 32 chars
 
     @Test
-    void validToken_extractsClaimsAndIsValid() {
+    void verify_validToken_returnsPrincipalFromSingleParse() {
         var key = Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8));
+        Date expiration = new Date((System.currentTimeMillis() / 1000 + 60) * 1000);
 
         String token = Jwts.builder()
                 .subject("user@example.com")
                 .claim("role", "CLIENT")
                 .claim("userId", 42L)
-                .expiration(new Date(System.currentTimeMillis() + 60_000))
+                .expiration(expiration)
                 .signWith(key)
                 .compact();
 
-        JwtTokenValidator validator = new JwtTokenValidator(SECRET);
+        VerifiedPrincipal principal = new JwtTokenValidator(SECRET).verify(token).orElseThrow();
 
-        assertEquals("user@example.com", validator.extractEmail(token));
-        assertEquals("CLIENT", validator.extractRole(token));
-        assertEquals(42L, validator.extractUserId(token));
-        assertTrue(validator.isTokenValid(token));
+        assertEquals("user@example.com", principal.email());
+        assertEquals("CLIENT", principal.role());
+        assertEquals(42L, principal.userId());
+        assertEquals(expiration.toInstant(), principal.expiresAt());
     }
 
     @Test
-    void expiredToken_returnsNullsAndIsInvalid() {
+    void verify_tokenWithoutRole_returnsEmpty() {
+        var key = Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8));
+
+        String token = Jwts.builder()
+                .subject("user@example.com")
+                .claim("userId", 42L)
+                .expiration(new Date(System.currentTimeMillis() + 60_000))
+                .signWith(key)
+                .compact();
+
+        assertTrue(new JwtTokenValidator(SECRET).verify(token).isEmpty());
+    }
+
+    @Test
+    void verify_expiredToken_returnsEmpty() {
         var key = Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8));
 
         String token = Jwts.builder()
@@ -45,23 +60,26 @@ class JwtTokenValidatorTest {
                 .signWith(key)
                 .compact();
 
-        JwtTokenValidator validator = new JwtTokenValidator(SECRET);
+        assertTrue(new JwtTokenValidator(SECRET).verify(token).isEmpty());
+    }
 
-        assertNull(validator.extractEmail(token));
-        assertNull(validator.extractRole(token));
-        assertNull(validator.extractUserId(token));
-        assertFalse(validator.isTokenValid(token));
+    @Test
+    void verify_malformedToken_returnsEmpty() {
+        assertTrue(new JwtTokenValidator(SECRET).verify("not-a-token").isEmpty());
     }
 
     @Test
-    void malformedToken_returnsNullsAndIsInvalid() {
-        JwtTokenValidator validator = new JwtTokenValidator(SECRET);
+    void verify_tokenSignedWithAnotherKey_returnsEmpty() {
+        var otherKey = Keys.hmacShaKeyFor("abcdefghijabcdefghijabcdefghijab".getBytes(StandardCharsets.UTF_8));
 
-        String bad = "not-a-token";
+        String token = Jwts.builder()
+                .subject("user@example.com")
+                .claim("role", "CLIENT")
+                .claim("userId", 42L)
+                .expiration(new Date(System.currentTimeMillis() + 60_000))
+                .signWith(otherKey)
+                .compact();
 
-        assertNull(validator.extractEmail(bad));
-        assertNull(validator.extractRole(bad));
-        assertNull(validator.extractUserId(bad));
-        assertFalse(validator.isTokenValid(bad));
+        assertTrue(new JwtTokenValidator(SECRET).verify(token).isEmpty());
     }
 }
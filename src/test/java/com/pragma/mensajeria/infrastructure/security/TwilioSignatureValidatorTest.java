@@ -0,0 +1,91 @@
+package com.pragma.mensajeria.infrastructure.security;
+
+import com.pragma.mensajeria.infrastructure.output.twilio.config.TwilioConfiguration;
+import com.pragma.mensajeria.infrastructure.output.twilio.tenant.TwilioTenantCredentials;
+import com.pragma.mensajeria.infrastructure.output.twilio.tenant.TwilioTenantCredentialsProvider;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class TwilioSignatureValidatorTest {
+
+    private static final String CALLBACK_URL = "https://api.example.com/api/v1/webhooks/twilio/status";
+    private static final Map<String, String> PARAMS = Map.of(
+            "MessageSid", "SM1",
+            "MessageStatus", "delivered",
+            "AccountSid", "AC123");
+
+    private final TwilioTenantCredentialsProvider credentialsProvider = mock(TwilioTenantCredentialsProvider.class);
+    private TwilioSignatureValidator validator;
+
+    @BeforeEach
+    void setUp() {
+        TwilioConfiguration configuration = new TwilioConfiguration();
+        ReflectionTestUtils.setField(configuration, "authToken", "token123");
+        ReflectionTestUtils.setField(configuration, "statusCallbackUrl", CALLBACK_URL);
+        validator = new TwilioSignatureValidator(configuration, credentialsProvider);
+    }
+
+    @Test
+    void isValid_ShouldAcceptSignatureFromDefaultAccount() {
+        assertTrue(validator.isValid(null, PARAMS, sign("token123", CALLBACK_URL)));
+    }
+
+    @Test
+    void isValid_ShouldRejectTamperedParams() {
+        String signature = sign("token123", CALLBACK_URL);
+
+        assertFalse(validator.isValid(null, Map.of("MessageSid", "SM1", "MessageStatus", "failed"), signature));
+        assertFalse(validator.isValid(null, PARAMS, null));
+    }
+
+    @Test
+    void isValid_ShouldUseSubAccountTokenForRestaurantCallbacks() {
+        when(credentialsProvider.credentialsFor("42"))
+                .thenReturn(Optional.of(new TwilioTenantCredentials("ACsub", "subtoken", "MGsub")));
+
+        assertTrue(validator.isValid("42", PARAMS, sign("subtoken", CALLBACK_URL + "/42")));
+        assertFalse(validator.isValid("42", PARAMS, sign("token123", CALLBACK_URL + "/42")));
+    }
+
+    @Test
+    void isValid_ShouldFallBackToDefaultTokenWhenRestaurantHasNoSubAccount() {
+        when(credentialsProvider.credentialsFor("7")).thenReturn(Optional.empty());
+
+        assertTrue(validator.isValid("7", PARAMS, sign("token123", CALLBACK_URL + "/7")));
+    }
+
+    @Test
+    void isValid_ShouldRejectEverythingWhenCallbacksAreDisabled() {
+        TwilioConfiguration configuration = new TwilioConfiguration();
+        ReflectionTestUtils.setField(configuration, "authToken", "token123");
+        ReflectionTestUtils.setField(configuration, "statusCallbackUrl", "");
+
+        assertFalse(new TwilioSignatureValidator(configuration, credentialsProvider)
+                .isValid(null, PARAMS, sign("token123", CALLBACK_URL)));
+    }
+
+    // Twilio's scheme: HMAC-SHA1 of the URL followed by every param name and value sorted by name
+    private static String sign(String authToken, String url) {
+        StringBuilder data = new StringBuilder(url);
+        new TreeMap<>(PARAMS).forEach((name, value) -> data.append(name).append(value));
+        try {
+            Mac mac = Mac.getInstance("HmacSHA1");
+            mac.init(new SecretKeySpec(authToken.getBytes(StandardCharsets.UTF_8), "HmacSHA1"));
+            return Base64.getEncoder().encodeToString(mac.doFinal(data.toString().getBytes(StandardCharsets.UTF_8)));
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.pragma.mensajeria.infrastructure.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class VerifiedTokenCacheTest {
+
+    @Test
+    void get_returnsCachedPrincipalUntilTokenExpires() {
+        VerifiedTokenCache cache = new VerifiedTokenCache(10);
+        CachedPrincipal principal = principal("user@example.com", Instant.now().plusSeconds(60));
+
+        cache.put("live", principal);
+        cache.put("expired", principal("other@example.com", Instant.now().minusSeconds(1)));
+
+        assertSame(principal, cache.get("live"));
+        assertNull(cache.get("expired"));
+        assertNull(cache.get("unknown"));
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    void put_evictsLeastRecentlyUsedEntryWhenFull() {
+        VerifiedTokenCache cache = new VerifiedTokenCache(2);
+        Instant expiresAt = Instant.now().plusSeconds(60);
+
+        cache.put("first", principal("first@example.com", expiresAt));
+        cache.put("second", principal("second@example.com", expiresAt));
+        cache.get("first");
+        cache.put("third", principal("third@example.com", expiresAt));
+
+        assertNotNull(cache.get("first"));
+        assertNull(cache.get("second"));
+        assertNotNull(cache.get("third"));
+        assertEquals(2, cache.size());
+    }
+
+    @Test
+    void put_staysWithinCapacityUnderConcurrentWriters() throws InterruptedException {
+        VerifiedTokenCache cache = new VerifiedTokenCache(100);
+        Instant expiresAt = Instant.now().plusSeconds(60);
+        List<Thread> writers = IntStream.range(0, 4)
+                .mapToObj(writer -> Thread.ofPlatform().start(() -> {
+                    for (int i = 0; i < 1_000; i++) {
+                        cache.put(writer + "-" + i, principal("user@example.com", expiresAt));
+                    }
+                }))
+                .toList();
+        for (Thread writer : writers) {
+            writer.join();
+        }
+
+        // A writer that loses the eviction race leaves its entry for the next put, so allow one per writer
+        assertTrue(cache.size() <= 100 + writers.size());
+    }
+
+    @Test
+    void bindTo_exposesHitRatioAndSize() {
+        VerifiedTokenCache cache = new VerifiedTokenCache(10);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        cache.bindTo(registry);
+
+        cache.put("token", principal("user@example.com", Instant.now().plusSeconds(60)));
+        cache.get("token");
+        cache.get("token");
+        cache.get("unknown");
+        cache.get("unknown");
+
+        assertEquals(0.5, registry.get("jwt.cache.hit.ratio").gauge().value());
+        assertEquals(1.0, registry.get("jwt.cache.size").gauge().value());
+        assertEquals(2.0, registry.get("jwt.cache.requests").tag("result", "hit").functionCounter().count());
+    }
+
+    private static CachedPrincipal principal(String email, Instant expiresAt) {
+        return new CachedPrincipal(email, 7L, List.of(new SimpleGrantedAuthority("ROLE_DRIVER")), expiresAt);
+    }
+}